@@ -0,0 +1,17 @@
+package com.anapedra.stock_manager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Classe de configuração Spring que habilita a execução de tarefas agendadas
+ * ({@code @Scheduled}), como a persistência periódica do ledger de estoque.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,8 +2,13 @@ package com.anapedra.stock_manager.controllers;
 
 import com.anapedra.stock_manager.domain.dtos.BeerInsertDTO;
 import com.anapedra.stock_manager.domain.dtos.BeerStockDTO;
+import com.anapedra.stock_manager.domain.dtos.BeerSuggestionDTO;
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import com.anapedra.stock_manager.services.BeerService;
 import com.anapedra.stock_manager.services.StockService;
+import com.anapedra.stock_manager.services.catalog.CatalogETags;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,10 +16,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import org.slf4j.Logger;
@@ -56,6 +61,12 @@ public class BeerController {
     @Autowired
     private BeerService beerService;
 
+    /**
+     * ETags das listagens de cervejas (GET condicional).
+     */
+    @Autowired
+    private CatalogETags catalogETags;
+
     // ================= GET ALL BEERS =================
     /**
      * Retorna uma lista paginada de cervejas, permitindo a aplicação de diversos filtros
@@ -68,32 +79,135 @@ public class BeerController {
      * @param maxQuantity Quantidade máxima em estoque (opcional).
      * @param page Número da página (padrão: 0).
      * @param size Tamanho da página (padrão: 10).
-     * @return {@link ResponseEntity} contendo uma {@link Page} de {@link BeerStockDTO}.
+     * @param count O modo de contagem do total: NONE, APPROX ou EXACT (padrão: EXACT).
+     * @param webRequest A requisição, usada no GET condicional (listagens sem filtro de quantidade).
+     * @return {@link ResponseEntity} contendo uma {@link CountedPageDTO} de {@link BeerStockDTO},
+     * ou {@code null} (304) se a versão do cliente ainda for a corrente.
      */
-    @Operation(summary = "List all beers", description = "Returns a paginated list of beers, optionally filtered by category, name, or quantity.")
+    @Operation(summary = "List all beers", description = "Returns a paginated list of beers, optionally filtered by category, name, or quantity. "
+            + "count=NONE skips the total, count=APPROX returns an estimated or briefly cached total.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved beers"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters")
     })
     @GetMapping
-    public ResponseEntity<Page<BeerStockDTO>> findAllBeer(
+    public ResponseEntity<CountedPageDTO<BeerStockDTO>> findAllBeer(
             @Parameter(description = "Category ID to filter", example = "1") @RequestParam(required = false) Long categoryId,
             @Parameter(description = "Category description filter", example = "Lager") @RequestParam(defaultValue = "") String categoryName,
             @Parameter(description = "Beer description filter", example = "Pale Ale") @RequestParam(defaultValue = "") String beerDescription,
             @Parameter(description = "Minimum quantity filter", example = "10") @RequestParam(required = false) Integer minQuantity,
             @Parameter(description = "Maximum quantity filter", example = "50") @RequestParam(required = false) Integer maxQuantity,
             @Parameter(description = "Page number", example = "0") @RequestParam(defaultValue = "0") Integer page,
-            @Parameter(description = "Page size", example = "10") @RequestParam(defaultValue = "10") Integer size
+            @Parameter(description = "Page size", example = "10") @RequestParam(defaultValue = "10") Integer size,
+            @Parameter(description = "Total count mode: NONE, APPROX or EXACT") @RequestParam(defaultValue = "EXACT") CountMode count,
+            WebRequest webRequest
     ) {
-        logger.info("GET /beers iniciado. Filtros: CatID={}, Desc='{}', Page={}", categoryId, beerDescription, page);
+        logger.info("GET /beers iniciado. Filtros: CatID={}, Desc='{}', Page={}, Contagem={}", categoryId, beerDescription, page, count);
 
         PageRequest pageable = PageRequest.of(page, size);
-        Page<BeerStockDTO> result = stockService.findAllBeer(categoryId, categoryName, beerDescription, minQuantity, maxQuantity, pageable);
+        if (catalogETags.beersNotModified(webRequest, minQuantity, maxQuantity, pageable)) {
+            logger.info("GET /beers finalizado. Status: 304 Not Modified.");
+            return null;
+        }
+        CountedPageDTO<BeerStockDTO> result = stockService.findAllBeer(categoryId, categoryName, beerDescription, minQuantity, maxQuantity, pageable, count);
 
-        logger.info("GET /beers finalizado. Total de itens: {}", result.getTotalElements());
+        logger.info("GET /beers finalizado. Itens retornados: {}, Total: {}", result.getNumberOfElements(), result.getTotalElements());
         return ResponseEntity.ok(result);
     }
 
+    // ================= GET ALL BEERS (CURSOR) =================
+    /**
+     * Retorna as cervejas com os mesmos filtros de {@link #findAllBeer}, paginadas por cursor:
+     * em ordem de ID, sem contagem do total. Para a próxima página, envie o {@code nextCursor}
+     * recebido.
+     *
+     * @param categoryId ID da categoria para filtro (opcional).
+     * @param categoryName Descrição da categoria (filtro por nome parcial, opcional).
+     * @param beerDescription Descrição da cerveja (filtro por nome parcial, opcional).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param cursor O token da página anterior (opcional; ausente na primeira página).
+     * @param size Tamanho da página (padrão: 10).
+     * @return {@link ResponseEntity} contendo uma {@link CursorPageDTO} de {@link BeerStockDTO}.
+     */
+    @Operation(summary = "List all beers by cursor", description = "Keyset-paginated variant of the beer listing: ordered by ID, with an opaque continuation token and no total count.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved beers"),
+            @ApiResponse(responseCode = "422", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<BeerStockDTO>> findAllBeerCursor(
+            @Parameter(description = "Category ID to filter", example = "1") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Category description filter", example = "Lager") @RequestParam(defaultValue = "") String categoryName,
+            @Parameter(description = "Beer description filter", example = "Pale Ale") @RequestParam(defaultValue = "") String beerDescription,
+            @Parameter(description = "Minimum quantity filter", example = "10") @RequestParam(required = false) Integer minQuantity,
+            @Parameter(description = "Maximum quantity filter", example = "50") @RequestParam(required = false) Integer maxQuantity,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "10") @RequestParam(defaultValue = "10") Integer size
+    ) {
+        logger.info("GET /beers/cursor iniciado. Filtros: CatID={}, Desc='{}', Size={}", categoryId, beerDescription, size);
+
+        CursorPageDTO<BeerStockDTO> result = stockService.findAllBeerCursor(categoryId, categoryName, beerDescription, minQuantity, maxQuantity, cursor, size);
+
+        logger.info("GET /beers/cursor finalizado. Itens retornados: {}, Próxima página: {}", result.getContent().size(), result.getHasNext());
+        return ResponseEntity.ok(result);
+    }
+
+    // ================= SEARCH BY NAME =================
+    /**
+     * Busca cervejas pelo nome, ordenadas por relevância. No PostgreSQL, usa os índices de
+     * trigramas e tolera pequenos erros de digitação.
+     *
+     * @param q O termo buscado.
+     * @param categoryName Parte do nome de uma categoria (opcional).
+     * @param limit Quantidade máxima de cervejas (padrão: 20).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link BeerStockDTO}, da mais para a menos relevante.
+     */
+    @Operation(summary = "Search beers by name", description = "Returns beers whose name matches the term, ranked by relevance. On PostgreSQL the search uses trigram indexes and tolerates small typos.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved beers"),
+            @ApiResponse(responseCode = "422", description = "Empty term or invalid limit")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<BeerStockDTO>> searchByName(
+            @Parameter(description = "Search term", example = "pale ale") @RequestParam String q,
+            @Parameter(description = "Category name filter", example = "Lager") @RequestParam(required = false) String categoryName,
+            @Parameter(description = "Maximum number of beers", example = "20") @RequestParam(defaultValue = "20") Integer limit
+    ) {
+        logger.info("GET /beers/search iniciado. Termo='{}', Categoria='{}', Limite={}", q, categoryName, limit);
+
+        List<BeerStockDTO> list = stockService.searchByName(q, categoryName, limit);
+
+        logger.info("GET /beers/search finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= SUGGEST =================
+    /**
+     * Retorna sugestões de cervejas para o autocompletar, a partir do índice de nomes em
+     * memória (sem consulta ao banco). O termo é comparado ao nome da cerveja e ao nome das
+     * suas categorias, ignorando acentos e maiúsculas.
+     *
+     * @param q O termo digitado.
+     * @param limit Quantidade máxima de sugestões (padrão: 10).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link BeerSuggestionDTO}.
+     */
+    @Operation(summary = "Suggest beers", description = "Autocomplete: returns the IDs and names of the best matching beers from an in-memory name index, without querying the database.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions"),
+            @ApiResponse(responseCode = "422", description = "Invalid limit")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<BeerSuggestionDTO>> suggest(
+            @Parameter(description = "Typed term", example = "pal") @RequestParam(defaultValue = "") String q,
+            @Parameter(description = "Maximum number of suggestions", example = "10") @RequestParam(defaultValue = "10") Integer limit
+    ) {
+        // Sem log por requisição: o autocompletar é chamado a cada tecla digitada
+        List<BeerSuggestionDTO> list = beerService.suggest(q, limit);
+        return ResponseEntity.ok(list);
+    }
+
     // ================= GET USING NATIVE FUNCTION =================
     /**
      * Retorna uma lista de cervejas filtradas através de uma função nativa PL/pgSQL
@@ -131,6 +245,43 @@ public class BeerController {
         return ResponseEntity.ok(list);
     }
 
+    // ================= GET USING NATIVE FUNCTION (CURSOR) =================
+    /**
+     * Retorna as cervejas filtradas pela função nativa PL/pgSQL, paginadas por cursor: em ordem
+     * de ID, sem {@code OFFSET}.
+     *
+     * @param beerId ID da cerveja para filtro (opcional).
+     * @param beerDescription Descrição da cerveja (filtro por nome parcial, opcional).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param daysUntilExpiry Dias restantes até o vencimento para filtro (opcional).
+     * @param cursor O token da página anterior (opcional; ausente na primeira página).
+     * @param size Tamanho da página (padrão: 10).
+     * @return {@link ResponseEntity} contendo uma {@link CursorPageDTO} de {@link BeerStockDTO}.
+     */
+    @Operation(summary = "Filter beers using PL/pgSQL function by cursor", description = "Keyset-paginated variant of the native function filter: ordered by ID, with an opaque continuation token.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved beers"),
+            @ApiResponse(responseCode = "422", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/native/cursor")
+    public ResponseEntity<CursorPageDTO<BeerStockDTO>> filtrarUsandoFuncaoPorCursor(
+            @Parameter(description = "Beer ID filter", example = "2") @RequestParam(required = false) Long beerId,
+            @Parameter(description = "Beer description filter", example = "Pale Ale") @RequestParam(defaultValue = "") String beerDescription,
+            @Parameter(description = "Minimum quantity filter", example = "10") @RequestParam(required = false) Integer minQuantity,
+            @Parameter(description = "Maximum quantity filter", example = "50") @RequestParam(required = false) Integer maxQuantity,
+            @Parameter(description = "Days until expiry filter", example = "7") @RequestParam(required = false) Integer daysUntilExpiry,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "10") @RequestParam(defaultValue = "10") Integer size
+    ) {
+        logger.info("GET /beers/native/cursor iniciado. BeerID={}, Expira em {} dias, Size={}", beerId, daysUntilExpiry, size);
+
+        CursorPageDTO<BeerStockDTO> result = stockService.findUsingPlpgsqlFunctionCursor(beerId, beerDescription, minQuantity, maxQuantity, daysUntilExpiry, cursor, size);
+
+        logger.info("GET /beers/native/cursor finalizado. Itens retornados: {}, Próxima página: {}", result.getContent().size(), result.getHasNext());
+        return ResponseEntity.ok(result);
+    }
+
     // ================= GET EXPIRED BEERS =================
     /**
      * Retorna um relatório de todas as cervejas que estão vencidas (ou com data de
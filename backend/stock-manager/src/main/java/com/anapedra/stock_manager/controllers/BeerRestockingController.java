@@ -1,6 +1,10 @@
 package com.anapedra.stock_manager.controllers;
 
 import com.anapedra.stock_manager.domain.dtos.BeerRestockingDTO;
+import com.anapedra.stock_manager.domain.dtos.ReplenishmentPlanReportDTO;
+import com.anapedra.stock_manager.domain.dtos.RestockImportReportDTO;
+import com.anapedra.stock_manager.domain.dtos.RestockProposalDTO;
+import com.anapedra.stock_manager.domain.enums.RestockImportFormat;
 import com.anapedra.stock_manager.services.BeerRestockingService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,6 +12,8 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -15,7 +21,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 /**
@@ -23,7 +36,7 @@ import java.util.List;
  * relacionadas à entidade de Reabastecimento de Cerveja (BeerRestocking).
  *
  * <p>Expõe endpoints para registrar entradas de reabastecimento, buscar, atualizar e deletar
- * esses registros.</p>
+ * esses registros, além de consultar e gerar as propostas de reposição do planejamento.</p>
  *
  * @author Ana Santana
  * @version 1.0
@@ -123,6 +136,103 @@ public class BeerRestockingController {
         return ResponseEntity.created(uri).body(newDto);
     }
 
+    // ================= POST (IMPORTAÇÃO) =================
+    /**
+     * Importa reposições em massa a partir de um arquivo CSV ({@code beerId,quantity}, com
+     * cabeçalho opcional), lido em streaming sem carregar o corpo inteiro em memória.
+     *
+     * @param body O conteúdo do arquivo.
+     * @return {@link ResponseEntity} contendo o {@link RestockImportReportDTO} com os totais e as linhas recusadas.
+     * @throws IOException Se a leitura do corpo da requisição falhar.
+     */
+    @Operation(summary = "Import restocking entries from CSV",
+            description = "Streams a CSV file (beerId,quantity per line) and returns a per-line error report.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File processed; see the report for rejected lines")
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<RestockImportReportDTO> importCsv(InputStream body) throws IOException {
+        return importFile(body, RestockImportFormat.CSV);
+    }
+
+    /**
+     * Importa reposições em massa a partir de um arquivo NDJSON (um {@link BeerRestockingDTO}
+     * por linha), lido em streaming sem carregar o corpo inteiro em memória.
+     *
+     * @param body O conteúdo do arquivo.
+     * @return {@link ResponseEntity} contendo o {@link RestockImportReportDTO} com os totais e as linhas recusadas.
+     * @throws IOException Se a leitura do corpo da requisição falhar.
+     */
+    @Operation(summary = "Import restocking entries from NDJSON",
+            description = "Streams an NDJSON file (one restocking entry per line) and returns a per-line error report.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File processed; see the report for rejected lines")
+    })
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<RestockImportReportDTO> importNdjson(InputStream body) throws IOException {
+        return importFile(body, RestockImportFormat.NDJSON);
+    }
+
+    private ResponseEntity<RestockImportReportDTO> importFile(InputStream body, RestockImportFormat format) throws IOException {
+        logger.info("POST /restock/import iniciado. Formato={}", format);
+        RestockImportReportDTO report;
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            report = restockingService.importRestocking(reader, format);
+        }
+        logger.info("POST /restock/import finalizado. Gravadas={}, Recusadas={}", report.getImported(), report.getRejected());
+        return ResponseEntity.ok(report);
+    }
+
+    // ================= PROPOSALS =================
+    /**
+     * Retorna, de forma paginada, as propostas de reposição de um planejamento.
+     *
+     * @param planDate A data do planejamento (formato yyyy-MM-dd, padrão: o mais recente).
+     * @param pageable Objeto de paginação (padrão: ordem de ID da cerveja).
+     * @return {@link ResponseEntity} contendo uma {@link Page} de {@link RestockProposalDTO}.
+     */
+    @Operation(summary = "List restock proposals",
+            description = "Returns the draft restock proposals of a replenishment plan (latest plan by default).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Proposals returned successfully")
+    })
+    @GetMapping("/proposals")
+    public ResponseEntity<Page<RestockProposalDTO>> findProposals(
+            @Parameter(description = "Plan date (yyyy-MM-dd)", example = "2026-01-31")
+            @RequestParam(value = "planDate", required = false) LocalDate planDate,
+            Pageable pageable
+    ) {
+        logger.info("GET /restock/proposals iniciado. Data={}", planDate);
+        Page<RestockProposalDTO> page = restockingService.findProposals(planDate, pageable);
+        logger.info("GET /restock/proposals finalizado. Retornados={}", page.getNumberOfElements());
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Executa o planejamento de reposição imediatamente. A mesma rotina é executada
+     * diariamente de forma agendada.
+     *
+     * @param planDate A data do planejamento (formato yyyy-MM-dd, padrão: hoje em UTC).
+     * @return {@link ResponseEntity} contendo o {@link ReplenishmentPlanReportDTO} da execução.
+     */
+    @Operation(summary = "Run the replenishment planner",
+            description = "Computes reorder points and suggested quantities for the whole catalog and stores draft proposals.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Plan executed; see the report for skipped or failed ranges"),
+            @ApiResponse(responseCode = "422", description = "A plan is already running")
+    })
+    @PostMapping("/proposals/plan")
+    public ResponseEntity<ReplenishmentPlanReportDTO> plan(
+            @Parameter(description = "Plan date (yyyy-MM-dd)", example = "2026-01-31")
+            @RequestParam(value = "planDate", required = false) LocalDate planDate
+    ) {
+        LocalDate date = (planDate != null) ? planDate : LocalDate.now(ZoneOffset.UTC);
+        logger.info("POST /restock/proposals/plan iniciado. Data={}", date);
+        ReplenishmentPlanReportDTO report = restockingService.planReplenishment(date);
+        logger.info("POST /restock/proposals/plan finalizado. Propostas={}, Completo={}", report.getProposals(), report.isComplete());
+        return ResponseEntity.ok(report);
+    }
+
     // ================= PUT =================
     /**
      * Atualiza um registro de reabastecimento existente.
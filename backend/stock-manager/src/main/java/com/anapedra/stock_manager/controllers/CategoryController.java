@@ -2,6 +2,7 @@ package com.anapedra.stock_manager.controllers;
 
 import com.anapedra.stock_manager.domain.dtos.CategoryDTO;
 import com.anapedra.stock_manager.services.CategoryService;
+import com.anapedra.stock_manager.services.catalog.CatalogETags;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,7 +23,9 @@ import java.util.List;
  * Controlador REST responsável por gerenciar as operações CRUD (Create, Read, Update, Delete)
  * relacionadas à entidade Categoria (Category).
  *
- * <p>Expõe endpoints para listar, buscar por ID, criar, atualizar e deletar categorias.</p>
+ * <p>Expõe endpoints para listar, buscar por ID, criar, atualizar e deletar categorias. As
+ * leituras aceitam GET condicional ({@code If-None-Match}), respondido com {@code 304} pelo
+ * {@link CatalogETags} sem chamar o serviço.</p>
  *
  * @author Ana Santana
  * @version 1.0
@@ -41,28 +45,42 @@ public class CategoryController {
      */
     private final CategoryService categoryService;
 
+    /**
+     * ETags das leituras de categorias.
+     */
+    private final CatalogETags catalogETags;
+
     /**
      * Construtor para injeção de dependência do serviço de categorias.
      *
      * @param categoryService O serviço de categorias.
+     * @param catalogETags ETags das leituras de categorias.
      */
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogETags catalogETags) {
         this.categoryService = categoryService;
+        this.catalogETags = catalogETags;
     }
 
     // ================= GET ALL =================
     /**
      * Retorna uma lista de todas as categorias registradas no sistema.
      *
-     * @return {@link ResponseEntity} contendo uma {@link List} de {@link CategoryDTO}.
+     * @param webRequest A requisição, usada no GET condicional.
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link CategoryDTO},
+     * ou {@code null} (304) se a versão do cliente ainda for a corrente.
      */
     @Operation(summary = "List all categories", description = "Returns a list of all categories.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved all categories")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved all categories"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match")
     })
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> findAll() {
+    public ResponseEntity<List<CategoryDTO>> findAll(WebRequest webRequest) {
         logger.info("GET /categories iniciado.");
+        if (catalogETags.categoriesNotModified(webRequest)) {
+            logger.info("GET /categories finalizado. Status: 304 Not Modified.");
+            return null;
+        }
         List<CategoryDTO> categories = categoryService.findAll();
         logger.info("GET /categories finalizado. Total de categorias: {}", categories.size());
         return ResponseEntity.ok(categories);
@@ -73,19 +91,27 @@ public class CategoryController {
      * Retorna os detalhes de uma categoria específica pelo seu ID.
      *
      * @param id O ID da categoria a ser buscada.
-     * @return {@link ResponseEntity} contendo o {@link CategoryDTO} da categoria.
+     * @param webRequest A requisição, usada no GET condicional.
+     * @return {@link ResponseEntity} contendo o {@link CategoryDTO} da categoria,
+     * ou {@code null} (304) se a versão do cliente ainda for a corrente.
      * @throws com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException Se o ID não for encontrado.
      */
     @Operation(summary = "Get category by ID", description = "Returns a single category by its ID.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Category found"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Category not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDTO> findById(
-            @Parameter(description = "ID da categoria", example = "1") @PathVariable Long id
+            @Parameter(description = "ID da categoria", example = "1") @PathVariable Long id,
+            WebRequest webRequest
     ) {
         logger.info("GET /categories/{} iniciado.", id);
+        if (catalogETags.categoriesNotModified(webRequest)) {
+            logger.info("GET /categories/{} finalizado. Status: 304 Not Modified.", id);
+            return null;
+        }
         CategoryDTO category = categoryService.findById(id);
         logger.info("GET /categories/{} finalizado.", id);
         return ResponseEntity.ok(category);
@@ -0,0 +1,149 @@
+package com.anapedra.stock_manager.controllers;
+
+import com.anapedra.stock_manager.domain.enums.ExportFormat;
+import com.anapedra.stock_manager.services.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Controlador REST das exportações completas de estoque, pedidos e perdas.
+ *
+ * <p>As respostas são geradas em streaming: o arquivo é escrito à medida que as linhas são
+ * lidas do banco, sem paginação e sem montar a lista inteira em memória. As exportações são
+ * restritas a administradores, e a permissão é verificada antes do início da resposta.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+public class ExportController {
+
+    /**
+     * Logger para registro de eventos e rastreamento de execução.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    /**
+     * Serviço responsável pelas exportações.
+     */
+    private final ExportService exportService;
+
+    /**
+     * Construtor para injeção de dependência do serviço de exportações.
+     *
+     * @param exportService O serviço de exportações.
+     */
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // ================= GET STOCK =================
+    /**
+     * Exporta todas as cervejas com o seu estoque atual.
+     *
+     * @param format O formato do arquivo (padrão: CSV).
+     * @param gzip Se o arquivo deve ser compactado em gzip (padrão: não).
+     * @return {@link ResponseEntity} com o arquivo gerado em streaming.
+     */
+    @Operation(summary = "Export stock", description = "Streams every beer with its current stock as CSV or NDJSON, optionally gzip-compressed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File streamed"),
+            @ApiResponse(responseCode = "403", description = "Access denied (admin only)")
+    })
+    @GetMapping("/stock")
+    public ResponseEntity<StreamingResponseBody> exportStock(
+            @Parameter(description = "File format: CSV or NDJSON") @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compress the file with gzip") @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        logger.info("GET /exports/stock iniciado. Formato: {}, Gzip: {}", format, gzip);
+        exportService.validateAccess();
+        return file("stock", format, gzip, out -> exportService.exportStock(format, gzip, out));
+    }
+
+    // ================= GET ORDERS =================
+    /**
+     * Exporta os itens dos pedidos de um intervalo, uma linha por item.
+     *
+     * @param from O primeiro dia, em UTC (opcional; padrão: desde o primeiro pedido).
+     * @param to O último dia, em UTC, inclusive (opcional; padrão: até o último pedido).
+     * @param format O formato do arquivo (padrão: CSV).
+     * @param gzip Se o arquivo deve ser compactado em gzip (padrão: não).
+     * @return {@link ResponseEntity} com o arquivo gerado em streaming.
+     */
+    @Operation(summary = "Export orders", description = "Streams one line per order item as CSV or NDJSON, optionally gzip-compressed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File streamed"),
+            @ApiResponse(responseCode = "403", description = "Access denied (admin only)"),
+            @ApiResponse(responseCode = "422", description = "Invalid date range")
+    })
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "First day (UTC)", example = "2026-01-01") @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "Last day (UTC, inclusive)", example = "2026-12-31") @RequestParam(required = false) LocalDate to,
+            @Parameter(description = "File format: CSV or NDJSON") @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compress the file with gzip") @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        logger.info("GET /exports/orders iniciado. De {} a {}, Formato: {}, Gzip: {}", from, to, format, gzip);
+        exportService.validateAccess();
+        exportService.validateRange(from, to);
+        return file("orders", format, gzip, out -> exportService.exportOrders(from, to, format, gzip, out));
+    }
+
+    // ================= GET LOSSES =================
+    /**
+     * Exporta as perdas de estoque de um intervalo.
+     *
+     * @param from O primeiro dia (opcional; padrão: desde a primeira perda).
+     * @param to O último dia, inclusive (opcional; padrão: até a última perda).
+     * @param format O formato do arquivo (padrão: CSV).
+     * @param gzip Se o arquivo deve ser compactado em gzip (padrão: não).
+     * @return {@link ResponseEntity} com o arquivo gerado em streaming.
+     */
+    @Operation(summary = "Export stock losses", description = "Streams the stock loss records as CSV or NDJSON, optionally gzip-compressed.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File streamed"),
+            @ApiResponse(responseCode = "403", description = "Access denied (admin only)"),
+            @ApiResponse(responseCode = "422", description = "Invalid date range")
+    })
+    @GetMapping("/losses")
+    public ResponseEntity<StreamingResponseBody> exportLosses(
+            @Parameter(description = "First day", example = "2026-01-01") @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "Last day (inclusive)", example = "2026-12-31") @RequestParam(required = false) LocalDate to,
+            @Parameter(description = "File format: CSV or NDJSON") @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compress the file with gzip") @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        logger.info("GET /exports/losses iniciado. De {} a {}, Formato: {}, Gzip: {}", from, to, format, gzip);
+        exportService.validateAccess();
+        exportService.validateRange(from, to);
+        return file("losses", format, gzip, out -> exportService.exportLosses(from, to, format, gzip, out));
+    }
+
+    /**
+     * Monta a resposta com o tipo de mídia e o nome do arquivo; o corpo é escrito depois, em outra thread.
+     */
+    private ResponseEntity<StreamingResponseBody> file(String name, ExportFormat format, boolean gzip, StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now(ZoneOffset.UTC) + "." + format.getExtension() + (gzip ? ".gz" : "");
+        MediaType type = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8");
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
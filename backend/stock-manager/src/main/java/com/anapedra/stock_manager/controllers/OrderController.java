@@ -1,30 +1,48 @@
 package com.anapedra.stock_manager.controllers;
 
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.OrderBatchResultDTO;
 import com.anapedra.stock_manager.domain.dtos.OrderDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import com.anapedra.stock_manager.services.OrderService;
+import com.anapedra.stock_manager.services.exceptions.BatchValidationException;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST responsável por gerenciar as operações CRUD (Create, Read, Update, Delete)
  * relacionadas à entidade Pedido (Order).
  *
  * <p>Expõe endpoints para listar pedidos com filtros, buscar por ID, criar, atualizar
- * e deletar pedidos.</p>
+ * e deletar pedidos, além da importação de pedidos em lote (JSON ou NDJSON).</p>
  *
  * @author Ana Santana
  * @version 1.0
@@ -45,13 +63,33 @@ public class OrderController {
      */
     private final OrderService orderService;
 
+    /**
+     * Leitor JSON usado para interpretar o corpo NDJSON da importação em lote.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Validador usado nos pedidos da importação em lote, com as mesmas regras do {@code @Valid} do cadastro individual.
+     */
+    private final Validator validator;
+
+    /**
+     * Quantidade máxima de pedidos aceita em uma importação em lote; o corpo NDJSON deixa de ser lido ao ultrapassá-la.
+     */
+    @Value("${stock-manager.orders.batch-max-size:1000}")
+    private int batchMaxSize = 1000;
+
     /**
      * Construtor para injeção de dependência do serviço de pedidos.
      *
      * @param orderService O serviço de pedidos.
+     * @param objectMapper O {@link ObjectMapper} configurado pelo Spring.
+     * @param validator O {@link Validator} configurado pelo Spring.
      */
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectMapper objectMapper, Validator validator) {
         this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     // ================= GET ALL =================
@@ -64,27 +102,65 @@ public class OrderController {
      * @param minDate Data mínima para o período de busca (formato yyyy-MM-dd, opcional).
      * @param maxDate Data máxima para o período de busca (formato yyyy-MM-dd, opcional).
      * @param pageable O objeto de paginação e ordenação.
-     * @return {@link ResponseEntity} contendo uma {@link Page} de {@link OrderDTO}.
+     * @param count O modo de contagem do total: NONE, APPROX ou EXACT (padrão: EXACT).
+     * @return {@link ResponseEntity} contendo uma {@link CountedPageDTO} de {@link OrderDTO}.
      */
-    @Operation(summary = "List orders with filters", description = "Returns a paginated list of orders filtered by client ID, name, CPF, or date range.")
+    @Operation(summary = "List orders with filters", description = "Returns a paginated list of orders filtered by client ID, name, CPF, or date range. "
+            + "count=NONE skips the total, count=APPROX returns an estimated or briefly cached total.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved orders")
     })
     @GetMapping
-    public ResponseEntity<Page<OrderDTO>> findAll(
+    public ResponseEntity<CountedPageDTO<OrderDTO>> findAll(
             @Parameter(description = "ID do cliente", example = "1") @RequestParam(value = "clientId", required = false) Long clientId,
             @Parameter(description = "Nome do cliente", example = "Ana Santana") @RequestParam(value = "nameClient", required = false) String nameClient,
             @Parameter(description = "CPF do cliente", example = "123.456.789-00") @RequestParam(value = "cpfClient", required = false) String cpfClient,
             @Parameter(description = "Data mínima (yyyy-MM-dd)", example = "2025-12-01") @RequestParam(value = "minDate", required = false) String minDate,
             @Parameter(description = "Data máxima (yyyy-MM-dd)", example = "2025-12-09") @RequestParam(value = "maxDate", required = false) String maxDate,
-            Pageable pageable
+            Pageable pageable,
+            @Parameter(description = "Total count mode: NONE, APPROX or EXACT") @RequestParam(value = "count", defaultValue = "EXACT") CountMode count
     ) {
-        logger.info("GET /orders iniciado com filtros. Client ID: {}, Data Min: {}, Page: {}", clientId, minDate, pageable.getPageNumber());
-        Page<OrderDTO> list = orderService.find(clientId, nameClient, cpfClient, minDate, maxDate, pageable);
-        logger.info("GET /orders finalizado. Total de pedidos: {}", list.getTotalElements());
+        logger.info("GET /orders iniciado com filtros. Client ID: {}, Data Min: {}, Page: {}, Contagem: {}", clientId, minDate, pageable.getPageNumber(), count);
+        CountedPageDTO<OrderDTO> list = orderService.find(clientId, nameClient, cpfClient, minDate, maxDate, pageable, count);
+        logger.info("GET /orders finalizado. Pedidos retornados: {}, Total: {}", list.getNumberOfElements(), list.getTotalElements());
         return ResponseEntity.ok(list);
     }
 
+    // ================= GET ALL (CURSOR) =================
+    /**
+     * Retorna os pedidos com os mesmos filtros de {@link #findAll}, paginados por cursor: em
+     * ordem de ID, sem contagem do total. Para a próxima página, envie o {@code nextCursor} recebido.
+     *
+     * @param clientId ID do cliente (opcional).
+     * @param nameClient Nome do cliente (filtro parcial, opcional).
+     * @param cpfClient CPF do cliente (filtro parcial, opcional).
+     * @param minDate Data mínima para o período de busca (formato yyyy-MM-dd, opcional).
+     * @param maxDate Data máxima para o período de busca (formato yyyy-MM-dd, opcional).
+     * @param cursor O token da página anterior (opcional; ausente na primeira página).
+     * @param size Tamanho da página (padrão: 10).
+     * @return {@link ResponseEntity} contendo uma {@link CursorPageDTO} de {@link OrderDTO}.
+     */
+    @Operation(summary = "List orders with filters by cursor", description = "Keyset-paginated variant of the order listing: ordered by ID, with an opaque continuation token and no total count.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved orders"),
+            @ApiResponse(responseCode = "422", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<OrderDTO>> findAllCursor(
+            @Parameter(description = "ID do cliente", example = "1") @RequestParam(value = "clientId", required = false) Long clientId,
+            @Parameter(description = "Nome do cliente", example = "Ana Santana") @RequestParam(value = "nameClient", required = false) String nameClient,
+            @Parameter(description = "CPF do cliente", example = "123.456.789-00") @RequestParam(value = "cpfClient", required = false) String cpfClient,
+            @Parameter(description = "Data mínima (yyyy-MM-dd)", example = "2025-12-01") @RequestParam(value = "minDate", required = false) String minDate,
+            @Parameter(description = "Data máxima (yyyy-MM-dd)", example = "2025-12-09") @RequestParam(value = "maxDate", required = false) String maxDate,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size", example = "10") @RequestParam(value = "size", defaultValue = "10") Integer size
+    ) {
+        logger.info("GET /orders/cursor iniciado com filtros. Client ID: {}, Data Min: {}, Size: {}", clientId, minDate, size);
+        CursorPageDTO<OrderDTO> page = orderService.findCursor(clientId, nameClient, cpfClient, minDate, maxDate, cursor, size);
+        logger.info("GET /orders/cursor finalizado. Pedidos retornados: {}, Próxima página: {}", page.getContent().size(), page.getHasNext());
+        return ResponseEntity.ok(page);
+    }
+
     // ================= GET BY ID =================
     /**
      * Retorna os detalhes de um pedido específico pelo seu ID.
@@ -132,6 +208,72 @@ public class OrderController {
         return ResponseEntity.created(uri).body(newOrder);
     }
 
+    // ================= POST BATCH =================
+    /**
+     * Importa vários pedidos de uma só vez, enviados como um array JSON. Cada pedido passa
+     * pela mesma validação do cadastro individual; se algum for inválido, o lote é recusado.
+     *
+     * @param dtos Os pedidos a importar.
+     * @return {@link ResponseEntity} com o resultado de cada pedido, na ordem recebida.
+     * @throws BatchValidationException Se algum pedido for inválido.
+     */
+    @Operation(summary = "Import orders in batch", description = "Creates many orders in a single transaction and returns one result per order (accepted, insufficient stock or rejected).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the result of each order"),
+            @ApiResponse(responseCode = "422", description = "Batch larger than the configured maximum or with invalid orders")
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<OrderBatchResultDTO>> saveBatch(
+            @Parameter(description = "Pedidos a importar") @RequestBody List<OrderDTO> dtos
+    ) {
+        logger.info("POST /orders/batch iniciado. Pedidos recebidos: {}", dtos.size());
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            validate(i, dtos.get(i), errors);
+        }
+        rejectInvalid(errors);
+        List<OrderBatchResultDTO> results = orderService.saveBatch(dtos);
+        logger.info("POST /orders/batch finalizado. Resultados: {}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Importa vários pedidos de uma só vez, enviados como NDJSON (um pedido JSON por linha).
+     * O corpo é lido em fluxo, um pedido por vez: cada pedido é validado ao ser lido, e a
+     * leitura é interrompida assim que o lote ultrapassa o máximo configurado, sem
+     * interpretar o restante do corpo.
+     *
+     * @param body O corpo da requisição.
+     * @return {@link ResponseEntity} com o resultado de cada pedido, na ordem recebida.
+     * @throws IOException Se a leitura do corpo falhar.
+     * @throws BatchValidationException Se algum pedido for inválido.
+     */
+    @Operation(summary = "Import orders in batch (NDJSON)", description = "Same as the JSON batch import, reading one order per line.")
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    public ResponseEntity<List<OrderBatchResultDTO>> saveBatchNdjson(InputStream body) throws IOException {
+        List<OrderDTO> dtos = new ArrayList<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        try (MappingIterator<OrderDTO> lines = objectMapper.readerFor(OrderDTO.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (dtos.size() == batchMaxSize) {
+                    logger.warn("POST /orders/batch: NDJSON recusado após {} pedido(s), acima do máximo do lote.", dtos.size());
+                    throw new BusinessRuleException("O lote excede o máximo de " + batchMaxSize + " pedidos.");
+                }
+                OrderDTO dto = lines.nextValue();
+                validate(dtos.size(), dto, errors);
+                dtos.add(dto);
+            }
+        } catch (JsonProcessingException e) {
+            logger.warn("POST /orders/batch: NDJSON inválido após {} pedido(s). {}", dtos.size(), e.getOriginalMessage());
+            throw new BusinessRuleException("NDJSON inválido no pedido " + (dtos.size() + 1) + ": " + e.getOriginalMessage());
+        }
+        rejectInvalid(errors);
+        logger.info("POST /orders/batch (NDJSON) iniciado. Pedidos recebidos: {}", dtos.size());
+        List<OrderBatchResultDTO> results = orderService.saveBatch(dtos);
+        logger.info("POST /orders/batch (NDJSON) finalizado. Resultados: {}", results.size());
+        return ResponseEntity.ok(results);
+    }
+
     // ================= PUT =================
     /**
      * Atualiza um pedido existente.
@@ -181,4 +323,24 @@ public class OrderController {
         logger.info("DELETE /orders/{} finalizado.", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Valida um pedido do lote, registrando cada violação pelo caminho do campo no lote (ex: {@code [3].items}).
+     */
+    private void validate(int index, OrderDTO dto, Map<String, String> errors) {
+        if (dto == null) {
+            errors.put("[" + index + "]", "O pedido não pode ser nulo");
+            return;
+        }
+        for (ConstraintViolation<OrderDTO> violation : validator.validate(dto)) {
+            errors.putIfAbsent("[" + index + "]." + violation.getPropertyPath(), violation.getMessage());
+        }
+    }
+
+    private void rejectInvalid(Map<String, String> errors) {
+        if (!errors.isEmpty()) {
+            logger.warn("POST /orders/batch: Lote recusado. Campos inválidos: {}", errors.size());
+            throw new BatchValidationException("Lote de pedidos inválido", errors);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.anapedra.stock_manager.controllers;
+
+import com.anapedra.stock_manager.domain.dtos.CategorySalesDTO;
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.dtos.SalesSummaryDTO;
+import com.anapedra.stock_manager.services.SalesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Controlador REST dos relatórios de vendas.
+ *
+ * <p>Expõe os totais de vendas por dia, mês, ano e categoria, lidos apenas da consolidação
+ * diária ({@code tb_sales_daily}), e o recálculo dessa consolidação a partir dos pedidos.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@RestController
+@RequestMapping("/api/v1/sales")
+public class SalesController {
+
+    /**
+     * Logger para registro de eventos e rastreamento de execução.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SalesController.class);
+
+    /**
+     * Serviço responsável pelos relatórios de vendas.
+     */
+    private final SalesService salesService;
+
+    /**
+     * Construtor para injeção de dependência do serviço de vendas.
+     *
+     * @param salesService O serviço de vendas.
+     */
+    public SalesController(SalesService salesService) {
+        this.salesService = salesService;
+    }
+
+    // ================= GET DAILY =================
+    /**
+     * Retorna os totais de vendas de cada dia do intervalo.
+     *
+     * @param from O primeiro dia (formato yyyy-MM-dd).
+     * @param to O último dia, inclusive (formato yyyy-MM-dd).
+     * @param beerId O ID de uma cerveja (opcional; padrão: todas).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link SalesSummaryDTO}.
+     */
+    @Operation(summary = "Get daily sales", description = "Returns units, revenue and order count per day, read from the daily sales rollup.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved daily sales"),
+            @ApiResponse(responseCode = "422", description = "Invalid or too long date range")
+    })
+    @GetMapping("/daily")
+    public ResponseEntity<List<SalesSummaryDTO>> findDaily(
+            @Parameter(description = "First day", example = "2026-01-01") @RequestParam LocalDate from,
+            @Parameter(description = "Last day (inclusive)", example = "2026-01-31") @RequestParam LocalDate to,
+            @Parameter(description = "Beer ID") @RequestParam(required = false) Long beerId
+    ) {
+        logger.info("GET /sales/daily iniciado. De {} a {}, Cerveja: {}", from, to, beerId);
+
+        List<SalesSummaryDTO> list = salesService.findDaily(from, to, beerId);
+
+        logger.info("GET /sales/daily finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= GET MONTHLY =================
+    /**
+     * Retorna os totais de vendas de cada mês de um ano.
+     *
+     * @param year O ano (padrão: o ano corrente).
+     * @param beerId O ID de uma cerveja (opcional; padrão: todas).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link SalesSummaryDTO}.
+     */
+    @Operation(summary = "Get monthly sales", description = "Returns units, revenue and order count per month of a year, read from the daily sales rollup.")
+    @GetMapping("/monthly")
+    public ResponseEntity<List<SalesSummaryDTO>> findMonthly(
+            @Parameter(description = "Year", example = "2026") @RequestParam(required = false) Integer year,
+            @Parameter(description = "Beer ID") @RequestParam(required = false) Long beerId
+    ) {
+        int value = (year != null) ? year : LocalDate.now(ZoneOffset.UTC).getYear();
+        logger.info("GET /sales/monthly iniciado. Ano: {}, Cerveja: {}", value, beerId);
+
+        List<SalesSummaryDTO> list = salesService.findMonthly(value, beerId);
+
+        logger.info("GET /sales/monthly finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= GET YEARLY =================
+    /**
+     * Retorna os totais de vendas de cada ano do intervalo.
+     *
+     * @param fromYear O primeiro ano.
+     * @param toYear O último ano, inclusive (padrão: o ano corrente).
+     * @param beerId O ID de uma cerveja (opcional; padrão: todas).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link SalesSummaryDTO}.
+     */
+    @Operation(summary = "Get yearly sales", description = "Returns units, revenue and order count per year, read from the daily sales rollup.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved yearly sales"),
+            @ApiResponse(responseCode = "422", description = "Invalid year range")
+    })
+    @GetMapping("/yearly")
+    public ResponseEntity<List<SalesSummaryDTO>> findYearly(
+            @Parameter(description = "First year", example = "2024") @RequestParam Integer fromYear,
+            @Parameter(description = "Last year (inclusive)", example = "2026") @RequestParam(required = false) Integer toYear,
+            @Parameter(description = "Beer ID") @RequestParam(required = false) Long beerId
+    ) {
+        int lastYear = (toYear != null) ? toYear : LocalDate.now(ZoneOffset.UTC).getYear();
+        logger.info("GET /sales/yearly iniciado. De {} a {}, Cerveja: {}", fromYear, lastYear, beerId);
+
+        List<SalesSummaryDTO> list = salesService.findYearly(fromYear, lastYear, beerId);
+
+        logger.info("GET /sales/yearly finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= GET BY CATEGORY =================
+    /**
+     * Retorna os totais de vendas de cada categoria no intervalo.
+     *
+     * @param from O primeiro dia (formato yyyy-MM-dd).
+     * @param to O último dia, inclusive (formato yyyy-MM-dd).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link CategorySalesDTO}.
+     */
+    @Operation(summary = "Get sales by category", description = "Returns units, revenue and order count per category, read from the daily sales rollup.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved category sales"),
+            @ApiResponse(responseCode = "422", description = "Invalid date range")
+    })
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySalesDTO>> findByCategory(
+            @Parameter(description = "First day", example = "2026-01-01") @RequestParam LocalDate from,
+            @Parameter(description = "Last day (inclusive)", example = "2026-12-31") @RequestParam LocalDate to
+    ) {
+        logger.info("GET /sales/categories iniciado. De {} a {}", from, to);
+
+        List<CategorySalesDTO> list = salesService.findByCategory(from, to);
+
+        logger.info("GET /sales/categories finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= POST BACKFILL =================
+    /**
+     * Reconstrói a consolidação diária de vendas a partir dos pedidos.
+     *
+     * @param from O primeiro dia (opcional; padrão: o dia do pedido mais antigo).
+     * @param to O último dia, inclusive (opcional; padrão: hoje).
+     * @return {@link ResponseEntity} contendo o {@link RollupBackfillReportDTO} da execução.
+     */
+    @Operation(summary = "Backfill daily sales", description = "Rebuilds the daily sales rollup from the orders, in chunks of days.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rollup rebuilt"),
+            @ApiResponse(responseCode = "422", description = "Invalid date range or backfill already running")
+    })
+    @PostMapping("/backfill")
+    public ResponseEntity<RollupBackfillReportDTO> backfill(
+            @Parameter(description = "First day") @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "Last day (inclusive)") @RequestParam(required = false) LocalDate to
+    ) {
+        logger.info("POST /sales/backfill iniciado. De {} a {}", from, to);
+
+        RollupBackfillReportDTO report = salesService.backfill(from, to);
+
+        logger.info("POST /sales/backfill finalizado. Blocos: {}, Linhas: {}, Falhas: {}",
+                report.getChunks(), report.getRows(), report.getFailedChunks());
+        return ResponseEntity.ok(report);
+    }
+}
@@ -0,0 +1,141 @@
+package com.anapedra.stock_manager.controllers;
+
+import com.anapedra.stock_manager.domain.dtos.StockAlertDTO;
+import com.anapedra.stock_manager.domain.dtos.StockThresholdDTO;
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+import com.anapedra.stock_manager.services.StockAlertService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST dos alertas de estoque baixo.
+ *
+ * <p>Expõe a lista de acompanhamento das cervejas em estoque baixo ou sem estoque, mantida
+ * em memória a cada movimentação (sem varrer {@code tb_stock}), e a manutenção dos limites
+ * de estoque baixo por cerveja e por categoria.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@RestController
+@RequestMapping("/api/v1/stock/alerts")
+public class StockAlertController {
+
+    /**
+     * Logger para registro de eventos e rastreamento de execução.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StockAlertController.class);
+
+    /**
+     * Serviço responsável pelos alertas e limites de estoque baixo.
+     */
+    private final StockAlertService stockAlertService;
+
+    /**
+     * Construtor para injeção de dependência do serviço de alertas.
+     *
+     * @param stockAlertService O serviço de alertas de estoque.
+     */
+    public StockAlertController(StockAlertService stockAlertService) {
+        this.stockAlertService = stockAlertService;
+    }
+
+    // ================= GET WATCHLIST =================
+    /**
+     * Retorna as cervejas atualmente em estoque baixo (padrão) ou sem estoque.
+     *
+     * @param status O status de alerta ({@code LOW} ou {@code OUT_OF_STOCK}).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link StockAlertDTO}.
+     */
+    @Operation(summary = "Get stock watchlist", description = "Returns the beers currently LOW or OUT_OF_STOCK, kept incrementally in memory.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved watchlist"),
+            @ApiResponse(responseCode = "422", description = "Status without watchlist")
+    })
+    @GetMapping("/watchlist")
+    public ResponseEntity<List<StockAlertDTO>> findWatchlist(
+            @Parameter(description = "Alert status", example = "LOW") @RequestParam(defaultValue = "LOW") StockStatus status
+    ) {
+        logger.info("GET /stock/alerts/watchlist iniciado. Status: {}", status);
+
+        List<StockAlertDTO> list = stockAlertService.findWatchlist(status);
+
+        logger.info("GET /stock/alerts/watchlist finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= GET THRESHOLDS =================
+    /**
+     * Retorna todos os limites de estoque baixo configurados.
+     *
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link StockThresholdDTO}.
+     */
+    @Operation(summary = "List low-stock thresholds", description = "Returns the per-beer and per-category low-stock thresholds.")
+    @GetMapping("/thresholds")
+    public ResponseEntity<List<StockThresholdDTO>> findThresholds() {
+        logger.info("GET /stock/alerts/thresholds iniciado.");
+
+        List<StockThresholdDTO> list = stockAlertService.findThresholds();
+
+        logger.info("GET /stock/alerts/thresholds finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= PUT THRESHOLD =================
+    /**
+     * Cria ou substitui o limite de estoque baixo de uma cerveja ou de uma categoria.
+     *
+     * @param dto O {@link StockThresholdDTO} com exatamente um entre {@code beerId} e {@code categoryId}.
+     * @return {@link ResponseEntity} contendo o {@link StockThresholdDTO} gravado.
+     */
+    @Operation(summary = "Save low-stock threshold", description = "Creates or replaces the low-stock threshold of a beer or a category.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Threshold saved"),
+            @ApiResponse(responseCode = "404", description = "Beer or category not found"),
+            @ApiResponse(responseCode = "422", description = "Invalid threshold scope")
+    })
+    @PutMapping("/thresholds")
+    public ResponseEntity<StockThresholdDTO> saveThreshold(
+            @Parameter(description = "Threshold details") @Valid @RequestBody StockThresholdDTO dto
+    ) {
+        logger.info("PUT /stock/alerts/thresholds iniciado. Cerveja: {}, Categoria: {}, Limite: {}",
+                dto.getBeerId(), dto.getCategoryId(), dto.getLowLimit());
+
+        StockThresholdDTO saved = stockAlertService.saveThreshold(dto);
+
+        logger.info("PUT /stock/alerts/thresholds finalizado. Limite ID {} gravado.", saved.getId());
+        return ResponseEntity.ok(saved);
+    }
+
+    // ================= DELETE THRESHOLD =================
+    /**
+     * Exclui um limite de estoque baixo.
+     *
+     * @param id O ID do limite.
+     * @return {@link ResponseEntity} com status HTTP 204 No Content.
+     */
+    @Operation(summary = "Delete low-stock threshold", description = "Deletes a low-stock threshold.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Threshold deleted"),
+            @ApiResponse(responseCode = "404", description = "Threshold not found")
+    })
+    @DeleteMapping("/thresholds/{id}")
+    public ResponseEntity<Void> deleteThreshold(@PathVariable Long id) {
+        logger.warn("DELETE /stock/alerts/thresholds/{} iniciado.", id);
+
+        stockAlertService.deleteThreshold(id);
+
+        logger.info("DELETE /stock/alerts/thresholds/{} finalizado.", id);
+        return ResponseEntity.noContent().build();
+    }
+}
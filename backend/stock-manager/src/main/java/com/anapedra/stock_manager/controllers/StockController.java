@@ -1,24 +1,39 @@
 package com.anapedra.stock_manager.controllers;
 
 import com.anapedra.stock_manager.domain.dtos.BeerStockDTO;
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.DemandForecastDTO;
+import com.anapedra.stock_manager.domain.dtos.ExpiredWriteOffReportDTO;
+import com.anapedra.stock_manager.domain.dtos.StockMovementDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import com.anapedra.stock_manager.services.StockService;
+import com.anapedra.stock_manager.services.catalog.CatalogETags;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST responsável por gerenciar as consultas relacionadas ao estoque
  * de cervejas (Stock).
  *
  * <p>Expõe endpoints para buscar o estoque total com filtros, buscar o estoque
- * de uma cerveja específica e gerar relatórios de cervejas vencidas.</p>
+ * de uma cerveja específica e gerar relatórios de cervejas vencidas. Cada item informa
+ * o saldo em estoque, a quantidade reservada por pedidos aguardando pagamento e o
+ * disponível para venda ({@code stock - reserved}). Também expõe o histórico de movimentações
+ * de cada cerveja, a reconstrução do estoque a partir desse diário e o fracionamento do
+ * saldo de cervejas muito disputadas, além da previsão de demanda por cerveja.</p>
+ *
+ * <p>A listagem e a consulta por cerveja aceitam GET condicional ({@code If-None-Match}),
+ * respondido com {@code 304} pelo {@link CatalogETags} sem chamar o serviço.</p>
  *
  * @author Ana Santana
  * @version 1.0
@@ -38,13 +53,20 @@ public class StockController {
      */
     private final StockService stockService;
 
+    /**
+     * ETags das leituras de estoque.
+     */
+    private final CatalogETags catalogETags;
+
     /**
      * Construtor para injeção de dependência do serviço de estoque.
      *
      * @param stockService O serviço de estoque.
+     * @param catalogETags ETags das leituras de estoque.
      */
-    public StockController(StockService stockService) {
+    public StockController(StockService stockService, CatalogETags catalogETags) {
         this.stockService = stockService;
+        this.catalogETags = catalogETags;
     }
 
     /**
@@ -57,32 +79,42 @@ public class StockController {
      * @param minQuantity Quantidade mínima em estoque para filtro (opcional).
      * @param maxQuantity Quantidade máxima em estoque para filtro (opcional).
      * @param pageable Objeto de paginação e ordenação.
-     * @return {@link ResponseEntity} contendo uma {@link Page} de {@link BeerStockDTO}.
+     * @param count O modo de contagem do total: NONE, APPROX ou EXACT (padrão: EXACT).
+     * @param webRequest A requisição, usada no GET condicional (listagens sem filtro de quantidade).
+     * @return {@link ResponseEntity} contendo uma {@link CountedPageDTO} de {@link BeerStockDTO},
+     * ou {@code null} (304) se a versão do cliente ainda for a corrente.
      */
     @GetMapping
-    public ResponseEntity<Page<BeerStockDTO>> findAll(
+    public ResponseEntity<CountedPageDTO<BeerStockDTO>> findAll(
 
             @RequestParam(value = "categoryId", required = false) Long categoryId,
             @RequestParam(value = "categoryName", defaultValue = "") String categoryName,
             @RequestParam(value = "beerDescription", defaultValue = "") String beerDescription,
             @RequestParam(value = "minQuantity", required = false) Integer minQuantity,
             @RequestParam(value = "maxQuantity", required = false) Integer maxQuantity,
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode count,
+            WebRequest webRequest) {
 
-        logger.info("CONTROLLER: GET /stock iniciado. Filtros: CatID={}, QtdMin={}, Page={}",
-                    categoryId, minQuantity, pageable.getPageNumber());
+        logger.info("CONTROLLER: GET /stock iniciado. Filtros: CatID={}, QtdMin={}, Page={}, Contagem={}",
+                    categoryId, minQuantity, pageable.getPageNumber(), count);
+        if (catalogETags.beersNotModified(webRequest, minQuantity, maxQuantity, pageable)) {
+            logger.info("CONTROLLER: GET /stock finalizado. Status: 304 Not Modified.");
+            return null;
+        }
                     
-        Page<BeerStockDTO> list = stockService.findAllBeer(
+        CountedPageDTO<BeerStockDTO> list = stockService.findAllBeer(
             categoryId,
                 categoryName.trim(),
             beerDescription.trim(), 
             minQuantity,
             maxQuantity,
-            pageable
+            pageable,
+            count
         );
         
         // Log de saída
-        logger.info("CONTROLLER: GET /stock finalizado. Status: 200 OK. Itens retornados: {}", list.getTotalElements());
+        logger.info("CONTROLLER: GET /stock finalizado. Status: 200 OK. Itens retornados: {}", list.getNumberOfElements());
         return ResponseEntity.ok().body(list);
     }
 
@@ -90,12 +122,18 @@ public class StockController {
      * Retorna os detalhes de estoque para uma cerveja específica.
      *
      * @param id O ID da cerveja.
-     * @return {@link ResponseEntity} contendo o {@link BeerStockDTO} da cerveja.
+     * @param webRequest A requisição, usada no GET condicional.
+     * @return {@link ResponseEntity} contendo o {@link BeerStockDTO} da cerveja,
+     * ou {@code null} (304) se a versão do cliente ainda for a corrente.
      * @throws com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException Se o ID não for encontrado.
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<BeerStockDTO> findById(@PathVariable Long id) {
+    public ResponseEntity<BeerStockDTO> findById(@PathVariable Long id, WebRequest webRequest) {
         logger.info("CONTROLLER: GET /stock/{} iniciado.", id);
+        if (catalogETags.stockNotModified(webRequest, id)) {
+            logger.info("CONTROLLER: GET /stock/{} finalizado. Status: 304 Not Modified.", id);
+            return null;
+        }
         
         BeerStockDTO dto = stockService.findById(id);
         
@@ -121,4 +159,117 @@ public class StockController {
         logger.info("CONTROLLER: GET /stock/expired finalizado. Status: 200 OK. Total de itens vencidos: {}", list.size());
         return ResponseEntity.ok(list);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna a quantidade de cervejas vencidas e a vencer em 7, 30 e 90 dias, a partir da
+     * data de referência.
+     *
+     * @param referenceDate A data de referência (formato yyyy-MM-dd, padrão: hoje).
+     * @return {@link ResponseEntity} com as contagens por janela de vencimento.
+     */
+    @GetMapping(value = "/expiring/summary")
+    public ResponseEntity<Map<String, Long>> getExpirationSummary(
+            @RequestParam(value = "referenceDate", required = false) LocalDate referenceDate) {
+
+        LocalDate date = (referenceDate != null) ? referenceDate : LocalDate.now();
+        logger.info("CONTROLLER: GET /stock/expiring/summary iniciado. Data de referência: {}", date);
+
+        Map<String, Long> summary = stockService.getExpirationSummary(date);
+
+        logger.info("CONTROLLER: GET /stock/expiring/summary finalizado. Status: 200 OK.");
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Retorna a previsão de demanda (unidades) de cada cerveja para os próximos dias,
+     * calculada em memória a partir das vendas registradas, sem consultar o histórico de pedidos.
+     *
+     * @param days A quantidade de dias previstos, a partir de amanhã (padrão: 7).
+     * @param beerId O ID de uma cerveja (opcional; padrão: todas as cervejas com vendas).
+     * @return {@link ResponseEntity} contendo a lista de {@link DemandForecastDTO}.
+     */
+    @GetMapping(value = "/forecast")
+    public ResponseEntity<List<DemandForecastDTO>> getDemandForecast(
+            @RequestParam(value = "days", defaultValue = "7") Integer days,
+            @RequestParam(value = "beerId", required = false) Long beerId) {
+
+        logger.info("CONTROLLER: GET /stock/forecast iniciado. Dias: {}, Cerveja: {}", days, beerId);
+
+        List<DemandForecastDTO> list = stockService.getDemandForecast(days, beerId);
+
+        logger.info("CONTROLLER: GET /stock/forecast finalizado. Status: 200 OK. Total de itens: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    /**
+     * Baixa como perda o estoque disponível das cervejas vencidas até a data de referência.
+     * A mesma rotina é executada diariamente de forma agendada.
+     *
+     * @param referenceDate A data de referência (formato yyyy-MM-dd, padrão: hoje).
+     * @return {@link ResponseEntity} contendo o {@link ExpiredWriteOffReportDTO} da execução.
+     */
+    @PostMapping(value = "/expired/write-off")
+    public ResponseEntity<ExpiredWriteOffReportDTO> writeOffExpired(
+            @RequestParam(value = "referenceDate", required = false) LocalDate referenceDate) {
+
+        LocalDate date = (referenceDate != null) ? referenceDate : LocalDate.now();
+        logger.info("CONTROLLER: POST /stock/expired/write-off iniciado. Data de referência: {}", date);
+
+        ExpiredWriteOffReportDTO report = stockService.writeOffExpired(date);
+
+        logger.info("CONTROLLER: POST /stock/expired/write-off finalizado. Status: 200 OK. Cervejas baixadas: {}",
+                report.getBeersWrittenOff());
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Retorna o histórico paginado de movimentações de estoque de uma cerveja.
+     *
+     * @param id O ID da cerveja.
+     * @param pageable Objeto de paginação e ordenação (ex: {@code sort=id,desc}).
+     * @return {@link ResponseEntity} contendo uma {@link Page} de {@link StockMovementDTO}.
+     */
+    @GetMapping(value = "/{id}/movements")
+    public ResponseEntity<Page<StockMovementDTO>> findMovements(@PathVariable Long id, Pageable pageable) {
+        logger.info("CONTROLLER: GET /stock/{}/movements iniciado. Page={}", id, pageable.getPageNumber());
+
+        Page<StockMovementDTO> page = stockService.findMovements(id, pageable);
+
+        logger.info("CONTROLLER: GET /stock/{}/movements finalizado. Status: 200 OK. Itens retornados: {}", id, page.getNumberOfElements());
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Reconstrói o estoque persistido a partir do diário de movimentações (último
+     * instantâneo + movimentações posteriores). Destinado à recuperação após incidentes.
+     *
+     * @return {@link ResponseEntity} com a quantidade de cervejas corrigidas.
+     */
+    @PostMapping(value = "/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        logger.warn("CONTROLLER: POST /stock/rebuild iniciado.");
+
+        int corrected = stockService.rebuildFromJournal();
+
+        logger.info("CONTROLLER: POST /stock/rebuild finalizado. Status: 200 OK. Cervejas corrigidas: {}", corrected);
+        return ResponseEntity.ok(Map.of("correctedBeers", corrected));
+    }
+
+    /**
+     * Define em quantas frações o saldo de uma cerveja é gravado. Indicado para cervejas
+     * muito disputadas (ex: lançamentos); {@code count=1} volta ao registro único.
+     *
+     * @param id O ID da cerveja.
+     * @param count A quantidade de frações.
+     * @return {@link ResponseEntity} contendo o {@link BeerStockDTO} da cerveja.
+     */
+    @PutMapping(value = "/{id}/shards")
+    public ResponseEntity<BeerStockDTO> configureShards(@PathVariable Long id, @RequestParam("count") int count) {
+        logger.info("CONTROLLER: PUT /stock/{}/shards iniciado. Frações: {}", id, count);
+
+        BeerStockDTO dto = stockService.configureShards(id, count);
+
+        logger.info("CONTROLLER: PUT /stock/{}/shards finalizado. Status: 200 OK.", id);
+        return ResponseEntity.ok(dto);
+    }
+}
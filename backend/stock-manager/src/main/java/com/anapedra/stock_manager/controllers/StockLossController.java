@@ -1,6 +1,13 @@
 package com.anapedra.stock_manager.controllers;
 
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.LossTotalDTO;
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.dtos.ShrinkageDTO;
 import com.anapedra.stock_manager.domain.dtos.StockLossDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import com.anapedra.stock_manager.domain.enums.LossGrouping;
 import com.anapedra.stock_manager.services.StockLossService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,13 +19,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Controlador REST responsável por gerenciar as operações de registro e consulta
@@ -84,6 +91,34 @@ public class StockLossController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    // ================= POST (LOTE) =================
+    /**
+     * Registra várias perdas de estoque de uma só vez (ex: auditorias de quebra e furto).
+     *
+     * <p>O lote é atômico: se algum item for inválido ou o estoque de alguma cerveja não
+     * comportar o total perdido, nenhuma perda é registrada.</p>
+     *
+     * @param dtos Os {@link StockLossDTO} com as perdas a registrar.
+     * @return {@link ResponseEntity} contendo as perdas registradas, na ordem recebida.
+     */
+    @Operation(summary = "Register stock losses in bulk", description = "Registers many stock loss entries atomically in a single transaction.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Losses successfully registered"),
+        @ApiResponse(responseCode = "400", description = "Estoque insuficiente"),
+        @ApiResponse(responseCode = "422", description = "Itens inválidos, cerveja não encontrada ou lote acima do máximo")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<StockLossDTO>> registerLosses(
+            @Parameter(description = "Stock loss entries") @RequestBody List<StockLossDTO> dtos
+    ) {
+        logger.warn("POST /losses/batch iniciado. Tentativa de registrar {} perda(s).", dtos.size());
+
+        List<StockLossDTO> result = stockLossService.registerLosses(dtos);
+
+        logger.info("POST /losses/batch finalizado. Status: 201 CREATED. {} perda(s) registrada(s).", result.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     // ================= GET =================
     /**
      * Retorna uma lista paginada de registros de perdas de estoque, permitindo
@@ -96,36 +131,181 @@ public class StockLossController {
      * @param startDate Data de início do período de busca (opcional).
      * @param endDate Data de fim do período de busca (opcional).
      * @param pageable O objeto de paginação e ordenação.
-     * @return {@link ResponseEntity} contendo uma {@link Page} de {@link StockLossDTO}.
+     * @param count O modo de contagem do total: NONE, APPROX ou EXACT (padrão: EXACT).
+     * @return {@link ResponseEntity} contendo uma {@link CountedPageDTO} de {@link StockLossDTO}.
      */
-    @Operation(summary = "List stock losses with filters", description = "Returns a paginated list of stock losses filtered by beer, category, reason code, or date range.")
+    @Operation(summary = "List stock losses with filters", description = "Returns a paginated list of stock losses filtered by beer, category, reason code, or date range. "
+            + "count=NONE skips the total, count=APPROX returns an estimated or briefly cached total.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Losses retrieved successfully")
     })
     @GetMapping
-    public ResponseEntity<Page<StockLossDTO>> findLosses(
+    public ResponseEntity<CountedPageDTO<StockLossDTO>> findLosses(
+            @Parameter(description = "Reason code for the loss", example = "1") @RequestParam(value = "reasonCode", required = false) Integer reasonCode,
+            @Parameter(description = "Beer ID", example = "10") @RequestParam(value = "beerId", required = false) Long beerId,
+            @Parameter(description = "Beer name", example = "IPA") @RequestParam(value = "beerName", required = false) String beerName,
+            @Parameter(description = "Category ID", example = "5") @RequestParam(value = "categoryId", required = false) Long categoryId,
+            @Parameter(description = "Start date (yyyy-MM-dd)", example = "2025-12-01") @RequestParam(value = "startDate", required = false) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)", example = "2025-12-09") @RequestParam(value = "endDate", required = false) LocalDate endDate,
+            Pageable pageable,
+            @Parameter(description = "Total count mode: NONE, APPROX or EXACT") @RequestParam(value = "count", defaultValue = "EXACT") CountMode count
+    ) {
+        logger.info("GET /losses iniciado. Filtros: Razão={}, BeerID={}, Data Inicial: {}, Page={}, Contagem={}",
+                    reasonCode, beerId, startDate, pageable.getPageNumber(), count);
+
+        CountedPageDTO<StockLossDTO> page = stockLossService.findLossesByFilters(
+                reasonCode,
+                beerId,
+                beerName,
+                categoryId,
+                startDate,
+                endDate,
+                pageable,
+                count
+        );
+
+        logger.info("GET /losses finalizado. Status: 200 OK. Registros de perda retornados: {}, Total: {}",
+                page.getNumberOfElements(), page.getTotalElements());
+        return ResponseEntity.ok(page);
+    }
+
+    // ================= GET (CURSOR) =================
+    /**
+     * Retorna as perdas com os mesmos filtros de {@link #findLosses}, paginadas por cursor: em
+     * ordem de ID, sem contagem do total. Para a próxima página, envie o {@code nextCursor} recebido.
+     *
+     * @param reasonCode O código da razão de perda (opcional).
+     * @param beerId O ID da cerveja (opcional).
+     * @param beerName O nome parcial da cerveja (opcional).
+     * @param categoryId O ID da categoria (opcional).
+     * @param startDate Data de início do período de busca (opcional).
+     * @param endDate Data de fim do período de busca (opcional).
+     * @param cursor O token da página anterior (opcional; ausente na primeira página).
+     * @param size Tamanho da página (padrão: 10).
+     * @return {@link ResponseEntity} contendo uma {@link CursorPageDTO} de {@link StockLossDTO}.
+     */
+    @Operation(summary = "List stock losses with filters by cursor", description = "Keyset-paginated variant of the loss listing: ordered by ID, with an opaque continuation token and no total count.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Losses retrieved successfully"),
+        @ApiResponse(responseCode = "422", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<StockLossDTO>> findLossesCursor(
             @Parameter(description = "Reason code for the loss", example = "1") @RequestParam(value = "reasonCode", required = false) Integer reasonCode,
             @Parameter(description = "Beer ID", example = "10") @RequestParam(value = "beerId", required = false) Long beerId,
             @Parameter(description = "Beer name", example = "IPA") @RequestParam(value = "beerName", required = false) String beerName,
             @Parameter(description = "Category ID", example = "5") @RequestParam(value = "categoryId", required = false) Long categoryId,
             @Parameter(description = "Start date (yyyy-MM-dd)", example = "2025-12-01") @RequestParam(value = "startDate", required = false) LocalDate startDate,
             @Parameter(description = "End date (yyyy-MM-dd)", example = "2025-12-09") @RequestParam(value = "endDate", required = false) LocalDate endDate,
-            Pageable pageable
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size", example = "10") @RequestParam(value = "size", defaultValue = "10") Integer size
     ) {
-        logger.info("GET /losses iniciado. Filtros: Razão={}, BeerID={}, Data Inicial: {}, Page={}",
-                    reasonCode, beerId, startDate, pageable.getPageNumber());
+        logger.info("GET /losses/cursor iniciado. Filtros: Razão={}, BeerID={}, Data Inicial: {}, Size={}",
+                    reasonCode, beerId, startDate, size);
 
-        Page<StockLossDTO> page = stockLossService.findLossesByFilters(
+        CursorPageDTO<StockLossDTO> page = stockLossService.findLossesByFiltersCursor(
                 reasonCode,
                 beerId,
                 beerName,
                 categoryId,
                 startDate,
                 endDate,
-                pageable
+                cursor,
+                size
         );
 
-        logger.info("GET /losses finalizado. Status: 200 OK. Total de registros de perda: {}", page.getTotalElements());
+        logger.info("GET /losses/cursor finalizado. Registros retornados: {}, Próxima página: {}",
+                    page.getContent().size(), page.getHasNext());
         return ResponseEntity.ok(page);
     }
-}
\ No newline at end of file
+
+    // ================= GET TOTALS =================
+    /**
+     * Retorna os totais de perdas do intervalo agrupados por motivo, cerveja, categoria, dia ou mês.
+     *
+     * @param groupBy O agrupamento (padrão: REASON).
+     * @param from O primeiro dia (formato yyyy-MM-dd).
+     * @param to O último dia, inclusive (formato yyyy-MM-dd).
+     * @param reasonCode O código do motivo da perda (opcional).
+     * @param beerId O ID da cerveja (opcional).
+     * @param categoryId O ID da categoria (opcional).
+     * @return {@link ResponseEntity} contendo uma {@link List} de {@link LossTotalDTO}.
+     */
+    @Operation(summary = "Get loss totals", description = "Returns units lost and loss count grouped by reason, beer, category, day or month, read from the daily loss rollup.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved loss totals"),
+            @ApiResponse(responseCode = "422", description = "Invalid date range or reason code")
+    })
+    @GetMapping("/totals")
+    public ResponseEntity<List<LossTotalDTO>> findLossTotals(
+            @Parameter(description = "Grouping: REASON, BEER, CATEGORY, DAY or MONTH") @RequestParam(defaultValue = "REASON") LossGrouping groupBy,
+            @Parameter(description = "First day", example = "2026-01-01") @RequestParam LocalDate from,
+            @Parameter(description = "Last day (inclusive)", example = "2026-01-31") @RequestParam LocalDate to,
+            @Parameter(description = "Loss reason code") @RequestParam(required = false) Integer reasonCode,
+            @Parameter(description = "Beer ID") @RequestParam(required = false) Long beerId,
+            @Parameter(description = "Category ID") @RequestParam(required = false) Long categoryId
+    ) {
+        logger.info("GET /losses/totals iniciado. Agrupamento: {}, De {} a {}, Motivo: {}, Cerveja: {}, Categoria: {}",
+                groupBy, from, to, reasonCode, beerId, categoryId);
+
+        List<LossTotalDTO> list = stockLossService.findLossTotals(groupBy, from, to, reasonCode, beerId, categoryId);
+
+        logger.info("GET /losses/totals finalizado. Itens retornados: {}", list.size());
+        return ResponseEntity.ok(list);
+    }
+
+    // ================= GET SHRINKAGE =================
+    /**
+     * Retorna a taxa de quebra do intervalo: unidades perdidas sobre unidades vendidas.
+     *
+     * @param from O primeiro dia (formato yyyy-MM-dd).
+     * @param to O último dia, inclusive (formato yyyy-MM-dd).
+     * @param beerId O ID da cerveja (opcional; padrão: todas).
+     * @return {@link ResponseEntity} contendo o {@link ShrinkageDTO} do intervalo.
+     */
+    @Operation(summary = "Get shrinkage", description = "Returns units lost, units sold and the shrinkage percentage (lost / sold * 100), read from the daily loss and sales rollups.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully computed shrinkage"),
+            @ApiResponse(responseCode = "422", description = "Invalid date range")
+    })
+    @GetMapping("/shrinkage")
+    public ResponseEntity<ShrinkageDTO> getShrinkage(
+            @Parameter(description = "First day", example = "2026-01-01") @RequestParam LocalDate from,
+            @Parameter(description = "Last day (inclusive)", example = "2026-01-31") @RequestParam LocalDate to,
+            @Parameter(description = "Beer ID") @RequestParam(required = false) Long beerId
+    ) {
+        logger.info("GET /losses/shrinkage iniciado. De {} a {}, Cerveja: {}", from, to, beerId);
+
+        ShrinkageDTO shrinkage = stockLossService.getShrinkage(from, to, beerId);
+
+        logger.info("GET /losses/shrinkage finalizado. Quebra: {}%", shrinkage.getShrinkagePercent());
+        return ResponseEntity.ok(shrinkage);
+    }
+
+    // ================= POST BACKFILL =================
+    /**
+     * Reconstrói a consolidação diária de perdas a partir dos registros de perda.
+     *
+     * @param from O primeiro dia (opcional; padrão: o dia da perda mais antiga).
+     * @param to O último dia, inclusive (opcional; padrão: hoje).
+     * @return {@link ResponseEntity} contendo o {@link RollupBackfillReportDTO} da execução.
+     */
+    @Operation(summary = "Backfill daily losses", description = "Rebuilds the daily loss rollup from the stock loss records, in chunks of days.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rollup rebuilt"),
+            @ApiResponse(responseCode = "422", description = "Invalid date range or backfill already running")
+    })
+    @PostMapping("/backfill")
+    public ResponseEntity<RollupBackfillReportDTO> backfillLossTotals(
+            @Parameter(description = "First day") @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "Last day (inclusive)") @RequestParam(required = false) LocalDate to
+    ) {
+        logger.info("POST /losses/backfill iniciado. De {} a {}", from, to);
+
+        RollupBackfillReportDTO report = stockLossService.backfillLossTotals(from, to);
+
+        logger.info("POST /losses/backfill finalizado. Blocos: {}, Linhas: {}, Falhas: {}",
+                report.getChunks(), report.getRows(), report.getFailedChunks());
+        return ResponseEntity.ok(report);
+    }
+}
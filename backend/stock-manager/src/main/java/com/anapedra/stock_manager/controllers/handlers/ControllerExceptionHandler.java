@@ -57,6 +57,21 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    /**
+     * Trata a exceção {@link BusinessRuleException}, lançada quando uma operação viola
+     * uma regra de negócio (Status HTTP 422 Unprocessable Entity).
+     *
+     * @param e A exceção {@link BusinessRuleException} capturada.
+     * @param request A requisição HTTP que gerou a exceção.
+     * @return Uma {@link ResponseEntity} com status HTTP 422 e o corpo de erro customizado.
+     */
+    @ExceptionHandler(BusinessRuleException.class)
+    public ResponseEntity<CustomError> businessRule(BusinessRuleException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        CustomError err = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
     /**
      * Trata exceções lançadas pelo Spring ao falhar a validação de argumentos
      * anotados com {@code @Valid} (Status HTTP 422 Unprocessable Entity).
@@ -77,6 +92,22 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    /**
+     * Trata a exceção {@link BatchValidationException}, lançada quando itens de uma operação
+     * em lote são inválidos e o lote inteiro é recusado (Status HTTP 422 Unprocessable Entity).
+     *
+     * @param e A exceção {@link BatchValidationException} capturada.
+     * @param request A requisição HTTP que gerou a exceção.
+     * @return Uma {@link ResponseEntity} com status HTTP 422 e o corpo de erro {@link ValidationError}.
+     */
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<CustomError> batchValidation(BatchValidationException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        ValidationError err = new ValidationError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        e.getErrors().forEach(err::addError);
+        return ResponseEntity.status(status).body(err);
+    }
+
     /**
      * Trata a exceção {@link ForbiddenException}, indicando que o usuário está
      * autenticado, mas não possui permissão para acessar o recurso (Status HTTP 403 Forbidden).
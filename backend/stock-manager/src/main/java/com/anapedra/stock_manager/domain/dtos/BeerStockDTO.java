@@ -37,6 +37,16 @@ public class BeerStockDTO implements Serializable {
      */
     private Integer stock;
 
+    /**
+     * A quantidade retida por pedidos aguardando pagamento.
+     */
+    private Integer reserved;
+
+    /**
+     * A quantidade disponível para venda ({@code stock - reserved}).
+     */
+    private Integer available;
+
     /**
      * A imagem do produto.
      */
@@ -63,6 +73,37 @@ public class BeerStockDTO implements Serializable {
         name = entity.getName();
         stock =(entity.getStock() != null) ? entity.getStock().getQuantity() : entity.returnQuantityStock();
         imgUrl = entity.getUrlImg();
+        reserved = 0;
+        available = stock;
+    }
+
+    /**
+     * Construtor de cópia, usado para aplicar as quantidades do ledger sem alterar uma leitura
+     * guardada em cache.
+     *
+     * @param other O DTO de origem.
+     */
+    public BeerStockDTO(BeerStockDTO other) {
+        id = other.id;
+        beerName = other.beerName;
+        name = other.name;
+        stock = other.stock;
+        reserved = other.reserved;
+        available = other.available;
+        imgUrl = other.imgUrl;
+    }
+
+    /**
+     * Atualiza as quantidades com a visão do ledger de estoque em memória, que inclui as
+     * reservas ainda não pagas.
+     *
+     * @param onHand O saldo físico em estoque.
+     * @param reserved A quantidade reservada.
+     */
+    public void applyReservation(int onHand, int reserved) {
+        this.stock = onHand;
+        this.reserved = reserved;
+        this.available = onHand - reserved;
     }
 
     /**
@@ -83,6 +124,18 @@ public class BeerStockDTO implements Serializable {
      */
     public Integer getStock() { return stock; }
 
+    /**
+     * Retorna a quantidade reservada por pedidos aguardando pagamento.
+     * @return A quantidade reservada.
+     */
+    public Integer getReserved() { return reserved; }
+
+    /**
+     * Retorna a quantidade disponível para venda.
+     * @return A quantidade disponível.
+     */
+    public Integer getAvailable() { return available; }
+
     /**
      * Retorna a imagem  da cerveja.
      * @return A imagem da cerveja.
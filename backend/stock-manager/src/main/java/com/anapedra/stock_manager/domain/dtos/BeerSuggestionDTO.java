@@ -0,0 +1,60 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO (Data Transfer Object) de uma sugestão do autocompletar de cervejas.
+ *
+ * <p>Traz apenas o ID e o nome da cerveja, lidos do índice de nomes em memória, sem consulta
+ * ao banco.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class BeerSuggestionDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O ID da cerveja.
+     */
+    private Long id;
+
+    /**
+     * O nome da cerveja.
+     */
+    private String name;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public BeerSuggestionDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param id O ID da cerveja.
+     * @param name O nome da cerveja.
+     */
+    public BeerSuggestionDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o nome da cerveja.
+     * @return O nome.
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,105 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO (Data Transfer Object) com o total de vendas de uma categoria em um intervalo de datas.
+ *
+ * <p>Calculado a partir da consolidação diária ({@code tb_sales_daily}) e das categorias
+ * atuais de cada cerveja. Uma cerveja com várias categorias é contabilizada em cada uma delas.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class CategorySalesDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O ID da categoria.
+     */
+    private Long categoryId;
+
+    /**
+     * O nome da categoria.
+     */
+    private String categoryName;
+
+    /**
+     * As unidades vendidas no intervalo.
+     */
+    private Long units;
+
+    /**
+     * A receita do intervalo.
+     */
+    private Double revenue;
+
+    /**
+     * A soma, por cerveja da categoria, dos pedidos que a incluíram.
+     */
+    private Long orderCount;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public CategorySalesDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param categoryId O ID da categoria.
+     * @param categoryName O nome da categoria.
+     * @param units As unidades vendidas.
+     * @param revenue A receita.
+     * @param orderCount A quantidade de pedidos.
+     */
+    public CategorySalesDTO(Long categoryId, String categoryName, Long units, Double revenue, Long orderCount) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.units = units;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+    }
+
+    /**
+     * Retorna o ID da categoria.
+     * @return O ID da categoria.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Retorna o nome da categoria.
+     * @return O nome.
+     */
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    /**
+     * Retorna as unidades vendidas.
+     * @return As unidades.
+     */
+    public Long getUnits() {
+        return units;
+    }
+
+    /**
+     * Retorna a receita.
+     * @return A receita.
+     */
+    public Double getRevenue() {
+        return revenue;
+    }
+
+    /**
+     * Retorna a quantidade de pedidos.
+     * @return A quantidade de pedidos.
+     */
+    public Long getOrderCount() {
+        return orderCount;
+    }
+}
@@ -0,0 +1,198 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import com.anapedra.stock_manager.domain.enums.CountMode;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * DTO (Data Transfer Object) de uma página das listagens paginadas por número.
+ *
+ * <p>Além dos itens e da posição da página, informa em {@code countMode} como o total foi
+ * obtido: sem total ({@link CountMode#NONE}, com {@code totalElements} e {@code totalPages}
+ * nulos), aproximado ({@link CountMode#APPROX}) ou exato ({@link CountMode#EXACT}). O indicador
+ * {@code hasNext} é sempre exato.</p>
+ *
+ * <p>Mantém os campos {@code first}, {@code last} e {@code empty} da {@code Page} do Spring Data,
+ * para os clientes da resposta anterior; {@code sort} e {@code pageable} não são retornados.</p>
+ *
+ * @param <T> O tipo dos itens da página.
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class CountedPageDTO<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Os itens da página.
+     */
+    private List<T> content;
+
+    /**
+     * O número da página (a partir de zero).
+     */
+    private Integer number;
+
+    /**
+     * O tamanho de página solicitado.
+     */
+    private Integer size;
+
+    /**
+     * A quantidade de itens desta página.
+     */
+    private Integer numberOfElements;
+
+    /**
+     * O total de elementos, ou {@code null} sem contagem.
+     */
+    private Long totalElements;
+
+    /**
+     * O total de páginas, ou {@code null} sem contagem.
+     */
+    private Integer totalPages;
+
+    /**
+     * Indica se há itens após esta página.
+     */
+    private Boolean hasNext;
+
+    /**
+     * Como o total foi obtido.
+     */
+    private CountMode countMode;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public CountedPageDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param content Os itens da página.
+     * @param number O número da página.
+     * @param size O tamanho de página solicitado.
+     * @param numberOfElements A quantidade de itens desta página.
+     * @param totalElements O total de elementos, ou {@code null}.
+     * @param totalPages O total de páginas, ou {@code null}.
+     * @param hasNext Se há itens após esta página.
+     * @param countMode Como o total foi obtido.
+     */
+    public CountedPageDTO(List<T> content, Integer number, Integer size, Integer numberOfElements,
+                          Long totalElements, Integer totalPages, Boolean hasNext, CountMode countMode) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.numberOfElements = numberOfElements;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.hasNext = hasNext;
+        this.countMode = countMode;
+    }
+
+    /**
+     * Converte os itens da página, mantendo a posição e o total.
+     *
+     * @param mapper Converte cada item.
+     * @param <R> O tipo dos itens convertidos.
+     * @return Uma nova página com os itens convertidos.
+     */
+    public <R> CountedPageDTO<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().map(mapper).collect(Collectors.toList());
+        return new CountedPageDTO<>(mapped, number, size, numberOfElements, totalElements, totalPages, hasNext, countMode);
+    }
+
+    /**
+     * Retorna os itens da página.
+     * @return Os itens.
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Retorna o número da página.
+     * @return O número (a partir de zero).
+     */
+    public Integer getNumber() {
+        return number;
+    }
+
+    /**
+     * Retorna o tamanho de página solicitado.
+     * @return O tamanho.
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    /**
+     * Retorna a quantidade de itens desta página.
+     * @return A quantidade.
+     */
+    public Integer getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    /**
+     * Retorna o total de elementos.
+     * @return O total, ou {@code null} sem contagem.
+     */
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    /**
+     * Retorna o total de páginas.
+     * @return O total, ou {@code null} sem contagem.
+     */
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    /**
+     * Indica se há itens após esta página.
+     * @return true se houver próxima página.
+     */
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    /**
+     * Indica se esta é a primeira página.
+     * @return true se o número da página for zero.
+     */
+    public boolean isFirst() {
+        return number == null || number == 0;
+    }
+
+    /**
+     * Indica se esta é a última página.
+     * @return true se não houver próxima página.
+     */
+    public boolean isLast() {
+        return !Boolean.TRUE.equals(hasNext);
+    }
+
+    /**
+     * Indica se a página não tem itens.
+     * @return true se a página estiver vazia.
+     */
+    public boolean isEmpty() {
+        return content == null || content.isEmpty();
+    }
+
+    /**
+     * Retorna como o total foi obtido.
+     * @return O {@link CountMode}.
+     */
+    public CountMode getCountMode() {
+        return countMode;
+    }
+}
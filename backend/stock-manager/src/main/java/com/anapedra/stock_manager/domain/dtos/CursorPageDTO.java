@@ -0,0 +1,93 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) de uma página da paginação por cursor (keyset).
+ *
+ * <p>Em vez do número da página e do total de elementos, traz um indicador de próxima página
+ * e um token opaco ({@code nextCursor}) a ser enviado como {@code cursor} na requisição seguinte,
+ * com os mesmos filtros. O custo de cada página não depende da sua posição na listagem.</p>
+ *
+ * @param <T> O tipo dos itens da página.
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class CursorPageDTO<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Os itens da página.
+     */
+    private List<T> content;
+
+    /**
+     * O tamanho de página solicitado.
+     */
+    private Integer size;
+
+    /**
+     * Indica se há itens após esta página.
+     */
+    private Boolean hasNext;
+
+    /**
+     * O token da próxima página, ou {@code null} se esta for a última.
+     */
+    private String nextCursor;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public CursorPageDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param content Os itens da página.
+     * @param size O tamanho de página solicitado.
+     * @param hasNext Se há itens após esta página.
+     * @param nextCursor O token da próxima página, ou {@code null}.
+     */
+    public CursorPageDTO(List<T> content, Integer size, Boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Retorna os itens da página.
+     * @return Os itens.
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * Retorna o tamanho de página solicitado.
+     * @return O tamanho.
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    /**
+     * Indica se há itens após esta página.
+     * @return true se houver próxima página.
+     */
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    /**
+     * Retorna o token da próxima página.
+     * @return O token, ou {@code null} se esta for a última página.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
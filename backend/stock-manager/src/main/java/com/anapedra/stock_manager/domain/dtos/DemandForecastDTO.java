@@ -0,0 +1,123 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com a previsão de demanda de uma cerveja.
+ *
+ * <p>Informa a taxa diária de vendas estimada (média com suavização exponencial, sem o
+ * efeito do dia da semana) e a quantidade de unidades prevista para os próximos dias,
+ * a partir do dia seguinte à data de referência.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class DemandForecastDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O ID da cerveja.
+     */
+    private Long beerId;
+
+    /**
+     * A data de referência da previsão.
+     */
+    private LocalDate referenceDate;
+
+    /**
+     * A quantidade de dias previstos.
+     */
+    private Integer days;
+
+    /**
+     * A taxa diária de vendas estimada, em unidades.
+     */
+    private Double dailyRate;
+
+    /**
+     * As unidades previstas para o período.
+     */
+    private Double forecastUnits;
+
+    /**
+     * A quantidade de dias de vendas já incorporados à estimativa.
+     */
+    private Integer observedDays;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public DemandForecastDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param beerId O ID da cerveja.
+     * @param referenceDate A data de referência.
+     * @param days Os dias previstos.
+     * @param dailyRate A taxa diária estimada.
+     * @param forecastUnits As unidades previstas.
+     * @param observedDays Os dias já incorporados à estimativa.
+     */
+    public DemandForecastDTO(Long beerId, LocalDate referenceDate, Integer days, Double dailyRate,
+                             Double forecastUnits, Integer observedDays) {
+        this.beerId = beerId;
+        this.referenceDate = referenceDate;
+        this.days = days;
+        this.dailyRate = dailyRate;
+        this.forecastUnits = forecastUnits;
+        this.observedDays = observedDays;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna a data de referência da previsão.
+     * @return A data de referência.
+     */
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    /**
+     * Retorna a quantidade de dias previstos.
+     * @return Os dias.
+     */
+    public Integer getDays() {
+        return days;
+    }
+
+    /**
+     * Retorna a taxa diária de vendas estimada.
+     * @return A taxa diária.
+     */
+    public Double getDailyRate() {
+        return dailyRate;
+    }
+
+    /**
+     * Retorna as unidades previstas para o período.
+     * @return As unidades previstas.
+     */
+    public Double getForecastUnits() {
+        return forecastUnits;
+    }
+
+    /**
+     * Retorna a quantidade de dias já incorporados à estimativa.
+     * @return Os dias observados.
+     */
+    public Integer getObservedDays() {
+        return observedDays;
+    }
+}
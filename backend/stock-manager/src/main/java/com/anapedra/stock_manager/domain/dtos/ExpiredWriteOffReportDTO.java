@@ -0,0 +1,158 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com o resultado de uma execução da baixa de estoque vencido.
+ *
+ * <p>Informa a data de referência usada, quantos blocos foram gravados ou falharam, quantas
+ * cervejas foram percorridas e quantas unidades foram baixadas como perda
+ * ({@code LossReason.EXPIRED}). Um bloco que falhou não entra em {@code chunks} nem nos totais
+ * baixados, pois sua transação foi desfeita.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class ExpiredWriteOffReportDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A data de referência: cervejas com validade até esta data (inclusive) são baixadas.
+     */
+    private LocalDate referenceDate;
+
+    /**
+     * A quantidade de blocos gravados (com a transação confirmada).
+     */
+    private int chunks;
+
+    /**
+     * A quantidade de blocos cuja gravação falhou (serão reprocessados na próxima execução).
+     */
+    private int failedChunks;
+
+    /**
+     * A quantidade de cervejas vencidas com estoque encontradas.
+     */
+    private long beersScanned;
+
+    /**
+     * A quantidade de cervejas que tiveram o estoque baixado.
+     */
+    private long beersWrittenOff;
+
+    /**
+     * O total de unidades baixadas.
+     */
+    private long unitsWrittenOff;
+
+    /**
+     * A duração da execução, em milissegundos.
+     */
+    private long durationMs;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public ExpiredWriteOffReportDTO() {
+    }
+
+    /**
+     * Construtor que inicia o relatório de uma execução.
+     *
+     * @param referenceDate A data de referência da execução.
+     */
+    public ExpiredWriteOffReportDTO(LocalDate referenceDate) {
+        this.referenceDate = referenceDate;
+    }
+
+    /**
+     * Contabiliza um bloco gravado.
+     *
+     * @param scanned As cervejas encontradas no bloco.
+     * @param writtenOff As cervejas baixadas no bloco.
+     * @param units As unidades baixadas no bloco.
+     */
+    public void chunk(int scanned, int writtenOff, long units) {
+        chunks++;
+        beersScanned += scanned;
+        beersWrittenOff += writtenOff;
+        unitsWrittenOff += units;
+    }
+
+    /**
+     * Contabiliza um bloco cuja gravação falhou.
+     *
+     * @param scanned As cervejas encontradas no bloco.
+     */
+    public void failedChunk(int scanned) {
+        failedChunks++;
+        beersScanned += scanned;
+    }
+
+    /**
+     * Retorna a data de referência.
+     * @return A data de referência.
+     */
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    /**
+     * Retorna a quantidade de blocos gravados.
+     * @return O total de blocos gravados.
+     */
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Retorna a quantidade de blocos cuja gravação falhou.
+     * @return O total de blocos com falha.
+     */
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    /**
+     * Retorna a quantidade de cervejas vencidas encontradas.
+     * @return O total de cervejas percorridas.
+     */
+    public long getBeersScanned() {
+        return beersScanned;
+    }
+
+    /**
+     * Retorna a quantidade de cervejas baixadas.
+     * @return O total de cervejas baixadas.
+     */
+    public long getBeersWrittenOff() {
+        return beersWrittenOff;
+    }
+
+    /**
+     * Retorna o total de unidades baixadas.
+     * @return As unidades baixadas.
+     */
+    public long getUnitsWrittenOff() {
+        return unitsWrittenOff;
+    }
+
+    /**
+     * Retorna a duração da execução.
+     * @return A duração, em milissegundos.
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Define a duração da execução.
+     * @param durationMs A duração, em milissegundos.
+     */
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,141 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import com.anapedra.stock_manager.domain.enums.LossGrouping;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com o total de perdas de estoque de um grupo.
+ *
+ * <p>Calculado a partir da consolidação diária de perdas ({@code tb_stock_loss_daily}).
+ * Apenas o campo do agrupamento usado ({@link LossGrouping}) é preenchido: o motivo, a cerveja
+ * ou a categoria (com o nome em {@code name}), ou o primeiro dia do período.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class LossTotalDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O motivo da perda (agrupamento {@code REASON}).
+     */
+    private LossReason reason;
+
+    /**
+     * O ID da cerveja (agrupamento {@code BEER}).
+     */
+    private Long beerId;
+
+    /**
+     * O ID da categoria (agrupamento {@code CATEGORY}).
+     */
+    private Long categoryId;
+
+    /**
+     * O nome da cerveja ou da categoria.
+     */
+    private String name;
+
+    /**
+     * O primeiro dia do período (agrupamentos {@code DAY} e {@code MONTH}).
+     */
+    private LocalDate periodStart;
+
+    /**
+     * As unidades perdidas.
+     */
+    private Long units;
+
+    /**
+     * A quantidade de registros de perda.
+     */
+    private Long lossCount;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public LossTotalDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param reason O motivo, ou {@code null}.
+     * @param beerId O ID da cerveja, ou {@code null}.
+     * @param categoryId O ID da categoria, ou {@code null}.
+     * @param name O nome da cerveja ou da categoria, ou {@code null}.
+     * @param periodStart O primeiro dia do período, ou {@code null}.
+     * @param units As unidades perdidas.
+     * @param lossCount A quantidade de registros de perda.
+     */
+    public LossTotalDTO(LossReason reason, Long beerId, Long categoryId, String name, LocalDate periodStart,
+                        Long units, Long lossCount) {
+        this.reason = reason;
+        this.beerId = beerId;
+        this.categoryId = categoryId;
+        this.name = name;
+        this.periodStart = periodStart;
+        this.units = units;
+        this.lossCount = lossCount;
+    }
+
+    /**
+     * Retorna o motivo da perda.
+     * @return O motivo, ou {@code null}.
+     */
+    public LossReason getReason() {
+        return reason;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja, ou {@code null}.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna o ID da categoria.
+     * @return O ID da categoria, ou {@code null}.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Retorna o nome da cerveja ou da categoria.
+     * @return O nome, ou {@code null}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retorna o primeiro dia do período.
+     * @return O início do período, ou {@code null}.
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Retorna as unidades perdidas.
+     * @return As unidades.
+     */
+    public Long getUnits() {
+        return units;
+    }
+
+    /**
+     * Retorna a quantidade de registros de perda.
+     * @return A quantidade de registros.
+     */
+    public Long getLossCount() {
+        return lossCount;
+    }
+}
@@ -0,0 +1,92 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import com.anapedra.stock_manager.domain.enums.OrderBatchStatus;
+
+import java.io.Serializable;
+
+/**
+ * DTO (Data Transfer Object) com o resultado de um pedido em uma importação em lote.
+ *
+ * <p>Os resultados seguem a ordem dos pedidos enviados ({@code index}); pedidos aceitos
+ * informam o ID gerado, e os recusados informam o motivo.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class OrderBatchResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A posição (a partir de 0) do pedido no lote enviado.
+     */
+    private int index;
+
+    /**
+     * O ID do pedido criado, se aceito.
+     */
+    private Long orderId;
+
+    /**
+     * O resultado do pedido (Enum {@link OrderBatchStatus}).
+     */
+    private OrderBatchStatus status;
+
+    /**
+     * O motivo da recusa, se houver.
+     */
+    private String message;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public OrderBatchResultDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param index A posição do pedido no lote.
+     * @param orderId O ID do pedido criado (ou {@code null}).
+     * @param status O resultado.
+     * @param message O motivo da recusa (ou {@code null}).
+     */
+    public OrderBatchResultDTO(int index, Long orderId, OrderBatchStatus status, String message) {
+        this.index = index;
+        this.orderId = orderId;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * Retorna a posição do pedido no lote.
+     * @return A posição, a partir de 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Retorna o ID do pedido criado.
+     * @return O ID, ou {@code null} se o pedido foi recusado.
+     */
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Retorna o resultado do pedido.
+     * @return O {@link OrderBatchStatus}.
+     */
+    public OrderBatchStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Retorna o motivo da recusa.
+     * @return A mensagem, ou {@code null} se o pedido foi aceito.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
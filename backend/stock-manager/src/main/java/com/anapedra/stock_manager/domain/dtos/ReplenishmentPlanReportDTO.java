@@ -0,0 +1,161 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com o resultado de uma execução do planejamento de reposição.
+ *
+ * <p>Informa quantas faixas de IDs foram planejadas, ignoradas por falta de tempo (orçamento
+ * da execução esgotado) ou com falha, quantas cervejas foram avaliadas e quantas propostas
+ * de reposição foram gravadas.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class ReplenishmentPlanReportDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A data do planejamento.
+     */
+    private LocalDate planDate;
+
+    /**
+     * A quantidade de faixas de IDs planejadas.
+     */
+    private int ranges;
+
+    /**
+     * A quantidade de faixas ignoradas porque o orçamento de tempo se esgotou.
+     */
+    private int skippedRanges;
+
+    /**
+     * A quantidade de faixas cuja leitura ou cálculo falhou.
+     */
+    private int failedRanges;
+
+    /**
+     * A quantidade de cervejas avaliadas.
+     */
+    private long beersScanned;
+
+    /**
+     * A quantidade de propostas de reposição gravadas.
+     */
+    private int proposals;
+
+    /**
+     * O total de unidades sugeridas para compra.
+     */
+    private long suggestedUnits;
+
+    /**
+     * A duração da execução, em milissegundos.
+     */
+    private long durationMs;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public ReplenishmentPlanReportDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param planDate A data do planejamento.
+     * @param ranges As faixas planejadas.
+     * @param skippedRanges As faixas ignoradas por falta de tempo.
+     * @param failedRanges As faixas com falha.
+     * @param beersScanned As cervejas avaliadas.
+     * @param proposals As propostas gravadas.
+     * @param suggestedUnits As unidades sugeridas.
+     * @param durationMs A duração, em milissegundos.
+     */
+    public ReplenishmentPlanReportDTO(LocalDate planDate, int ranges, int skippedRanges, int failedRanges,
+                                      long beersScanned, int proposals, long suggestedUnits, long durationMs) {
+        this.planDate = planDate;
+        this.ranges = ranges;
+        this.skippedRanges = skippedRanges;
+        this.failedRanges = failedRanges;
+        this.beersScanned = beersScanned;
+        this.proposals = proposals;
+        this.suggestedUnits = suggestedUnits;
+        this.durationMs = durationMs;
+    }
+
+    /**
+     * Retorna a data do planejamento.
+     * @return A data.
+     */
+    public LocalDate getPlanDate() {
+        return planDate;
+    }
+
+    /**
+     * Retorna a quantidade de faixas planejadas.
+     * @return O total de faixas.
+     */
+    public int getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Retorna a quantidade de faixas ignoradas por falta de tempo.
+     * @return O total de faixas ignoradas.
+     */
+    public int getSkippedRanges() {
+        return skippedRanges;
+    }
+
+    /**
+     * Retorna a quantidade de faixas com falha.
+     * @return O total de faixas com falha.
+     */
+    public int getFailedRanges() {
+        return failedRanges;
+    }
+
+    /**
+     * Retorna a quantidade de cervejas avaliadas.
+     * @return O total de cervejas.
+     */
+    public long getBeersScanned() {
+        return beersScanned;
+    }
+
+    /**
+     * Retorna a quantidade de propostas gravadas.
+     * @return O total de propostas.
+     */
+    public int getProposals() {
+        return proposals;
+    }
+
+    /**
+     * Retorna o total de unidades sugeridas para compra.
+     * @return As unidades sugeridas.
+     */
+    public long getSuggestedUnits() {
+        return suggestedUnits;
+    }
+
+    /**
+     * Indica se todas as faixas foram planejadas (nenhuma ignorada ou com falha).
+     * @return true se o planejamento cobriu todo o catálogo.
+     */
+    public boolean isComplete() {
+        return skippedRanges == 0 && failedRanges == 0;
+    }
+
+    /**
+     * Retorna a duração da execução.
+     * @return A duração, em milissegundos.
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+}
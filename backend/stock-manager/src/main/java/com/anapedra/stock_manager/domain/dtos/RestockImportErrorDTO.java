@@ -0,0 +1,57 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+
+/**
+ * DTO (Data Transfer Object) com uma linha recusada na importação de reposições em lote.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class RestockImportErrorDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O número da linha (a partir de 1) no arquivo enviado.
+     */
+    private long line;
+
+    /**
+     * O motivo da recusa.
+     */
+    private String message;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public RestockImportErrorDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param line O número da linha recusada.
+     * @param message O motivo da recusa.
+     */
+    public RestockImportErrorDTO(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    /**
+     * Retorna o número da linha recusada.
+     * @return O número da linha, a partir de 1.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna o motivo da recusa.
+     * @return A mensagem.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
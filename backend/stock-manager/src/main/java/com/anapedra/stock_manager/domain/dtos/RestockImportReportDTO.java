@@ -0,0 +1,108 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) com o relatório de uma importação de reposições em lote.
+ *
+ * <p>Informa quantas linhas foram lidas, gravadas e recusadas, e o motivo de cada linha
+ * recusada. A lista de erros é limitada para manter o relatório pequeno em arquivos muito
+ * grandes; {@code rejected} sempre contém o total de linhas recusadas.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class RestockImportReportDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A quantidade de linhas com conteúdo lidas do arquivo (sem cabeçalho e linhas em branco).
+     */
+    private long linesRead;
+
+    /**
+     * A quantidade de reposições gravadas.
+     */
+    private long imported;
+
+    /**
+     * A quantidade de linhas recusadas.
+     */
+    private long rejected;
+
+    /**
+     * As linhas recusadas, com o motivo (limitadas ao máximo configurado).
+     */
+    private final List<RestockImportErrorDTO> errors = new ArrayList<>();
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public RestockImportReportDTO() {
+    }
+
+    /**
+     * Contabiliza uma linha lida.
+     */
+    public void lineRead() {
+        linesRead++;
+    }
+
+    /**
+     * Contabiliza reposições gravadas.
+     *
+     * @param count A quantidade de reposições gravadas.
+     */
+    public void imported(int count) {
+        imported += count;
+    }
+
+    /**
+     * Contabiliza uma linha recusada, guardando o motivo enquanto o limite não for atingido.
+     *
+     * @param line O número da linha.
+     * @param message O motivo da recusa.
+     * @param maxErrors O máximo de erros guardados no relatório.
+     */
+    public void reject(long line, String message, int maxErrors) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RestockImportErrorDTO(line, message));
+        }
+    }
+
+    /**
+     * Retorna a quantidade de linhas lidas.
+     * @return O total de linhas com conteúdo.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Retorna a quantidade de reposições gravadas.
+     * @return O total gravado.
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * Retorna a quantidade de linhas recusadas.
+     * @return O total recusado.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Retorna as linhas recusadas, com o motivo.
+     * @return A lista de {@link RestockImportErrorDTO}.
+     */
+    public List<RestockImportErrorDTO> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,143 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import com.anapedra.stock_manager.domain.entities.RestockProposal;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) de uma proposta de reposição gerada pelo planejamento.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class RestockProposalDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O ID da proposta.
+     */
+    private Long id;
+
+    /**
+     * O ID da cerveja a repor.
+     */
+    private Long beerId;
+
+    /**
+     * A data do planejamento.
+     */
+    private LocalDate planDate;
+
+    /**
+     * O disponível no momento do planejamento.
+     */
+    private Integer available;
+
+    /**
+     * A demanda diária estimada.
+     */
+    private Double dailyDemand;
+
+    /**
+     * O estoque de segurança.
+     */
+    private Integer safetyStock;
+
+    /**
+     * O ponto de pedido.
+     */
+    private Integer reorderPoint;
+
+    /**
+     * A quantidade sugerida para compra.
+     */
+    private Integer suggestedQuantity;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public RestockProposalDTO() {
+    }
+
+    /**
+     * Construtor que copia os dados da entidade.
+     *
+     * @param entity A {@link RestockProposal} de origem.
+     */
+    public RestockProposalDTO(RestockProposal entity) {
+        this.id = entity.getId();
+        this.beerId = entity.getBeerId();
+        this.planDate = entity.getPlanDate();
+        this.available = entity.getAvailable();
+        this.dailyDemand = entity.getDailyDemand();
+        this.safetyStock = entity.getSafetyStock();
+        this.reorderPoint = entity.getReorderPoint();
+        this.suggestedQuantity = entity.getSuggestedQuantity();
+    }
+
+    /**
+     * Retorna o ID da proposta.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja a repor.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna a data do planejamento.
+     * @return A data.
+     */
+    public LocalDate getPlanDate() {
+        return planDate;
+    }
+
+    /**
+     * Retorna o disponível no momento do planejamento.
+     * @return A quantidade disponível.
+     */
+    public Integer getAvailable() {
+        return available;
+    }
+
+    /**
+     * Retorna a demanda diária estimada.
+     * @return A demanda diária.
+     */
+    public Double getDailyDemand() {
+        return dailyDemand;
+    }
+
+    /**
+     * Retorna o estoque de segurança.
+     * @return O estoque de segurança.
+     */
+    public Integer getSafetyStock() {
+        return safetyStock;
+    }
+
+    /**
+     * Retorna o ponto de pedido.
+     * @return O ponto de pedido.
+     */
+    public Integer getReorderPoint() {
+        return reorderPoint;
+    }
+
+    /**
+     * Retorna a quantidade sugerida para compra.
+     * @return A quantidade sugerida.
+     */
+    public Integer getSuggestedQuantity() {
+        return suggestedQuantity;
+    }
+}
@@ -0,0 +1,140 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com o resultado de um recálculo de uma consolidação diária
+ * (vendas em {@code tb_sales_daily} ou perdas em {@code tb_stock_loss_daily}).
+ *
+ * <p>O intervalo é reconstruído em blocos de dias, cada um na sua própria transação; um bloco
+ * com falha mantém os totais anteriores e pode ser recalculado novamente.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class RollupBackfillReportDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O primeiro dia recalculado.
+     */
+    private LocalDate from;
+
+    /**
+     * O último dia recalculado (inclusive).
+     */
+    private LocalDate to;
+
+    /**
+     * A quantidade de blocos processados.
+     */
+    private int chunks;
+
+    /**
+     * A quantidade de blocos cuja gravação falhou.
+     */
+    private int failedChunks;
+
+    /**
+     * A quantidade de linhas consolidadas gravadas.
+     */
+    private long rows;
+
+    /**
+     * A duração da execução, em milissegundos.
+     */
+    private long durationMs;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public RollupBackfillReportDTO() {
+    }
+
+    /**
+     * Construtor que inicia o relatório de uma execução.
+     *
+     * @param from O primeiro dia recalculado.
+     * @param to O último dia recalculado.
+     */
+    public RollupBackfillReportDTO(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Contabiliza um bloco processado.
+     *
+     * @param rowsWritten As linhas gravadas no bloco.
+     */
+    public void chunk(int rowsWritten) {
+        chunks++;
+        rows += rowsWritten;
+    }
+
+    /**
+     * Contabiliza um bloco cuja gravação falhou.
+     */
+    public void failedChunk() {
+        chunks++;
+        failedChunks++;
+    }
+
+    /**
+     * Retorna o primeiro dia recalculado.
+     * @return O primeiro dia.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Retorna o último dia recalculado.
+     * @return O último dia.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Retorna a quantidade de blocos processados.
+     * @return O total de blocos.
+     */
+    public int getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Retorna a quantidade de blocos cuja gravação falhou.
+     * @return O total de blocos com falha.
+     */
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    /**
+     * Retorna a quantidade de linhas gravadas.
+     * @return As linhas gravadas.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Retorna a duração da execução.
+     * @return A duração, em milissegundos.
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Define a duração da execução.
+     * @param durationMs A duração, em milissegundos.
+     */
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,107 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com o total de vendas de um período (dia, mês ou ano).
+ *
+ * <p>Calculado a partir da consolidação diária ({@code tb_sales_daily}). Quando a consulta
+ * abrange várias cervejas, a quantidade de pedidos é a soma das contagens de cada cerveja: um
+ * pedido com duas cervejas diferentes conta duas vezes.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class SalesSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O primeiro dia do período (o próprio dia, o dia 1 do mês ou 1º de janeiro).
+     */
+    private LocalDate periodStart;
+
+    /**
+     * O ID da cerveja consultada, ou {@code null} para o total de todas as cervejas.
+     */
+    private Long beerId;
+
+    /**
+     * As unidades vendidas no período.
+     */
+    private Long units;
+
+    /**
+     * A receita do período.
+     */
+    private Double revenue;
+
+    /**
+     * A quantidade de pedidos do período.
+     */
+    private Long orderCount;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public SalesSummaryDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param periodStart O primeiro dia do período.
+     * @param beerId O ID da cerveja, ou {@code null}.
+     * @param units As unidades vendidas.
+     * @param revenue A receita.
+     * @param orderCount A quantidade de pedidos.
+     */
+    public SalesSummaryDTO(LocalDate periodStart, Long beerId, Long units, Double revenue, Long orderCount) {
+        this.periodStart = periodStart;
+        this.beerId = beerId;
+        this.units = units;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+    }
+
+    /**
+     * Retorna o primeiro dia do período.
+     * @return O início do período.
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Retorna o ID da cerveja consultada.
+     * @return O ID da cerveja, ou {@code null} para todas.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna as unidades vendidas no período.
+     * @return As unidades.
+     */
+    public Long getUnits() {
+        return units;
+    }
+
+    /**
+     * Retorna a receita do período.
+     * @return A receita.
+     */
+    public Double getRevenue() {
+        return revenue;
+    }
+
+    /**
+     * Retorna a quantidade de pedidos do período.
+     * @return A quantidade de pedidos.
+     */
+    public Long getOrderCount() {
+        return orderCount;
+    }
+}
@@ -0,0 +1,121 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO (Data Transfer Object) com a taxa de quebra (shrinkage) de um intervalo de datas.
+ *
+ * <p>A taxa é o percentual de unidades perdidas em relação às unidades vendidas no mesmo
+ * intervalo ({@code unitsLost / unitsSold * 100}), calculada a partir das consolidações
+ * diárias de perdas e de vendas. Sem vendas no intervalo, a taxa é {@code null}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class ShrinkageDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O primeiro dia do intervalo.
+     */
+    private LocalDate from;
+
+    /**
+     * O último dia do intervalo (inclusive).
+     */
+    private LocalDate to;
+
+    /**
+     * O ID da cerveja consultada, ou {@code null} para todas.
+     */
+    private Long beerId;
+
+    /**
+     * As unidades perdidas no intervalo.
+     */
+    private Long unitsLost;
+
+    /**
+     * As unidades vendidas no intervalo.
+     */
+    private Long unitsSold;
+
+    /**
+     * O percentual de unidades perdidas sobre as vendidas, ou {@code null} sem vendas.
+     */
+    private Double shrinkagePercent;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public ShrinkageDTO() {
+    }
+
+    /**
+     * Construtor que calcula a taxa de quebra a partir dos totais.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia.
+     * @param beerId O ID da cerveja, ou {@code null}.
+     * @param unitsLost As unidades perdidas.
+     * @param unitsSold As unidades vendidas.
+     */
+    public ShrinkageDTO(LocalDate from, LocalDate to, Long beerId, long unitsLost, long unitsSold) {
+        this.from = from;
+        this.to = to;
+        this.beerId = beerId;
+        this.unitsLost = unitsLost;
+        this.unitsSold = unitsSold;
+        this.shrinkagePercent = (unitsSold > 0) ? unitsLost * 100.0 / unitsSold : null;
+    }
+
+    /**
+     * Retorna o primeiro dia do intervalo.
+     * @return O primeiro dia.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Retorna o último dia do intervalo.
+     * @return O último dia.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Retorna o ID da cerveja consultada.
+     * @return O ID da cerveja, ou {@code null} para todas.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna as unidades perdidas.
+     * @return As unidades perdidas.
+     */
+    public Long getUnitsLost() {
+        return unitsLost;
+    }
+
+    /**
+     * Retorna as unidades vendidas.
+     * @return As unidades vendidas.
+     */
+    public Long getUnitsSold() {
+        return unitsSold;
+    }
+
+    /**
+     * Retorna a taxa de quebra.
+     * @return O percentual, ou {@code null} sem vendas.
+     */
+    public Double getShrinkagePercent() {
+        return shrinkagePercent;
+    }
+}
@@ -0,0 +1,108 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO (Data Transfer Object) de um item da lista de acompanhamento de estoque.
+ *
+ * <p>Informa o saldo atual da cerveja, o limite de estoque baixo aplicado, o status
+ * ({@link StockStatus}) e desde quando a cerveja está nele.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockAlertDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O ID da cerveja.
+     */
+    private Long beerId;
+
+    /**
+     * O saldo atual em estoque.
+     */
+    private Integer quantity;
+
+    /**
+     * O limite de estoque baixo aplicado à cerveja.
+     */
+    private Integer lowLimit;
+
+    /**
+     * O status atual do estoque.
+     */
+    private StockStatus status;
+
+    /**
+     * O momento em que a cerveja entrou no status atual.
+     */
+    private Instant since;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockAlertDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param beerId O ID da cerveja.
+     * @param quantity O saldo atual.
+     * @param lowLimit O limite de estoque baixo aplicado.
+     * @param status O status atual.
+     * @param since O momento da entrada no status atual.
+     */
+    public StockAlertDTO(Long beerId, Integer quantity, Integer lowLimit, StockStatus status, Instant since) {
+        this.beerId = beerId;
+        this.quantity = quantity;
+        this.lowLimit = lowLimit;
+        this.status = status;
+        this.since = since;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna o saldo atual em estoque.
+     * @return A quantidade.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retorna o limite de estoque baixo aplicado.
+     * @return O limite.
+     */
+    public Integer getLowLimit() {
+        return lowLimit;
+    }
+
+    /**
+     * Retorna o status atual do estoque.
+     * @return O {@link StockStatus}.
+     */
+    public StockStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Retorna o momento em que a cerveja entrou no status atual.
+     * @return O momento.
+     */
+    public Instant getSince() {
+        return since;
+    }
+}
@@ -0,0 +1,119 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO (Data Transfer Object) para a entidade Movimentação de Estoque (StockMovement).
+ *
+ * <p>Usado na consulta do histórico de uma cerveja no diário de estoque: a variação
+ * assinada do saldo, a origem ({@link StockMovementType}) e o registro que a causou.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockMovementDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único da movimentação.
+     */
+    private Long id;
+
+    /**
+     * O ID da cerveja movimentada.
+     */
+    private Long beerId;
+
+    /**
+     * A variação do saldo (positiva = entrada, negativa = saída).
+     */
+    private Integer quantity;
+
+    /**
+     * A origem da movimentação (Enum {@link StockMovementType}).
+     */
+    private StockMovementType type;
+
+    /**
+     * O ID do registro de origem (pedido, reposição ou perda), se houver.
+     */
+    private Long referenceId;
+
+    /**
+     * O momento em que a movimentação foi aplicada.
+     */
+    private Instant moment;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockMovementDTO() {
+    }
+
+    /**
+     * Construtor que inicializa o DTO a partir de uma entidade {@link StockMovement}.
+     *
+     * @param entity A entidade StockMovement de origem.
+     */
+    public StockMovementDTO(StockMovement entity) {
+        id = entity.getId();
+        beerId = entity.getBeerId();
+        quantity = entity.getQuantity();
+        type = entity.getType();
+        referenceId = entity.getReferenceId();
+        moment = entity.getMoment();
+    }
+
+    /**
+     * Retorna o ID da movimentação.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna a variação do saldo.
+     * @return A quantidade assinada.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retorna a origem da movimentação.
+     * @return O {@link StockMovementType}.
+     */
+    public StockMovementType getType() {
+        return type;
+    }
+
+    /**
+     * Retorna o ID do registro de origem.
+     * @return O ID de referência, ou {@code null}.
+     */
+    public Long getReferenceId() {
+        return referenceId;
+    }
+
+    /**
+     * Retorna o momento da movimentação.
+     * @return O Instant da movimentação.
+     */
+    public Instant getMoment() {
+        return moment;
+    }
+}
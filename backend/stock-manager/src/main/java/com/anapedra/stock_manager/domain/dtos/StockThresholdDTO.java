@@ -0,0 +1,129 @@
+package com.anapedra.stock_manager.domain.dtos;
+
+import com.anapedra.stock_manager.domain.entities.StockThreshold;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.io.Serializable;
+
+/**
+ * DTO (Data Transfer Object) para a entidade Limite de Estoque Baixo (StockThreshold).
+ *
+ * <p>Informa exatamente um entre {@code beerId} e {@code categoryId}, além do limite
+ * ({@code lowLimit}) igual ou abaixo do qual o estoque é considerado baixo.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockThresholdDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único do limite.
+     */
+    private Long id;
+
+    /**
+     * O ID da cerveja à qual o limite se aplica.
+     */
+    private Long beerId;
+
+    /**
+     * O ID da categoria à qual o limite se aplica.
+     */
+    private Long categoryId;
+
+    /**
+     * O limite de estoque baixo.
+     */
+    @NotNull(message = "O limite de estoque baixo é obrigatório")
+    @PositiveOrZero(message = "O limite de estoque baixo deve ser maior ou igual a zero")
+    private Integer lowLimit;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockThresholdDTO() {
+    }
+
+    /**
+     * Construtor com todos os campos.
+     *
+     * @param id O ID do limite.
+     * @param beerId O ID da cerveja (ou nulo).
+     * @param categoryId O ID da categoria (ou nulo).
+     * @param lowLimit O limite de estoque baixo.
+     */
+    public StockThresholdDTO(Long id, Long beerId, Long categoryId, Integer lowLimit) {
+        this.id = id;
+        this.beerId = beerId;
+        this.categoryId = categoryId;
+        this.lowLimit = lowLimit;
+    }
+
+    /**
+     * Construtor que inicializa o DTO a partir de uma entidade {@link StockThreshold}.
+     *
+     * @param entity A entidade StockThreshold de origem.
+     */
+    public StockThresholdDTO(StockThreshold entity) {
+        this(entity.getId(), entity.getBeerId(), entity.getCategoryId(), entity.getLowLimit());
+    }
+
+    /**
+     * Retorna o ID do limite.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja, ou nulo.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Define o ID da cerveja.
+     * @param beerId O ID da cerveja.
+     */
+    public void setBeerId(Long beerId) {
+        this.beerId = beerId;
+    }
+
+    /**
+     * Retorna o ID da categoria.
+     * @return O ID da categoria, ou nulo.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Define o ID da categoria.
+     * @param categoryId O ID da categoria.
+     */
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    /**
+     * Retorna o limite de estoque baixo.
+     * @return O limite.
+     */
+    public Integer getLowLimit() {
+        return lowLimit;
+    }
+
+    /**
+     * Define o limite de estoque baixo.
+     * @param lowLimit O limite.
+     */
+    public void setLowLimit(Integer lowLimit) {
+        this.lowLimit = lowLimit;
+    }
+}
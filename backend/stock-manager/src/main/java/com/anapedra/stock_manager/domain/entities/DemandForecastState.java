@@ -0,0 +1,176 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Representa o estado gravado da previsão de demanda de uma cerveja.
+ * Esta classe mapeia a tabela "tb_demand_forecast_state" no banco de dados.
+ *
+ * <p>Cada registro é um ponto de restauração do modelo mantido em memória: a taxa diária
+ * de vendas com suavização exponencial, os fatores sazonais por dia da semana e as vendas
+ * acumuladas do dia ainda em aberto. É gravado periodicamente e recarregado na
+ * inicialização da aplicação, evitando percorrer o histórico de pedidos.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_demand_forecast_state")
+public class DemandForecastState implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O ID da cerveja (mesmo ID da cerveja, sem geração automática).
+     */
+    @Id
+    @Column(name = "beer_id")
+    private Long beerId;
+
+    /**
+     * A taxa diária de vendas dessazonalizada, com suavização exponencial.
+     */
+    @Column(name = "daily_rate", nullable = false)
+    private Double dailyRate;
+
+    /**
+     * Os fatores sazonais de segunda a domingo, separados por vírgula.
+     */
+    @Column(nullable = false, length = 200)
+    private String seasonality;
+
+    /**
+     * O dia ainda em aberto, cujas vendas não entraram na taxa.
+     */
+    @Column(name = "current_day", nullable = false)
+    private LocalDate currentDay;
+
+    /**
+     * As unidades vendidas no dia em aberto.
+     */
+    @Column(name = "current_units", nullable = false)
+    private Long currentUnits;
+
+    /**
+     * A quantidade de dias já incorporados à taxa.
+     */
+    @Column(name = "observed_days", nullable = false)
+    private Integer observedDays;
+
+    /**
+     * O momento da última gravação do estado.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public DemandForecastState() {
+    }
+
+    /**
+     * Construtor para inicializar o objeto DemandForecastState.
+     *
+     * @param beerId O ID da cerveja.
+     * @param dailyRate A taxa diária dessazonalizada.
+     * @param seasonality Os fatores sazonais, separados por vírgula.
+     * @param currentDay O dia em aberto.
+     * @param currentUnits As unidades vendidas no dia em aberto.
+     * @param observedDays Os dias já incorporados à taxa.
+     * @param updatedAt O momento da gravação.
+     */
+    public DemandForecastState(Long beerId, Double dailyRate, String seasonality, LocalDate currentDay,
+                               Long currentUnits, Integer observedDays, Instant updatedAt) {
+        this.beerId = beerId;
+        this.dailyRate = dailyRate;
+        this.seasonality = seasonality;
+        this.currentDay = currentDay;
+        this.currentUnits = currentUnits;
+        this.observedDays = observedDays;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna a taxa diária dessazonalizada.
+     * @return A taxa.
+     */
+    public Double getDailyRate() {
+        return dailyRate;
+    }
+
+    /**
+     * Retorna os fatores sazonais de segunda a domingo, separados por vírgula.
+     * @return Os fatores sazonais.
+     */
+    public String getSeasonality() {
+        return seasonality;
+    }
+
+    /**
+     * Retorna o dia em aberto.
+     * @return O dia.
+     */
+    public LocalDate getCurrentDay() {
+        return currentDay;
+    }
+
+    /**
+     * Retorna as unidades vendidas no dia em aberto.
+     * @return As unidades.
+     */
+    public Long getCurrentUnits() {
+        return currentUnits;
+    }
+
+    /**
+     * Retorna a quantidade de dias já incorporados à taxa.
+     * @return Os dias observados.
+     */
+    public Integer getObservedDays() {
+        return observedDays;
+    }
+
+    /**
+     * Retorna o momento da última gravação do estado.
+     * @return O momento.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Compara dois estados com base no ID da cerveja.
+     * @param o O objeto a ser comparado.
+     * @return true se os IDs forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DemandForecastState that = (DemandForecastState) o;
+        return Objects.equals(beerId, that.beerId);
+    }
+
+    /**
+     * Calcula o hash code com base no ID da cerveja.
+     * @return O hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(beerId);
+    }
+}
@@ -84,11 +84,12 @@ public class OrderItem implements Serializable {
 
 
     /**
-     * Calcula o subtotal para este item do pedido (quantidade * preço unitário da Beer).
+     * Calcula o subtotal para este item do pedido (quantidade * preço unitário no momento do pedido).
+     * Itens gravados sem preço usam o preço atual da Beer.
      * @return O subtotal.
      */
     public double getSubTotal(){
-       return quantity * getBeer().getPrice();
+       return quantity * ((price != null) ? price : getBeer().getPrice());
     }
 
     public void setAtualStock() {
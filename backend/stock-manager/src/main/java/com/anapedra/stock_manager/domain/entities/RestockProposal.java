@@ -0,0 +1,210 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Representa uma proposta de reposição (rascunho) gerada pelo planejamento de reposição.
+ * Esta classe mapeia a tabela "tb_restock_proposal" no banco de dados.
+ *
+ * <p>Cada registro sugere a quantidade a comprar de uma cerveja cujo disponível atingiu o
+ * ponto de pedido, com os valores usados no cálculo: demanda diária, estoque de segurança e
+ * ponto de pedido. A proposta não altera o estoque; a compra efetiva é registrada como um
+ * {@link BeerRestocking}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_restock_proposal", indexes = {
+        @Index(name = "idx_restock_proposal_plan", columnList = "plan_date, beer_id")
+})
+public class RestockProposal implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único da proposta.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * O ID da cerveja a repor.
+     */
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    /**
+     * A data do planejamento que gerou a proposta.
+     */
+    @Column(name = "plan_date", nullable = false)
+    private LocalDate planDate;
+
+    /**
+     * A quantidade disponível (saldo menos reservas) no momento do planejamento.
+     */
+    @Column(nullable = false)
+    private Integer available;
+
+    /**
+     * A demanda diária estimada, em unidades.
+     */
+    @Column(name = "daily_demand", nullable = false)
+    private Double dailyDemand;
+
+    /**
+     * O estoque de segurança, em unidades.
+     */
+    @Column(name = "safety_stock", nullable = false)
+    private Integer safetyStock;
+
+    /**
+     * O ponto de pedido: demanda prevista durante o prazo de entrega mais o estoque de segurança.
+     */
+    @Column(name = "reorder_point", nullable = false)
+    private Integer reorderPoint;
+
+    /**
+     * A quantidade sugerida para compra.
+     */
+    @Column(name = "suggested_quantity", nullable = false)
+    private Integer suggestedQuantity;
+
+    /**
+     * O momento em que a proposta foi gerada.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public RestockProposal() {
+    }
+
+    /**
+     * Construtor para inicializar o objeto RestockProposal.
+     *
+     * @param id O identificador da proposta.
+     * @param beerId O ID da cerveja.
+     * @param planDate A data do planejamento.
+     * @param available O disponível no momento do planejamento.
+     * @param dailyDemand A demanda diária estimada.
+     * @param safetyStock O estoque de segurança.
+     * @param reorderPoint O ponto de pedido.
+     * @param suggestedQuantity A quantidade sugerida.
+     * @param createdAt O momento da geração.
+     */
+    public RestockProposal(Long id, Long beerId, LocalDate planDate, Integer available, Double dailyDemand,
+                           Integer safetyStock, Integer reorderPoint, Integer suggestedQuantity, Instant createdAt) {
+        this.id = id;
+        this.beerId = beerId;
+        this.planDate = planDate;
+        this.available = available;
+        this.dailyDemand = dailyDemand;
+        this.safetyStock = safetyStock;
+        this.reorderPoint = reorderPoint;
+        this.suggestedQuantity = suggestedQuantity;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Retorna o ID da proposta.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja a repor.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna a data do planejamento.
+     * @return A data.
+     */
+    public LocalDate getPlanDate() {
+        return planDate;
+    }
+
+    /**
+     * Retorna o disponível no momento do planejamento.
+     * @return A quantidade disponível.
+     */
+    public Integer getAvailable() {
+        return available;
+    }
+
+    /**
+     * Retorna a demanda diária estimada.
+     * @return A demanda diária.
+     */
+    public Double getDailyDemand() {
+        return dailyDemand;
+    }
+
+    /**
+     * Retorna o estoque de segurança.
+     * @return O estoque de segurança.
+     */
+    public Integer getSafetyStock() {
+        return safetyStock;
+    }
+
+    /**
+     * Retorna o ponto de pedido.
+     * @return O ponto de pedido.
+     */
+    public Integer getReorderPoint() {
+        return reorderPoint;
+    }
+
+    /**
+     * Retorna a quantidade sugerida para compra.
+     * @return A quantidade sugerida.
+     */
+    public Integer getSuggestedQuantity() {
+        return suggestedQuantity;
+    }
+
+    /**
+     * Retorna o momento em que a proposta foi gerada.
+     * @return O momento.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Compara duas propostas com base no ID.
+     * @param o O objeto a ser comparado.
+     * @return true se os IDs forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RestockProposal that = (RestockProposal) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    /**
+     * Calcula o hash code com base no ID.
+     * @return O hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
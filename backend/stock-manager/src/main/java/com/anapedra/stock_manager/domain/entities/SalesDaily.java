@@ -0,0 +1,129 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import com.anapedra.stock_manager.domain.pks.SalesDailyPK;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Representa o total de vendas de uma cerveja em um dia (UTC).
+ * Esta classe mapeia a tabela "tb_sales_daily" no banco de dados.
+ *
+ * <p>Consolidação mantida de forma incremental a cada pedido criado, alterado ou excluído, e
+ * reconstruída a partir dos pedidos pela rotina de recálculo. Os relatórios de vendas leem apenas
+ * esta tabela, cujo tamanho depende da quantidade de dias e cervejas, e não da quantidade de
+ * pedidos. Pedidos cancelados não são contabilizados.</p>
+ *
+ * <p>Também é usada como variação (valores possivelmente negativos) a somar nos totais gravados.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_sales_daily", indexes = {
+        @Index(name = "idx_sales_daily_beer", columnList = "beer_id, sale_date")
+})
+public class SalesDaily implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A chave composta: dia e cerveja.
+     */
+    @EmbeddedId
+    private SalesDailyPK id;
+
+    /**
+     * As unidades vendidas no dia.
+     */
+    @Column(nullable = false)
+    private Long units;
+
+    /**
+     * A receita do dia (quantidade vezes o preço unitário de cada item).
+     */
+    @Column(nullable = false)
+    private Double revenue;
+
+    /**
+     * A quantidade de pedidos do dia que incluíram a cerveja.
+     */
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public SalesDaily() {
+    }
+
+    /**
+     * Construtor para inicializar o objeto SalesDaily.
+     *
+     * @param id A chave (dia e cerveja).
+     * @param units As unidades vendidas.
+     * @param revenue A receita.
+     * @param orderCount A quantidade de pedidos.
+     */
+    public SalesDaily(SalesDailyPK id, Long units, Double revenue, Long orderCount) {
+        this.id = id;
+        this.units = units;
+        this.revenue = revenue;
+        this.orderCount = orderCount;
+    }
+
+    /**
+     * Retorna a chave (dia e cerveja).
+     * @return A chave.
+     */
+    public SalesDailyPK getId() {
+        return id;
+    }
+
+    /**
+     * Retorna as unidades vendidas.
+     * @return As unidades.
+     */
+    public Long getUnits() {
+        return units;
+    }
+
+    /**
+     * Retorna a receita.
+     * @return A receita.
+     */
+    public Double getRevenue() {
+        return revenue;
+    }
+
+    /**
+     * Retorna a quantidade de pedidos que incluíram a cerveja.
+     * @return A quantidade de pedidos.
+     */
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Compara dois objetos SalesDaily com base na chave (dia e cerveja).
+     * @param o O objeto a ser comparado.
+     * @return true se as chaves forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SalesDaily that = (SalesDaily) o;
+        return Objects.equals(id, that.id);
+    }
+
+    /**
+     * Calcula o hash code com base na chave.
+     * @return O hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -51,7 +51,7 @@ public class Stock {
      * O limite abaixo do qual o estoque é considerado baixo.
      */
     @Transient
-    private static final int LOW_STOCK_LIMIT = 10;
+    public static final int LOW_STOCK_LIMIT = 10;
 
     /**
      * A entidade Cerveja (Beer) associada a este estoque.
@@ -127,13 +127,25 @@ protected void setTimestampsAndStatus() {
  * com base na quantidade e no limite de estoque baixo (LOW_STOCK_LIMIT).
  */
 private void updateStatus() {
-    if (this.quantity <= 0) {
-        this.status = StockStatus.OUT_OF_STOCK.getCode();
-    } else if (this.quantity <= LOW_STOCK_LIMIT) {
-        this.status = StockStatus.LOW.getCode();
-    } else {
-        this.status = StockStatus.AVAILABLE.getCode();
+    this.status = statusFor(this.quantity).getCode();
+}
+
+/**
+ * Calcula o status de estoque correspondente a uma quantidade, usando o mesmo
+ * limite de estoque baixo (LOW_STOCK_LIMIT) aplicado pela entidade.
+ *
+ * <p>Usado por quem grava o estoque sem passar pela entidade (ex: o ledger em memória).</p>
+ *
+ * @param quantity A quantidade em estoque.
+ * @return O {@link StockStatus} correspondente.
+ */
+public static StockStatus statusFor(int quantity) {
+    if (quantity <= 0) {
+        return StockStatus.OUT_OF_STOCK;
+    } else if (quantity <= LOW_STOCK_LIMIT) {
+        return StockStatus.LOW;
     }
+    return StockStatus.AVAILABLE;
 }
 
 /**
@@ -0,0 +1,186 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import com.anapedra.stock_manager.domain.enums.HoldStatus;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Representa uma reserva de estoque (StockHold) de um pedido.
+ * Esta classe mapeia a tabela "tb_stock_hold" no banco de dados.
+ *
+ * <p>Cada registro retém a quantidade de uma cerveja para um pedido. Reservas
+ * {@link HoldStatus#ACTIVE} expiram em {@code expiresAt} se o pedido não for pago, e
+ * são recarregadas na inicialização da aplicação para reconstruir o estoque reservado.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_stock_hold", indexes = {
+        @Index(name = "idx_stock_hold_order", columnList = "order_id"),
+        @Index(name = "idx_stock_hold_status", columnList = "status")
+})
+public class StockHold implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único da reserva.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * O pedido que fez a reserva.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    /**
+     * A cerveja reservada.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "beer_id", nullable = false)
+    private Beer beer;
+
+    /**
+     * A quantidade reservada.
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * O código inteiro que representa o estado da reserva (mapeado para HoldStatus).
+     */
+    @Column(nullable = false)
+    private Integer status;
+
+    /**
+     * O momento em que a reserva expira, se ainda estiver ativa.
+     */
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    /**
+     * O momento em que a reserva foi criada.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockHold() {
+    }
+
+    /**
+     * Construtor para inicializar uma reserva.
+     *
+     * @param order O pedido.
+     * @param beer A cerveja.
+     * @param quantity A quantidade.
+     * @param status O estado inicial.
+     * @param expiresAt O momento de expiração (apenas para reservas ativas).
+     */
+    public StockHold(Order order, Beer beer, Integer quantity, HoldStatus status, Instant expiresAt) {
+        this.order = order;
+        this.beer = beer;
+        this.quantity = quantity;
+        setStatus(status);
+        this.expiresAt = expiresAt;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Retorna o ID da reserva.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o pedido que fez a reserva.
+     * @return A entidade {@link Order}.
+     */
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Retorna a cerveja reservada.
+     * @return A entidade {@link Beer}.
+     */
+    public Beer getBeer() {
+        return beer;
+    }
+
+    /**
+     * Retorna a quantidade reservada.
+     * @return A quantidade.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retorna o estado da reserva como um Enum.
+     * @return O {@link HoldStatus}.
+     */
+    public HoldStatus getStatus() {
+        return HoldStatus.valueOf(status);
+    }
+
+    /**
+     * Define o estado da reserva usando um Enum.
+     * @param status O novo {@link HoldStatus}.
+     */
+    public void setStatus(HoldStatus status) {
+        if (status != null) {
+            this.status = status.getCode();
+        }
+    }
+
+    /**
+     * Retorna o momento de expiração da reserva.
+     * @return O Instant de expiração, ou {@code null} se não se aplicar.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Retorna o momento de criação da reserva.
+     * @return O Instant de criação.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Compara duas reservas com base no ID.
+     * @param o O objeto a ser comparado.
+     * @return true se os IDs forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockHold stockHold = (StockHold) o;
+        return id != null && Objects.equals(id, stockHold.id);
+    }
+
+    /**
+     * Calcula o hash code com base no ID.
+     * @return O hash code do ID.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
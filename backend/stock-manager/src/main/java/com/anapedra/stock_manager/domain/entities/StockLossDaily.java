@@ -0,0 +1,112 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import com.anapedra.stock_manager.domain.pks.StockLossDailyPK;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Representa o total de perdas de uma cerveja, por motivo, em um dia.
+ * Esta classe mapeia a tabela "tb_stock_loss_daily" no banco de dados.
+ *
+ * <p>Consolidação de {@link StockLoss} mantida a cada perda registrada (individual, em lote ou
+ * pela baixa de vencidos) e reconstruída a partir de {@code tb_stock_loss} pela rotina de
+ * recálculo. Os totais e tendências de perdas leem apenas esta tabela.</p>
+ *
+ * <p>Também é usada como variação a somar nos totais gravados.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_stock_loss_daily", indexes = {
+        @Index(name = "idx_stock_loss_daily_beer", columnList = "beer_id, loss_date")
+})
+public class StockLossDaily implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A chave composta: dia, cerveja e motivo.
+     */
+    @EmbeddedId
+    private StockLossDailyPK id;
+
+    /**
+     * As unidades perdidas.
+     */
+    @Column(nullable = false)
+    private Long units;
+
+    /**
+     * A quantidade de registros de perda.
+     */
+    @Column(name = "loss_count", nullable = false)
+    private Long lossCount;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockLossDaily() {
+    }
+
+    /**
+     * Construtor para inicializar o objeto StockLossDaily.
+     *
+     * @param id A chave (dia, cerveja e motivo).
+     * @param units As unidades perdidas.
+     * @param lossCount A quantidade de registros de perda.
+     */
+    public StockLossDaily(StockLossDailyPK id, Long units, Long lossCount) {
+        this.id = id;
+        this.units = units;
+        this.lossCount = lossCount;
+    }
+
+    /**
+     * Retorna a chave (dia, cerveja e motivo).
+     * @return A chave.
+     */
+    public StockLossDailyPK getId() {
+        return id;
+    }
+
+    /**
+     * Retorna as unidades perdidas.
+     * @return As unidades.
+     */
+    public Long getUnits() {
+        return units;
+    }
+
+    /**
+     * Retorna a quantidade de registros de perda.
+     * @return A quantidade de registros.
+     */
+    public Long getLossCount() {
+        return lossCount;
+    }
+
+    /**
+     * Compara dois objetos StockLossDaily com base na chave.
+     * @param o O objeto a ser comparado.
+     * @return true se as chaves forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockLossDaily that = (StockLossDaily) o;
+        return Objects.equals(id, that.id);
+    }
+
+    /**
+     * Calcula o hash code com base na chave.
+     * @return O hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,188 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Representa uma movimentação de estoque (StockMovement).
+ * Esta classe mapeia a tabela "tb_stock_movement" no banco de dados.
+ *
+ * <p>O diário de movimentações é somente de inclusão (append-only): cada variação
+ * do saldo de uma cerveja gera uma linha com a quantidade assinada (positiva = entrada,
+ * negativa = saída), a origem ({@link StockMovementType}) e o registro que a causou.
+ * O saldo de uma cerveja é o último {@link StockSnapshot} somado às movimentações
+ * posteriores a ele.</p>
+ *
+ * <p>A cerveja é referenciada apenas pelo ID, sem chave estrangeira, para que o
+ * histórico permaneça disponível mesmo após a exclusão da cerveja.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_stock_movement", indexes = {
+        @Index(name = "idx_stock_movement_beer", columnList = "beer_id, id")
+})
+public class StockMovement implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único (e sequencial) da movimentação.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * O ID da cerveja movimentada.
+     */
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    /**
+     * A variação do saldo (positiva = entrada, negativa = saída).
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * O código inteiro que representa a origem da movimentação (mapeado para StockMovementType).
+     */
+    @Column(nullable = false)
+    private Integer type;
+
+    /**
+     * O ID do registro que causou a movimentação (pedido, reposição ou perda), se houver.
+     */
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    /**
+     * O momento em que a movimentação foi aplicada ao estoque.
+     */
+    @Column(nullable = false)
+    private Instant moment;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockMovement() {
+    }
+
+    /**
+     * Construtor para inicializar uma movimentação.
+     *
+     * @param beerId O ID da cerveja.
+     * @param quantity A variação do saldo.
+     * @param type A origem da movimentação.
+     * @param referenceId O ID do registro de origem (opcional).
+     * @param moment O momento da movimentação.
+     */
+    public StockMovement(Long beerId, Integer quantity, StockMovementType type, Long referenceId, Instant moment) {
+        this.beerId = beerId;
+        this.quantity = quantity;
+        setType(type);
+        this.referenceId = referenceId;
+        this.moment = moment;
+    }
+
+    /**
+     * Retorna o ID da movimentação.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja movimentada.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna a variação do saldo.
+     * @return A quantidade assinada.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retorna a origem da movimentação como um Enum.
+     * @return O {@link StockMovementType}.
+     */
+    public StockMovementType getType() {
+        return StockMovementType.valueOf(type);
+    }
+
+    /**
+     * Define a origem da movimentação usando um Enum.
+     * @param type O novo {@link StockMovementType}.
+     */
+    public void setType(StockMovementType type) {
+        if (type != null) {
+            this.type = type.getCode();
+        }
+    }
+
+    /**
+     * Retorna o ID do registro que causou a movimentação.
+     * @return O ID de referência, ou {@code null}.
+     */
+    public Long getReferenceId() {
+        return referenceId;
+    }
+
+    /**
+     * Retorna o momento da movimentação.
+     * @return O Instant da movimentação.
+     */
+    public Instant getMoment() {
+        return moment;
+    }
+
+    /**
+     * Compara duas movimentações com base no ID.
+     * @param o O objeto a ser comparado.
+     * @return true se os IDs forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockMovement that = (StockMovement) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    /**
+     * Calcula o hash code com base no ID.
+     * @return O hash code do ID.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    /**
+     * Retorna uma representação em String desta movimentação.
+     * @return A String contendo a cerveja, a variação e a origem.
+     */
+    @Override
+    public String toString() {
+        return "StockMovement{" +
+                "id=" + id +
+                ", beerId=" + beerId +
+                ", quantity=" + quantity +
+                ", type=" + type +
+                ", referenceId=" + referenceId +
+                '}';
+    }
+}
@@ -0,0 +1,113 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Representa uma fração (shard) do estoque de uma cerveja.
+ * Esta classe mapeia a tabela "tb_stock_shard" no banco de dados.
+ *
+ * <p>Cervejas muito disputadas podem ter o saldo dividido em várias linhas, de modo que
+ * gravações concorrentes atualizem linhas diferentes em vez de disputar o lock da única
+ * linha de {@code tb_stock}. O saldo da cerveja é a soma das suas frações; nesse caso,
+ * {@link Stock#getQuantity()} é apenas um consolidado atualizado periodicamente.
+ * Cervejas sem frações continuam usando somente {@code tb_stock}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_stock_shard", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_shard_beer_shard", columnNames = {"beer_id", "shard_no"})
+})
+public class StockShard implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único da fração.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * O ID da cerveja.
+     */
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    /**
+     * O número da fração, de 0 a N-1.
+     */
+    @Column(name = "shard_no", nullable = false)
+    private Integer shardNo;
+
+    /**
+     * A parcela do saldo mantida nesta fração.
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockShard() {
+    }
+
+    /**
+     * Retorna o ID da fração.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna o número da fração.
+     * @return O número da fração.
+     */
+    public Integer getShardNo() {
+        return shardNo;
+    }
+
+    /**
+     * Retorna a parcela do saldo mantida nesta fração.
+     * @return A quantidade.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Compara duas frações com base no ID.
+     * @param o O objeto a ser comparado.
+     * @return true se os IDs forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockShard that = (StockShard) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    /**
+     * Calcula o hash code com base no ID.
+     * @return O hash code do ID.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,126 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Representa um instantâneo (snapshot) do saldo de uma cerveja no diário de estoque.
+ * Esta classe mapeia a tabela "tb_stock_snapshot" no banco de dados.
+ *
+ * <p>O instantâneo consolida todas as {@link StockMovement}s da cerveja até
+ * {@code lastMovementId}; o saldo atual é o instantâneo mais recente somado às
+ * movimentações posteriores (a "cauda"), sem reprocessar o histórico completo.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_stock_snapshot", indexes = {
+        @Index(name = "idx_stock_snapshot_beer", columnList = "beer_id, id")
+})
+public class StockSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único do instantâneo.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * O ID da cerveja.
+     */
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    /**
+     * O saldo consolidado até {@code lastMovementId}.
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * O ID da última movimentação incluída no saldo.
+     */
+    @Column(name = "last_movement_id", nullable = false)
+    private Long lastMovementId;
+
+    /**
+     * O momento em que o instantâneo foi gerado.
+     */
+    @Column(nullable = false)
+    private Instant moment;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockSnapshot() {
+    }
+
+    /**
+     * Retorna o ID do instantâneo.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna o saldo consolidado.
+     * @return A quantidade.
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Retorna o ID da última movimentação incluída no saldo.
+     * @return O ID da movimentação.
+     */
+    public Long getLastMovementId() {
+        return lastMovementId;
+    }
+
+    /**
+     * Retorna o momento em que o instantâneo foi gerado.
+     * @return O Instant de geração.
+     */
+    public Instant getMoment() {
+        return moment;
+    }
+
+    /**
+     * Compara dois instantâneos com base no ID.
+     * @param o O objeto a ser comparado.
+     * @return true se os IDs forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockSnapshot that = (StockSnapshot) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    /**
+     * Calcula o hash code com base no ID.
+     * @return O hash code do ID.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
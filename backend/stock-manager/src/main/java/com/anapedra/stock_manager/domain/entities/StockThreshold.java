@@ -0,0 +1,136 @@
+package com.anapedra.stock_manager.domain.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Representa um limite de estoque baixo configurado para uma cerveja ou para uma categoria.
+ * Esta classe mapeia a tabela "tb_stock_threshold" no banco de dados.
+ *
+ * <p>Cada registro se aplica a uma única cerveja ({@code beerId}) ou a todas as cervejas de
+ * uma categoria ({@code categoryId}). O limite da cerveja prevalece sobre o das categorias;
+ * entre categorias, vale o maior limite. Sem nenhum registro, vale
+ * {@link Stock#LOW_STOCK_LIMIT}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Entity
+@Table(name = "tb_stock_threshold", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_threshold_beer", columnNames = {"beer_id"}),
+        @UniqueConstraint(name = "uk_stock_threshold_category", columnNames = {"category_id"})
+})
+public class StockThreshold implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O identificador único do limite.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * O ID da cerveja à qual o limite se aplica (nulo para limites de categoria).
+     */
+    @Column(name = "beer_id")
+    private Long beerId;
+
+    /**
+     * O ID da categoria à qual o limite se aplica (nulo para limites de cerveja).
+     */
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    /**
+     * A quantidade igual ou abaixo da qual o estoque é considerado baixo.
+     */
+    @Column(name = "low_limit", nullable = false)
+    private Integer lowLimit;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockThreshold() {
+    }
+
+    /**
+     * Construtor para inicializar o objeto StockThreshold.
+     *
+     * @param id O identificador do limite.
+     * @param beerId O ID da cerveja (ou nulo).
+     * @param categoryId O ID da categoria (ou nulo).
+     * @param lowLimit O limite de estoque baixo.
+     */
+    public StockThreshold(Long id, Long beerId, Long categoryId, Integer lowLimit) {
+        this.id = id;
+        this.beerId = beerId;
+        this.categoryId = categoryId;
+        this.lowLimit = lowLimit;
+    }
+
+    /**
+     * Retorna o ID do limite.
+     * @return O ID.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Retorna o ID da cerveja à qual o limite se aplica.
+     * @return O ID da cerveja, ou nulo.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna o ID da categoria à qual o limite se aplica.
+     * @return O ID da categoria, ou nulo.
+     */
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    /**
+     * Retorna o limite de estoque baixo.
+     * @return O limite.
+     */
+    public Integer getLowLimit() {
+        return lowLimit;
+    }
+
+    /**
+     * Define o limite de estoque baixo.
+     * @param lowLimit O novo limite.
+     */
+    public void setLowLimit(Integer lowLimit) {
+        this.lowLimit = lowLimit;
+    }
+
+    /**
+     * Compara dois limites com base no ID.
+     * @param o O objeto a ser comparado.
+     * @return true se os IDs forem iguais, false caso contrário.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockThreshold that = (StockThreshold) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    /**
+     * Calcula o hash code com base no ID.
+     * @return O hash code do ID.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,54 @@
+package com.anapedra.stock_manager.domain.enums;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * Tabela de consulta dos enums persistidos por código inteiro.
+ *
+ * <p>As constantes são indexadas pelo código uma única vez, na inicialização do enum: a conversão
+ * {@code valueOf(int)}, executada a cada linha lida do banco, passa a ser um acesso ao array em
+ * vez de percorrer {@code values()}, que cria uma cópia do array a cada chamada.</p>
+ *
+ * @param <E> O tipo do enum.
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+final class CodeTable<E extends Enum<E>> {
+
+    private final E[] byCode;
+
+    /**
+     * Indexa as constantes do enum pelo código.
+     *
+     * @param values As constantes do enum ({@code values()}).
+     * @param code Retorna o código de uma constante.
+     * @throws IllegalStateException Se um código for negativo ou repetido.
+     */
+    CodeTable(E[] values, ToIntFunction<E> code) {
+        int max = 0;
+        for (E value : values) {
+            max = Math.max(max, code.applyAsInt(value));
+        }
+        byCode = Arrays.copyOf(values, max + 1);
+        Arrays.fill(byCode, null);
+        for (E value : values) {
+            int key = code.applyAsInt(value);
+            if (key < 0 || byCode[key] != null) {
+                throw new IllegalStateException("Invalid or duplicate code " + key + " in " + value.getDeclaringClass().getSimpleName());
+            }
+            byCode[key] = value;
+        }
+    }
+
+    /**
+     * Retorna a constante do código informado.
+     *
+     * @param code O código inteiro.
+     * @return A constante, ou {@code null} se o código não existir.
+     */
+    E find(int code) {
+        return (code >= 0 && code < byCode.length) ? byCode[code] : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.anapedra.stock_manager.domain.enums;
+
+/**
+ * Define como as listagens paginadas calculam o total de elementos (parâmetro {@code count}).
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public enum CountMode {
+
+    /**
+     * Sem total: apenas o indicador de próxima página, sem consulta de contagem.
+     */
+    NONE,
+
+    /**
+     * Total aproximado: estimativa do planejador para listagens sem filtro, ou contagem
+     * guardada por alguns segundos para cada combinação de filtros.
+     */
+    APPROX,
+
+    /**
+     * Total exato: {@code COUNT} da consulta filtrada a cada página.
+     */
+    EXACT
+}
@@ -0,0 +1,50 @@
+package com.anapedra.stock_manager.domain.enums;
+
+/**
+ * Define o formato dos arquivos gerados pelas exportações ({@code GET /api/v1/exports/...}).
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public enum ExportFormat {
+
+    /**
+     * Valores separados por vírgula (RFC 4180), com uma linha de cabeçalho.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Um objeto JSON por linha, com os nomes das colunas como campos.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    /**
+     * Construtor do enum.
+     * @param contentType O tipo de mídia do arquivo.
+     * @param extension A extensão do arquivo.
+     */
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Retorna o tipo de mídia do arquivo.
+     * @return O tipo de mídia (ex: {@code text/csv}).
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Retorna a extensão do arquivo, sem o ponto.
+     * @return A extensão.
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
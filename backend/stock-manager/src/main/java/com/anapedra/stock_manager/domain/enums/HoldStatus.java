@@ -0,0 +1,70 @@
+package com.anapedra.stock_manager.domain.enums;
+
+/**
+ * Define os estados de uma reserva de estoque ({@link com.anapedra.stock_manager.domain.entities.StockHold})
+ * feita por um pedido.
+ *
+ * <p>Cada estado é mapeado para um código inteiro fixo, garantindo a
+ * integridade dos dados no banco de dados.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public enum HoldStatus {
+
+    /**
+     * A quantidade está retida para o pedido até o pagamento ou a expiração (código 1).
+     */
+    ACTIVE(1),
+
+    /**
+     * O pedido foi pago e a quantidade saiu definitivamente do estoque (código 2).
+     */
+    CONFIRMED(2),
+
+    /**
+     * A reserva foi liberada ou substituída por uma alteração do pedido (código 3).
+     */
+    RELEASED(3),
+
+    /**
+     * A reserva expirou sem pagamento e a quantidade voltou ao disponível (código 4).
+     */
+    EXPIRED(4);
+
+    private final int code;
+
+    private static final CodeTable<HoldStatus> CODES = new CodeTable<>(values(), HoldStatus::getCode);
+
+    /**
+     * Construtor do enum.
+     * @param code O código inteiro que representa o estado da reserva.
+     */
+    HoldStatus(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Retorna o código inteiro do estado da reserva.
+     * @return O código.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Converte um código inteiro em seu respectivo {@code HoldStatus}.
+     *
+     * @param code O código inteiro a ser consultado.
+     * @return O {@code HoldStatus} correspondente ao código.
+     * @throws IllegalArgumentException Se o código fornecido não for válido.
+     */
+    public static HoldStatus valueOf(int code) {
+        HoldStatus value = CODES.find(code);
+        if (value == null) {
+            throw new IllegalArgumentException("Invalid code for HoldStatus: " + code);
+        }
+        return value;
+    }
+}
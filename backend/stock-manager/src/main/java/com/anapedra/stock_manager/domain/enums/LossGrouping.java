@@ -0,0 +1,37 @@
+package com.anapedra.stock_manager.domain.enums;
+
+/**
+ * Define o agrupamento dos totais de perdas de estoque
+ * ({@code GET /api/v1/losses/totals}).
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public enum LossGrouping {
+
+    /**
+     * Totais por motivo da perda.
+     */
+    REASON,
+
+    /**
+     * Totais por cerveja.
+     */
+    BEER,
+
+    /**
+     * Totais por categoria; uma cerveja com várias categorias conta em cada uma.
+     */
+    CATEGORY,
+
+    /**
+     * Totais por dia da perda.
+     */
+    DAY,
+
+    /**
+     * Totais por mês da perda.
+     */
+    MONTH
+}
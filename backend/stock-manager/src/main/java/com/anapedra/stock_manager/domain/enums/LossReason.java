@@ -33,6 +33,8 @@ public enum LossReason {
 
     private final int code;
 
+    private static final CodeTable<LossReason> CODES = new CodeTable<>(values(), LossReason::getCode);
+
     /**
      * Construtor do enum.
      * @param code O código inteiro que representa o motivo da perda.
@@ -57,11 +59,10 @@ public enum LossReason {
      * @throws IllegalArgumentException Se o código fornecido não for válido.
      */
     public static LossReason valueOf(int code) {
-        for (LossReason value : LossReason.values()) {
-            if (value.getCode() == code) {
-                return value;
-            }
+        LossReason value = CODES.find(code);
+        if (value == null) {
+            throw new IllegalArgumentException("Invalid code for LossReason: " + code);
         }
-        throw new IllegalArgumentException("Invalid code for LossReason: " + code);
+        return value;
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.anapedra.stock_manager.domain.enums;
+
+/**
+ * Define o resultado de cada pedido em uma importação de pedidos em lote
+ * ({@code POST /api/v1/orders/batch}).
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public enum OrderBatchStatus {
+
+    /**
+     * Pedido aceito e gravado.
+     */
+    ACCEPTED,
+
+    /**
+     * Pedido recusado por falta de saldo disponível em alguma cerveja.
+     */
+    INSUFFICIENT_STOCK,
+
+    /**
+     * Pedido recusado por dados inválidos: sem itens, quantidade não positiva ou cerveja inexistente.
+     */
+    REJECTED
+}
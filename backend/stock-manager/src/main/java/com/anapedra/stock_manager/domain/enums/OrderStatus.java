@@ -46,6 +46,8 @@ public enum OrderStatus {
 
     private int code;
 
+    private static final CodeTable<OrderStatus> CODES = new CodeTable<>(values(), OrderStatus::getCode);
+
     /**
      * Construtor do enum.
      * @param code O código inteiro que representa o status.
@@ -70,12 +72,11 @@ public enum OrderStatus {
      * @throws IllegalArgumentException Se o código fornecido não for válido.
      */
     public static OrderStatus valueOf(int code){
-       for(OrderStatus value : OrderStatus.values() ) {
-           if (value.getCode() == code){
-               return value;
-           }
+       OrderStatus value = CODES.find(code);
+       if (value == null) {
+           throw new IllegalArgumentException("Invalid code!");
        }
-       throw new IllegalArgumentException("Invalid code!");
+       return value;
     }
 
 }
\ No newline at end of file
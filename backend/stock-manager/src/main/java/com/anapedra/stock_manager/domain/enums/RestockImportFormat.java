@@ -0,0 +1,22 @@
+package com.anapedra.stock_manager.domain.enums;
+
+/**
+ * Define o formato do arquivo recebido na importação de reposições em lote
+ * ({@code POST /api/v1/restock/import}).
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public enum RestockImportFormat {
+
+    /**
+     * Uma reposição por linha no formato {@code beerId,quantity}, com cabeçalho opcional.
+     */
+    CSV,
+
+    /**
+     * Um objeto JSON por linha ({@code {"beerId": 1, "quantity": 10}}).
+     */
+    NDJSON
+}
@@ -0,0 +1,80 @@
+package com.anapedra.stock_manager.domain.enums;
+
+/**
+ * Define a origem de uma movimentação de estoque
+ * ({@link com.anapedra.stock_manager.domain.entities.StockMovement}).
+ *
+ * <p>Cada tipo é mapeado para um código inteiro fixo, garantindo a
+ * integridade dos dados no banco de dados.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public enum StockMovementType {
+
+    /**
+     * Baixa (ou devolução, se positiva) causada por um pedido (código 1).
+     */
+    ORDER(1),
+
+    /**
+     * Entrada por reposição de estoque (código 2).
+     */
+    RESTOCK(2),
+
+    /**
+     * Saída por perda registrada (código 3).
+     */
+    LOSS(3),
+
+    /**
+     * Ajuste manual do saldo no cadastro da cerveja (código 4).
+     */
+    ADJUSTMENT(4),
+
+    /**
+     * Correção gravada quando o banco recusou uma variação e o ledger foi ressincronizado (código 5).
+     */
+    RESYNC(5),
+
+    /**
+     * Saldo de abertura: estoque inicial da cerveja ou saldo existente na criação do diário (código 6).
+     */
+    OPENING(6);
+
+    private final int code;
+
+    private static final CodeTable<StockMovementType> CODES = new CodeTable<>(values(), StockMovementType::getCode);
+
+    /**
+     * Construtor do enum.
+     * @param code O código inteiro que representa o tipo de movimentação.
+     */
+    StockMovementType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Retorna o código inteiro do tipo de movimentação.
+     * @return O código.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Converte um código inteiro em seu respectivo {@code StockMovementType}.
+     *
+     * @param code O código inteiro a ser consultado.
+     * @return O {@code StockMovementType} correspondente ao código.
+     * @throws IllegalArgumentException Se o código fornecido não for válido.
+     */
+    public static StockMovementType valueOf(int code) {
+        StockMovementType value = CODES.find(code);
+        if (value == null) {
+            throw new IllegalArgumentException("Invalid code for StockMovementType: " + code);
+        }
+        return value;
+    }
+}
@@ -29,6 +29,8 @@ public enum StockStatus {
 
     private final int code;
 
+    private static final CodeTable<StockStatus> CODES = new CodeTable<>(values(), StockStatus::getCode);
+
     /**
      * Construtor do enum.
      * @param code O código inteiro que representa o status do estoque.
@@ -53,11 +55,10 @@ public enum StockStatus {
      * @throws IllegalArgumentException Se o código fornecido não for válido.
      */
     public static StockStatus valueOf(int code) {
-        for (StockStatus value : StockStatus.values()) {
-            if (value.getCode() == code) {
-                return value;
-            }
+        StockStatus value = CODES.find(code);
+        if (value == null) {
+            throw new IllegalArgumentException("Invalid code for StockStatus: " + code);
         }
-        throw new IllegalArgumentException("Invalid code for StockStatus: " + code);
+        return value;
     }
 }
\ No newline at end of file
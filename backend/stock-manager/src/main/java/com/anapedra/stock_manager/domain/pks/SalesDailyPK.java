@@ -0,0 +1,89 @@
+package com.anapedra.stock_manager.domain.pks;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Representa a Chave Primária Composta da entidade
+ * {@link com.anapedra.stock_manager.domain.entities.SalesDaily}: o dia da venda (UTC) e a cerveja.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Embeddable
+public class SalesDailyPK implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O dia das vendas, em UTC.
+     */
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    /**
+     * O ID da cerveja vendida.
+     */
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public SalesDailyPK() {
+    }
+
+    /**
+     * Construtor para inicializar a chave.
+     *
+     * @param saleDate O dia das vendas.
+     * @param beerId O ID da cerveja.
+     */
+    public SalesDailyPK(LocalDate saleDate, Long beerId) {
+        this.saleDate = saleDate;
+        this.beerId = beerId;
+    }
+
+    /**
+     * Retorna o dia das vendas.
+     * @return O dia, em UTC.
+     */
+    public LocalDate getSaleDate() {
+        return saleDate;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Compara duas chaves pelo dia e pela cerveja.
+     *
+     * @param o O objeto a ser comparado.
+     * @return true se as chaves forem iguais.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        SalesDailyPK that = (SalesDailyPK) o;
+        return Objects.equals(saleDate, that.saleDate) && Objects.equals(beerId, that.beerId);
+    }
+
+    /**
+     * Calcula o hash code com base no dia e na cerveja.
+     *
+     * @return O hash code combinado.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(saleDate, beerId);
+    }
+}
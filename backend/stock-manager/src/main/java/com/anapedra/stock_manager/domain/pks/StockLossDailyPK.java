@@ -0,0 +1,108 @@
+package com.anapedra.stock_manager.domain.pks;
+
+import com.anapedra.stock_manager.domain.enums.LossReason;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Representa a Chave Primária Composta da entidade
+ * {@link com.anapedra.stock_manager.domain.entities.StockLossDaily}: o dia da perda, a cerveja e
+ * o motivo.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Embeddable
+public class StockLossDailyPK implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * O dia da perda.
+     */
+    @Column(name = "loss_date", nullable = false)
+    private LocalDate lossDate;
+
+    /**
+     * O ID da cerveja perdida.
+     */
+    @Column(name = "beer_id", nullable = false)
+    private Long beerId;
+
+    /**
+     * O código do motivo da perda ({@link LossReason}).
+     */
+    @Column(nullable = false)
+    private Integer reason;
+
+    /**
+     * Construtor padrão sem argumentos.
+     */
+    public StockLossDailyPK() {
+    }
+
+    /**
+     * Construtor para inicializar a chave.
+     *
+     * @param lossDate O dia da perda.
+     * @param beerId O ID da cerveja.
+     * @param reason O motivo da perda.
+     */
+    public StockLossDailyPK(LocalDate lossDate, Long beerId, LossReason reason) {
+        this.lossDate = lossDate;
+        this.beerId = beerId;
+        this.reason = reason.getCode();
+    }
+
+    /**
+     * Retorna o dia da perda.
+     * @return O dia.
+     */
+    public LocalDate getLossDate() {
+        return lossDate;
+    }
+
+    /**
+     * Retorna o ID da cerveja.
+     * @return O ID da cerveja.
+     */
+    public Long getBeerId() {
+        return beerId;
+    }
+
+    /**
+     * Retorna o motivo da perda.
+     * @return O {@link LossReason}.
+     */
+    public LossReason getReason() {
+        return LossReason.valueOf(reason);
+    }
+
+    /**
+     * Compara duas chaves pelo dia, pela cerveja e pelo motivo.
+     *
+     * @param o O objeto a ser comparado.
+     * @return true se as chaves forem iguais.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        StockLossDailyPK that = (StockLossDailyPK) o;
+        return Objects.equals(lossDate, that.lossDate) && Objects.equals(beerId, that.beerId)
+                && Objects.equals(reason, that.reason);
+    }
+
+    /**
+     * Calcula o hash code com base no dia, na cerveja e no motivo.
+     *
+     * @return O hash code combinado.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(lossDate, beerId, reason);
+    }
+}
@@ -32,10 +32,4 @@ public interface UserDetailsProjection {
      * @return O ID do Role.
      */
     Long getRoleId();
-
-    /**
-     * Retorna o nome da autoridade/permissão (ex: "ROLE_ADMIN").
-     * @return O nome da autoridade.
-     */
-    String getAuthority();
 }
\ No newline at end of file
@@ -2,14 +2,20 @@ package com.anapedra.stock_manager.repositories;
 
 import com.anapedra.stock_manager.domain.dtos.BeerStockDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
+import com.anapedra.stock_manager.repositories.specifications.BeerSpecifications;
+import com.anapedra.stock_manager.repositories.specifications.SpecificationSupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,17 +30,17 @@ import java.util.List;
  * @since 0.0.1-SNAPSHOT
  */
 @Repository
-public interface BeerRepository extends JpaRepository<Beer, Long> {
+public interface BeerRepository extends JpaRepository<Beer, Long>, JpaSpecificationExecutor<Beer>, BeerRepositoryCustom {
 
     // ------------------------------------------------------------
-    // 1. Consulta JPQL com filtros dinâmicos
+    // 1. Consulta com filtros dinâmicos (Criteria API)
     // ------------------------------------------------------------
     /**
      * Busca cervejas paginadas aplicando filtros dinâmicos com base em
      * categoria, nome/descrição da cerveja e faixa de quantidade em estoque.
      *
-     * <p>Utiliza {@code COALESCE(s.quantity, 0)} para garantir que cervejas
-     * sem registro de estoque sejam consideradas com quantidade zero nos filtros.</p>
+     * <p>A consulta é montada por {@link BeerSpecifications} apenas com os filtros informados;
+     * cervejas sem registro de estoque são consideradas com quantidade zero nos filtros.</p>
      *
      * @param categoryId ID da categoria (opcional).
      * @param categoryName Descrição da categoria (opcional, busca parcial).
@@ -44,27 +50,88 @@ public interface BeerRepository extends JpaRepository<Beer, Long> {
      * @param pageable Objeto de paginação e ordenação do Spring Data.
      * @return Uma {@link Page} de entidades {@link Beer} que correspondem aos filtros.
      */
-    @Query("""
-            SELECT DISTINCT b FROM Beer b
-            LEFT JOIN b.categories c
-            LEFT JOIN b.stock s
-            WHERE (:categoryId IS NULL OR c.id = :categoryId)
-              AND (:categoryName IS NULL OR :categoryName = ''
-                    OR LOWER(CAST(c.name AS text)) LIKE LOWER(CONCAT('%', :categoryName, '%')))
-              AND (:beerDescription IS NULL OR :beerDescription = ''
-                    OR LOWER(CAST(b.name AS text)) LIKE LOWER(CONCAT('%', :beerDescription, '%')))
-              AND (:minQuantity IS NULL OR COALESCE(s.quantity, 0) >= :minQuantity)
-              AND (:maxQuantity IS NULL OR COALESCE(s.quantity, 0) <= :maxQuantity)
-            """)
-    Page<Beer> findAllBeer(
-            @Param("categoryId") Long categoryId,
-            @Param("categoryName") String categoryName,
-            @Param("beerDescription") String beerDescription,
-            @Param("minQuantity") Integer minQuantity,
-            @Param("maxQuantity") Integer maxQuantity,
+    default Page<Beer> findAllBeer(
+            Long categoryId,
+            String categoryName,
+            String beerDescription,
+            Integer minQuantity,
+            Integer maxQuantity,
             Pageable pageable
-    );
+    ) {
+        return findAll(BeerSpecifications.filter(categoryId, categoryName, beerDescription,
+                minQuantity, maxQuantity), pageable);
+    }
+
+
+    /**
+     * Variante de {@link #findAllBeer} para a paginação por cursor (keyset): ordena pelo ID e
+     * lê apenas as cervejas após {@code afterId}, sem {@code OFFSET} e sem consulta de contagem.
+     *
+     * @param categoryId ID da categoria (opcional).
+     * @param categoryName Descrição da categoria (opcional, busca parcial).
+     * @param beerDescription Nome/descrição da cerveja (opcional, busca parcial).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param afterId O ID da última cerveja entregue, ou {@code null} para a primeira página.
+     * @param pageable O limite de itens (sempre a primeira página do Spring Data).
+     * @return As cervejas seguintes, em ordem de ID.
+     */
+    default List<Beer> findAllBeerAfter(
+            Long categoryId,
+            String categoryName,
+            String beerDescription,
+            Integer minQuantity,
+            Integer maxQuantity,
+            Long afterId,
+            Pageable pageable
+    ) {
+        return findBy(BeerSpecifications.filterAfter(categoryId, categoryName, beerDescription,
+                        minQuantity, maxQuantity, afterId),
+                query -> query.sortBy(Sort.by("id")).limit(pageable.getPageSize()).all());
+    }
+
+    /**
+     * Variante de {@link #findAllBeer} sem consulta de contagem: lê a página como {@link Slice}.
+     *
+     * @param categoryId ID da categoria (opcional).
+     * @param categoryName Descrição da categoria (opcional, busca parcial).
+     * @param beerDescription Nome/descrição da cerveja (opcional, busca parcial).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param pageable Objeto de paginação e ordenação do Spring Data.
+     * @return Um {@link Slice} de entidades {@link Beer} que correspondem aos filtros.
+     */
+    default Slice<Beer> findAllBeerSlice(
+            Long categoryId,
+            String categoryName,
+            String beerDescription,
+            Integer minQuantity,
+            Integer maxQuantity,
+            Pageable pageable
+    ) {
+        return findBy(BeerSpecifications.filter(categoryId, categoryName, beerDescription,
+                minQuantity, maxQuantity), query -> SpecificationSupport.slice(query, pageable));
+    }
 
+    /**
+     * Conta as cervejas que correspondem aos filtros de {@link #findAllBeer}.
+     *
+     * @param categoryId ID da categoria (opcional).
+     * @param categoryName Descrição da categoria (opcional, busca parcial).
+     * @param beerDescription Nome/descrição da cerveja (opcional, busca parcial).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @return O total de cervejas.
+     */
+    default long countAllBeer(
+            Long categoryId,
+            String categoryName,
+            String beerDescription,
+            Integer minQuantity,
+            Integer maxQuantity
+    ) {
+        return count(BeerSpecifications.filter(categoryId, categoryName, beerDescription, minQuantity, maxQuantity));
+    }
 
     // ------------------------------------------------------------
     // 2. Chamada de função PL/pgSQL
@@ -82,7 +149,8 @@ public interface BeerRepository extends JpaRepository<Beer, Long> {
      * @param maxQuantity Quantidade máxima em estoque (opcional).
      * @param daysUntilExpiry Número de dias para expiração (opcional).
      * @param pageSize Tamanho da página para paginação.
-     * @param pageNumber Número da página a ser retornada.
+     * @param pageNumber Número da página a ser retornada (ignorado com {@code afterId}).
+     * @param afterId O ID da última cerveja entregue na paginação por cursor, ou {@code null} para paginar por número.
      * @return Uma {@link List} de {@link BeerStockDTO} resultante da função.
      */
     @Query(value = """
@@ -93,7 +161,8 @@ public interface BeerRepository extends JpaRepository<Beer, Long> {
             CAST(:maxQuantity AS INTEGER), 
             CAST(:daysUntilExpiry AS INTEGER), 
             CAST(:pageSize AS INTEGER), 
-            CAST(:pageNumber AS INTEGER)
+            CAST(:pageNumber AS INTEGER),
+            CAST(:afterId AS BIGINT)
         )
     """, nativeQuery = true)
     List<BeerStockDTO> findBeersUsingPlpgsqlFunction(
@@ -103,8 +172,44 @@ public interface BeerRepository extends JpaRepository<Beer, Long> {
             @Param("maxQuantity") Integer maxQuantity,
             @Param("daysUntilExpiry") Integer daysUntilExpiry,
             @Param("pageSize") Integer pageSize,
-            @Param("pageNumber") Integer pageNumber
+            @Param("pageNumber") Integer pageNumber,
+            @Param("afterId") Long afterId
+    );
+    /**
+     * Executa a função PL/pgSQL {@code find_beers_using_filters_by_ids}, equivalente a
+     * {@code find_beers_using_filters} mas restrita a um conjunto de IDs já filtrados pela
+     * validade (índice de validade em memória), sem recalcular os dias até o vencimento.
+     *
+     * @param beerIds Os IDs candidatos, separados por vírgula.
+     * @param beerDescription Descrição da cerveja (opcional).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param pageSize Tamanho da página para paginação.
+     * @param pageNumber Número da página a ser retornada (ignorado com {@code afterId}).
+     * @param afterId O ID da última cerveja entregue na paginação por cursor, ou {@code null} para paginar por número.
+     * @return Uma {@link List} de {@link BeerStockDTO} resultante da função.
+     */
+    @Query(value = """
+        SELECT * FROM find_beers_using_filters_by_ids(
+            CAST(:beerIds AS TEXT),
+            CAST(:beerDescription AS TEXT),
+            CAST(:minQuantity AS INTEGER),
+            CAST(:maxQuantity AS INTEGER),
+            CAST(:pageSize AS INTEGER),
+            CAST(:pageNumber AS INTEGER),
+            CAST(:afterId AS BIGINT)
+        )
+    """, nativeQuery = true)
+    List<BeerStockDTO> findBeersUsingPlpgsqlFunctionByIds(
+            @Param("beerIds") String beerIds,
+            @Param("beerDescription") String beerDescription,
+            @Param("minQuantity") Integer minQuantity,
+            @Param("maxQuantity") Integer maxQuantity,
+            @Param("pageSize") Integer pageSize,
+            @Param("pageNumber") Integer pageNumber,
+            @Param("afterId") Long afterId
     );
+
     // ------------------------------------------------------------
     // 3. Relatório de cervejas vencidas
     // ------------------------------------------------------------
@@ -122,4 +227,57 @@ public interface BeerRepository extends JpaRepository<Beer, Long> {
     List<Beer> findExpiredBeersBefore(
             @Param("referenceDate") LocalDate referenceDate
     );
-}
\ No newline at end of file
+
+    /**
+     * Lê o ID e a data de validade de todas as cervejas que possuem validade, sem carregar
+     * as entidades. Usado na carga do índice de validade em memória.
+     *
+     * @return Pares {@code [id, expirationDate]}.
+     */
+    @Query("SELECT b.id, b.expirationDate FROM Beer b WHERE b.expirationDate IS NOT NULL")
+    List<Object[]> findAllExpirationDates();
+
+    /**
+     * Lê os pares {@code [beerId, categoryId]} das cervejas que pertencem às categorias
+     * informadas, sem carregar as entidades. Usado na resolução dos limites de estoque baixo
+     * configurados por categoria.
+     *
+     * @param categoryIds Os IDs das categorias.
+     * @return Pares {@code [beerId, categoryId]}.
+     */
+    @Query("SELECT b.id, c.id FROM Beer b JOIN b.categories c WHERE c.id IN :categoryIds")
+    List<Object[]> findBeerIdsByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+
+    /**
+     * Lê o ID e o nome de todas as cervejas, sem carregar as entidades. Usado na carga do
+     * índice de autocompletar em memória.
+     *
+     * @return Pares {@code [id, name]}.
+     */
+    @Query("SELECT b.id, b.name FROM Beer b")
+    List<Object[]> findAllNames();
+
+    /**
+     * Lê as categorias de todas as cervejas, sem carregar as entidades. Usado na carga do
+     * índice de autocompletar em memória.
+     *
+     * @return Trios {@code [beerId, categoryId, categoryName]}.
+     */
+    @Query("SELECT b.id, c.id, c.name FROM Beer b JOIN b.categories c")
+    List<Object[]> findAllCategoryNames();
+
+    // ------------------------------------------------------------
+    // 4. Validação de IDs em lote
+    // ------------------------------------------------------------
+    /**
+     * Filtra, entre os IDs informados, as cervejas que possuem registro de estoque.
+     *
+     * <p>Usado na importação de reposições para validar um bloco inteiro de linhas com uma
+     * única consulta, sem carregar as entidades.</p>
+     *
+     * @param ids Os IDs de cerveja a verificar.
+     * @return Os IDs que possuem registro em {@code tb_stock}.
+     */
+    @Query("SELECT s.id FROM Stock s WHERE s.id IN :ids")
+    List<Long> findIdsWithStock(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,37 @@
+package com.anapedra.stock_manager.repositories;
+
+import java.util.List;
+
+/**
+ * Fragmento customizado do {@link BeerRepository} com a busca de cervejas por nome executada
+ * diretamente em SQL.
+ *
+ * <p>No PostgreSQL com a extensão {@code pg_trgm}, a busca usa os índices de trigramas de
+ * {@code tb_beers} e {@code tb_category} e ordena por relevância, aceitando termos com pequenos
+ * erros de digitação. Nos demais bancos (H2 nos testes) ou sem a extensão, a busca recai em
+ * {@code LIKE}, com as correspondências exatas e por prefixo primeiro.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface BeerRepositoryCustom {
+
+    /**
+     * Busca as cervejas cujo nome corresponde ao termo, da mais para a menos relevante.
+     *
+     * @param term O termo buscado (já normalizado em minúsculas e sem espaços nas bordas).
+     * @param categoryName Parte do nome de uma categoria da cerveja (opcional, normalizado).
+     * @param limit A quantidade máxima de cervejas.
+     * @return Os IDs das cervejas, em ordem de relevância (empates em ordem de ID).
+     */
+    List<Long> searchIdsByName(String term, String categoryName, int limit);
+
+    /**
+     * Retorna a estimativa de linhas de {@code tb_beers} mantida pelo planejador do PostgreSQL,
+     * sem percorrer a tabela. Usada no total aproximado das listagens de cervejas sem filtro.
+     *
+     * @return A estimativa, ou {@code -1} se não houver (outro banco ou tabela nunca analisada).
+     */
+    long estimateRowCount();
+}
@@ -0,0 +1,123 @@
+package com.anapedra.stock_manager.repositories;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação JDBC do fragmento {@link BeerRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class BeerRepositoryCustomImpl implements BeerRepositoryCustom {
+
+    private static final String TRGM_AVAILABLE_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')";
+
+    private static final String CATEGORY_FILTER_SQL =
+            " AND EXISTS (SELECT 1 FROM beer_category bc JOIN tb_category c ON c.id = bc.category_id " +
+            "WHERE bc.beer_id = b.id AND LOWER(c.name) LIKE ?)";
+
+    // Substring exata primeiro; depois, similaridade com a palavra mais parecida do nome e com o nome todo
+    private static final String TRGM_SEARCH_SQL =
+            "SELECT b.id FROM tb_beers b " +
+            "WHERE (LOWER(b.name) LIKE ? OR ? <% LOWER(b.name))%s " +
+            "ORDER BY (LOWER(b.name) LIKE ?) DESC, word_similarity(?, LOWER(b.name)) DESC, " +
+            "similarity(?, LOWER(b.name)) DESC, b.id " +
+            "LIMIT ?";
+
+    private static final String LIKE_SEARCH_SQL =
+            "SELECT b.id FROM tb_beers b " +
+            "WHERE LOWER(b.name) LIKE ?%s " +
+            "ORDER BY CASE WHEN LOWER(b.name) = ? THEN 0 WHEN LOWER(b.name) LIKE ? THEN 1 ELSE 2 END, b.id " +
+            "LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean trigramAvailable;
+
+    public BeerRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> searchIdsByName(String term, String categoryName, int limit) {
+        String contains = "%" + escapeLike(term) + "%";
+        String categoryFilter = (categoryName != null) ? CATEGORY_FILTER_SQL : "";
+        List<Object> args = new ArrayList<>();
+
+        String sql;
+        if (isTrigramAvailable()) {
+            sql = String.format(TRGM_SEARCH_SQL, categoryFilter);
+            args.add(contains);
+            args.add(term);
+            addCategory(args, categoryName);
+            args.add(contains);
+            args.add(term);
+            args.add(term);
+        } else {
+            sql = String.format(LIKE_SEARCH_SQL, categoryFilter);
+            args.add(contains);
+            addCategory(args, categoryName);
+            args.add(term);
+            args.add(escapeLike(term) + "%");
+        }
+        args.add(limit);
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    @Override
+    public long estimateRowCount() {
+        return TableStatistics.estimateRowCount(jdbcTemplate, "tb_beers");
+    }
+
+    private static void addCategory(List<Object> args, String categoryName) {
+        if (categoryName != null) {
+            args.add("%" + escapeLike(categoryName) + "%");
+        }
+    }
+
+    /**
+     * Escapa os curingas do {@code LIKE} (o caractere de escape padrão do PostgreSQL e do H2 é
+     * a barra invertida), para que o termo seja buscado literalmente.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Verifica uma única vez se o banco é PostgreSQL com a extensão {@code pg_trgm} instalada
+     * (instalada pela migração V13; ausente no perfil dev, sem Flyway, e no H2).
+     */
+    private boolean isTrigramAvailable() {
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            available = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                if (!"PostgreSQL".equalsIgnoreCase(metaData.getDatabaseProductName())) {
+                    return false;
+                }
+                try (PreparedStatement ps = connection.prepareStatement(TRGM_AVAILABLE_SQL);
+                     ResultSet rs = ps.executeQuery()) {
+                    return rs.next() && rs.getBoolean(1);
+                }
+            });
+            trigramAvailable = available;
+        }
+        return Boolean.TRUE.equals(available);
+    }
+}
@@ -8,13 +8,14 @@ import org.springframework.stereotype.Repository;
  * Repositório JPA para a entidade Reposição de Cerveja (BeerRestocking).
  *
  * <p>Esta interface estende {@link JpaRepository}, fornecendo métodos CRUD básicos
- * para operações de persistência relacionadas ao registro de reposição de estoque.</p>
+ * para operações de persistência relacionadas ao registro de reposição de estoque. A inclusão
+ * em lote é fornecida pelo fragmento {@link BeerRestockingRepositoryCustom}.</p>
  *
  * @author Ana Santana
  * @version 1.0
  * @since 0.0.1-SNAPSHOT
  */
 @Repository
-public interface BeerRestockingRepository extends JpaRepository<BeerRestocking, Long> {
+public interface BeerRestockingRepository extends JpaRepository<BeerRestocking, Long>, BeerRestockingRepositoryCustom {
 
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.BeerRestocking;
+
+import java.util.List;
+
+/**
+ * Fragmento customizado do {@link BeerRestockingRepository} para a inclusão de reposições
+ * em lote, executada diretamente em JDBC.
+ *
+ * <p>Usado na importação de reposições em massa, sem passar pelo contexto de persistência
+ * do JPA.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface BeerRestockingRepositoryCustom {
+
+    /**
+     * Inclui as reposições informadas em um único lote JDBC.
+     *
+     * <p>O ID gerado de cada reposição é atribuído à entidade informada.</p>
+     *
+     * @param restockings As reposições novas (sem ID), com cerveja, quantidade e momento preenchidos.
+     */
+    void insertAll(List<BeerRestocking> restockings);
+}
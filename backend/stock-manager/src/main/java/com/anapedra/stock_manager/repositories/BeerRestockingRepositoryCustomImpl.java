@@ -0,0 +1,56 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.BeerRestocking;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Implementação JDBC do fragmento {@link BeerRestockingRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class BeerRestockingRepositoryCustomImpl implements BeerRestockingRepositoryCustom {
+
+    private static final String INSERT_RESTOCKING_SQL =
+            "INSERT INTO tb_restocking_beer (beer_id, quantity, moment) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BeerRestockingRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<BeerRestocking> restockings) {
+        if (restockings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_RESTOCKING_SQL, new String[]{"id"})) {
+                for (BeerRestocking restocking : restockings) {
+                    ps.setLong(1, restocking.getBeer().getId());
+                    ps.setInt(2, restocking.getQuantity());
+                    ps.setTimestamp(3, Timestamp.from(restocking.getMoment()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (BeerRestocking restocking : restockings) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("O banco não retornou o ID de todas as reposições incluídas.");
+                        }
+                        restocking.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.DemandForecastState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório JPA para a entidade {@link DemandForecastState} (estado da previsão de demanda).
+ * A gravação em lote dos estados é fornecida pelo fragmento {@link DemandForecastStateRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Repository
+public interface DemandForecastStateRepository extends JpaRepository<DemandForecastState, Long>,
+        DemandForecastStateRepositoryCustom {
+}
@@ -0,0 +1,23 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.DemandForecastState;
+
+import java.util.List;
+
+/**
+ * Fragmento customizado do {@link DemandForecastStateRepository} para a gravação dos estados
+ * da previsão de demanda em lote, executada diretamente em JDBC.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface DemandForecastStateRepositoryCustom {
+
+    /**
+     * Atualiza os estados informados e inclui os que ainda não existem, em lotes JDBC.
+     *
+     * @param states Os estados a gravar, um por cerveja.
+     */
+    void upsertAll(List<DemandForecastState> states);
+}
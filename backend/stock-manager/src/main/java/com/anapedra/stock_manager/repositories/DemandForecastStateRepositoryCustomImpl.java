@@ -0,0 +1,67 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.DemandForecastState;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação JDBC do fragmento {@link DemandForecastStateRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class DemandForecastStateRepositoryCustomImpl implements DemandForecastStateRepositoryCustom {
+
+    private static final String UPDATE_STATE_SQL =
+            "UPDATE tb_demand_forecast_state SET daily_rate = ?, seasonality = ?, current_day = ?, " +
+            "current_units = ?, observed_days = ?, updated_at = ? WHERE beer_id = ?";
+
+    private static final String INSERT_STATE_SQL =
+            "INSERT INTO tb_demand_forecast_state (daily_rate, seasonality, current_day, current_units, " +
+            "observed_days, updated_at, beer_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DemandForecastStateRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertAll(List<DemandForecastState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_STATE_SQL, states, states.size(), this::bind);
+
+        List<DemandForecastState> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(states.get(index));
+                }
+                index++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STATE_SQL, missing, missing.size(), this::bind);
+        }
+    }
+
+    private void bind(PreparedStatement ps, DemandForecastState state) throws SQLException {
+        ps.setDouble(1, state.getDailyRate());
+        ps.setString(2, state.getSeasonality());
+        ps.setDate(3, Date.valueOf(state.getCurrentDay()));
+        ps.setLong(4, state.getCurrentUnits());
+        ps.setInt(5, state.getObservedDays());
+        ps.setTimestamp(6, Timestamp.from(state.getUpdatedAt()));
+        ps.setLong(7, state.getBeerId());
+    }
+}
@@ -2,11 +2,15 @@ package com.anapedra.stock_manager.repositories;
 
 import com.anapedra.stock_manager.domain.entities.Order;
 import com.anapedra.stock_manager.domain.entities.User;
+import com.anapedra.stock_manager.repositories.specifications.OrderSpecifications;
+import com.anapedra.stock_manager.repositories.specifications.SpecificationSupport;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
@@ -25,16 +29,15 @@ import java.util.List;
  * @since 0.0.1-SNAPSHOT
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderRepositoryCustom {
 
 
     /**
      * Busca pedidos paginados aplicando filtros dinâmicos por cliente, nome/CPF
      * do cliente e intervalo de tempo de criação do pedido (momentAt).
      *
-     * <p>Utiliza {@code COALESCE} para garantir que o filtro de data seja ignorado
-     * se o parâmetro {@code min} ou {@code max} for nulo, permitindo que a consulta
-     * funcione corretamente no HQL sem exigir valores padrão extremos no Service.</p>
+     * <p>A consulta é montada por {@link OrderSpecifications} apenas com os filtros informados:
+     * um limite de data nulo simplesmente não gera predicado.</p>
      *
      * @param client A entidade {@link User} específica do cliente (opcional).
      * @param nameClient O nome do cliente (opcional, busca parcial).
@@ -44,18 +47,81 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      * @param pageable Objeto de paginação e ordenação do Spring Data.
      * @return Uma {@link Page} de entidades {@link Order} que correspondem aos filtros.
      */
-    @Query("SELECT DISTINCT obj FROM Order obj INNER JOIN obj.client cli " +
-            "WHERE (:client IS NULL OR cli = :client) " +
-            "AND (:nameClient IS NULL OR :nameClient = '' OR LOWER(cli.name) LIKE LOWER(CONCAT('%', :nameClient, '%'))) " +
-            "AND (:cpfClient IS NULL OR :cpfClient = '' OR LOWER(cli.cpf) LIKE LOWER(CONCAT('%', :cpfClient, '%'))) " +
-            "AND (obj.momentAt BETWEEN COALESCE(:min, obj.momentAt) AND COALESCE(:max, obj.momentAt))")
-    Page<Order> find(
-            @Param("client") User client,
-            @Param("nameClient") String nameClient,
-            @Param("cpfClient") String cpfClient,
-            @Param("min") Instant min,
-            @Param("max") Instant max,
-            Pageable pageable);
+    default Page<Order> find(
+            User client,
+            String nameClient,
+            String cpfClient,
+            Instant min,
+            Instant max,
+            Pageable pageable) {
+        return findAll(OrderSpecifications.filter(client, nameClient, cpfClient, min, max), pageable);
+    }
+
+    /**
+     * Variante de {@link #find} para a paginação por cursor (keyset): ordena pelo ID e lê apenas
+     * os pedidos após {@code afterId}, sem {@code OFFSET} e sem consulta de contagem.
+     *
+     * @param client O cliente (opcional).
+     * @param nameClient Nome do cliente (opcional, busca parcial).
+     * @param cpfClient CPF do cliente (opcional, busca parcial).
+     * @param min Momento mínimo (opcional).
+     * @param max Momento máximo (opcional).
+     * @param afterId O ID do último pedido entregue, ou {@code null} para a primeira página.
+     * @param pageable O limite de itens (sempre a primeira página do Spring Data).
+     * @return Os pedidos seguintes, em ordem de ID.
+     */
+    default List<Order> findAfter(
+            User client,
+            String nameClient,
+            String cpfClient,
+            Instant min,
+            Instant max,
+            Long afterId,
+            Pageable pageable) {
+        return findBy(OrderSpecifications.filterAfter(client, nameClient, cpfClient, min, max, afterId),
+                query -> query.sortBy(Sort.by("id")).limit(pageable.getPageSize()).all());
+    }
+
+    /**
+     * Variante de {@link #find} sem consulta de contagem: lê a página como {@link Slice}.
+     *
+     * @param client O cliente (opcional).
+     * @param nameClient Nome do cliente (opcional, busca parcial).
+     * @param cpfClient CPF do cliente (opcional, busca parcial).
+     * @param min Momento mínimo (opcional).
+     * @param max Momento máximo (opcional).
+     * @param pageable Objeto de paginação e ordenação do Spring Data.
+     * @return Um {@link Slice} de entidades {@link Order} que correspondem aos filtros.
+     */
+    default Slice<Order> findSlice(
+            User client,
+            String nameClient,
+            String cpfClient,
+            Instant min,
+            Instant max,
+            Pageable pageable) {
+        return findBy(OrderSpecifications.filter(client, nameClient, cpfClient, min, max),
+                query -> SpecificationSupport.slice(query, pageable));
+    }
+
+    /**
+     * Conta os pedidos que correspondem aos filtros de {@link #find}.
+     *
+     * @param client O cliente (opcional).
+     * @param nameClient Nome do cliente (opcional, busca parcial).
+     * @param cpfClient CPF do cliente (opcional, busca parcial).
+     * @param min Momento mínimo (opcional).
+     * @param max Momento máximo (opcional).
+     * @return O total de pedidos.
+     */
+    default long countFiltered(
+            User client,
+            String nameClient,
+            String cpfClient,
+            Instant min,
+            Instant max) {
+        return count(OrderSpecifications.filter(client, nameClient, cpfClient, min, max));
+    }
 
     /**
      * Busca uma lista de pedidos, forçando o carregamento eager (JOIN FETCH)
@@ -0,0 +1,54 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fragmento customizado do {@link OrderRepository} para a inclusão de pedidos em lote,
+ * executada diretamente em JDBC.
+ *
+ * <p>Usado na importação de pedidos em massa: os pedidos e os seus itens são gravados
+ * com lotes JDBC ({@code addBatch}), sem passar pelo contexto de persistência do JPA.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Inclui os pedidos informados e os seus itens em dois lotes JDBC.
+     *
+     * <p>O ID gerado de cada pedido é atribuído à entidade informada. Os pedidos não
+     * ficam gerenciados pelo contexto de persistência.</p>
+     *
+     * @param orders Os pedidos novos (sem ID), com cliente, status e itens preenchidos.
+     */
+    void insertAll(List<Order> orders);
+
+    /**
+     * Percorre, com um cursor no servidor, os itens dos pedidos de um intervalo para a exportação.
+     *
+     * <p>As linhas são lidas em ordem de pedido, {@code fetchSize} por vez, sem passar pelo contexto
+     * de persistência; cada uma é entregue a {@code action} com os valores
+     * {@code [orderId, momentAt, orderStatus, clientId, beerId, quantity, price, subTotal]}.
+     * Deve ser chamado dentro de uma transação, para que o driver mantenha o cursor aberto.</p>
+     *
+     * @param from O primeiro momento (UTC, inclusive), ou {@code null} para sem limite.
+     * @param to O momento final (UTC, exclusive), ou {@code null} para sem limite.
+     * @param fetchSize A quantidade de linhas lidas do banco por vez.
+     * @param action A ação executada para cada linha.
+     */
+    void streamItemsExport(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<Object[]> action);
+
+    /**
+     * Retorna a estimativa de linhas de {@code tb_order} mantida pelo planejador do PostgreSQL,
+     * sem percorrer a tabela. Usada no total aproximado das listagens de pedidos sem filtro.
+     *
+     * @return A estimativa, ou {@code -1} se não houver (outro banco ou tabela nunca analisada).
+     */
+    long estimateRowCount();
+}
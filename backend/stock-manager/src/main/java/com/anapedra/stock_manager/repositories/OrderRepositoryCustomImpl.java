@@ -0,0 +1,122 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.Order;
+import com.anapedra.stock_manager.domain.entities.OrderItem;
+import com.anapedra.stock_manager.domain.enums.OrderStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementação JDBC do fragmento {@link OrderRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO tb_order (moment_at, client_id, order_status) VALUES (?, ?, ?)";
+
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO tb_order_item (order_id, beer_id, quantity, price) VALUES (?, ?, ?, ?)";
+
+    private static final String EXPORT_ITEMS_SQL =
+            "SELECT o.id, o.moment_at, o.order_status, o.client_id, i.beer_id, i.quantity, " +
+            "COALESCE(i.price, b.price) " +
+            "FROM tb_order o JOIN tb_order_item i ON i.order_id = o.id JOIN tb_beers b ON b.id = i.beer_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ORDER_SQL, new String[]{"id"})) {
+                for (Order order : orders) {
+                    // Mesma convenção do Hibernate para Instant em coluna sem fuso: horário UTC
+                    ps.setObject(1, LocalDateTime.ofInstant(order.getMomentAt(), ZoneOffset.UTC));
+                    ps.setLong(2, order.getClient().getId());
+                    ps.setInt(3, order.getOrderStatus().getCode());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Order order : orders) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("O banco não retornou o ID de todos os pedidos incluídos.");
+                        }
+                        order.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+
+        List<OrderItem> items = new ArrayList<>();
+        orders.forEach(order -> items.addAll(order.getItems()));
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items, items.size(), (ps, item) -> {
+            ps.setLong(1, item.getOrder().getId());
+            ps.setLong(2, item.getBeer().getId());
+            ps.setInt(3, item.getQuantity());
+            if (item.getPrice() != null) {
+                ps.setDouble(4, item.getPrice());
+            } else {
+                ps.setNull(4, Types.DOUBLE);
+            }
+        });
+    }
+
+    @Override
+    public void streamItemsExport(LocalDateTime from, LocalDateTime to, int fetchSize, Consumer<Object[]> action) {
+        StringBuilder sql = new StringBuilder(EXPORT_ITEMS_SQL);
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" o.moment_at >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" o.moment_at < ?");
+            args.add(to);
+        }
+        sql.append(" ORDER BY o.id, i.beer_id");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            LocalDateTime moment = rs.getObject(2, LocalDateTime.class);
+            Object client = rs.getObject(4);
+            int quantity = rs.getInt(6);
+            double price = rs.getDouble(7);
+            action.accept(new Object[]{
+                    rs.getLong(1), (moment != null) ? moment.toInstant(ZoneOffset.UTC) : null,
+                    OrderStatus.valueOf(rs.getInt(3)), client, rs.getLong(5), quantity, price, quantity * price});
+        });
+    }
+
+    @Override
+    public long estimateRowCount() {
+        return TableStatistics.estimateRowCount(jdbcTemplate, "tb_order");
+    }
+}
@@ -0,0 +1,41 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.RestockProposal;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Repositório JPA para a entidade {@link RestockProposal} (propostas de reposição).
+ * A gravação das propostas de um planejamento é fornecida pelo fragmento
+ * {@link RestockProposalRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Repository
+public interface RestockProposalRepository extends JpaRepository<RestockProposal, Long>, RestockProposalRepositoryCustom {
+
+    /**
+     * Busca, de forma paginada, as propostas geradas em uma data de planejamento.
+     *
+     * @param planDate A data do planejamento.
+     * @param pageable Objeto de paginação e ordenação do Spring Data.
+     * @return Uma {@link Page} de {@link RestockProposal}.
+     */
+    Page<RestockProposal> findByPlanDate(LocalDate planDate, Pageable pageable);
+
+    /**
+     * Retorna a data do planejamento mais recente com propostas.
+     *
+     * @return Um {@link Optional} com a data, ou vazio se não houver propostas.
+     */
+    @Query("SELECT MAX(p.planDate) FROM RestockProposal p")
+    Optional<LocalDate> findLatestPlanDate();
+}
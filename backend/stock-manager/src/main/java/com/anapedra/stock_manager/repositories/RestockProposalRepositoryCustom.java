@@ -0,0 +1,28 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.RestockProposal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fragmento customizado do {@link RestockProposalRepository} para a gravação das propostas
+ * de um planejamento, executada diretamente em JDBC.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface RestockProposalRepositoryCustom {
+
+    /**
+     * Substitui as propostas de uma data de planejamento: exclui as propostas existentes dessa
+     * data e as anteriores ao limite de retenção, e inclui as novas em um único lote JDBC.
+     *
+     * @param planDate A data do planejamento.
+     * @param retainAfter As propostas com data anterior a esta são excluídas.
+     * @param proposals As novas propostas (sem ID).
+     * @return A quantidade de propostas excluídas.
+     */
+    int replacePlan(LocalDate planDate, LocalDate retainAfter, List<RestockProposal> proposals);
+}
@@ -0,0 +1,50 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.RestockProposal;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Implementação JDBC do fragmento {@link RestockProposalRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class RestockProposalRepositoryCustomImpl implements RestockProposalRepositoryCustom {
+
+    private static final String DELETE_PLAN_SQL =
+            "DELETE FROM tb_restock_proposal WHERE plan_date = ? OR plan_date < ?";
+
+    private static final String INSERT_PROPOSAL_SQL =
+            "INSERT INTO tb_restock_proposal (beer_id, plan_date, available, daily_demand, safety_stock, " +
+            "reorder_point, suggested_quantity, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RestockProposalRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int replacePlan(LocalDate planDate, LocalDate retainAfter, List<RestockProposal> proposals) {
+        int deleted = jdbcTemplate.update(DELETE_PLAN_SQL, Date.valueOf(planDate), Date.valueOf(retainAfter));
+        if (!proposals.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PROPOSAL_SQL, proposals, proposals.size(), (ps, proposal) -> {
+                ps.setLong(1, proposal.getBeerId());
+                ps.setDate(2, Date.valueOf(proposal.getPlanDate()));
+                ps.setInt(3, proposal.getAvailable());
+                ps.setDouble(4, proposal.getDailyDemand());
+                ps.setInt(5, proposal.getSafetyStock());
+                ps.setInt(6, proposal.getReorderPoint());
+                ps.setInt(7, proposal.getSuggestedQuantity());
+                ps.setTimestamp(8, Timestamp.from(proposal.getCreatedAt()));
+            });
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,19 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.SalesDaily;
+import com.anapedra.stock_manager.domain.pks.SalesDailyPK;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório JPA para a entidade {@link SalesDaily} (consolidação diária de vendas).
+ * A atualização incremental, o recálculo e as consultas agregadas são fornecidos pelo
+ * fragmento {@link SalesDailyRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Repository
+public interface SalesDailyRepository extends JpaRepository<SalesDaily, SalesDailyPK>, SalesDailyRepositoryCustom {
+}
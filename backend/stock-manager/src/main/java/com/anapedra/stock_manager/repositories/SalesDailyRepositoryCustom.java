@@ -0,0 +1,76 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.dtos.CategorySalesDTO;
+import com.anapedra.stock_manager.domain.dtos.SalesSummaryDTO;
+import com.anapedra.stock_manager.domain.entities.SalesDaily;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fragmento customizado do {@link SalesDailyRepository} para a manutenção e a leitura da
+ * consolidação diária de vendas, executadas diretamente em JDBC.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface SalesDailyRepositoryCustom {
+
+    /**
+     * Soma as variações informadas aos totais gravados, incluindo as linhas (dia e cerveja)
+     * ainda inexistentes. Cada linha é atualizada com um único comando, sem leitura prévia.
+     *
+     * @param deltas As variações, no máximo uma por dia e cerveja.
+     */
+    void applyDeltas(List<SalesDaily> deltas);
+
+    /**
+     * Reconstrói os totais do intervalo a partir dos pedidos não cancelados: exclui as linhas
+     * do intervalo e as inclui novamente com um único {@code INSERT ... SELECT}.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @return A quantidade de linhas incluídas.
+     */
+    int rebuild(LocalDate from, LocalDate to);
+
+    /**
+     * Retorna o dia (UTC) do pedido mais antigo.
+     *
+     * @return Um {@link Optional} com o dia, ou vazio se não houver pedidos.
+     */
+    Optional<LocalDate> findFirstOrderDate();
+
+    /**
+     * Agrupa os totais do intervalo por dia, mês ou ano.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @param period {@link ChronoUnit#DAYS}, {@link ChronoUnit#MONTHS} ou {@link ChronoUnit#YEARS}.
+     * @return Os totais com vendas, em ordem de período.
+     */
+    List<SalesSummaryDTO> summarize(LocalDate from, LocalDate to, Long beerId, ChronoUnit period);
+
+    /**
+     * Agrupa os totais do intervalo pelas categorias atuais de cada cerveja.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @return Os totais das categorias com vendas, em ordem decrescente de receita.
+     */
+    List<CategorySalesDTO> summarizeByCategory(LocalDate from, LocalDate to);
+
+    /**
+     * Soma as unidades vendidas no intervalo.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return O total de unidades.
+     */
+    long sumUnits(LocalDate from, LocalDate to, Long beerId);
+}
@@ -0,0 +1,152 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.dtos.CategorySalesDTO;
+import com.anapedra.stock_manager.domain.dtos.SalesSummaryDTO;
+import com.anapedra.stock_manager.domain.entities.SalesDaily;
+import com.anapedra.stock_manager.domain.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementação JDBC do fragmento {@link SalesDailyRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class SalesDailyRepositoryCustomImpl implements SalesDailyRepositoryCustom {
+
+    private static final String UPDATE_DELTA_SQL =
+            "UPDATE tb_sales_daily SET units = units + ?, revenue = revenue + ?, order_count = order_count + ? " +
+            "WHERE sale_date = ? AND beer_id = ?";
+
+    private static final String INSERT_DELTA_SQL =
+            "INSERT INTO tb_sales_daily (units, revenue, order_count, sale_date, beer_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM tb_sales_daily WHERE sale_date BETWEEN ? AND ?";
+
+    // moment_at é gravado em UTC (sem fuso); o filtro por intervalo mantém o índice utilizável
+    private static final String REBUILD_RANGE_SQL =
+            "INSERT INTO tb_sales_daily (sale_date, beer_id, units, revenue, order_count) " +
+            "SELECT CAST(o.moment_at AS DATE), i.beer_id, SUM(i.quantity), " +
+            "SUM(i.quantity * COALESCE(i.price, b.price)), COUNT(DISTINCT o.id) " +
+            "FROM tb_order o " +
+            "JOIN tb_order_item i ON i.order_id = o.id " +
+            "JOIN tb_beers b ON b.id = i.beer_id " +
+            "WHERE o.moment_at >= ? AND o.moment_at < ? AND o.order_status <> ? " +
+            "GROUP BY CAST(o.moment_at AS DATE), i.beer_id";
+
+    private static final String FIRST_ORDER_SQL = "SELECT MIN(moment_at) FROM tb_order";
+
+    private static final String CATEGORY_SQL =
+            "SELECT c.id, c.name, SUM(s.units), SUM(s.revenue), SUM(s.order_count) " +
+            "FROM tb_sales_daily s " +
+            "JOIN beer_category bc ON bc.beer_id = s.beer_id " +
+            "JOIN tb_category c ON c.id = bc.category_id " +
+            "WHERE s.sale_date BETWEEN ? AND ? " +
+            "GROUP BY c.id, c.name " +
+            "ORDER BY SUM(s.revenue) DESC, c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesDailyRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(List<SalesDaily> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_DELTA_SQL, deltas, deltas.size(), this::bind);
+
+        List<SalesDaily> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(deltas.get(index));
+                }
+                index++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DELTA_SQL, missing, missing.size(), this::bind);
+        }
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        jdbcTemplate.update(DELETE_RANGE_SQL, Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(REBUILD_RANGE_SQL,
+                from.atStartOfDay(),
+                to.plusDays(1).atStartOfDay(),
+                OrderStatus.CACELED.getCode());
+    }
+
+    @Override
+    public Optional<LocalDate> findFirstOrderDate() {
+        LocalDateTime first = jdbcTemplate.queryForObject(FIRST_ORDER_SQL, LocalDateTime.class);
+        return Optional.ofNullable(first).map(LocalDateTime::toLocalDate);
+    }
+
+    @Override
+    public List<SalesSummaryDTO> summarize(LocalDate from, LocalDate to, Long beerId, ChronoUnit period) {
+        String groups = switch (period) {
+            case DAYS -> "EXTRACT(YEAR FROM sale_date), EXTRACT(MONTH FROM sale_date), EXTRACT(DAY FROM sale_date)";
+            case MONTHS -> "EXTRACT(YEAR FROM sale_date), EXTRACT(MONTH FROM sale_date)";
+            case YEARS -> "EXTRACT(YEAR FROM sale_date)";
+            default -> throw new IllegalArgumentException("Período não suportado: " + period);
+        };
+        String sql = "SELECT " + groups + ", SUM(units), SUM(revenue), SUM(order_count) " +
+                "FROM tb_sales_daily WHERE sale_date BETWEEN ? AND ?" +
+                ((beerId != null) ? " AND beer_id = ?" : "") +
+                " GROUP BY " + groups + " ORDER BY " + groups;
+        int keys = (period == ChronoUnit.DAYS) ? 3 : (period == ChronoUnit.MONTHS) ? 2 : 1;
+
+        Object[] args = (beerId != null)
+                ? new Object[]{Date.valueOf(from), Date.valueOf(to), beerId}
+                : new Object[]{Date.valueOf(from), Date.valueOf(to)};
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            LocalDate start = LocalDate.of(rs.getInt(1),
+                    (keys > 1) ? rs.getInt(2) : 1,
+                    (keys > 2) ? rs.getInt(3) : 1);
+            return new SalesSummaryDTO(start, beerId,
+                    rs.getLong(keys + 1), rs.getDouble(keys + 2), rs.getLong(keys + 3));
+        }, args);
+    }
+
+    @Override
+    public List<CategorySalesDTO> summarizeByCategory(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(CATEGORY_SQL, (rs, rowNum) -> new CategorySalesDTO(
+                rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getDouble(4), rs.getLong(5)),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Override
+    public long sumUnits(LocalDate from, LocalDate to, Long beerId) {
+        String sql = "SELECT COALESCE(SUM(units), 0) FROM tb_sales_daily WHERE sale_date BETWEEN ? AND ?";
+        Long units = (beerId != null)
+                ? jdbcTemplate.queryForObject(sql + " AND beer_id = ?", Long.class, Date.valueOf(from), Date.valueOf(to), beerId)
+                : jdbcTemplate.queryForObject(sql, Long.class, Date.valueOf(from), Date.valueOf(to));
+        return (units != null) ? units : 0L;
+    }
+
+    private void bind(PreparedStatement ps, SalesDaily delta) throws SQLException {
+        ps.setLong(1, delta.getUnits());
+        ps.setDouble(2, delta.getRevenue());
+        ps.setLong(3, delta.getOrderCount());
+        ps.setDate(4, Date.valueOf(delta.getId().getSaleDate()));
+        ps.setLong(5, delta.getId().getBeerId());
+    }
+}
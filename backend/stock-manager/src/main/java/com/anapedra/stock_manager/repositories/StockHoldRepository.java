@@ -0,0 +1,74 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório JPA para a entidade Reserva de Estoque (StockHold).
+ *
+ * <p>Além das operações CRUD, fornece atualizações em massa de estado por pedido,
+ * usadas pela expiração de reservas sem carregar as entidades.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Repository
+public interface StockHoldRepository extends JpaRepository<StockHold, Long>, StockHoldRepositoryCustom {
+
+    /**
+     * Busca as reservas em um determinado estado, com o ID do pedido e da cerveja já resolvidos.
+     *
+     * @param status O código do {@link com.anapedra.stock_manager.domain.enums.HoldStatus}.
+     * @return As reservas encontradas.
+     */
+    @Query("SELECT h FROM StockHold h JOIN FETCH h.order JOIN FETCH h.beer WHERE h.status = :status")
+    List<StockHold> findByStatus(@Param("status") Integer status);
+
+    /**
+     * Verifica se um pedido possui alguma reserva registrada.
+     *
+     * @param orderId O ID do pedido.
+     * @return {@code true} se existir ao menos uma reserva.
+     */
+    boolean existsByOrderId(Long orderId);
+
+    /**
+     * Verifica se um pedido possui reservas em um determinado estado.
+     *
+     * @param orderId O ID do pedido.
+     * @param status O código do {@link com.anapedra.stock_manager.domain.enums.HoldStatus}.
+     * @return {@code true} se existir ao menos uma reserva no estado informado.
+     */
+    boolean existsByOrderIdAndStatus(Long orderId, Integer status);
+
+    /**
+     * Altera, em massa, o estado das reservas dos pedidos informados que estejam no estado de origem.
+     *
+     * @param orderIds Os IDs dos pedidos.
+     * @param from O código do estado de origem.
+     * @param to O código do novo estado.
+     * @return O número de reservas alteradas.
+     */
+    @Modifying
+    @Query("UPDATE StockHold h SET h.status = :to WHERE h.order.id IN :orderIds AND h.status = :from")
+    int updateStatusByOrderIds(@Param("orderIds") Collection<Long> orderIds,
+                               @Param("from") Integer from,
+                               @Param("to") Integer to);
+
+    /**
+     * Remove todas as reservas de um pedido.
+     *
+     * @param orderId O ID do pedido.
+     */
+    @Modifying
+    @Query("DELETE FROM StockHold h WHERE h.order.id = :orderId")
+    void deleteByOrderId(@Param("orderId") Long orderId);
+}
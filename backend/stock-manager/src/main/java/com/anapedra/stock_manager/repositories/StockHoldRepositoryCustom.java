@@ -0,0 +1,24 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockHold;
+
+import java.util.List;
+
+/**
+ * Fragmento customizado do {@link StockHoldRepository} para a inclusão de reservas em
+ * lote, executada diretamente em JDBC.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface StockHoldRepositoryCustom {
+
+    /**
+     * Inclui as reservas informadas em um único lote JDBC. As entidades não recebem ID
+     * nem ficam gerenciadas pelo contexto de persistência.
+     *
+     * @param holds As reservas a incluir, com pedido e cerveja já persistidos.
+     */
+    void insertAll(List<StockHold> holds);
+}
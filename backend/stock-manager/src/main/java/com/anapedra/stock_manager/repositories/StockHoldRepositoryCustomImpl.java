@@ -0,0 +1,46 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockHold;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Implementação JDBC do fragmento {@link StockHoldRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockHoldRepositoryCustomImpl implements StockHoldRepositoryCustom {
+
+    private static final String INSERT_HOLD_SQL =
+            "INSERT INTO tb_stock_hold (order_id, beer_id, quantity, status, expires_at, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockHoldRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<StockHold> holds) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_HOLD_SQL, holds, holds.size(), (ps, hold) -> {
+            ps.setLong(1, hold.getOrder().getId());
+            ps.setLong(2, hold.getBeer().getId());
+            ps.setInt(3, hold.getQuantity());
+            ps.setInt(4, hold.getStatus().getCode());
+            if (hold.getExpiresAt() != null) {
+                ps.setTimestamp(5, Timestamp.from(hold.getExpiresAt()));
+            } else {
+                ps.setNull(5, Types.TIMESTAMP);
+            }
+            ps.setTimestamp(6, Timestamp.from(hold.getCreatedAt()));
+        });
+    }
+}
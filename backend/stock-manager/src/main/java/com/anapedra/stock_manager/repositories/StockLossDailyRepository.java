@@ -0,0 +1,19 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockLossDaily;
+import com.anapedra.stock_manager.domain.pks.StockLossDailyPK;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório JPA para a entidade {@link StockLossDaily} (consolidação diária de perdas).
+ * A atualização incremental, o recálculo e as consultas agregadas são fornecidos pelo
+ * fragmento {@link StockLossDailyRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Repository
+public interface StockLossDailyRepository extends JpaRepository<StockLossDaily, StockLossDailyPK>, StockLossDailyRepositoryCustom {
+}
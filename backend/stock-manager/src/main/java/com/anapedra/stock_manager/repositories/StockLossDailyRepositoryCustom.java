@@ -0,0 +1,70 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.dtos.LossTotalDTO;
+import com.anapedra.stock_manager.domain.entities.StockLossDaily;
+import com.anapedra.stock_manager.domain.enums.LossGrouping;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fragmento customizado do {@link StockLossDailyRepository} para a manutenção e a leitura da
+ * consolidação diária de perdas, executadas diretamente em JDBC.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface StockLossDailyRepositoryCustom {
+
+    /**
+     * Soma as variações informadas aos totais gravados, incluindo as linhas (dia, cerveja e
+     * motivo) ainda inexistentes.
+     *
+     * @param deltas As variações, no máximo uma por dia, cerveja e motivo.
+     */
+    void applyDeltas(List<StockLossDaily> deltas);
+
+    /**
+     * Reconstrói os totais do intervalo a partir de {@code tb_stock_loss}: exclui as linhas do
+     * intervalo e as inclui novamente com um único {@code INSERT ... SELECT}.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @return A quantidade de linhas incluídas.
+     */
+    int rebuild(LocalDate from, LocalDate to);
+
+    /**
+     * Retorna o dia da perda mais antiga registrada.
+     *
+     * @return Um {@link Optional} com o dia, ou vazio se não houver perdas.
+     */
+    Optional<LocalDate> findFirstLossDate();
+
+    /**
+     * Agrupa os totais do intervalo, com filtros opcionais.
+     *
+     * @param grouping O agrupamento.
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param reason Um motivo, ou {@code null} para todos.
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @param categoryId O ID de uma categoria, ou {@code null} para todas.
+     * @return Os totais; por período em ordem de data, nos demais em ordem decrescente de unidades.
+     */
+    List<LossTotalDTO> summarize(LossGrouping grouping, LocalDate from, LocalDate to,
+                                 LossReason reason, Long beerId, Long categoryId);
+
+    /**
+     * Soma as unidades perdidas no intervalo.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return O total de unidades.
+     */
+    long sumUnits(LocalDate from, LocalDate to, Long beerId);
+}
@@ -0,0 +1,164 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.dtos.LossTotalDTO;
+import com.anapedra.stock_manager.domain.entities.StockLossDaily;
+import com.anapedra.stock_manager.domain.enums.LossGrouping;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementação JDBC do fragmento {@link StockLossDailyRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockLossDailyRepositoryCustomImpl implements StockLossDailyRepositoryCustom {
+
+    private static final String UPDATE_DELTA_SQL =
+            "UPDATE tb_stock_loss_daily SET units = units + ?, loss_count = loss_count + ? " +
+            "WHERE loss_date = ? AND beer_id = ? AND reason = ?";
+
+    private static final String INSERT_DELTA_SQL =
+            "INSERT INTO tb_stock_loss_daily (units, loss_count, loss_date, beer_id, reason) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM tb_stock_loss_daily WHERE loss_date BETWEEN ? AND ?";
+
+    private static final String REBUILD_RANGE_SQL =
+            "INSERT INTO tb_stock_loss_daily (loss_date, beer_id, reason, units, loss_count) " +
+            "SELECT loss_date, beer_id, reason, SUM(quantity_lost), COUNT(*) " +
+            "FROM tb_stock_loss WHERE loss_date BETWEEN ? AND ? " +
+            "GROUP BY loss_date, beer_id, reason";
+
+    private static final String FIRST_LOSS_SQL = "SELECT MIN(loss_date) FROM tb_stock_loss";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockLossDailyRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(List<StockLossDaily> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_DELTA_SQL, deltas, deltas.size(), this::bind);
+
+        List<StockLossDaily> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(deltas.get(index));
+                }
+                index++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DELTA_SQL, missing, missing.size(), this::bind);
+        }
+    }
+
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        jdbcTemplate.update(DELETE_RANGE_SQL, Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(REBUILD_RANGE_SQL, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Override
+    public Optional<LocalDate> findFirstLossDate() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(FIRST_LOSS_SQL, LocalDate.class));
+    }
+
+    @Override
+    public List<LossTotalDTO> summarize(LossGrouping grouping, LocalDate from, LocalDate to,
+                                        LossReason reason, Long beerId, Long categoryId) {
+        String select;
+        String groups;
+        String order;
+        String join = "";
+        switch (grouping) {
+            case REASON -> {
+                select = groups = "d.reason";
+                order = "SUM(d.units) DESC, d.reason";
+            }
+            case BEER -> {
+                join = " JOIN tb_beers b ON b.id = d.beer_id";
+                select = groups = "d.beer_id, b.name";
+                order = "SUM(d.units) DESC, d.beer_id";
+            }
+            case CATEGORY -> {
+                join = " JOIN beer_category bc ON bc.beer_id = d.beer_id JOIN tb_category c ON c.id = bc.category_id";
+                select = groups = "c.id, c.name";
+                order = "SUM(d.units) DESC, c.id";
+            }
+            case DAY -> {
+                select = groups = order = "d.loss_date";
+            }
+            default -> {
+                select = groups = order = "EXTRACT(YEAR FROM d.loss_date), EXTRACT(MONTH FROM d.loss_date)";
+            }
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(select)
+                .append(", SUM(d.units), SUM(d.loss_count) FROM tb_stock_loss_daily d").append(join)
+                .append(" WHERE d.loss_date BETWEEN ? AND ?");
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (reason != null) {
+            sql.append(" AND d.reason = ?");
+            args.add(reason.getCode());
+        }
+        if (beerId != null) {
+            sql.append(" AND d.beer_id = ?");
+            args.add(beerId);
+        }
+        if (categoryId != null) {
+            // No agrupamento por categoria a junção já existe; nos demais, EXISTS evita contar a cerveja duas vezes
+            sql.append((grouping == LossGrouping.CATEGORY)
+                    ? " AND c.id = ?"
+                    : " AND EXISTS (SELECT 1 FROM beer_category f WHERE f.beer_id = d.beer_id AND f.category_id = ?)");
+            args.add(categoryId);
+        }
+        sql.append(" GROUP BY ").append(groups).append(" ORDER BY ").append(order);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> switch (grouping) {
+            case REASON -> new LossTotalDTO(LossReason.valueOf(rs.getInt(1)), null, null, null, null,
+                    rs.getLong(2), rs.getLong(3));
+            case BEER -> new LossTotalDTO(null, rs.getLong(1), null, rs.getString(2), null,
+                    rs.getLong(3), rs.getLong(4));
+            case CATEGORY -> new LossTotalDTO(null, null, rs.getLong(1), rs.getString(2), null,
+                    rs.getLong(3), rs.getLong(4));
+            case DAY -> new LossTotalDTO(null, null, null, null, rs.getObject(1, LocalDate.class),
+                    rs.getLong(2), rs.getLong(3));
+            default -> new LossTotalDTO(null, null, null, null, LocalDate.of(rs.getInt(1), rs.getInt(2), 1),
+                    rs.getLong(3), rs.getLong(4));
+        }, args.toArray());
+    }
+
+    @Override
+    public long sumUnits(LocalDate from, LocalDate to, Long beerId) {
+        String sql = "SELECT COALESCE(SUM(units), 0) FROM tb_stock_loss_daily WHERE loss_date BETWEEN ? AND ?";
+        Long units = (beerId != null)
+                ? jdbcTemplate.queryForObject(sql + " AND beer_id = ?", Long.class, Date.valueOf(from), Date.valueOf(to), beerId)
+                : jdbcTemplate.queryForObject(sql, Long.class, Date.valueOf(from), Date.valueOf(to));
+        return (units != null) ? units : 0L;
+    }
+
+    private void bind(PreparedStatement ps, StockLossDaily delta) throws SQLException {
+        ps.setLong(1, delta.getUnits());
+        ps.setLong(2, delta.getLossCount());
+        ps.setDate(3, Date.valueOf(delta.getId().getLossDate()));
+        ps.setLong(4, delta.getId().getBeerId());
+        ps.setInt(5, delta.getId().getReason().getCode());
+    }
+}
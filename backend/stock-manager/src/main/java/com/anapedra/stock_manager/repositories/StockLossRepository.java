@@ -1,34 +1,41 @@
 package com.anapedra.stock_manager.repositories;
 
 import com.anapedra.stock_manager.domain.entities.StockLoss;
+import com.anapedra.stock_manager.repositories.specifications.SpecificationSupport;
+import com.anapedra.stock_manager.repositories.specifications.StockLossSpecifications;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Repositório JPA para a entidade Perda de Estoque (StockLoss).
  *
  * <p>Esta interface estende {@link JpaRepository} e fornece métodos CRUD básicos,
- * além de uma consulta customizada para filtrar registros de perda de estoque
- * por diversos critérios, como motivo, cerveja, nome da cerveja, categoria e período de tempo.</p>
+ * além de uma consulta com filtros dinâmicos para filtrar registros de perda de estoque
+ * por diversos critérios, como motivo, cerveja, nome da cerveja, categoria e período de tempo.
+ * A inclusão em lote é fornecida pelo fragmento {@link StockLossRepositoryCustom}.</p>
  *
  * @author Ana Santana
  * @version 1.0
  * @since 0.0.1-SNAPSHOT
  */
 @Repository
-public interface StockLossRepository extends JpaRepository<StockLoss, Long> {
+public interface StockLossRepository extends JpaRepository<StockLoss, Long>, JpaSpecificationExecutor<StockLoss>, StockLossRepositoryCustom {
 
     /**
      * Busca registros de perda de estoque paginados aplicando filtros dinâmicos.
      *
      * <p>Os filtros incluem: código do motivo da perda (Enum), ID da cerveja,
      * nome da cerveja (busca parcial), ID da categoria e um intervalo de datas
-     * de ocorrência da perda (lossDate).</p>
+     * de ocorrência da perda (lossDate). A consulta é montada por
+     * {@link StockLossSpecifications} apenas com os filtros informados.</p>
      *
      * @param reasonCode O código inteiro do motivo da perda (LossReason).
      * @param beerId O ID da cerveja.
@@ -39,26 +46,7 @@ public interface StockLossRepository extends JpaRepository<StockLoss, Long> {
      * @param pageable Objeto de paginação e ordenação do Spring Data.
      * @return Uma {@link Page} de entidades {@link StockLoss} que correspondem aos filtros.
      */
-    @Query("""
-        SELECT DISTINCT sl
-        FROM StockLoss sl
-        INNER JOIN sl.beer b
-        INNER JOIN b.categories c
-        WHERE
-            (:reasonCode IS NULL OR sl.reason = :reasonCode)
-        AND
-            (:beerId IS NULL OR b.id = :beerId)
-        AND
-            (:beerName IS NULL OR :beerName = '' 
-             OR LOWER(TRIM(b.name)) LIKE LOWER(CONCAT('%', :beerName, '%')))
-        AND
-            (:categoryId IS NULL OR c.id = :categoryId)
-        AND
-            (:startDate IS NULL OR sl.lossDate >= :startDate)
-        AND
-            (:endDate IS NULL OR sl.lossDate <= :endDate)
-        """)
-    Page<StockLoss> findLossesByFilters(
+    default Page<StockLoss> findLossesByFilters(
             Integer reasonCode,
             Long beerId,
             String beerName,
@@ -66,5 +54,84 @@ public interface StockLossRepository extends JpaRepository<StockLoss, Long> {
             LocalDate startDate,
             LocalDate endDate,
             Pageable pageable
-    );
-}
\ No newline at end of file
+    ) {
+        return findAll(StockLossSpecifications.filter(reasonCode, beerId, beerName, categoryId,
+                startDate, endDate), pageable);
+    }
+
+    /**
+     * Variante de {@link #findLossesByFilters} para a paginação por cursor (keyset): ordena pelo
+     * ID e lê apenas as perdas após {@code afterId}, sem {@code OFFSET} e sem consulta de contagem.
+     *
+     * @param reasonCode O código inteiro do motivo da perda (LossReason).
+     * @param beerId O ID da cerveja.
+     * @param beerName O nome da cerveja (busca case-insensitive parcial).
+     * @param categoryId O ID da categoria associada à cerveja.
+     * @param startDate A data inicial para o filtro de {@code lossDate}.
+     * @param endDate A data final para o filtro de {@code lossDate}.
+     * @param afterId O ID da última perda entregue, ou {@code null} para a primeira página.
+     * @param pageable O limite de itens (sempre a primeira página do Spring Data).
+     * @return As perdas seguintes, em ordem de ID.
+     */
+    default List<StockLoss> findLossesByFiltersAfter(
+            Integer reasonCode,
+            Long beerId,
+            String beerName,
+            Long categoryId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Long afterId,
+            Pageable pageable
+    ) {
+        return findBy(StockLossSpecifications.filterAfter(reasonCode, beerId, beerName, categoryId,
+                        startDate, endDate, afterId),
+                query -> query.sortBy(Sort.by("id")).limit(pageable.getPageSize()).all());
+    }
+
+    /**
+     * Variante de {@link #findLossesByFilters} sem consulta de contagem: lê a página como {@link Slice}.
+     *
+     * @param reasonCode O código inteiro do motivo da perda (LossReason).
+     * @param beerId O ID da cerveja.
+     * @param beerName O nome da cerveja (busca case-insensitive parcial).
+     * @param categoryId O ID da categoria associada à cerveja.
+     * @param startDate A data inicial para o filtro de {@code lossDate}.
+     * @param endDate A data final para o filtro de {@code lossDate}.
+     * @param pageable Objeto de paginação e ordenação do Spring Data.
+     * @return Um {@link Slice} de entidades {@link StockLoss} que correspondem aos filtros.
+     */
+    default Slice<StockLoss> findLossesByFiltersSlice(
+            Integer reasonCode,
+            Long beerId,
+            String beerName,
+            Long categoryId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Pageable pageable
+    ) {
+        return findBy(StockLossSpecifications.filter(reasonCode, beerId, beerName, categoryId,
+                startDate, endDate), query -> SpecificationSupport.slice(query, pageable));
+    }
+
+    /**
+     * Conta as perdas que correspondem aos filtros de {@link #findLossesByFilters}.
+     *
+     * @param reasonCode O código inteiro do motivo da perda (LossReason).
+     * @param beerId O ID da cerveja.
+     * @param beerName O nome da cerveja (busca case-insensitive parcial).
+     * @param categoryId O ID da categoria associada à cerveja.
+     * @param startDate A data inicial para o filtro de {@code lossDate}.
+     * @param endDate A data final para o filtro de {@code lossDate}.
+     * @return O total de perdas.
+     */
+    default long countLossesByFilters(
+            Integer reasonCode,
+            Long beerId,
+            String beerName,
+            Long categoryId,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {
+        return count(StockLossSpecifications.filter(reasonCode, beerId, beerName, categoryId, startDate, endDate));
+    }
+}
@@ -0,0 +1,53 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockLoss;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fragmento customizado do {@link StockLossRepository} para a inclusão de perdas em lote,
+ * executada diretamente em JDBC.
+ *
+ * <p>Usado no registro de perdas em massa (auditorias de quebra e furto), sem passar pelo
+ * contexto de persistência do JPA.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface StockLossRepositoryCustom {
+
+    /**
+     * Inclui as perdas informadas em um único lote JDBC.
+     *
+     * <p>O ID gerado de cada perda é atribuído à entidade informada.</p>
+     *
+     * @param losses As perdas novas (sem ID), com cerveja, quantidade, motivo e datas preenchidos.
+     */
+    void insertAll(List<StockLoss> losses);
+
+    /**
+     * Percorre, com um cursor no servidor, as perdas de um intervalo para a exportação.
+     *
+     * <p>As linhas são lidas em ordem de ID, {@code fetchSize} por vez, sem passar pelo contexto de
+     * persistência; cada uma é entregue a {@code action} com os valores
+     * {@code [id, lossDate, beerId, beerName, reason, quantityLost, description, registrationMoment]}.
+     * Deve ser chamado dentro de uma transação, para que o driver mantenha o cursor aberto.</p>
+     *
+     * @param from O primeiro dia, ou {@code null} para sem limite.
+     * @param to O último dia (inclusive), ou {@code null} para sem limite.
+     * @param fetchSize A quantidade de linhas lidas do banco por vez.
+     * @param action A ação executada para cada linha.
+     */
+    void streamExport(LocalDate from, LocalDate to, int fetchSize, Consumer<Object[]> action);
+
+    /**
+     * Retorna a estimativa de linhas de {@code tb_stock_loss} mantida pelo planejador do PostgreSQL,
+     * sem percorrer a tabela. Usada no total aproximado das listagens de perdas sem filtro.
+     *
+     * @return A estimativa, ou {@code -1} se não houver (outro banco ou tabela nunca analisada).
+     */
+    long estimateRowCount();
+}
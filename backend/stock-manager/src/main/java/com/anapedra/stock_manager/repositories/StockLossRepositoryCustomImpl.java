@@ -0,0 +1,111 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockLoss;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Implementação JDBC do fragmento {@link StockLossRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockLossRepositoryCustomImpl implements StockLossRepositoryCustom {
+
+    private static final String INSERT_LOSS_SQL =
+            "INSERT INTO tb_stock_loss (beer_id, quantity_lost, reason, loss_date, description, registration_moment) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String EXPORT_SQL =
+            "SELECT l.id, l.loss_date, l.beer_id, b.name, l.reason, l.quantity_lost, l.description, l.registration_moment " +
+            "FROM tb_stock_loss l JOIN tb_beers b ON b.id = l.beer_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockLossRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<StockLoss> losses) {
+        if (losses.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_LOSS_SQL, new String[]{"id"})) {
+                for (StockLoss loss : losses) {
+                    ps.setLong(1, loss.getBeer().getId());
+                    ps.setInt(2, loss.getQuantityLost());
+                    ps.setInt(3, loss.getLossReason().getCode());
+                    ps.setDate(4, Date.valueOf(loss.getLossDate()));
+                    if (loss.getDescription() != null) {
+                        ps.setString(5, loss.getDescription());
+                    } else {
+                        ps.setNull(5, Types.VARCHAR);
+                    }
+                    ps.setTimestamp(6, Timestamp.from(loss.getRegistrationMoment()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (StockLoss loss : losses) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("O banco não retornou o ID de todas as perdas incluídas.");
+                        }
+                        loss.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void streamExport(LocalDate from, LocalDate to, int fetchSize, Consumer<Object[]> action) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>();
+        if (from != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" l.loss_date >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" l.loss_date <= ?");
+            args.add(Date.valueOf(to));
+        }
+        sql.append(" ORDER BY l.id");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Object reason = rs.getObject(5);
+            Timestamp registration = rs.getTimestamp(8);
+            action.accept(new Object[]{
+                    rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getLong(3), rs.getString(4),
+                    (reason != null) ? LossReason.valueOf(((Number) reason).intValue()) : null,
+                    rs.getInt(6), rs.getString(7), (registration != null) ? registration.toInstant() : null});
+        });
+    }
+
+    @Override
+    public long estimateRowCount() {
+        return TableStatistics.estimateRowCount(jdbcTemplate, "tb_stock_loss");
+    }
+}
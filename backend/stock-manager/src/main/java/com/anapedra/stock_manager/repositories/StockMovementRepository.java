@@ -0,0 +1,31 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório JPA para a entidade Movimentação de Estoque (StockMovement).
+ *
+ * <p>As consultas JPA atendem à auditoria do histórico; a gravação em lote, os
+ * instantâneos e a reconstrução do saldo são fornecidos pelo fragmento
+ * {@link StockMovementRepositoryCustom}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long>, StockMovementRepositoryCustom {
+
+    /**
+     * Busca, de forma paginada, as movimentações de uma cerveja.
+     *
+     * @param beerId O ID da cerveja.
+     * @param pageable Objeto de paginação e ordenação.
+     * @return Uma {@link Page} de {@link StockMovement}.
+     */
+    Page<StockMovement> findByBeerId(Long beerId, Pageable pageable);
+}
@@ -0,0 +1,59 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Fragmento customizado do {@link StockMovementRepository} com as operações do
+ * diário de estoque executadas diretamente em SQL.
+ *
+ * <p>O saldo de uma cerveja no diário é o seu instantâneo mais recente
+ * ({@code tb_stock_snapshot}) somado às movimentações posteriores a ele
+ * ({@code tb_stock_movement}).</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface StockMovementRepositoryCustom {
+
+    /**
+     * Inclui as movimentações informadas em um único lote JDBC de {@code INSERT}s.
+     *
+     * @param movements As movimentações a gravar, na ordem em que ocorreram.
+     */
+    void appendAll(List<StockMovement> movements);
+
+    /**
+     * Gera um novo instantâneo para cada cerveja com movimentações posteriores ao
+     * último instantâneo gerado.
+     *
+     * <p>Deve ser chamado pelo mesmo fluxo serializado que grava as movimentações, de
+     * modo que nenhuma movimentação com ID menor seja confirmada depois do instantâneo.</p>
+     *
+     * @param moment O momento registrado nos instantâneos.
+     * @return A quantidade de instantâneos gerados.
+     */
+    int createSnapshots(Instant moment);
+
+    /**
+     * Exclui os instantâneos anteriores ao momento informado, preservando sempre o mais
+     * recente de cada cerveja.
+     *
+     * @param before O momento limite.
+     * @return A quantidade de instantâneos excluídos.
+     */
+    int pruneSnapshots(Instant before);
+
+    /**
+     * Compara o saldo de cada cerveja no diário (instantâneo + cauda) com a quantidade em
+     * {@code tb_stock}. Apenas cervejas com saldo de abertura no diário são consideradas.
+     *
+     * @return A diferença {@code diário - tb_stock} das cervejas divergentes, indexada e
+     *         ordenada pelo ID da cerveja.
+     */
+    SortedMap<Long, Integer> findJournalDrift();
+}
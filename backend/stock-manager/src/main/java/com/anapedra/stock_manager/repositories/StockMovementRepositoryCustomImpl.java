@@ -0,0 +1,111 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Implementação JDBC do fragmento {@link StockMovementRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockMovementRepositoryCustomImpl implements StockMovementRepositoryCustom {
+
+    private static final String INSERT_MOVEMENT_SQL =
+            "INSERT INTO tb_stock_movement (beer_id, quantity, type, reference_id, moment) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Instantâneo mais recente de cada cerveja.
+     */
+    private static final String LATEST_SNAPSHOT =
+            "(SELECT s.beer_id, s.quantity, s.last_movement_id FROM tb_stock_snapshot s " +
+            "JOIN (SELECT beer_id, MAX(id) AS id FROM tb_stock_snapshot GROUP BY beer_id) latest ON latest.id = s.id)";
+
+    /**
+     * Como as movimentações são gravadas por um único fluxo serializado, toda movimentação
+     * com ID até o maior {@code last_movement_id} já está consolidada no instantâneo da sua
+     * cerveja: basta somar as posteriores a ele (varredura por faixa da chave primária).
+     */
+    private static final String CREATE_SNAPSHOTS_SQL =
+            "INSERT INTO tb_stock_snapshot (beer_id, quantity, last_movement_id, moment) " +
+            "SELECT m.beer_id, COALESCE(MAX(snap.quantity), 0) + SUM(m.quantity), MAX(m.id), ? " +
+            "FROM tb_stock_movement m LEFT JOIN " + LATEST_SNAPSHOT + " snap ON snap.beer_id = m.beer_id " +
+            "WHERE m.id > ? " +
+            "GROUP BY m.beer_id";
+
+    private static final String SNAPSHOT_WATERMARK_SQL =
+            "SELECT COALESCE(MAX(last_movement_id), 0) FROM tb_stock_snapshot";
+
+    private static final String PRUNE_SNAPSHOTS_SQL =
+            "DELETE FROM tb_stock_snapshot WHERE moment < ? " +
+            "AND id NOT IN (SELECT MAX(id) FROM tb_stock_snapshot GROUP BY beer_id)";
+
+    /**
+     * Saldo do diário e saldo persistido de cada cerveja com abertura; para cervejas
+     * fracionadas, o saldo persistido é a soma das frações.
+     */
+    private static final String JOURNAL_BALANCE_SQL =
+            "SELECT st.beer_id, " +
+            "COALESCE((SELECT SUM(sh.quantity) FROM tb_stock_shard sh WHERE sh.beer_id = st.beer_id), st.quantity) AS quantity, " +
+            "COALESCE(snap.quantity, 0) + COALESCE((SELECT SUM(m.quantity) FROM tb_stock_movement m " +
+            "WHERE m.beer_id = st.beer_id AND m.id > COALESCE(snap.last_movement_id, 0)), 0) AS journal_quantity " +
+            "FROM tb_stock st LEFT JOIN " + LATEST_SNAPSHOT + " snap ON snap.beer_id = st.beer_id " +
+            "WHERE EXISTS (SELECT 1 FROM tb_stock_movement o WHERE o.beer_id = st.beer_id AND o.type = " +
+            StockMovementType.OPENING.getCode() + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockMovementRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void appendAll(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movements, movements.size(), (ps, movement) -> {
+            ps.setLong(1, movement.getBeerId());
+            ps.setInt(2, movement.getQuantity());
+            ps.setInt(3, movement.getType().getCode());
+            if (movement.getReferenceId() != null) {
+                ps.setLong(4, movement.getReferenceId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setTimestamp(5, Timestamp.from(movement.getMoment()));
+        });
+    }
+
+    @Override
+    public int createSnapshots(Instant moment) {
+        Long watermark = jdbcTemplate.queryForObject(SNAPSHOT_WATERMARK_SQL, Long.class);
+        return jdbcTemplate.update(CREATE_SNAPSHOTS_SQL, Timestamp.from(moment), watermark != null ? watermark : 0L);
+    }
+
+    @Override
+    public int pruneSnapshots(Instant before) {
+        return jdbcTemplate.update(PRUNE_SNAPSHOTS_SQL, Timestamp.from(before));
+    }
+
+    @Override
+    public SortedMap<Long, Integer> findJournalDrift() {
+        SortedMap<Long, Integer> drift = new TreeMap<>();
+        jdbcTemplate.query(JOURNAL_BALANCE_SQL, rs -> {
+            int difference = rs.getInt("journal_quantity") - rs.getInt("quantity");
+            if (difference != 0) {
+                drift.put(rs.getLong("beer_id"), difference);
+            }
+        });
+        return drift;
+    }
+}
@@ -2,23 +2,28 @@ package com.anapedra.stock_manager.repositories;
 
 import com.anapedra.stock_manager.domain.entities.Stock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório JPA para a entidade Estoque (Stock).
  *
  * <p>Esta interface estende {@link JpaRepository}, fornecendo métodos CRUD básicos
  * para a entidade {@link Stock}, além de métodos de consulta derivados do nome
- * para buscar o estado atual do estoque de produtos.</p>
+ * para buscar o estado atual do estoque de produtos. As mutações de quantidade em lote
+ * são fornecidas pelo fragmento {@link StockRepositoryCustom}.</p>
  *
  * @author Ana Santana
  * @version 1.0
  * @since 0.0.1-SNAPSHOT
  */
 @Repository
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, StockRepositoryCustom {
 
     /**
      * Busca todos os registros de {@link Stock} onde o campo {@code quantity}
@@ -31,4 +36,46 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
      */
      List<Stock> findByQuantityLessThan(Integer quantity);
 
-}
\ No newline at end of file
+    /**
+     * Lê apenas a quantidade em estoque de uma cerveja, sem carregar a entidade
+     * {@link Stock} nem o grafo da cerveja associada.
+     *
+     * <p>Para cervejas fracionadas, retorna a soma das frações
+     * ({@link com.anapedra.stock_manager.domain.entities.StockShard}) em vez do consolidado de {@code tb_stock}.</p>
+     *
+     * @param beerId O ID da cerveja (mesmo ID do estoque).
+     * @return Um {@link Optional} com a quantidade, ou vazio se não houver registro de estoque.
+     */
+    @Query(value = "SELECT CAST(COALESCE((SELECT SUM(sh.quantity) FROM tb_stock_shard sh WHERE sh.beer_id = s.beer_id), " +
+            "s.quantity) AS INTEGER) FROM tb_stock s WHERE s.beer_id = :beerId", nativeQuery = true)
+    Optional<Integer> findQuantityByBeerId(@Param("beerId") Long beerId);
+
+    /**
+     * Busca, em ordem crescente de ID e a partir de um ID (paginação por chave), as cervejas
+     * vencidas até a data de referência que ainda possuem estoque.
+     *
+     * <p>A mesma regra de {@link com.anapedra.stock_manager.domain.entities.Beer#isExpired()}:
+     * validade anterior ou igual à data de referência.</p>
+     *
+     * @param referenceDate A data de referência.
+     * @param afterId O último ID do bloco anterior (0 no primeiro bloco).
+     * @param limit O tamanho máximo do bloco.
+     * @return Os IDs das cervejas do bloco.
+     */
+    @Query(value = "SELECT s.beer_id FROM tb_stock s JOIN tb_beers b ON b.id = s.beer_id " +
+            "WHERE b.expiration_date <= :referenceDate AND s.beer_id > :afterId " +
+            "AND COALESCE((SELECT SUM(sh.quantity) FROM tb_stock_shard sh WHERE sh.beer_id = s.beer_id), s.quantity) > 0 " +
+            "ORDER BY s.beer_id LIMIT :limit", nativeQuery = true)
+    List<Long> findExpiredWithStock(@Param("referenceDate") LocalDate referenceDate,
+                                    @Param("afterId") Long afterId,
+                                    @Param("limit") int limit);
+
+    /**
+     * Retorna o menor e o maior ID de cerveja com registro de estoque, delimitando as faixas
+     * de IDs percorridas pelo planejamento de reposição.
+     *
+     * @return Uma lista com uma linha {@code [min, max]} (valores nulos se não houver estoque).
+     */
+    @Query("SELECT MIN(s.id), MAX(s.id) FROM Stock s")
+    List<Object[]> findIdRange();
+}
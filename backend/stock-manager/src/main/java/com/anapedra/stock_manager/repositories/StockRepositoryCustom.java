@@ -0,0 +1,114 @@
+package com.anapedra.stock_manager.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+
+/**
+ * Fragmento customizado do {@link StockRepository} com mutações de estoque
+ * baseadas em conjunto (set-based), executadas diretamente em SQL.
+ *
+ * <p>As variações são aplicadas com {@code UPDATE ... SET quantity = quantity + ?}
+ * condicionado a não deixar o estoque negativo, sem carregar as entidades
+ * {@link com.anapedra.stock_manager.domain.entities.Stock} ou
+ * {@link com.anapedra.stock_manager.domain.entities.Beer}.</p>
+ *
+ * <p>Cervejas com o saldo dividido em frações
+ * ({@link com.anapedra.stock_manager.domain.entities.StockShard}) têm as variações
+ * gravadas nas frações, e não em {@code tb_stock}, cuja quantidade é consolidada
+ * periodicamente por {@link #rollupShards()}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface StockRepositoryCustom {
+
+    /**
+     * Aplica, em um único lote JDBC, uma variação de quantidade a cada estoque informado.
+     *
+     * <p>As linhas são atualizadas em ordem crescente de ID da cerveja (a ordem do mapa),
+     * evitando deadlocks entre lotes concorrentes. Cada {@code UPDATE} só é aplicado se a
+     * quantidade resultante for maior ou igual a zero; o status e o momento da última
+     * atualização são recalculados na mesma instrução.</p>
+     *
+     * <p>Para cervejas fracionadas, a variação é aplicada a uma fração sorteada; uma saída
+     * que a fração sorteada não comporta tenta as demais e, em último caso, é distribuída
+     * entre todas, bloqueando as frações da cerveja.</p>
+     *
+     * @param deltas As variações (positivas = entrada, negativas = saída), indexadas e
+     *               ordenadas pelo ID da cerveja.
+     * @return Os IDs das cervejas cuja atualização foi recusada (estoque inexistente ou insuficiente).
+     */
+    List<Long> applyQuantityDeltas(SortedMap<Long, Integer> deltas);
+
+    /**
+     * Lê, com uma única consulta, a quantidade em estoque de várias cervejas (somando as
+     * frações das cervejas fracionadas).
+     *
+     * @param beerIds Os IDs das cervejas.
+     * @return As quantidades, indexadas pelo ID da cerveja; cervejas sem registro de estoque ficam de fora.
+     */
+    Map<Long, Integer> findQuantities(Collection<Long> beerIds);
+
+    /**
+     * Lê, com uma única consulta, a quantidade em estoque de todas as cervejas (somando as
+     * frações das cervejas fracionadas).
+     *
+     * @return As quantidades, indexadas pelo ID da cerveja.
+     */
+    Map<Long, Integer> findAllQuantities();
+
+    /**
+     * Lê, com uma única consulta, a quantidade em estoque das cervejas de uma faixa de IDs
+     * (somando as frações das cervejas fracionadas).
+     *
+     * @param fromId O primeiro ID da faixa (inclusive).
+     * @param toId O último ID da faixa (inclusive).
+     * @return As quantidades, indexadas e ordenadas pelo ID da cerveja.
+     */
+    SortedMap<Long, Integer> findQuantitiesBetween(long fromId, long toId);
+
+    /**
+     * Divide o saldo atual de uma cerveja em {@code shardCount} frações iguais, ou reúne as
+     * frações existentes de volta em {@code tb_stock} quando {@code shardCount <= 1}.
+     *
+     * @param beerId O ID da cerveja.
+     * @param shardCount A nova quantidade de frações.
+     * @return O saldo total da cerveja, ou -1 se não houver registro de estoque.
+     */
+    int reshard(Long beerId, int shardCount);
+
+    /**
+     * Redistribui uma nova quantidade entre as frações existentes de uma cerveja (ex: após a
+     * edição manual do estoque). Não faz nada se a cerveja não for fracionada.
+     *
+     * @param beerId O ID da cerveja.
+     * @param quantity O novo saldo total.
+     */
+    void redistributeShards(Long beerId, int quantity);
+
+    /**
+     * Consolida em {@code tb_stock} (quantidade, status e última atualização) a soma das
+     * frações de cada cerveja fracionada cujo consolidado esteja desatualizado.
+     *
+     * @return A quantidade de cervejas atualizadas.
+     */
+    int rollupShards();
+
+    /**
+     * Percorre, com um cursor no servidor, cada cerveja com o seu estoque para a exportação.
+     *
+     * <p>As linhas são lidas em ordem de ID, {@code fetchSize} por vez, sem passar pelo contexto de
+     * persistência; cada uma é entregue a {@code action} com os valores
+     * {@code [beerId, name, price, alcoholContent, manufactureDate, expirationDate, quantity, status, lastUpdate]}
+     * (quantidade somando as frações; quantidade, status e última atualização nulos sem registro de estoque).
+     * Deve ser chamado dentro de uma transação, para que o driver mantenha o cursor aberto.</p>
+     *
+     * @param fetchSize A quantidade de linhas lidas do banco por vez.
+     * @param action A ação executada para cada linha.
+     */
+    void streamExport(int fetchSize, Consumer<Object[]> action);
+}
@@ -0,0 +1,336 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.Stock;
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Implementação JDBC do fragmento {@link StockRepositoryCustom}.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public class StockRepositoryCustomImpl implements StockRepositoryCustom {
+
+    /**
+     * Atualização condicional: soma a variação e recalcula o status com o mesmo limite
+     * de estoque baixo usado pela entidade {@link Stock}.
+     */
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE tb_stock SET quantity = quantity + ?, " +
+            "status = " + statusFor("quantity + ?") + ", " +
+            "last_update = ? " +
+            "WHERE beer_id = ? AND quantity + ? >= 0";
+
+    private static final String SET_QUANTITY_SQL =
+            "UPDATE tb_stock SET quantity = ?, status = " + statusFor("?") + ", last_update = ? WHERE beer_id = ?";
+
+    private static final String LOCK_STOCK_SQL =
+            "SELECT quantity FROM tb_stock WHERE beer_id = ? FOR UPDATE";
+
+    private static final String SHARD_COUNTS_SQL =
+            "SELECT beer_id, COUNT(*) AS shards FROM tb_stock_shard GROUP BY beer_id";
+
+    private static final String APPLY_SHARD_DELTA_SQL =
+            "UPDATE tb_stock_shard SET quantity = quantity + ? WHERE beer_id = ? AND shard_no = ? AND quantity + ? >= 0";
+
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT shard_no, quantity FROM tb_stock_shard WHERE beer_id = ? ORDER BY shard_no FOR UPDATE";
+
+    private static final String SET_SHARD_SQL =
+            "UPDATE tb_stock_shard SET quantity = ? WHERE beer_id = ? AND shard_no = ?";
+
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO tb_stock_shard (beer_id, shard_no, quantity) VALUES (?, ?, ?)";
+
+    private static final String DELETE_SHARDS_SQL =
+            "DELETE FROM tb_stock_shard WHERE beer_id = ?";
+
+    private static final String SHARD_SUM =
+            "(SELECT SUM(sh.quantity) FROM tb_stock_shard sh WHERE sh.beer_id = tb_stock.beer_id)";
+
+    private static final String FIND_QUANTITIES_SQL =
+            "SELECT beer_id, CAST(COALESCE(" + SHARD_SUM + ", quantity) AS INTEGER) AS quantity " +
+            "FROM tb_stock WHERE beer_id IN (%s)";
+
+    private static final String FIND_ALL_QUANTITIES_SQL =
+            "SELECT beer_id, CAST(COALESCE(" + SHARD_SUM + ", quantity) AS INTEGER) AS quantity FROM tb_stock";
+
+    private static final String FIND_QUANTITIES_BETWEEN_SQL =
+            "SELECT beer_id, CAST(COALESCE(" + SHARD_SUM + ", quantity) AS INTEGER) AS quantity " +
+            "FROM tb_stock WHERE beer_id BETWEEN ? AND ?";
+
+    private static final String ROLLUP_SHARDS_SQL =
+            "UPDATE tb_stock SET quantity = " + SHARD_SUM + ", " +
+            "status = " + statusFor(SHARD_SUM) + ", " +
+            "last_update = ? " +
+            "WHERE beer_id IN (SELECT beer_id FROM tb_stock_shard) AND quantity <> " + SHARD_SUM;
+
+    private static final String EXPORT_SQL =
+            "SELECT b.id, b.name, b.price, b.alcohol_content, b.manufacture_date, b.expiration_date, " +
+            "CAST(COALESCE((SELECT SUM(sh.quantity) FROM tb_stock_shard sh WHERE sh.beer_id = s.beer_id), s.quantity) AS INTEGER), " +
+            "s.status, s.last_update " +
+            "FROM tb_beers b LEFT JOIN tb_stock s ON s.beer_id = b.id ORDER BY b.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Quantidade de frações de cada cerveja fracionada. Carregada na primeira gravação e
+     * descartada quando uma cerveja é redividida ({@link #reshard}), evitando uma consulta
+     * agrupada em {@code tb_stock_shard} a cada gravação do ledger.
+     */
+    private volatile Map<Long, Integer> shardCounts;
+
+    public StockRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> applyQuantityDeltas(SortedMap<Long, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> shardCounts = shardCounts();
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>();
+        List<Map.Entry<Long, Integer>> sharded = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+            (shardCounts.containsKey(entry.getKey()) ? sharded : entries).add(entry);
+        }
+
+        List<Long> rejected = new ArrayList<>();
+        if (!entries.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int[][] results = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, entries, entries.size(), (ps, entry) -> {
+                int delta = entry.getValue();
+                ps.setInt(1, delta);
+                ps.setInt(2, delta);
+                ps.setInt(3, delta);
+                ps.setTimestamp(4, now);
+                ps.setLong(5, entry.getKey());
+                ps.setInt(6, delta);
+            });
+
+            int index = 0;
+            for (int[] batch : results) {
+                for (int rows : batch) {
+                    // SUCCESS_NO_INFO (-2): o driver não informou a contagem, a linha é considerada atualizada
+                    if (rows == 0) {
+                        rejected.add(entries.get(index).getKey());
+                    }
+                    index++;
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entry : sharded) {
+            if (!applyShardDelta(entry.getKey(), shardCounts.get(entry.getKey()), entry.getValue())) {
+                rejected.add(entry.getKey());
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public Map<Long, Integer> findQuantities(Collection<Long> beerIds) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        if (beerIds.isEmpty()) {
+            return quantities;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(beerIds.size(), "?"));
+        jdbcTemplate.query(String.format(FIND_QUANTITIES_SQL, placeholders), rs -> {
+            quantities.put(rs.getLong("beer_id"), rs.getInt("quantity"));
+        }, beerIds.toArray());
+        return quantities;
+    }
+
+    @Override
+    public Map<Long, Integer> findAllQuantities() {
+        Map<Long, Integer> quantities = new HashMap<>();
+        jdbcTemplate.query(FIND_ALL_QUANTITIES_SQL, rs -> {
+            quantities.put(rs.getLong("beer_id"), rs.getInt("quantity"));
+        });
+        return quantities;
+    }
+
+    @Override
+    public SortedMap<Long, Integer> findQuantitiesBetween(long fromId, long toId) {
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        jdbcTemplate.query(FIND_QUANTITIES_BETWEEN_SQL, rs -> {
+            quantities.put(rs.getLong("beer_id"), rs.getInt("quantity"));
+        }, fromId, toId);
+        return quantities;
+    }
+
+    @Override
+    public int reshard(Long beerId, int shardCount) {
+        List<Integer> stock = jdbcTemplate.queryForList(LOCK_STOCK_SQL, Integer.class, beerId);
+        if (stock.isEmpty()) {
+            return -1;
+        }
+        List<int[]> shards = lockShards(beerId);
+        int total = shards.isEmpty() ? stock.get(0) : shards.stream().mapToInt(shard -> shard[1]).sum();
+
+        jdbcTemplate.update(DELETE_SHARDS_SQL, beerId);
+        invalidateShardCounts();
+        if (shardCount > 1) {
+            int[] split = split(total, shardCount);
+            List<Object[]> rows = new ArrayList<>(shardCount);
+            for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+                rows.add(new Object[]{beerId, shardNo, split[shardNo]});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, rows);
+        }
+        jdbcTemplate.update(SET_QUANTITY_SQL, total, total, total, Timestamp.valueOf(LocalDateTime.now()), beerId);
+        return total;
+    }
+
+    @Override
+    public void redistributeShards(Long beerId, int quantity) {
+        List<int[]> shards = lockShards(beerId);
+        if (shards.isEmpty()) {
+            return;
+        }
+        int[] split = split(quantity, shards.size());
+        List<Object[]> rows = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            rows.add(new Object[]{split[i], beerId, shards.get(i)[0]});
+        }
+        jdbcTemplate.batchUpdate(SET_SHARD_SQL, rows);
+    }
+
+    @Override
+    public int rollupShards() {
+        return jdbcTemplate.update(ROLLUP_SHARDS_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Percorre as cervejas com um cursor somente leitura e avanço único, lendo {@code fetchSize}
+     * linhas por vez. A quantidade soma as frações das cervejas fracionadas, e o status é
+     * convertido do código gravado em {@code tb_stock}.
+     */
+    @Override
+    public void streamExport(int fetchSize, Consumer<Object[]> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Object status = rs.getObject(8);
+            action.accept(new Object[]{
+                    rs.getLong(1), rs.getString(2), rs.getObject(3), rs.getObject(4),
+                    rs.getObject(5, LocalDate.class), rs.getObject(6, LocalDate.class), rs.getObject(7),
+                    (status != null) ? StockStatus.valueOf(((Number) status).intValue()) : null,
+                    rs.getObject(9, LocalDateTime.class)});
+        });
+    }
+
+    /**
+     * Aplica a variação de uma cerveja fracionada: primeiro a uma fração sorteada (e, para
+     * saídas, às demais em sequência); se nenhuma fração comportar a saída sozinha, bloqueia
+     * todas e retira o necessário de cada uma.
+     */
+    private boolean applyShardDelta(Long beerId, int shardCount, int delta) {
+        int start = ThreadLocalRandom.current().nextInt(shardCount);
+        int attempts = (delta >= 0) ? 1 : shardCount;
+        for (int i = 0; i < attempts; i++) {
+            int shardNo = (start + i) % shardCount;
+            if (jdbcTemplate.update(APPLY_SHARD_DELTA_SQL, delta, beerId, shardNo, delta) > 0) {
+                return true;
+            }
+        }
+        if (delta >= 0) {
+            return false;
+        }
+
+        List<int[]> shards = lockShards(beerId);
+        int remaining = -delta;
+        if (shards.stream().mapToInt(shard -> shard[1]).sum() < remaining) {
+            return false;
+        }
+        for (int[] shard : shards) {
+            int taken = Math.min(shard[1], remaining);
+            if (taken > 0) {
+                jdbcTemplate.update(SET_SHARD_SQL, shard[1] - taken, beerId, shard[0]);
+                remaining -= taken;
+            }
+            if (remaining == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private Map<Long, Integer> shardCounts() {
+        Map<Long, Integer> counts = shardCounts;
+        if (counts == null) {
+            Map<Long, Integer> loaded = new HashMap<>();
+            jdbcTemplate.query(SHARD_COUNTS_SQL, rs -> {
+                loaded.put(rs.getLong("beer_id"), rs.getInt("shards"));
+            });
+            counts = Map.copyOf(loaded);
+            shardCounts = counts;
+        }
+        return counts;
+    }
+
+    /**
+     * Descarta as quantidades de frações agora e de novo ao final da transação corrente, para
+     * que uma carga feita antes do commit (ou desfeita por um rollback) não seja mantida.
+     */
+    private void invalidateShardCounts() {
+        shardCounts = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    shardCounts = null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Bloqueia as frações de uma cerveja em ordem de número e retorna {número, quantidade} de cada uma.
+     */
+    private List<int[]> lockShards(Long beerId) {
+        return jdbcTemplate.query(LOCK_SHARDS_SQL,
+                (rs, rowNum) -> new int[]{rs.getInt("shard_no"), rs.getInt("quantity")}, beerId);
+    }
+
+    /**
+     * Divide um total em partes iguais; o resto vai para as primeiras partes.
+     */
+    private static int[] split(int total, int parts) {
+        int[] split = new int[parts];
+        for (int i = 0; i < parts; i++) {
+            split[i] = total / parts + (i < total % parts ? 1 : 0);
+        }
+        return split;
+    }
+
+    private static String statusFor(String quantity) {
+        return "CASE WHEN " + quantity + " <= 0 THEN " + StockStatus.OUT_OF_STOCK.getCode() +
+                " WHEN " + quantity + " <= " + Stock.LOW_STOCK_LIMIT + " THEN " + StockStatus.LOW.getCode() +
+                " ELSE " + StockStatus.AVAILABLE.getCode() + " END";
+    }
+}
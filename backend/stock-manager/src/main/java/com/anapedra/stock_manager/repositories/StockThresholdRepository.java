@@ -0,0 +1,34 @@
+package com.anapedra.stock_manager.repositories;
+
+import com.anapedra.stock_manager.domain.entities.StockThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositório JPA para a entidade {@link StockThreshold} (limites de estoque baixo).
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Repository
+public interface StockThresholdRepository extends JpaRepository<StockThreshold, Long> {
+
+    /**
+     * Busca o limite configurado para uma cerveja.
+     *
+     * @param beerId O ID da cerveja.
+     * @return Um {@link Optional} com o limite, se houver.
+     */
+    Optional<StockThreshold> findByBeerId(Long beerId);
+
+    /**
+     * Busca o limite configurado para uma categoria.
+     *
+     * @param categoryId O ID da categoria.
+     * @return Um {@link Optional} com o limite, se houver.
+     */
+    Optional<StockThreshold> findByCategoryId(Long categoryId);
+}
@@ -0,0 +1,47 @@
+package com.anapedra.stock_manager.repositories;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Leitura das estatísticas de tabelas mantidas pelo PostgreSQL, compartilhada pelos fragmentos
+ * JDBC dos repositórios.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+final class TableStatistics {
+
+    // reltuples: estimativa do planejador, atualizada pelo ANALYZE/autovacuum (-1 se nunca analisada)
+    private static final String ESTIMATE_SQL =
+            "SELECT reltuples::BIGINT FROM pg_class WHERE oid = to_regclass(?)";
+
+    private TableStatistics() {
+    }
+
+    /**
+     * Retorna a estimativa de linhas da tabela, sem percorrê-la.
+     *
+     * @param jdbcTemplate O {@link JdbcTemplate} do fragmento.
+     * @param table O nome da tabela.
+     * @return A estimativa, ou {@code -1} se não houver (outro banco, como o H2, ou tabela nunca analisada).
+     */
+    static long estimateRowCount(JdbcTemplate jdbcTemplate, String table) {
+        Long estimate = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (!"PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                return -1L;
+            }
+            try (PreparedStatement ps = connection.prepareStatement(ESTIMATE_SQL)) {
+                ps.setString(1, table);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : -1L;
+                }
+            }
+        });
+        return (estimate != null) ? estimate : -1L;
+    }
+}
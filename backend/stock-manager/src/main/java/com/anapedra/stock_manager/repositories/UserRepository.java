@@ -33,13 +33,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
      *
      * @param email O e-mail (username) do usuário.
      * @return Uma lista de {@link UserDetailsProjection} contendo as credenciais
-     * e as autoridades (roles) do usuário.
+     * e os IDs dos cargos (roles) do usuário; as autoridades são resolvidas pelo
+     * {@code ReferenceDataRegistry}.
      */
     @Query(nativeQuery = true, value = """
-             SELECT tb_user.email AS username, tb_user.password, tb_role.id AS roleId, tb_role.authority
+             SELECT tb_user.email AS username, tb_user.password, tb_user_role.role_id AS roleId
              FROM tb_user
              INNER JOIN tb_user_role ON tb_user.id = tb_user_role.user_id
-             INNER JOIN tb_role ON tb_role.id = tb_user_role.role_id
              WHERE tb_user.email = :email
           """)
     List<UserDetailsProjection> searchUserAndRolesByEmail(String email);
@@ -0,0 +1,104 @@
+package com.anapedra.stock_manager.repositories.specifications;
+
+import com.anapedra.stock_manager.domain.entities.Beer;
+import com.anapedra.stock_manager.domain.entities.Category;
+import com.anapedra.stock_manager.domain.entities.Stock;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtros dinâmicos da listagem de cervejas ({@code findAllBeer}).
+ *
+ * <p>Os filtros de categoria viram um {@code EXISTS} sobre as categorias da cerveja, em vez de
+ * um {@code JOIN} com {@code DISTINCT}: cada cerveja aparece uma única vez e a contagem da
+ * paginação é um {@code COUNT} simples. O estoque só entra na consulta (por {@code LEFT JOIN},
+ * um para um) quando há filtro de quantidade.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class BeerSpecifications {
+
+    private BeerSpecifications() {
+    }
+
+    /**
+     * Monta o filtro da listagem de cervejas apenas com os filtros informados.
+     *
+     * @param categoryId ID da categoria (opcional).
+     * @param categoryName Nome da categoria (opcional, busca parcial).
+     * @param beerDescription Nome da cerveja (opcional, busca parcial).
+     * @param minQuantity Quantidade mínima em estoque (opcional; sem estoque conta como zero).
+     * @param maxQuantity Quantidade máxima em estoque (opcional; sem estoque conta como zero).
+     * @return A {@link Specification} de {@link Beer}.
+     */
+    public static Specification<Beer> filter(Long categoryId, String categoryName, String beerDescription,
+                                             Integer minQuantity, Integer maxQuantity) {
+        String categoryPattern = SpecificationSupport.containsPattern(categoryName);
+        String namePattern = SpecificationSupport.containsPattern(beerDescription);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (namePattern != null) {
+                predicates.add(cb.like(cb.lower(root.get("name")), namePattern));
+            }
+
+            // A mesma categoria precisa atender aos dois filtros, como no JOIN anterior
+            if (categoryId != null || categoryPattern != null) {
+                Subquery<Long> categories = query.subquery(Long.class);
+                Root<Beer> beer = categories.correlate(root);
+                Join<Beer, Category> category = beer.join("categories");
+
+                List<Predicate> categoryPredicates = new ArrayList<>();
+                if (categoryId != null) {
+                    categoryPredicates.add(cb.equal(category.get("id"), categoryId));
+                }
+                if (categoryPattern != null) {
+                    categoryPredicates.add(cb.like(cb.lower(category.get("name")), categoryPattern));
+                }
+                categories.select(category.get("id")).where(categoryPredicates.toArray(new Predicate[0]));
+                predicates.add(cb.exists(categories));
+            }
+
+            if (minQuantity != null || maxQuantity != null) {
+                Join<Beer, Stock> stock = root.join("stock", JoinType.LEFT);
+                Expression<Integer> quantity = cb.coalesce(stock.get("quantity"), 0);
+                if (minQuantity != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(quantity, minQuantity));
+                }
+                if (maxQuantity != null) {
+                    predicates.add(cb.lessThanOrEqualTo(quantity, maxQuantity));
+                }
+            }
+
+            return SpecificationSupport.and(cb, predicates);
+        };
+    }
+
+    /**
+     * Variante de {@link #filter} para a paginação por cursor: acrescenta {@code id > afterId}.
+     *
+     * @param categoryId ID da categoria (opcional).
+     * @param categoryName Nome da categoria (opcional, busca parcial).
+     * @param beerDescription Nome da cerveja (opcional, busca parcial).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param afterId O ID da última cerveja entregue, ou {@code null} para a primeira página.
+     * @return A {@link Specification} de {@link Beer}.
+     */
+    public static Specification<Beer> filterAfter(Long categoryId, String categoryName, String beerDescription,
+                                                  Integer minQuantity, Integer maxQuantity, Long afterId) {
+        return filter(categoryId, categoryName, beerDescription, minQuantity, maxQuantity)
+                .and(SpecificationSupport.idAfter(afterId));
+    }
+}
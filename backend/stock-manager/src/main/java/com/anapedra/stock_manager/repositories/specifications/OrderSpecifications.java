@@ -0,0 +1,89 @@
+package com.anapedra.stock_manager.repositories.specifications;
+
+import com.anapedra.stock_manager.domain.entities.Order;
+import com.anapedra.stock_manager.domain.entities.User;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtros dinâmicos da listagem de pedidos ({@code find}).
+ *
+ * <p>O intervalo de datas vira {@code momentAt >= min} e/ou {@code momentAt <= max}, em vez de
+ * {@code BETWEEN COALESCE(:min, momentAt) AND COALESCE(:max, momentAt)}, que nenhum índice
+ * atende. O cliente só entra na consulta (muitos para um, sem {@code DISTINCT}) quando há
+ * filtro por nome ou CPF.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    /**
+     * Monta o filtro da listagem de pedidos apenas com os filtros informados.
+     *
+     * @param client O cliente (opcional).
+     * @param nameClient Nome do cliente (opcional, busca parcial).
+     * @param cpfClient CPF do cliente (opcional, busca parcial).
+     * @param min Momento mínimo (opcional).
+     * @param max Momento máximo (opcional).
+     * @return A {@link Specification} de {@link Order}.
+     */
+    public static Specification<Order> filter(User client, String nameClient, String cpfClient,
+                                              Instant min, Instant max) {
+        String namePattern = SpecificationSupport.containsPattern(nameClient);
+        String cpfPattern = SpecificationSupport.containsPattern(cpfClient);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (client != null) {
+                predicates.add(cb.equal(root.get("client"), client));
+            }
+
+            if (namePattern != null || cpfPattern != null) {
+                Join<Order, User> user = root.join("client");
+                if (namePattern != null) {
+                    predicates.add(cb.like(cb.lower(user.get("name")), namePattern));
+                }
+                if (cpfPattern != null) {
+                    predicates.add(cb.like(cb.lower(user.get("cpf")), cpfPattern));
+                }
+            }
+
+            if (min != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("momentAt"), min));
+            }
+            if (max != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("momentAt"), max));
+            }
+
+            return SpecificationSupport.and(cb, predicates);
+        };
+    }
+
+    /**
+     * Variante de {@link #filter} para a paginação por cursor: acrescenta {@code id > afterId}.
+     *
+     * @param client O cliente (opcional).
+     * @param nameClient Nome do cliente (opcional, busca parcial).
+     * @param cpfClient CPF do cliente (opcional, busca parcial).
+     * @param min Momento mínimo (opcional).
+     * @param max Momento máximo (opcional).
+     * @param afterId O ID do último pedido entregue, ou {@code null} para a primeira página.
+     * @return A {@link Specification} de {@link Order}.
+     */
+    public static Specification<Order> filterAfter(User client, String nameClient, String cpfClient,
+                                                   Instant min, Instant max, Long afterId) {
+        return filter(client, nameClient, cpfClient, min, max)
+                .and(SpecificationSupport.idAfter(afterId));
+    }
+}
@@ -0,0 +1,91 @@
+package com.anapedra.stock_manager.repositories.specifications;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Blocos comuns das {@link Specification} de filtro das listagens.
+ *
+ * <p>Os filtros são montados apenas com os predicados informados: um filtro ausente não gera
+ * nenhum trecho no SQL (ao contrário de {@code (:x IS NULL OR ...)}), de modo que cada
+ * combinação de filtros tem o seu próprio plano e pode usar os índices das colunas filtradas.</p>
+ *
+ * <p>Também lê as páginas sem contagem ({@link #slice}), usadas quando o cliente dispensa o
+ * total exato.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class SpecificationSupport {
+
+    private SpecificationSupport() {
+    }
+
+    /**
+     * Monta o padrão {@code LIKE} de busca parcial, já em minúsculas, para comparar com
+     * {@code LOWER(coluna)}.
+     *
+     * @param text O texto buscado.
+     * @return O padrão {@code %texto%}, ou {@code null} se o texto for nulo ou vazio.
+     */
+    static String containsPattern(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        return "%" + text.toLowerCase(Locale.ROOT) + "%";
+    }
+
+    /**
+     * Combina os predicados com {@code AND}.
+     *
+     * @param cb O {@link CriteriaBuilder} da consulta.
+     * @param predicates Os predicados dos filtros informados.
+     * @return A conjunção, ou {@code null} (sem cláusula WHERE) se não houver predicados.
+     */
+    static Predicate and(CriteriaBuilder cb, List<Predicate> predicates) {
+        if (predicates.isEmpty()) {
+            return null;
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Restringe a consulta às linhas com ID maior que {@code afterId} (paginação por cursor).
+     *
+     * @param afterId O ID da última linha entregue, ou {@code null} para a primeira página.
+     * @param <T> O tipo da entidade, com atributo {@code id}.
+     * @return A {@link Specification}; sem predicado quando {@code afterId} é nulo.
+     */
+    static <T> Specification<T> idAfter(Long afterId) {
+        return (root, query, cb) -> (afterId == null) ? null : cb.greaterThan(root.get("id"), afterId);
+    }
+
+    /**
+     * Lê a página solicitada como {@link Slice}: sem consulta de contagem, com um item a mais
+     * apenas para saber se há próxima página.
+     *
+     * @param query A consulta do {@code findBy} com a {@link Specification} dos filtros.
+     * @param pageable A página solicitada (número, tamanho e ordenação).
+     * @param <T> O tipo da entidade.
+     * @return O {@link Slice} da página.
+     */
+    public static <T> Slice<T> slice(FluentQuery.FetchableFluentQuery<T> query, Pageable pageable) {
+        // A posição por deslocamento aponta para o último item já entregue (exclusiva)
+        ScrollPosition position = (pageable.getOffset() == 0)
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<T> window = query.sortBy(pageable.getSort()).limit(pageable.getPageSize()).scroll(position);
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+}
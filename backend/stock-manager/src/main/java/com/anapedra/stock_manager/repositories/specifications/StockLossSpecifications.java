@@ -0,0 +1,98 @@
+package com.anapedra.stock_manager.repositories.specifications;
+
+import com.anapedra.stock_manager.domain.entities.Beer;
+import com.anapedra.stock_manager.domain.entities.Category;
+import com.anapedra.stock_manager.domain.entities.StockLoss;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtros dinâmicos da listagem de perdas de estoque ({@code findLossesByFilters}).
+ *
+ * <p>O filtro por categoria vira um {@code EXISTS} sobre as categorias da cerveja, em vez de um
+ * {@code INNER JOIN} com {@code DISTINCT}. O filtro por ID da cerveja usa a própria chave
+ * estrangeira da perda; a cerveja só entra na consulta quando há filtro pelo nome.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class StockLossSpecifications {
+
+    private StockLossSpecifications() {
+    }
+
+    /**
+     * Monta o filtro da listagem de perdas apenas com os filtros informados.
+     *
+     * @param reasonCode O código do motivo da perda (opcional).
+     * @param beerId O ID da cerveja (opcional).
+     * @param beerName O nome da cerveja (opcional, busca parcial).
+     * @param categoryId O ID da categoria associada à cerveja (opcional).
+     * @param startDate A data inicial de {@code lossDate} (opcional).
+     * @param endDate A data final de {@code lossDate} (opcional).
+     * @return A {@link Specification} de {@link StockLoss}.
+     */
+    public static Specification<StockLoss> filter(Integer reasonCode, Long beerId, String beerName,
+                                                  Long categoryId, LocalDate startDate, LocalDate endDate) {
+        String namePattern = SpecificationSupport.containsPattern(beerName);
+
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (reasonCode != null) {
+                predicates.add(cb.equal(root.get("reason"), reasonCode));
+            }
+            if (beerId != null) {
+                predicates.add(cb.equal(root.get("beer").get("id"), beerId));
+            }
+            if (namePattern != null) {
+                Join<StockLoss, Beer> beer = root.join("beer");
+                predicates.add(cb.like(cb.lower(beer.get("name")), namePattern));
+            }
+
+            if (categoryId != null) {
+                Subquery<Long> categories = query.subquery(Long.class);
+                Root<StockLoss> loss = categories.correlate(root);
+                Join<Beer, Category> category = loss.join("beer").join("categories");
+                categories.select(category.get("id")).where(cb.equal(category.get("id"), categoryId));
+                predicates.add(cb.exists(categories));
+            }
+
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("lossDate"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("lossDate"), endDate));
+            }
+
+            return SpecificationSupport.and(cb, predicates);
+        };
+    }
+
+    /**
+     * Variante de {@link #filter} para a paginação por cursor: acrescenta {@code id > afterId}.
+     *
+     * @param reasonCode O código do motivo da perda (opcional).
+     * @param beerId O ID da cerveja (opcional).
+     * @param beerName O nome da cerveja (opcional, busca parcial).
+     * @param categoryId O ID da categoria associada à cerveja (opcional).
+     * @param startDate A data inicial de {@code lossDate} (opcional).
+     * @param endDate A data final de {@code lossDate} (opcional).
+     * @param afterId O ID da última perda entregue, ou {@code null} para a primeira página.
+     * @return A {@link Specification} de {@link StockLoss}.
+     */
+    public static Specification<StockLoss> filterAfter(Integer reasonCode, Long beerId, String beerName,
+                                                       Long categoryId, LocalDate startDate, LocalDate endDate,
+                                                       Long afterId) {
+        return filter(reasonCode, beerId, beerName, categoryId, startDate, endDate)
+                .and(SpecificationSupport.idAfter(afterId));
+    }
+}
@@ -2,7 +2,16 @@ package com.anapedra.stock_manager.services;
 
 
 import com.anapedra.stock_manager.domain.dtos.BeerRestockingDTO;
+import com.anapedra.stock_manager.domain.dtos.ReplenishmentPlanReportDTO;
+import com.anapedra.stock_manager.domain.dtos.RestockImportReportDTO;
+import com.anapedra.stock_manager.domain.dtos.RestockProposalDTO;
+import com.anapedra.stock_manager.domain.enums.RestockImportFormat;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -42,6 +51,19 @@ public interface BeerRestockingService {
      */
     BeerRestockingDTO create(BeerRestockingDTO dto);
 
+    /**
+     * Importa reposições em massa a partir de um arquivo CSV ou NDJSON, lido linha a linha.
+     *
+     * <p>As linhas são gravadas em blocos, cada um na sua própria transação; linhas inválidas
+     * ou de cervejas inexistentes são recusadas sem interromper a importação.</p>
+     *
+     * @param reader O conteúdo do arquivo.
+     * @param format O formato das linhas.
+     * @return O {@link RestockImportReportDTO} com os totais e as linhas recusadas.
+     * @throws IOException Se a leitura do conteúdo falhar.
+     */
+    RestockImportReportDTO importRestocking(Reader reader, RestockImportFormat format) throws IOException;
+
     /**
      * Atualiza um registro de reposição de cerveja existente.
      *
@@ -60,4 +82,22 @@ public interface BeerRestockingService {
      * @throws com.anapedra.stock_manager.services.exceptions.DatabaseException Se houver violação de integridade.
      */
     void delete(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Executa o planejamento de reposição de todo o catálogo, gravando as propostas da data informada.
+     *
+     * @param planDate A data do planejamento.
+     * @return O {@link ReplenishmentPlanReportDTO} com o resultado da execução.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se já houver uma execução em andamento.
+     */
+    ReplenishmentPlanReportDTO planReplenishment(LocalDate planDate);
+
+    /**
+     * Busca, de forma paginada e em ordem de ID da cerveja, as propostas de reposição de um planejamento.
+     *
+     * @param planDate A data do planejamento, ou {@code null} para o planejamento mais recente.
+     * @param pageable Objeto de paginação do Spring Data.
+     * @return Uma {@link Page} de {@link RestockProposalDTO}.
+     */
+    Page<RestockProposalDTO> findProposals(LocalDate planDate, Pageable pageable);
+}
@@ -2,9 +2,12 @@ package com.anapedra.stock_manager.services;
 
 import com.anapedra.stock_manager.domain.dtos.BeerFilterDTO;
 import com.anapedra.stock_manager.domain.dtos.BeerInsertDTO;
+import com.anapedra.stock_manager.domain.dtos.BeerSuggestionDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 
 /**
  * Interface de serviço para gerenciar as operações relacionadas à Cerveja (Beer).
@@ -41,6 +44,17 @@ public interface BeerService {
             Pageable pageable
     );
 
+    /**
+     * Sugere cervejas para o autocompletar a partir do índice de nomes em memória, sem
+     * consultar o banco.
+     *
+     * @param query O termo digitado (nome da cerveja ou de uma categoria).
+     * @param limit A quantidade máxima de sugestões.
+     * @return Uma {@link List} de {@link BeerSuggestionDTO}, da mais para a menos relevante.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o limite for inválido.
+     */
+    List<BeerSuggestionDTO> suggest(String query, int limit);
+
     /**
      * Busca uma cerveja pelo seu identificador único.
      *
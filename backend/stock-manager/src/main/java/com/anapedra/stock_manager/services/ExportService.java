@@ -0,0 +1,79 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Interface de serviço para as exportações completas de estoque, pedidos e perdas.
+ *
+ * <p>As linhas são lidas do banco com um cursor no servidor, em uma transação somente leitura,
+ * e escritas no destino à medida que chegam (CSV ou NDJSON, opcionalmente em gzip). A memória
+ * usada não depende da quantidade de linhas, e as linhas não passam pelo contexto de
+ * persistência do JPA.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface ExportService {
+
+    /**
+     * Verifica, antes do início da resposta, se o usuário autenticado pode exportar os dados
+     * (apenas administradores).
+     *
+     * @throws com.anapedra.stock_manager.services.exceptions.ForbiddenException Se o usuário não for Admin.
+     */
+    void validateAccess();
+
+    /**
+     * Valida o intervalo de uma exportação antes do início da resposta.
+     *
+     * @param from O primeiro dia, ou {@code null}.
+     * @param to O último dia, ou {@code null}.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se {@code from} for posterior a {@code to}.
+     */
+    void validateRange(LocalDate from, LocalDate to);
+
+    /**
+     * Exporta todas as cervejas com o seu estoque atual.
+     *
+     * @param format O formato do arquivo.
+     * @param gzip Se o arquivo deve ser compactado em gzip.
+     * @param out O destino (não é fechado).
+     * @return A quantidade de linhas exportadas.
+     * @throws IOException Se a escrita no destino falhar.
+     * @throws com.anapedra.stock_manager.services.exceptions.ForbiddenException Se o usuário não for Admin.
+     */
+    long exportStock(ExportFormat format, boolean gzip, OutputStream out) throws IOException;
+
+    /**
+     * Exporta os itens dos pedidos de um intervalo, uma linha por item.
+     *
+     * @param from O primeiro dia (UTC), ou {@code null} para desde o primeiro pedido.
+     * @param to O último dia (UTC, inclusive), ou {@code null} para até o último pedido.
+     * @param format O formato do arquivo.
+     * @param gzip Se o arquivo deve ser compactado em gzip.
+     * @param out O destino (não é fechado).
+     * @return A quantidade de linhas exportadas.
+     * @throws IOException Se a escrita no destino falhar.
+     * @throws com.anapedra.stock_manager.services.exceptions.ForbiddenException Se o usuário não for Admin.
+     */
+    long exportOrders(LocalDate from, LocalDate to, ExportFormat format, boolean gzip, OutputStream out) throws IOException;
+
+    /**
+     * Exporta as perdas de estoque de um intervalo.
+     *
+     * @param from O primeiro dia, ou {@code null} para desde a primeira perda.
+     * @param to O último dia (inclusive), ou {@code null} para até a última perda.
+     * @param format O formato do arquivo.
+     * @param gzip Se o arquivo deve ser compactado em gzip.
+     * @param out O destino (não é fechado).
+     * @return A quantidade de linhas exportadas.
+     * @throws IOException Se a escrita no destino falhar.
+     * @throws com.anapedra.stock_manager.services.exceptions.ForbiddenException Se o usuário não for Admin.
+     */
+    long exportLosses(LocalDate from, LocalDate to, ExportFormat format, boolean gzip, OutputStream out) throws IOException;
+}
@@ -1,9 +1,15 @@
 package com.anapedra.stock_manager.services;
 
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.OrderBatchResultDTO;
 import com.anapedra.stock_manager.domain.dtos.OrderDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 /**
  * Interface de serviço para gerenciar as operações relacionadas a Pedidos (Order).
  *
@@ -27,6 +33,19 @@ public interface OrderService {
      */
     OrderDTO save(OrderDTO dto);
 
+    /**
+     * Importa vários pedidos de uma só vez (ex: pedidos de distribuidores), em uma única transação.
+     *
+     * <p>Cada pedido é validado e tem o estoque reservado de forma independente: pedidos
+     * inválidos ou sem saldo são recusados sem impedir os demais. Os pedidos aceitos e os
+     * seus itens são gravados em lote.</p>
+     *
+     * @param dtos Os pedidos a importar.
+     * @return O resultado de cada pedido, na ordem recebida.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o lote exceder o tamanho máximo.
+     */
+    List<OrderBatchResultDTO> saveBatch(List<OrderDTO> dtos);
+
     /**
      * Busca um pedido pelo seu identificador único.
      *
@@ -67,23 +86,50 @@ public interface OrderService {
     /**
      * Busca pedidos paginados aplicando filtros dinâmicos.
      *
-     * <p>Os filtros incluem: ID do cliente, nome/CPF do cliente (busca parcial)
-     * e um intervalo de tempo de criação do pedido (momentAt), passado como String no formato Instant.</p>
+     * <p>Os filtros incluem: ID do cliente, nome/CPF do cliente (busca parcial) e um intervalo
+     * de datas de criação do pedido. O cliente escolhe como o total é calculado: sem total
+     * ({@code NONE}), aproximado ({@code APPROX}) ou exato ({@code EXACT}).</p>
      *
      * @param clientId O ID do cliente (opcional).
      * @param nameClient O nome do cliente (opcional, busca parcial).
      * @param cpfClient O CPF do cliente (opcional, busca parcial).
-     * @param minInstant O Instant mínimo para o filtro de data (opcional, String ISO-8601).
-     * @param maxInstant O Instant máximo para o filtro de data (opcional, String ISO-8601).
+     * @param minDate A data mínima para o filtro de data (opcional).
+     * @param maxDate A data máxima para o filtro de data (opcional).
      * @param pageable Objeto de paginação e ordenação do Spring Data.
-     * @return Uma {@link Page} de {@link OrderDTO} que correspondem aos filtros.
+     * @param countMode O modo de contagem do total.
+     * @return A {@link CountedPageDTO} de {@link OrderDTO}, com o modo de contagem usado.
+     */
+    CountedPageDTO<OrderDTO> find(
+            Long clientId,
+            String nameClient,
+            String cpfClient,
+            String minDate,
+            String maxDate,
+            Pageable pageable,
+            CountMode countMode
+    );
+
+    /**
+     * Variante de {@link #find} paginada por cursor (keyset): em ordem de ID, sem {@code OFFSET}
+     * e sem contagem do total.
+     *
+     * @param clientId O ID do cliente (opcional).
+     * @param nameClient O nome do cliente (opcional, busca parcial).
+     * @param cpfClient O CPF do cliente (opcional, busca parcial).
+     * @param minDate A data mínima para o filtro de data (opcional).
+     * @param maxDate A data máxima para o filtro de data (opcional).
+     * @param cursor O token da página anterior, ou {@code null} para a primeira página.
+     * @param size O tamanho da página.
+     * @return A {@link CursorPageDTO} de {@link OrderDTO}.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o cursor ou o tamanho forem inválidos.
      */
-    Page<OrderDTO> find(
+    CursorPageDTO<OrderDTO> findCursor(
             Long clientId,
             String nameClient,
             String cpfClient,
-            String minInstant,
-            String maxInstant,
-            Pageable pageable
+            String minDate,
+            String maxDate,
+            String cursor,
+            int size
     );
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.CategorySalesDTO;
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.dtos.SalesSummaryDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface de serviço para os relatórios de vendas.
+ *
+ * <p>Os relatórios leem apenas a consolidação diária de vendas ({@code tb_sales_daily}), sem
+ * percorrer os pedidos: o custo depende da quantidade de dias e cervejas consultados, e não do
+ * tamanho do histórico de pedidos. Pedidos cancelados não são contabilizados.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @see SalesSummaryDTO
+ * @see CategorySalesDTO
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface SalesService {
+
+    /**
+     * Retorna os totais de vendas de cada dia do intervalo.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return Os totais dos dias com vendas, em ordem de data.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o intervalo for inválido ou muito longo.
+     */
+    List<SalesSummaryDTO> findDaily(LocalDate from, LocalDate to, Long beerId);
+
+    /**
+     * Retorna os totais de vendas de cada mês de um ano.
+     *
+     * @param year O ano.
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return Os totais dos meses com vendas, em ordem de data.
+     */
+    List<SalesSummaryDTO> findMonthly(int year, Long beerId);
+
+    /**
+     * Retorna os totais de vendas de cada ano do intervalo.
+     *
+     * @param fromYear O primeiro ano.
+     * @param toYear O último ano (inclusive).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return Os totais dos anos com vendas, em ordem de data.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o intervalo for inválido.
+     */
+    List<SalesSummaryDTO> findYearly(int fromYear, int toYear, Long beerId);
+
+    /**
+     * Retorna os totais de vendas de cada categoria no intervalo.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @return Os totais das categorias com vendas, em ordem decrescente de receita.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o intervalo for inválido.
+     */
+    List<CategorySalesDTO> findByCategory(LocalDate from, LocalDate to);
+
+    /**
+     * Reconstrói a consolidação diária de vendas de um intervalo a partir dos pedidos.
+     *
+     * @param from O primeiro dia, ou {@code null} para o dia do pedido mais antigo.
+     * @param to O último dia (inclusive), ou {@code null} para o dia corrente (UTC).
+     * @return O {@link RollupBackfillReportDTO} da execução.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o intervalo for inválido ou já houver um recálculo em andamento.
+     */
+    RollupBackfillReportDTO backfill(LocalDate from, LocalDate to);
+}
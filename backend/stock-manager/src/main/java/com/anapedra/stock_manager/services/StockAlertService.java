@@ -0,0 +1,57 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.StockAlertDTO;
+import com.anapedra.stock_manager.domain.dtos.StockThresholdDTO;
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+
+import java.util.List;
+
+/**
+ * Interface de serviço para os alertas de estoque baixo.
+ *
+ * <p>Define o contrato para a consulta da lista de acompanhamento (cervejas atualmente em
+ * estoque baixo ou sem estoque) e para a manutenção dos limites de estoque baixo por
+ * cerveja e por categoria.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @see StockAlertDTO
+ * @see StockThresholdDTO
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface StockAlertService {
+
+    /**
+     * Retorna as cervejas atualmente em um status de alerta, em ordem de ID.
+     *
+     * @param status {@link StockStatus#LOW} ou {@link StockStatus#OUT_OF_STOCK}.
+     * @return Uma {@link List} de {@link StockAlertDTO}.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o status não for de alerta.
+     */
+    List<StockAlertDTO> findWatchlist(StockStatus status);
+
+    /**
+     * Retorna todos os limites de estoque baixo configurados.
+     *
+     * @return Uma {@link List} de {@link StockThresholdDTO}.
+     */
+    List<StockThresholdDTO> findThresholds();
+
+    /**
+     * Cria ou substitui o limite de estoque baixo de uma cerveja ou de uma categoria.
+     *
+     * @param dto O {@link StockThresholdDTO} com exatamente um entre {@code beerId} e {@code categoryId}.
+     * @return O {@link StockThresholdDTO} gravado.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o escopo for inválido.
+     * @throws com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException Se a cerveja ou a categoria não existir.
+     */
+    StockThresholdDTO saveThreshold(StockThresholdDTO dto);
+
+    /**
+     * Exclui um limite de estoque baixo.
+     *
+     * @param id O ID do limite.
+     * @throws com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException Se o ID não for encontrado.
+     */
+    void deleteThreshold(Long id);
+}
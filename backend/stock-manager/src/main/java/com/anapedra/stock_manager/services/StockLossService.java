@@ -1,10 +1,17 @@
 package com.anapedra.stock_manager.services;
 
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.LossTotalDTO;
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.dtos.ShrinkageDTO;
 import com.anapedra.stock_manager.domain.dtos.StockLossDTO;
-import org.springframework.data.domain.Page;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import com.anapedra.stock_manager.domain.enums.LossGrouping;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Interface de serviço para gerenciar as operações relacionadas à Perda de Estoque (StockLoss).
@@ -34,7 +41,22 @@ public interface StockLossService {
     StockLossDTO registerLoss(StockLossDTO dto);
 
     /**
-     * Busca registros de perda paginados, aplicando filtros flexíveis.
+     * Registra várias perdas de estoque em uma única transação (ex: auditorias de quebra e furto).
+     *
+     * <p>O lote é atômico: se algum item for inválido ou se o saldo de alguma cerveja não
+     * comportar o total perdido, nenhuma perda é registrada.</p>
+     *
+     * @param dtos Os {@link StockLossDTO} com os dados das perdas.
+     * @return As perdas registradas, na ordem recebida.
+     * @throws com.anapedra.stock_manager.services.exceptions.BatchValidationException Se algum item for inválido ou a cerveja não existir.
+     * @throws com.anapedra.stock_manager.services.exceptions.InsufficientStockException Se o estoque de alguma cerveja for insuficiente.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o lote exceder o tamanho máximo.
+     */
+    List<StockLossDTO> registerLosses(List<StockLossDTO> dtos);
+
+    /**
+     * Busca registros de perda paginados, aplicando filtros flexíveis. O cliente escolhe como o
+     * total é calculado: sem total ({@code NONE}), aproximado ({@code APPROX}) ou exato ({@code EXACT}).
      *
      * @param reasonCode O código inteiro do motivo da perda (Enum {@code LossReason}, opcional).
      * @param beerId O ID da cerveja (opcional).
@@ -43,15 +65,81 @@ public interface StockLossService {
      * @param startDate A data inicial para o filtro de ocorrência da perda (opcional).
      * @param endDate A data final para o filtro de ocorrência da perda (opcional).
      * @param pageable Objeto de paginação e ordenação do Spring Data.
-     * @return Uma {@link Page} de {@link StockLossDTO} que correspondem aos filtros.
+     * @param countMode O modo de contagem do total.
+     * @return A {@link CountedPageDTO} de {@link StockLossDTO}, com o modo de contagem usado.
+     */
+    CountedPageDTO<StockLossDTO> findLossesByFilters(
+        Integer reasonCode,
+        Long beerId,
+        String beerName,
+        Long categoryId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Pageable pageable,
+        CountMode countMode
+    );
+
+    /**
+     * Variante de {@link #findLossesByFilters} paginada por cursor (keyset): em ordem de ID, sem
+     * {@code OFFSET} e sem contagem do total.
+     *
+     * @param reasonCode O código inteiro do motivo da perda (Enum {@code LossReason}, opcional).
+     * @param beerId O ID da cerveja (opcional).
+     * @param beerName O nome da cerveja (opcional, busca parcial).
+     * @param categoryId O ID da categoria associada à cerveja (opcional).
+     * @param startDate A data inicial para o filtro de ocorrência da perda (opcional).
+     * @param endDate A data final para o filtro de ocorrência da perda (opcional).
+     * @param cursor O token da página anterior, ou {@code null} para a primeira página.
+     * @param size O tamanho da página.
+     * @return A {@link CursorPageDTO} de {@link StockLossDTO}.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o cursor ou o tamanho forem inválidos.
      */
-    Page<StockLossDTO> findLossesByFilters(
+    CursorPageDTO<StockLossDTO> findLossesByFiltersCursor(
         Integer reasonCode,
         Long beerId,
         String beerName,
         Long categoryId,
         LocalDate startDate,
         LocalDate endDate,
-        Pageable pageable
+        String cursor,
+        int size
     );
-}
\ No newline at end of file
+
+    /**
+     * Retorna os totais de perdas do intervalo agrupados por motivo, cerveja, categoria, dia ou mês,
+     * lidos apenas da consolidação diária de perdas.
+     *
+     * @param grouping O agrupamento ({@link LossGrouping}).
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param reasonCode O código do motivo da perda (opcional).
+     * @param beerId O ID da cerveja (opcional).
+     * @param categoryId O ID da categoria associada à cerveja (opcional).
+     * @return Os totais de cada grupo com perdas.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o intervalo, o motivo ou o agrupamento forem inválidos.
+     */
+    List<LossTotalDTO> findLossTotals(LossGrouping grouping, LocalDate from, LocalDate to,
+                                      Integer reasonCode, Long beerId, Long categoryId);
+
+    /**
+     * Calcula a taxa de quebra do intervalo: unidades perdidas sobre unidades vendidas, ambas lidas
+     * das consolidações diárias.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param beerId O ID da cerveja (opcional; padrão: todas).
+     * @return O {@link ShrinkageDTO} do intervalo.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o intervalo for inválido.
+     */
+    ShrinkageDTO getShrinkage(LocalDate from, LocalDate to, Long beerId);
+
+    /**
+     * Reconstrói a consolidação diária de perdas a partir dos registros de perda.
+     *
+     * @param from O primeiro dia (opcional; padrão: o dia da perda mais antiga).
+     * @param to O último dia (opcional; padrão: hoje).
+     * @return O {@link RollupBackfillReportDTO} da execução.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o intervalo for inválido ou já houver um recálculo em andamento.
+     */
+    RollupBackfillReportDTO backfillLossTotals(LocalDate from, LocalDate to);
+}
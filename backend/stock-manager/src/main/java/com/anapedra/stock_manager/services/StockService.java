@@ -1,11 +1,18 @@
 package com.anapedra.stock_manager.services;
 
 import com.anapedra.stock_manager.domain.dtos.BeerStockDTO;
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.DemandForecastDTO;
+import com.anapedra.stock_manager.domain.dtos.ExpiredWriteOffReportDTO;
+import com.anapedra.stock_manager.domain.dtos.StockMovementDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface de serviço para gerenciar as operações de consulta e relatórios
@@ -26,7 +33,8 @@ public interface StockService {
      * Busca cervejas com informações de estoque paginadas aplicando filtros dinâmicos.
      *
      * <p>Os filtros incluem: ID da categoria, descrição da categoria, nome/descrição da cerveja
-     * e faixa de quantidade em estoque.</p>
+     * e faixa de quantidade em estoque. O cliente escolhe como o total é calculado: sem total
+     * ({@code NONE}), aproximado ({@code APPROX}) ou exato ({@code EXACT}).</p>
      *
      * @param categoryId ID da categoria (opcional).
      * @param categoryName Descrição da categoria (opcional, busca parcial).
@@ -34,17 +42,55 @@ public interface StockService {
      * @param minQuantity Quantidade mínima em estoque (opcional).
      * @param maxQuantity Quantidade máxima em estoque (opcional).
      * @param pageable Objeto de paginação e ordenação do Spring Data.
-     * @return Uma {@link Page} de {@link BeerStockDTO} que correspondem aos filtros.
+     * @param countMode O modo de contagem do total.
+     * @return A {@link CountedPageDTO} de {@link BeerStockDTO}, com o modo de contagem usado.
      */
-    Page<BeerStockDTO> findAllBeer(
+    CountedPageDTO<BeerStockDTO> findAllBeer(
         Long categoryId,
         String categoryName,
         String beerDescription,
         Integer minQuantity,
         Integer maxQuantity,
-        Pageable pageable
+        Pageable pageable,
+        CountMode countMode
     );
 
+    /**
+     * Variante de {@link #findAllBeer} paginada por cursor (keyset): em ordem de ID, sem
+     * {@code OFFSET} e sem contagem do total.
+     *
+     * @param categoryId ID da categoria (opcional).
+     * @param categoryName Descrição da categoria (opcional, busca parcial).
+     * @param beerDescription Nome/descrição da cerveja (opcional, busca parcial).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param cursor O token da página anterior, ou {@code null} para a primeira página.
+     * @param size O tamanho da página.
+     * @return A {@link CursorPageDTO} de {@link BeerStockDTO}.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o cursor ou o tamanho forem inválidos.
+     */
+    CursorPageDTO<BeerStockDTO> findAllBeerCursor(
+        Long categoryId,
+        String categoryName,
+        String beerDescription,
+        Integer minQuantity,
+        Integer maxQuantity,
+        String cursor,
+        int size
+    );
+
+    /**
+     * Busca cervejas pelo nome, da mais para a menos relevante, tolerando pequenos erros de
+     * digitação quando o banco oferece busca por trigramas.
+     *
+     * @param query O termo buscado.
+     * @param categoryName Parte do nome de uma categoria da cerveja (opcional).
+     * @param limit A quantidade máxima de cervejas retornadas.
+     * @return Uma {@link List} de {@link BeerStockDTO}, em ordem de relevância.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o termo estiver vazio ou o limite for inválido.
+     */
+    List<BeerStockDTO> searchByName(String query, String categoryName, int limit);
+
     /**
      * Busca uma cerveja com informações de estoque pelo seu identificador único.
      *
@@ -89,4 +135,84 @@ public interface StockService {
             Integer pageNumber
     );
 
-}
\ No newline at end of file
+    /**
+     * Variante de {@link #findUsingPlpgsqlFunction} paginada por cursor (keyset): em ordem de
+     * ID, sem {@code OFFSET} e sem contagem do total.
+     *
+     * @param beerId ID da cerveja (opcional).
+     * @param beerDescription Descrição da cerveja (opcional).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param daysUntilExpiry Número de dias para expiração (opcional).
+     * @param cursor O token da página anterior, ou {@code null} para a primeira página.
+     * @param size O tamanho da página.
+     * @return A {@link CursorPageDTO} de {@link BeerStockDTO}.
+     * @throws com.anapedra.stock_manager.services.exceptions.BusinessRuleException Se o cursor ou o tamanho forem inválidos.
+     */
+    CursorPageDTO<BeerStockDTO> findUsingPlpgsqlFunctionCursor(
+            Long beerId,
+            String beerDescription,
+            Integer minQuantity,
+            Integer maxQuantity,
+            Integer daysUntilExpiry,
+            String cursor,
+            int size
+    );
+
+    /**
+     * Busca, de forma paginada, o histórico de movimentações de uma cerveja no diário de estoque.
+     *
+     * @param beerId O ID da cerveja.
+     * @param pageable Objeto de paginação e ordenação do Spring Data.
+     * @return Uma {@link Page} de {@link StockMovementDTO}.
+     */
+    Page<StockMovementDTO> findMovements(Long beerId, Pageable pageable);
+
+    /**
+     * Reconstrói o saldo persistido ({@code tb_stock}) a partir do diário de movimentações
+     * (último instantâneo + movimentações posteriores).
+     *
+     * @return A quantidade de cervejas cujo saldo foi corrigido.
+     */
+    int rebuildFromJournal();
+
+    /**
+     * Define em quantas frações ({@code tb_stock_shard}) o saldo de uma cerveja é dividido,
+     * reduzindo a disputa pela linha de {@code tb_stock} em cervejas muito vendidas.
+     * Com {@code shardCount = 1}, as frações são reunidas de volta em {@code tb_stock}.
+     *
+     * @param beerId O ID da cerveja.
+     * @param shardCount A quantidade de frações.
+     * @return O {@link BeerStockDTO} da cerveja.
+     */
+    BeerStockDTO configureShards(Long beerId, int shardCount);
+
+    /**
+     * Baixa como perda ({@code EXPIRED}) o estoque disponível das cervejas vencidas até a
+     * data de referência, em blocos com transações próprias.
+     *
+     * @param referenceDate A data de referência.
+     * @return O {@link ExpiredWriteOffReportDTO} com o resultado da execução.
+     */
+    ExpiredWriteOffReportDTO writeOffExpired(LocalDate referenceDate);
+
+    /**
+     * Conta as cervejas vencidas (validade até a data informada) e as que vencem em 7, 30 e 90 dias.
+     *
+     * @param today A data corrente.
+     * @return As contagens, nas chaves {@code expired}, {@code within7Days}, {@code within30Days}
+     *         e {@code within90Days}.
+     */
+    Map<String, Long> getExpirationSummary(LocalDate today);
+
+    /**
+     * Calcula a previsão de demanda para os próximos dias, a partir do modelo mantido em memória,
+     * sem percorrer o histórico de pedidos.
+     *
+     * @param days A quantidade de dias previstos (a partir de amanhã).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas as cervejas com vendas.
+     * @return As previsões, em ordem de ID da cerveja.
+     */
+    List<DemandForecastDTO> getDemandForecast(int days, Long beerId);
+
+}
@@ -6,6 +6,7 @@ import com.anapedra.stock_manager.domain.entities.User;
 import com.anapedra.stock_manager.projections.UserDetailsProjection;
 import com.anapedra.stock_manager.repositories.UserRepository;
 import com.anapedra.stock_manager.services.exceptions.ForbiddenException;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
 import com.anapedra.stock_manager.util.CustomUserUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -42,13 +43,17 @@ public class UserService implements UserDetailsService {
     
     @Autowired
     private CustomUserUtil customUserUtil;
+
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
     
 
     /**
      * Método do Spring Security, utilizado para carregar os detalhes do usuário
      * (credenciais e permissões) com base no nome de usuário (e-mail).
      *
-     * <p>Busca o usuário e seus {@link Role}s usando uma Projeção nativa.</p>
+     * <p>Busca o usuário e os IDs dos seus {@link Role}s usando uma Projeção nativa; as
+     * autoridades dos cargos vêm do {@link ReferenceDataRegistry}, sem junção com {@code tb_role}.</p>
      *
      * @param username O e-mail do usuário.
      * @return Um objeto {@link UserDetails} (que é a entidade {@link User}) pronto para o Spring Security.
@@ -71,7 +76,10 @@ public class UserService implements UserDetailsService {
        user.setEmail(result.get(0).getUsername());
        user.setPassword(result.get(0).getPassword());
        for (UserDetailsProjection projection : result) {
-          user.addRole(new Role(projection.getRoleId(), projection.getAuthority()));
+          Long roleId = projection.getRoleId();
+          referenceDataRegistry.findAuthority(roleId).ifPresentOrElse(
+                authority -> user.addRole(new Role(roleId, authority)),
+                () -> logger.warn("SERVICE WARN: Cargo ID {} do usuário {} não encontrado.", roleId, username));
        }
 
        logger.info("SERVICE: Usuário {} autenticado com sucesso. Roles: {}", username, user.getAuthorities());
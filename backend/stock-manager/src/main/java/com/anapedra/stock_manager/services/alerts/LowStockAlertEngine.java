@@ -0,0 +1,393 @@
+package com.anapedra.stock_manager.services.alerts;
+
+import com.anapedra.stock_manager.domain.dtos.StockAlertDTO;
+import com.anapedra.stock_manager.domain.entities.Stock;
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+import com.anapedra.stock_manager.domain.entities.StockThreshold;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.repositories.StockThresholdRepository;
+import com.anapedra.stock_manager.services.ledger.StockFlushHook;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Acompanha as mudanças de status de estoque ({@link StockStatus}) de cada cerveja e publica
+ * um {@link StockStatusChangedEvent} quando uma mudança se estabiliza.
+ *
+ * <p>Registrado como {@link StockFlushHook}: a cada gravação do ledger, o saldo em memória das
+ * cervejas gravadas é reclassificado com o limite de estoque baixo da cerveja (limite da
+ * cerveja, senão o maior limite entre as suas categorias, senão
+ * {@code stock-manager.alerts.default-low-limit}). Os limites ficam em
+ * {@code tb_stock_threshold} e são mantidos em memória, recarregados a cada alteração e
+ * periodicamente.</p>
+ *
+ * <p>Uma mudança só é publicada depois de permanecer estável por
+ * {@code stock-manager.alerts.debounce-ms}; se a cerveja voltar ao último status publicado
+ * dentro da janela, nada é publicado. As listas de cervejas em estoque baixo e sem estoque
+ * são mantidas a cada classificação, sem consultar {@code tb_stock}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class LowStockAlertEngine implements StockFlushHook, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockAlertEngine.class);
+
+    private final StockLedger stockLedger;
+    private final StockRepository stockRepository;
+    private final StockThresholdRepository stockThresholdRepository;
+    private final BeerRepository beerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, AlertState> states = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Instant> pending = new ConcurrentHashMap<>();
+    private final Set<Long> lowWatchlist = new ConcurrentSkipListSet<>();
+    private final Set<Long> outOfStockWatchlist = new ConcurrentSkipListSet<>();
+    private volatile Map<Long, Integer> limits = Map.of();
+
+    private final Map<StockStatus, Counter> transitionCounters = new EnumMap<>(StockStatus.class);
+
+    /**
+     * Limite de estoque baixo das cervejas sem limite próprio nem de categoria.
+     */
+    @Value("${stock-manager.alerts.default-low-limit:" + Stock.LOW_STOCK_LIMIT + "}")
+    private int defaultLowLimit = Stock.LOW_STOCK_LIMIT;
+
+    /**
+     * Tempo (ms) que uma mudança de status precisa permanecer estável antes de ser publicada.
+     */
+    @Value("${stock-manager.alerts.debounce-ms:1000}")
+    private long debounceMs = 1000;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockLedger O ledger de estoque em memória, fonte dos saldos.
+     * @param stockRepository Repositório de estoque, usado na carga inicial dos saldos.
+     * @param stockThresholdRepository Repositório dos limites de estoque baixo.
+     * @param beerRepository Repositório de cervejas, usado na resolução dos limites por categoria.
+     * @param eventPublisher O publicador de eventos da aplicação.
+     * @param transactionManager O gerenciador de transações usado nas leituras.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public LowStockAlertEngine(StockLedger stockLedger, StockRepository stockRepository,
+                               StockThresholdRepository stockThresholdRepository, BeerRepository beerRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.stockLedger = stockLedger;
+        this.stockRepository = stockRepository;
+        this.stockThresholdRepository = stockThresholdRepository;
+        this.beerRepository = beerRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        for (StockStatus status : StockStatus.values()) {
+            transitionCounters.put(status, Counter.builder("stock_manager.alerts.transitions")
+                    .description("Mudanças de status de estoque publicadas")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+
+        Gauge.builder("stock_manager.alerts.low", lowWatchlist, Set::size)
+                .description("Cervejas atualmente com estoque baixo")
+                .register(registry);
+
+        Gauge.builder("stock_manager.alerts.out_of_stock", outOfStockWatchlist, Set::size)
+                .description("Cervejas atualmente sem estoque")
+                .register(registry);
+    }
+
+    /**
+     * Carrega os limites e classifica o saldo de todas as cervejas antes que a aplicação
+     * passe a atender requisições. A classificação inicial não publica eventos.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        limits = resolveLimits();
+        Map<Long, Integer> quantities = transactionTemplate.execute(status -> stockRepository.findAllQuantities());
+        if (quantities == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        quantities.forEach((beerId, quantity) -> {
+            int lowLimit = limitFor(beerId);
+            StockStatus status = classify(quantity, lowLimit);
+            states.put(beerId, new AlertState(status, quantity, lowLimit, now, status));
+            watch(beerId, status);
+        });
+        logger.info("SERVICE: Alertas de estoque iniciados. Cervejas: {}, Estoque baixo: {}, Sem estoque: {}",
+                states.size(), lowWatchlist.size(), outOfStockWatchlist.size());
+    }
+
+    /**
+     * Reclassifica as cervejas gravadas com o saldo atual do ledger.
+     *
+     * <p>Nunca lança exceção: uma falha nos alertas não deve desfazer a gravação do estoque.</p>
+     */
+    @Override
+    public void onFlush(SortedMap<Long, Integer> deltas, List<StockMovement> movements) {
+        try {
+            Set<Long> beerIds = new TreeSet<>(deltas.keySet());
+            Map<Long, Integer> openings = new HashMap<>();
+            for (StockMovement movement : movements) {
+                beerIds.add(movement.getBeerId());
+                if (movement.getType() == StockMovementType.OPENING) {
+                    openings.put(movement.getBeerId(), movement.getQuantity());
+                }
+            }
+
+            Instant now = Instant.now();
+            for (Long beerId : beerIds) {
+                // Cervejas fora do ledger: só o saldo de abertura de uma cerveja nova é conhecido
+                int quantity = stockLedger.onHand(beerId, openings.getOrDefault(beerId, Integer.MIN_VALUE));
+                if (quantity != Integer.MIN_VALUE) {
+                    observe(beerId, quantity, now);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("SERVICE ERROR: Falha ao reclassificar o status de estoque após a gravação.", e);
+        }
+    }
+
+    /**
+     * Publica as mudanças de status que permaneceram estáveis durante a janela de estabilização.
+     */
+    @Scheduled(fixedDelayString = "${stock-manager.alerts.tick-ms:250}")
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (Map.Entry<Long, Instant> entry : pending.entrySet()) {
+            if (entry.getValue().isAfter(now) || !pending.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            StockStatusChangedEvent[] event = new StockStatusChangedEvent[1];
+            states.computeIfPresent(entry.getKey(), (beerId, state) -> {
+                if (state.status() == state.published()) {
+                    return state;
+                }
+                event[0] = new StockStatusChangedEvent(beerId, state.published(), state.status(),
+                        state.quantity(), state.lowLimit(), state.since());
+                return new AlertState(state.status(), state.quantity(), state.lowLimit(), state.since(), state.status());
+            });
+            if (event[0] != null) {
+                publish(event[0]);
+            }
+        }
+    }
+
+    /**
+     * Recarrega periodicamente os limites, acompanhando mudanças de categoria das cervejas.
+     */
+    @Scheduled(fixedDelayString = "${stock-manager.alerts.threshold-refresh-ms:300000}",
+            initialDelayString = "${stock-manager.alerts.threshold-refresh-ms:300000}")
+    public void refreshThresholds() {
+        try {
+            reloadThresholds();
+        } catch (RuntimeException e) {
+            logger.error("SERVICE ERROR: Falha ao recarregar os limites de estoque baixo.", e);
+        }
+    }
+
+    /**
+     * Recarrega os limites após o commit da transação corrente (ex: após incluir ou excluir um limite).
+     */
+    public void thresholdsChanged() {
+        AfterCommit.run(this::reloadThresholds);
+    }
+
+    /**
+     * Remove uma cerveja do acompanhamento após o commit da transação corrente (ex: exclusão da cerveja).
+     *
+     * @param beerId O ID da cerveja.
+     */
+    public void forget(Long beerId) {
+        AfterCommit.run(() -> {
+            states.remove(beerId);
+            pending.remove(beerId);
+            lowWatchlist.remove(beerId);
+            outOfStockWatchlist.remove(beerId);
+        });
+    }
+
+    /**
+     * Retorna, em ordem de ID, as cervejas atualmente em um status de alerta.
+     *
+     * @param status {@link StockStatus#LOW} ou {@link StockStatus#OUT_OF_STOCK}.
+     * @return Os itens da lista de acompanhamento.
+     * @throws IllegalArgumentException Se o status não for de alerta.
+     */
+    public List<StockAlertDTO> watchlist(StockStatus status) {
+        Set<Long> beerIds = switch (status) {
+            case LOW -> lowWatchlist;
+            case OUT_OF_STOCK -> outOfStockWatchlist;
+            default -> throw new IllegalArgumentException("Status sem lista de acompanhamento: " + status);
+        };
+        List<StockAlertDTO> items = new ArrayList<>(beerIds.size());
+        for (Long beerId : beerIds) {
+            AlertState state = states.get(beerId);
+            if (state != null && state.status() == status) {
+                items.add(new StockAlertDTO(beerId, state.quantity(), state.lowLimit(), state.status(), state.since()));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Retorna o limite de estoque baixo aplicado a uma cerveja.
+     *
+     * @param beerId O ID da cerveja.
+     * @return O limite.
+     */
+    public int limitFor(Long beerId) {
+        return limits.getOrDefault(beerId, defaultLowLimit);
+    }
+
+    private void reloadThresholds() {
+        limits = resolveLimits();
+        Instant now = Instant.now();
+        for (Long beerId : states.keySet()) {
+            AlertState state = states.get(beerId);
+            if (state != null) {
+                observe(beerId, state.quantity(), now);
+            }
+        }
+        logger.info("SERVICE: Limites de estoque baixo recarregados. Cervejas com limite próprio ou de categoria: {}", limits.size());
+    }
+
+    private Map<Long, Integer> resolveLimits() {
+        Map<Long, Integer> resolved = transactionTemplate.execute(status -> {
+            Map<Long, Integer> beerLimits = new HashMap<>();
+            Map<Long, Integer> categoryLimits = new HashMap<>();
+            for (StockThreshold threshold : stockThresholdRepository.findAll()) {
+                if (threshold.getBeerId() != null) {
+                    beerLimits.put(threshold.getBeerId(), threshold.getLowLimit());
+                } else if (threshold.getCategoryId() != null) {
+                    categoryLimits.put(threshold.getCategoryId(), threshold.getLowLimit());
+                }
+            }
+
+            Map<Long, Integer> byBeer = new HashMap<>();
+            if (!categoryLimits.isEmpty()) {
+                for (Object[] row : beerRepository.findBeerIdsByCategoryIds(categoryLimits.keySet())) {
+                    Long beerId = ((Number) row[0]).longValue();
+                    Long categoryId = ((Number) row[1]).longValue();
+                    byBeer.merge(beerId, categoryLimits.get(categoryId), Math::max);
+                }
+            }
+            byBeer.putAll(beerLimits);
+            return byBeer;
+        });
+        return (resolved != null) ? Map.copyOf(resolved) : Map.of();
+    }
+
+    private void observe(Long beerId, int quantity, Instant now) {
+        int lowLimit = limitFor(beerId);
+        StockStatus status = classify(quantity, lowLimit);
+        states.compute(beerId, (id, state) -> {
+            AlertState next;
+            if (state == null) {
+                // Cerveja nova: só é publicada se já surgir em estoque baixo ou sem estoque
+                next = new AlertState(status, quantity, lowLimit, now,
+                        (status == StockStatus.AVAILABLE) ? StockStatus.AVAILABLE : null);
+            } else if (state.status() != status) {
+                next = new AlertState(status, quantity, lowLimit, now, state.published());
+            } else {
+                next = new AlertState(status, quantity, lowLimit, state.since(), state.published());
+            }
+
+            watch(id, status);
+            if (next.status() == next.published()) {
+                pending.remove(id);
+            } else if (state == null || state.status() != status) {
+                pending.put(id, now.plusMillis(debounceMs));
+            }
+            return next;
+        });
+    }
+
+    private void watch(Long beerId, StockStatus status) {
+        if (status == StockStatus.LOW) {
+            lowWatchlist.add(beerId);
+        } else {
+            lowWatchlist.remove(beerId);
+        }
+        if (status == StockStatus.OUT_OF_STOCK) {
+            outOfStockWatchlist.add(beerId);
+        } else {
+            outOfStockWatchlist.remove(beerId);
+        }
+    }
+
+    private void publish(StockStatusChangedEvent event) {
+        transitionCounters.get(event.current()).increment();
+        if (event.current() == StockStatus.AVAILABLE) {
+            logger.info("SERVICE: Estoque da cerveja ID {} normalizado ({} -> {}). Quantidade: {}",
+                    event.beerId(), event.previous(), event.current(), event.quantity());
+        } else {
+            logger.warn("SERVICE WARN: Estoque da cerveja ID {} mudou para {} (anterior: {}). Quantidade: {}, Limite: {}",
+                    event.beerId(), event.current(), event.previous(), event.quantity(), event.lowLimit());
+        }
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            logger.error("SERVICE ERROR: Falha em um ouvinte do alerta de estoque da cerveja ID {}.", event.beerId(), e);
+        }
+    }
+
+    /**
+     * Classifica uma quantidade com a mesma regra de {@link Stock#statusFor(int)}, usando o
+     * limite de estoque baixo informado.
+     *
+     * @param quantity A quantidade em estoque.
+     * @param lowLimit O limite de estoque baixo.
+     * @return O {@link StockStatus} correspondente.
+     */
+    static StockStatus classify(int quantity, int lowLimit) {
+        if (quantity <= 0) {
+            return StockStatus.OUT_OF_STOCK;
+        } else if (quantity <= lowLimit) {
+            return StockStatus.LOW;
+        }
+        return StockStatus.AVAILABLE;
+    }
+
+    /**
+     * Estado de acompanhamento de uma cerveja: status e saldo atuais, limite aplicado,
+     * momento da entrada no status atual e último status publicado.
+     */
+    private record AlertState(StockStatus status, int quantity, int lowLimit, Instant since, StockStatus published) {
+    }
+}
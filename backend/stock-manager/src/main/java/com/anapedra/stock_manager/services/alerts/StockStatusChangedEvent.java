@@ -0,0 +1,23 @@
+package com.anapedra.stock_manager.services.alerts;
+
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+
+import java.time.Instant;
+
+/**
+ * Evento publicado pelo {@link LowStockAlertEngine} quando o status de estoque de uma cerveja
+ * muda e permanece no novo status durante a janela de estabilização.
+ *
+ * @param beerId O ID da cerveja.
+ * @param previous O último status publicado (nulo na primeira observação da cerveja).
+ * @param current O novo status.
+ * @param quantity O saldo no momento da mudança.
+ * @param lowLimit O limite de estoque baixo aplicado à cerveja.
+ * @param changedAt O momento em que a mudança foi observada.
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public record StockStatusChangedEvent(Long beerId, StockStatus previous, StockStatus current,
+                                      int quantity, int lowLimit, Instant changedAt) {
+}
@@ -0,0 +1,265 @@
+package com.anapedra.stock_manager.services.catalog;
+
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória das leituras do catálogo de cervejas: cervejas por ID e páginas das listagens.
+ *
+ * <p>O catálogo muda poucas vezes por dia, enquanto as mesmas cervejas e as primeiras páginas
+ * das listagens são lidas a cada requisição. As leituras guardadas são descartadas:</p>
+ * <ul>
+ *     <li>pelo tempo de vida configurado e, acima do limite de entradas, das menos usadas
+ *     para as mais usadas;</li>
+ *     <li>por cerveja, quando ela é incluída, alterada ou excluída ({@link #beerChanged}):
+ *     as leituras das demais cervejas continuam valendo, mas todas as páginas são descartadas,
+ *     pois qualquer página pode conter a cerveja;</li>
+ *     <li>por inteiro, quando uma alteração atinge várias cervejas ({@link #catalogChanged}).</li>
+ * </ul>
+ *
+ * <p>Leituras sensíveis ao estoque (quantidade persistida, filtros ou ordenação por quantidade)
+ * também guardam a {@link StockLedger#version() versão do ledger}: depois de uma movimentação
+ * de estoque, continuam valendo apenas até o limite de defasagem configurado. As quantidades
+ * reservadas e disponíveis não entram no cache: são aplicadas pelo serviço a cada leitura, a
+ * partir do ledger.</p>
+ *
+ * <p>As invalidações são aplicadas após o commit da transação corrente e incrementam a versão
+ * do catálogo. Uma leitura só é guardada se essa versão não mudou enquanto ela era carregada, de
+ * modo que uma carga concorrente com uma alteração nunca deixa dados antigos no cache. As cargas
+ * executam em uma transação somente leitura própria: um acerto não abre transação nem consulta
+ * o banco.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class BeerCatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeerCatalogCache.class);
+
+    /**
+     * Habilita o cache; desabilitado, toda leitura é carregada do banco.
+     */
+    @Value("${stock-manager.catalog-cache.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Quantidade máxima de leituras guardadas.
+     */
+    @Value("${stock-manager.catalog-cache.max-entries:2000}")
+    private int maxEntries = 2000;
+
+    /**
+     * Tempo de vida (segundos) de uma leitura guardada.
+     */
+    @Value("${stock-manager.catalog-cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    /**
+     * Defasagem máxima (ms) de uma leitura sensível ao estoque após uma movimentação.
+     */
+    @Value("${stock-manager.catalog-cache.stock-staleness-ms:2000}")
+    private long stockStalenessMillis = 2000;
+
+    private final StockLedger stockLedger;
+    private final TransactionTemplate readOnlyTemplate;
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    // Ordem de acesso: a primeira entrada é a menos usada (guardado por "entries")
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockLedger Ledger de estoque, cuja versão indica movimentações de estoque.
+     * @param transactionManager Gerenciador de transações, usado nas cargas do banco.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public BeerCatalogCache(StockLedger stockLedger, PlatformTransactionManager transactionManager,
+                            MeterRegistry registry) {
+        this.stockLedger = stockLedger;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+
+        this.hitCounter = Counter.builder("stock_manager.catalog_cache.lookups")
+                .description("Leituras do cache do catálogo de cervejas, por resultado")
+                .tag("result", "hit")
+                .register(registry);
+        this.missCounter = Counter.builder("stock_manager.catalog_cache.lookups")
+                .description("Leituras do cache do catálogo de cervejas, por resultado")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("stock_manager.catalog_cache.size", this, BeerCatalogCache::size)
+                .description("Quantidade de leituras guardadas no cache do catálogo")
+                .register(registry);
+    }
+
+    /**
+     * Retorna a leitura guardada de uma cerveja, ou a carrega e guarda.
+     *
+     * @param region O tipo da leitura (ex: {@code "stock"}), que separa as leituras da mesma cerveja.
+     * @param beerId O ID da cerveja.
+     * @param stockSensitive Se a leitura contém dados de estoque sujeitos ao limite de defasagem.
+     * @param loader Carrega a leitura do banco; uma exceção é propagada e nada é guardado.
+     * @param <T> O tipo da leitura, que não deve ser alterado por quem a recebe.
+     * @return A leitura.
+     */
+    public <T> T findBeer(String region, Long beerId, boolean stockSensitive, Supplier<T> loader) {
+        return find(new Key(region, beerId, null), stockSensitive, loader);
+    }
+
+    /**
+     * Retorna a leitura guardada de uma página de listagem, ou a carrega e guarda.
+     *
+     * @param region O tipo da listagem (ex: {@code "beers"}).
+     * @param signature Os filtros e a paginação da leitura (com {@code equals} por valor).
+     * @param stockSensitive Se a página depende de quantidades em estoque (filtros, ordenação ou conteúdo).
+     * @param loader Carrega a página do banco; uma exceção é propagada e nada é guardado.
+     * @param <T> O tipo da leitura, que não deve ser alterado por quem a recebe.
+     * @return A leitura.
+     */
+    public <T> T findPage(String region, Object signature, boolean stockSensitive, Supplier<T> loader) {
+        return find(new Key(region, null, signature), stockSensitive, loader);
+    }
+
+    /**
+     * Indica se uma listagem de cervejas depende das quantidades em estoque (filtros ou
+     * ordenação por quantidade).
+     *
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param sort A ordenação da listagem.
+     * @return {@code true} se a página é sensível ao estoque.
+     */
+    public static boolean isStockSensitive(Integer minQuantity, Integer maxQuantity, Sort sort) {
+        return minQuantity != null || maxQuantity != null
+                || sort.stream().anyMatch(order -> order.getProperty().startsWith("stock"));
+    }
+
+    /**
+     * Retorna a versão do catálogo, incrementada após o commit de cada alteração de cerveja ou
+     * do catálogo inteiro.
+     *
+     * @return A versão corrente.
+     */
+    public long version() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Descarta, após o commit da transação corrente, as leituras da cerveja e todas as páginas.
+     *
+     * @param beerId O ID da cerveja incluída, alterada ou excluída.
+     */
+    public void beerChanged(Long beerId) {
+        AfterCommit.run(() -> {
+            synchronized (entries) {
+                catalogVersion.incrementAndGet();
+                entries.keySet().removeIf(key -> key.page() != null || beerId.equals(key.beerId()));
+            }
+            logger.debug("SERVICE: Cache do catálogo invalidado pela cerveja ID {}.", beerId);
+        });
+    }
+
+    /**
+     * Descarta todas as leituras após o commit da transação corrente (ex: alteração de uma
+     * categoria, exibida em várias cervejas).
+     */
+    public void catalogChanged() {
+        AfterCommit.run(() -> {
+            synchronized (entries) {
+                catalogVersion.incrementAndGet();
+                entries.clear();
+            }
+            logger.debug("SERVICE: Cache do catálogo invalidado por inteiro.");
+        });
+    }
+
+    private <T> T find(Key key, boolean stockSensitive, Supplier<T> loader) {
+        if (!enabled) {
+            return load(loader);
+        }
+
+        long now = System.nanoTime();
+        long catalog = catalogVersion.get();
+        long stock = stockLedger.version();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && isFresh(entry, stockSensitive, now, stock)) {
+            hitCounter.increment();
+            @SuppressWarnings("unchecked")
+            T value = (T) entry.value();
+            return value;
+        }
+
+        missCounter.increment();
+        T value = load(loader);
+        synchronized (entries) {
+            // Uma alteração do catálogo durante a carga pode não estar refletida na leitura
+            if (catalogVersion.get() == catalog) {
+                entries.put(key, new Entry(value, stock, now));
+            }
+        }
+        return value;
+    }
+
+    private boolean isFresh(Entry entry, boolean stockSensitive, long now, long stock) {
+        long age = now - entry.loadedAt();
+        if (age >= TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+            return false;
+        }
+        return !stockSensitive
+                || entry.stockVersion() == stock
+                || age < TimeUnit.MILLISECONDS.toNanos(stockStalenessMillis);
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        return readOnlyTemplate.execute(status -> loader.get());
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Chave de uma leitura: a cerveja ({@code beerId}) ou a página ({@code page}) do tipo informado.
+     */
+    private record Key(String region, Long beerId, Object page) {
+    }
+
+    /**
+     * Leitura guardada, com a versão do ledger e o instante ({@link System#nanoTime()}) em que
+     * foi carregada.
+     */
+    private record Entry(Object value, long stockVersion, long loadedAt) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.anapedra.stock_manager.services.catalog;
+
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GET condicional ({@code ETag} / {@code If-None-Match}) das leituras do catálogo consultadas
+ * periodicamente pelas lojas e aplicativos: categorias, listagens de cervejas e estoque por cerveja.
+ *
+ * <p>As ETags são montadas a partir de contadores de versão mantidos em memória, sem executar a
+ * consulta nem serializar a resposta:</p>
+ * <ul>
+ *     <li>categorias: a {@link ReferenceDataRegistry#categoryVersion() versão das categorias};</li>
+ *     <li>listagens de cervejas: a {@link BeerCatalogCache#version() versão do catálogo} e as
+ *     {@link StockLedger#changes() alterações do ledger} (as quantidades são exibidas em cada item);</li>
+ *     <li>estoque de uma cerveja: a versão do catálogo e o {@link StockLedger#stamp carimbo} do
+ *     saldo e da reserva da cerveja.</li>
+ * </ul>
+ *
+ * <p>Os controladores consultam este componente antes de chamar o serviço: se a ETag enviada pelo
+ * cliente ainda é a corrente, a resposta é {@code 304 Not Modified}, sem consulta ao banco. A ETag
+ * é calculada antes da leitura, de modo que uma alteração concorrente produz, no pior caso, uma
+ * ETag anterior ao conteúdo (e um novo {@code 200} na próxima consulta), nunca o contrário.</p>
+ *
+ * <p>Não recebem ETag as listagens filtradas ou ordenadas por quantidade: o
+ * {@link BeerCatalogCache} pode servi-las com uma defasagem limitada após uma movimentação de
+ * estoque, e a ETag corrente ficaria associada a um conteúdo anterior. As ETags incluem o instante
+ * de início da aplicação, pois os contadores recomeçam a cada reinício.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class CatalogETags {
+
+    /**
+     * Habilita o GET condicional; desabilitado, as respostas não recebem ETag.
+     */
+    @Value("${stock-manager.etag.enabled:true}")
+    private boolean enabled = true;
+
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final BeerCatalogCache beerCatalogCache;
+    private final StockLedger stockLedger;
+    private final MeterRegistry registry;
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param referenceDataRegistry Registro das categorias, com a versão das categorias.
+     * @param beerCatalogCache Cache do catálogo, com a versão do catálogo.
+     * @param stockLedger Ledger de estoque, com as alterações de saldo e reserva.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public CatalogETags(ReferenceDataRegistry referenceDataRegistry, BeerCatalogCache beerCatalogCache,
+                        StockLedger stockLedger, MeterRegistry registry) {
+        this.referenceDataRegistry = referenceDataRegistry;
+        this.beerCatalogCache = beerCatalogCache;
+        this.stockLedger = stockLedger;
+        this.registry = registry;
+    }
+
+    /**
+     * Verifica a ETag das categorias (listagem e consulta por ID).
+     *
+     * @param request A requisição, que recebe a ETag ou o status {@code 304}.
+     * @return {@code true} se o cliente já tem a versão corrente e a resposta deve ser {@code 304}.
+     */
+    public boolean categoriesNotModified(WebRequest request) {
+        return check(request, "categories", "c" + referenceDataRegistry.categoryVersion());
+    }
+
+    /**
+     * Verifica a ETag de uma listagem de cervejas.
+     *
+     * @param request A requisição, que recebe a ETag ou o status {@code 304}.
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param pageable A página solicitada.
+     * @return {@code true} se o cliente já tem a versão corrente e a resposta deve ser {@code 304}.
+     */
+    public boolean beersNotModified(WebRequest request, Integer minQuantity, Integer maxQuantity, Pageable pageable) {
+        if (BeerCatalogCache.isStockSensitive(minQuantity, maxQuantity, pageable.getSort())) {
+            return check(request, "beers", null);
+        }
+        return check(request, "beers", "b" + beerCatalogCache.version() + "." + stockLedger.changes());
+    }
+
+    /**
+     * Verifica a ETag do estoque de uma cerveja.
+     *
+     * @param request A requisição, que recebe a ETag ou o status {@code 304}.
+     * @param beerId O ID da cerveja.
+     * @return {@code true} se o cliente já tem a versão corrente e a resposta deve ser {@code 304}.
+     */
+    public boolean stockNotModified(WebRequest request, Long beerId) {
+        return check(request, "stock",
+                "s" + beerCatalogCache.version() + "." + Long.toHexString(stockLedger.stamp(beerId)));
+    }
+
+    private boolean check(WebRequest request, String resource, String version) {
+        if (!enabled || version == null) {
+            counter(resource, "skipped").increment();
+            return false;
+        }
+        // Revalidação a cada uso: o cliente guarda a resposta e a confirma com If-None-Match
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse() instanceof HttpServletResponse response) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        boolean notModified = request.checkNotModified("\"" + epoch + "-" + version + "\"");
+        counter(resource, notModified ? "not_modified" : "modified").increment();
+        return notModified;
+    }
+
+    private Counter counter(String resource, String result) {
+        return counters.computeIfAbsent(resource + ":" + result, key -> Counter.builder("stock_manager.etag.requests")
+                .description("Leituras com GET condicional, por recurso e resultado (not_modified = 304)")
+                .tag("resource", resource)
+                .tag("result", result)
+                .register(registry));
+    }
+}
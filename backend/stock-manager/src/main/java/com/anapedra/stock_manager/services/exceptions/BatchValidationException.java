@@ -0,0 +1,43 @@
+package com.anapedra.stock_manager.services.exceptions;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exceção de aplicação utilizada para recusar uma operação em lote inteira quando um ou
+ * mais itens são inválidos (status HTTP 422 Unprocessable Entity).
+ *
+ * <p>Carrega o motivo de cada item recusado, indexado pelo caminho do campo no lote
+ * (ex: {@code [3].beerId}), para que o Controller Advice o devolva no mesmo formato
+ * dos erros de validação de campos.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@SuppressWarnings("serial")
+public class BatchValidationException extends RuntimeException {
+
+    private final Map<String, String> errors;
+
+    /**
+     * Construtor para inicializar a exceção com os erros de cada item.
+     *
+     * @param msg A mensagem descritiva do erro.
+     * @param errors Os motivos de recusa, indexados pelo caminho do campo no lote.
+     */
+    public BatchValidationException(String msg, Map<String, String> errors) {
+        super(msg);
+        this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    /**
+     * Retorna os motivos de recusa de cada item.
+     *
+     * @return Os erros, indexados pelo caminho do campo no lote.
+     */
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,234 @@
+package com.anapedra.stock_manager.services.expiration;
+
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice em memória das datas de validade das cervejas.
+ *
+ * <p>As cervejas são agrupadas por dia de vencimento em um mapa ordenado; cada grupo é um
+ * vetor ordenado de IDs, substituído por inteiro a cada alteração. Assim, "vencidas antes
+ * de X" e "vencem nos próximos N dias" são respondidas em O(log n + k), sem varrer
+ * {@code tb_beers}, e as contagens por janela somam apenas o tamanho dos grupos.</p>
+ *
+ * <p>O índice é carregado do banco na primeira consulta e mantido pelo {@code BeerService}
+ * após o commit de cada inclusão, alteração ou exclusão de cerveja. Cervejas sem data de
+ * validade não são indexadas (nunca vencem).</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class BeerExpirationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeerExpirationIndex.class);
+
+    /**
+     * Janelas (em dias) das contagens de cervejas a vencer.
+     */
+    private static final int[] SUMMARY_WINDOWS = {7, 30, 90};
+
+    private static final long[] EMPTY = new long[0];
+
+    private final BeerRepository beerRepository;
+    private final ConcurrentSkipListMap<LocalDate, long[]> buckets = new ConcurrentSkipListMap<>();
+    private final Map<Long, LocalDate> dates = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile boolean loaded;
+
+    /**
+     * Indica se as consultas de validade devem usar o índice (desligado, voltam ao banco).
+     */
+    @Value("${stock-manager.expiration-index.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param beerRepository Repositório de cervejas, usado na carga do índice.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public BeerExpirationIndex(BeerRepository beerRepository, MeterRegistry registry) {
+        this.beerRepository = beerRepository;
+
+        Gauge.builder("stock_manager.expiration_index.size", dates, Map::size)
+                .description("Quantidade de cervejas no índice de validade")
+                .register(registry);
+    }
+
+    /**
+     * Indica se as consultas de validade devem ser atendidas pelo índice.
+     *
+     * @return {@code true} se o índice estiver habilitado.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Retorna, em ordem de validade e de ID, as cervejas vencidas antes da data de referência
+     * (validade estritamente anterior, como em {@code BeerRepository.findExpiredBeersBefore}).
+     *
+     * @param referenceDate A data de referência.
+     * @return Os IDs das cervejas.
+     */
+    public List<Long> expiredBefore(LocalDate referenceDate) {
+        ensureLoaded();
+        return collect(buckets.headMap(referenceDate, false).values());
+    }
+
+    /**
+     * Retorna, em ordem de validade e de ID, as cervejas que ainda não venceram e vencem
+     * nos próximos dias (validade em {@code (today, today + days]}, como em
+     * {@code find_beers_using_filters}).
+     *
+     * @param today A data corrente.
+     * @param days A quantidade de dias.
+     * @return Os IDs das cervejas.
+     */
+    public List<Long> expiringWithin(LocalDate today, int days) {
+        ensureLoaded();
+        if (days < 1) {
+            return List.of();
+        }
+        return collect(buckets.subMap(today, false, today.plusDays(days), true).values());
+    }
+
+    /**
+     * Conta as cervejas vencidas (validade até hoje, como em {@code Beer.isExpired()}) e as
+     * que vencem em 7, 30 e 90 dias.
+     *
+     * @param today A data corrente.
+     * @return As contagens, nas chaves {@code expired}, {@code within7Days},
+     *         {@code within30Days} e {@code within90Days}.
+     */
+    public Map<String, Long> summary(LocalDate today) {
+        ensureLoaded();
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("expired", count(buckets.headMap(today, true)));
+        for (int days : SUMMARY_WINDOWS) {
+            summary.put("within" + days + "Days", count(buckets.subMap(today, false, today.plusDays(days), true)));
+        }
+        return summary;
+    }
+
+    /**
+     * Registra, após o commit da transação corrente, a validade de uma cerveja incluída
+     * ou alterada.
+     *
+     * @param beerId O ID da cerveja.
+     * @param expirationDate A data de validade (nula remove a cerveja do índice).
+     */
+    public void index(Long beerId, LocalDate expirationDate) {
+        AfterCommit.run(() -> apply(beerId, expirationDate));
+    }
+
+    /**
+     * Remove uma cerveja do índice após o commit da transação corrente.
+     *
+     * @param beerId O ID da cerveja.
+     */
+    public void evict(Long beerId) {
+        AfterCommit.run(() -> apply(beerId, null));
+    }
+
+    private void apply(Long beerId, LocalDate expirationDate) {
+        synchronized (writeLock) {
+            // Antes da carga, o banco já contém a alteração
+            if (!loaded) {
+                return;
+            }
+            put(beerId, expirationDate);
+        }
+    }
+
+    private void put(Long beerId, LocalDate expirationDate) {
+        LocalDate previous = (expirationDate != null) ? dates.put(beerId, expirationDate) : dates.remove(beerId);
+        if (previous != null && !previous.equals(expirationDate)) {
+            long[] ids = buckets.getOrDefault(previous, EMPTY);
+            int position = Arrays.binarySearch(ids, beerId);
+            if (position >= 0) {
+                long[] remaining = new long[ids.length - 1];
+                System.arraycopy(ids, 0, remaining, 0, position);
+                System.arraycopy(ids, position + 1, remaining, position, remaining.length - position);
+                if (remaining.length == 0) {
+                    buckets.remove(previous);
+                } else {
+                    buckets.put(previous, remaining);
+                }
+            }
+        }
+        if (expirationDate != null && !expirationDate.equals(previous)) {
+            long[] ids = buckets.getOrDefault(expirationDate, EMPTY);
+            int position = Arrays.binarySearch(ids, beerId);
+            if (position < 0) {
+                int insertion = -position - 1;
+                long[] grown = new long[ids.length + 1];
+                System.arraycopy(ids, 0, grown, 0, insertion);
+                grown[insertion] = beerId;
+                System.arraycopy(ids, insertion, grown, insertion + 1, ids.length - insertion);
+                buckets.put(expirationDate, grown);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (loaded) {
+                return;
+            }
+            long start = System.nanoTime();
+            Map<LocalDate, List<Long>> grouped = new TreeMap<>();
+            for (Object[] row : beerRepository.findAllExpirationDates()) {
+                Long beerId = ((Number) row[0]).longValue();
+                LocalDate expirationDate = (LocalDate) row[1];
+                dates.put(beerId, expirationDate);
+                grouped.computeIfAbsent(expirationDate, date -> new ArrayList<>()).add(beerId);
+            }
+            grouped.forEach((date, ids) -> buckets.put(date, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+            loaded = true;
+            logger.info("SERVICE: Índice de validade carregado com {} cerveja(s) em {} dia(s) de vencimento ({} ms).",
+                    dates.size(), buckets.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static List<Long> collect(Collection<long[]> groups) {
+        List<Long> ids = new ArrayList<>();
+        for (long[] group : groups) {
+            for (long id : group) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static long count(NavigableMap<LocalDate, long[]> groups) {
+        long total = 0;
+        for (long[] group : groups.values()) {
+            total += group.length;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,162 @@
+package com.anapedra.stock_manager.services.export;
+
+import com.anapedra.stock_manager.domain.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Escreve as linhas de uma exportação, uma por vez, no formato escolhido.
+ *
+ * <p>Nada é acumulado além do buffer do {@link Writer} informado: cada linha é formatada e
+ * escrita assim que recebida. Números são escritos como números; datas, momentos e enums, pelo
+ * {@code toString()} (ISO-8601 e nome do enum).</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public abstract class ExportWriter {
+
+    protected final List<String> columns;
+
+    private ExportWriter(List<String> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Cria o escritor do formato informado.
+     *
+     * @param format O formato do arquivo.
+     * @param columns Os nomes das colunas, na ordem dos valores de cada linha.
+     * @param writer O destino (não é fechado pelo escritor).
+     * @param jsonFactory A fábrica usada para gerar o NDJSON.
+     * @return O escritor.
+     * @throws UncheckedIOException Se a escrita do cabeçalho falhar.
+     */
+    public static ExportWriter of(ExportFormat format, List<String> columns, Writer writer, JsonFactory jsonFactory) {
+        try {
+            return (format == ExportFormat.CSV)
+                    ? new Csv(columns, writer)
+                    : new Ndjson(columns, writer, jsonFactory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escreve uma linha.
+     *
+     * @param values Os valores, na ordem das colunas.
+     * @throws UncheckedIOException Se a escrita falhar (ex: o cliente encerrou a conexão).
+     */
+    public void write(Object[] values) {
+        try {
+            writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Envia ao destino o que estiver no buffer do escritor.
+     *
+     * @throws IOException Se a escrita falhar.
+     */
+    public abstract void flush() throws IOException;
+
+    protected abstract void writeRow(Object[] values) throws IOException;
+
+    /**
+     * CSV conforme a RFC 4180: valores com vírgula, aspas ou quebra de linha ficam entre aspas.
+     */
+    private static final class Csv extends ExportWriter {
+
+        private final Writer writer;
+
+        private Csv(List<String> columns, Writer writer) throws IOException {
+            super(columns);
+            this.writer = writer;
+            writeRow(columns.toArray());
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Um objeto JSON por linha, gerado em streaming pelo Jackson.
+     */
+    private static final class Ndjson extends ExportWriter {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(List<String> columns, Writer writer, JsonFactory jsonFactory) throws IOException {
+            super(columns);
+            this.generator = jsonFactory.createGenerator(writer);
+            // O destino pertence a quem chamou: o gerador não o fecha
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Cada objeto termina com a sua própria quebra de linha, sem o separador padrão (espaço)
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Integer || value instanceof Long) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.doubleValue());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.anapedra.stock_manager.services.forecast;
+
+import com.anapedra.stock_manager.domain.dtos.DemandForecastDTO;
+import com.anapedra.stock_manager.domain.entities.DemandForecastState;
+import com.anapedra.stock_manager.repositories.DemandForecastStateRepository;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém, em memória, a previsão de demanda de cada cerveja, atualizada a cada pedido criado.
+ *
+ * <p>Para cada cerveja são mantidos uma taxa diária de vendas dessazonalizada, com suavização
+ * exponencial ({@code stock-manager.forecast.alpha}), e sete fatores sazonais, um por dia da
+ * semana ({@code stock-manager.forecast.seasonal-gamma}), com média 1. As vendas do dia corrente
+ * (UTC) são acumuladas e incorporadas ao modelo quando o dia vira; os dias sem vendas contam
+ * como zero. A previsão de um período é a taxa multiplicada pelo fator de cada dia, sem consultar
+ * o histórico de pedidos.</p>
+ *
+ * <p>O estado é gravado em {@code tb_demand_forecast_state} uma vez por dia
+ * ({@code stock-manager.forecast.checkpoint-cron}) e no encerramento da aplicação, e é
+ * recarregado na inicialização. Vendas registradas após a última gravação são perdidas se a
+ * aplicação parar de forma abrupta.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class DemandForecaster implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(DemandForecaster.class);
+
+    /**
+     * Menor fator sazonal aceito, evitando que um dia sem vendas zere o fator de vez.
+     */
+    private static final double MIN_FACTOR = 0.05;
+
+    /**
+     * Maior quantidade de dias sem vendas incorporados um a um; além disso a taxa já é desprezível.
+     */
+    private static final int MAX_IDLE_DAYS = 366;
+
+    private final DemandForecastStateRepository demandForecastStateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    private final ConcurrentHashMap<Long, DemandModel> models = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private final Timer checkpointTimer;
+
+    /**
+     * Peso das vendas do dia na taxa diária (0 a 1).
+     */
+    @Value("${stock-manager.forecast.alpha:0.2}")
+    private double alpha = 0.2;
+
+    /**
+     * Peso das vendas do dia no fator sazonal do seu dia da semana (0 a 1).
+     */
+    @Value("${stock-manager.forecast.seasonal-gamma:0.1}")
+    private double seasonalGamma = 0.1;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param demandForecastStateRepository Repositório dos estados gravados da previsão.
+     * @param transactionManager O gerenciador de transações usado na carga e na gravação.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public DemandForecaster(DemandForecastStateRepository demandForecastStateRepository,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.demandForecastStateRepository = demandForecastStateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.checkpointTimer = Timer.builder("stock_manager.forecast.checkpoint_time")
+                .description("Tempo de gravação do estado da previsão de demanda")
+                .register(registry);
+
+        Gauge.builder("stock_manager.forecast.beers", models, Map::size)
+                .description("Cervejas com previsão de demanda em memória")
+                .register(registry);
+    }
+
+    /**
+     * Recarrega o estado gravado antes que a aplicação passe a atender requisições.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<DemandForecastState> states = transactionTemplate.execute(status -> demandForecastStateRepository.findAll());
+        if (states == null) {
+            return;
+        }
+        for (DemandForecastState state : states) {
+            models.put(state.getBeerId(), DemandModel.restore(state));
+        }
+        logger.info("SERVICE: Previsão de demanda restaurada. Cervejas: {}", models.size());
+    }
+
+    /**
+     * Registra as unidades vendidas em um pedido após o commit da transação corrente.
+     *
+     * @param quantities As unidades vendidas, indexadas pelo ID da cerveja.
+     * @param moment O momento do pedido.
+     */
+    public void record(Map<Long, Integer> quantities, Instant moment) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        LocalDate day = LocalDate.ofInstant(moment, ZoneOffset.UTC);
+        Map<Long, Integer> copy = Map.copyOf(quantities);
+        AfterCommit.run(() -> copy.forEach((beerId, units) -> record(beerId, units, day)));
+    }
+
+    /**
+     * Registra as unidades vendidas de uma cerveja em um dia.
+     *
+     * <p>Vendas de um dia anterior ao dia em aberto (ex: pedidos que chegam após a virada)
+     * entram no dia em aberto, pois os dias encerrados não são reabertos.</p>
+     *
+     * @param beerId O ID da cerveja.
+     * @param units As unidades vendidas.
+     * @param day O dia da venda (UTC).
+     */
+    public void record(Long beerId, int units, LocalDate day) {
+        if (units <= 0) {
+            return;
+        }
+        models.compute(beerId, (id, model) -> {
+            DemandModel next = (model != null) ? model : new DemandModel(day);
+            next.advanceTo(day, alpha, seasonalGamma);
+            next.add(units);
+            return next;
+        });
+        dirty.add(beerId);
+    }
+
+    /**
+     * Calcula a previsão de demanda das cervejas para os próximos dias.
+     *
+     * @param today A data de referência (UTC); a previsão começa no dia seguinte.
+     * @param days A quantidade de dias previstos.
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return As previsões, em ordem de ID da cerveja. Cervejas sem vendas registradas não aparecem.
+     */
+    public List<DemandForecastDTO> forecast(LocalDate today, int days, Long beerId) {
+        List<Long> beerIds = new ArrayList<>((beerId != null) ? Set.of(beerId) : models.keySet());
+        beerIds.sort(null);
+
+        List<DemandForecastDTO> forecasts = new ArrayList<>(beerIds.size());
+        for (Long id : beerIds) {
+            DemandForecastDTO forecast = forecastOf(today, days, id);
+            if (forecast != null) {
+                forecasts.add(forecast);
+            }
+        }
+        return forecasts;
+    }
+
+    /**
+     * Calcula a previsão de demanda de uma cerveja para os próximos dias.
+     *
+     * @param today A data de referência (UTC); a previsão começa no dia seguinte.
+     * @param days A quantidade de dias previstos.
+     * @param beerId O ID da cerveja.
+     * @return A previsão, ou {@code null} se a cerveja não tiver vendas registradas.
+     */
+    public DemandForecastDTO forecastOf(LocalDate today, int days, Long beerId) {
+        DemandForecastDTO[] forecast = new DemandForecastDTO[1];
+        models.computeIfPresent(beerId, (key, model) -> {
+            if (model.advanceTo(today, alpha, seasonalGamma)) {
+                dirty.add(key);
+            }
+            forecast[0] = new DemandForecastDTO(key, today, days, round(model.level),
+                    round(model.forecast(today, days)), model.observed);
+            return model;
+        });
+        return forecast[0];
+    }
+
+    /**
+     * Remove uma cerveja da previsão após o commit da transação corrente (ex: exclusão da cerveja).
+     * O estado gravado é excluído junto com a cerveja.
+     *
+     * @param beerId O ID da cerveja.
+     */
+    public void forget(Long beerId) {
+        AfterCommit.run(() -> {
+            models.remove(beerId);
+            dirty.remove(beerId);
+        });
+    }
+
+    /**
+     * Grava, uma vez por dia, o estado das cervejas alteradas desde a última gravação.
+     */
+    @Scheduled(cron = "${stock-manager.forecast.checkpoint-cron:0 15 0 * * *}")
+    public void scheduledCheckpoint() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            logger.error("SERVICE ERROR: Falha ao gravar o estado da previsão de demanda.", e);
+        }
+    }
+
+    /**
+     * Grava o estado pendente antes do encerramento da aplicação.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduledCheckpoint();
+    }
+
+    /**
+     * Grava o estado das cervejas alteradas desde a última gravação. Em caso de falha, as
+     * cervejas voltam a ficar pendentes para a próxima gravação.
+     *
+     * @return A quantidade de estados gravados.
+     */
+    public int checkpoint() {
+        checkpointLock.lock();
+        try {
+            List<Long> beerIds = new ArrayList<>(dirty);
+            if (beerIds.isEmpty()) {
+                return 0;
+            }
+            dirty.removeAll(beerIds);
+            beerIds.sort(null);
+
+            Instant now = Instant.now();
+            List<DemandForecastState> states = new ArrayList<>(beerIds.size());
+            for (Long beerId : beerIds) {
+                DemandModel model = models.get(beerId);
+                if (model != null) {
+                    states.add(model.toState(beerId, now));
+                }
+            }
+
+            try {
+                checkpointTimer.record(() -> transactionTemplate.executeWithoutResult(
+                        status -> demandForecastStateRepository.upsertAll(states)));
+            } catch (RuntimeException e) {
+                beerIds.stream().filter(models::containsKey).forEach(dirty::add);
+                throw e;
+            }
+            logger.info("SERVICE: Estado da previsão de demanda gravado. Cervejas: {}", states.size());
+            return states.size();
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Modelo de demanda de uma cerveja. Alterado apenas dentro de {@code compute} do mapa de
+     * modelos; os métodos sincronizam no próprio modelo para a leitura da gravação.
+     */
+    private static final class DemandModel {
+
+        private double level;
+        private final double[] factors = new double[7];
+        private LocalDate day;
+        private long units;
+        private int observed;
+
+        DemandModel(LocalDate day) {
+            Arrays.fill(factors, 1.0);
+            this.day = day;
+        }
+
+        static DemandModel restore(DemandForecastState state) {
+            DemandModel model = new DemandModel(state.getCurrentDay());
+            model.level = state.getDailyRate();
+            model.units = state.getCurrentUnits();
+            model.observed = state.getObservedDays();
+            String[] values = state.getSeasonality().split(",");
+            if (values.length == 7) {
+                for (int i = 0; i < 7; i++) {
+                    model.factors[i] = Double.parseDouble(values[i].trim());
+                }
+            } else {
+                logger.warn("SERVICE WARN: Fatores sazonais inválidos para a cerveja ID {}. Usando fatores neutros.", state.getBeerId());
+            }
+            return model;
+        }
+
+        /**
+         * Encerra os dias anteriores ao dia informado, incorporando as suas vendas ao modelo.
+         *
+         * @return {@code true} se algum dia foi encerrado.
+         */
+        synchronized boolean advanceTo(LocalDate target, double alpha, double gamma) {
+            if (!day.isBefore(target)) {
+                return false;
+            }
+            long gap = ChronoUnit.DAYS.between(day, target);
+            for (long i = 0; i < Math.min(gap, MAX_IDLE_DAYS); i++) {
+                closeDay(alpha, gamma);
+            }
+            day = target;
+            return true;
+        }
+
+        synchronized void add(int amount) {
+            units += amount;
+        }
+
+        /**
+         * Soma da taxa multiplicada pelo fator sazonal de cada dia do período.
+         */
+        synchronized double forecast(LocalDate today, int days) {
+            double total = 0;
+            int first = today.getDayOfWeek().getValue() % 7;
+            for (int k = 0; k < days; k++) {
+                total += factors[(first + k) % 7];
+            }
+            return level * total;
+        }
+
+        synchronized DemandForecastState toState(Long beerId, Instant now) {
+            StringBuilder seasonality = new StringBuilder();
+            for (int i = 0; i < 7; i++) {
+                if (i > 0) {
+                    seasonality.append(',');
+                }
+                seasonality.append(factors[i]);
+            }
+            return new DemandForecastState(beerId, level, seasonality.toString(), day, units, observed, now);
+        }
+
+        private void closeDay(double alpha, double gamma) {
+            int dow = day.getDayOfWeek().getValue() - 1;
+            if (observed == 0) {
+                level = units;
+            } else {
+                double previous = level;
+                level = alpha * (units / factors[dow]) + (1 - alpha) * previous;
+                if (previous > 0) {
+                    factors[dow] = Math.max(MIN_FACTOR, gamma * (units / previous) + (1 - gamma) * factors[dow]);
+                    normalize();
+                }
+            }
+            observed++;
+            units = 0;
+            day = day.plusDays(1);
+        }
+
+        private void normalize() {
+            double sum = 0;
+            for (double factor : factors) {
+                sum += factor;
+            }
+            for (int i = 0; i < 7; i++) {
+                factors[i] = factors[i] * 7 / sum;
+            }
+        }
+    }
+}
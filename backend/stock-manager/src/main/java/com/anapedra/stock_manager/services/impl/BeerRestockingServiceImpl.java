@@ -1,22 +1,50 @@
 package com.anapedra.stock_manager.services.impl;
 
 import com.anapedra.stock_manager.domain.dtos.BeerRestockingDTO;
+import com.anapedra.stock_manager.domain.dtos.ReplenishmentPlanReportDTO;
+import com.anapedra.stock_manager.domain.dtos.RestockImportReportDTO;
+import com.anapedra.stock_manager.domain.dtos.RestockProposalDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.BeerRestocking;
+import com.anapedra.stock_manager.domain.enums.RestockImportFormat;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
 import com.anapedra.stock_manager.repositories.BeerRepository;
 import com.anapedra.stock_manager.repositories.BeerRestockingRepository;
+import com.anapedra.stock_manager.repositories.RestockProposalRepository;
 import com.anapedra.stock_manager.services.BeerRestockingService;
 import com.anapedra.stock_manager.services.exceptions.DatabaseException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.ledger.StockEntry;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.replenishment.ReplenishmentPlanner;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,21 +70,64 @@ public class BeerRestockingServiceImpl implements BeerRestockingService {
 
     private final BeerRestockingRepository bookRestockingRepository;
     private final BeerRepository bookRepository; // Nota: O nome da variável sugere "Book", mas o tipo é "Beer"
+    private final StockLedger stockLedger;
+    private final RestockProposalRepository restockProposalRepository;
+    private final ReplenishmentPlanner replenishmentPlanner;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
     private final Timer restockingTimer;
+    private final Timer importTimer;
+    private final Counter importedLinesCounter;
+    private final Counter rejectedLinesCounter;
+
+    /**
+     * Quantidade de linhas gravadas por transação na importação em lote.
+     */
+    @Value("${stock-manager.restock.import.chunk-size:1000}")
+    private int importChunkSize = 1000;
+
+    /**
+     * Máximo de linhas recusadas detalhadas no relatório da importação.
+     */
+    @Value("${stock-manager.restock.import.max-errors:1000}")
+    private int importMaxErrors = 1000;
 
     /**
      * Construtor para injeção de dependências.
      *
      * @param bookRestockingRepository Repositório de reposição de cervejas.
      * @param bookRepository Repositório de cervejas.
+     * @param stockLedger Ledger de estoque em memória, que recebe a quantidade reposta.
+     * @param restockProposalRepository Repositório das propostas de reposição.
+     * @param replenishmentPlanner Planejamento de reposição, que gera as propostas.
+     * @param transactionManager O gerenciador de transações usado na importação em blocos.
+     * @param objectMapper O {@link ObjectMapper} usado para ler as linhas NDJSON.
      * @param registry O registro de métricas do Micrometer.
      */
-    public BeerRestockingServiceImpl(BeerRestockingRepository bookRestockingRepository, BeerRepository bookRepository, MeterRegistry registry) {
+    public BeerRestockingServiceImpl(BeerRestockingRepository bookRestockingRepository, BeerRepository bookRepository, StockLedger stockLedger,
+                                     RestockProposalRepository restockProposalRepository, ReplenishmentPlanner replenishmentPlanner,
+                                     PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry registry) {
         this.bookRestockingRepository = bookRestockingRepository;
         this.bookRepository = bookRepository;
+        this.stockLedger = stockLedger;
+        this.restockProposalRepository = restockProposalRepository;
+        this.replenishmentPlanner = replenishmentPlanner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
         this.restockingTimer = Timer.builder("stock_manager.restocking.creation_time")
                 .description("Tempo de execução da criação de reabastecimento")
                 .register(registry);
+        this.importTimer = Timer.builder("stock_manager.restocking.import_time")
+                .description("Tempo de execução da importação de reposições em lote")
+                .register(registry);
+        this.importedLinesCounter = Counter.builder("stock_manager.restocking.import_lines")
+                .tag("result", "imported")
+                .description("Linhas gravadas pela importação de reposições em lote")
+                .register(registry);
+        this.rejectedLinesCounter = Counter.builder("stock_manager.restocking.import_lines")
+                .tag("result", "rejected")
+                .description("Linhas recusadas pela importação de reposições em lote")
+                .register(registry);
     }
 
     /**
@@ -93,6 +164,9 @@ public class BeerRestockingServiceImpl implements BeerRestockingService {
      * Cria e persiste um novo registro de reposição de cerveja,
      * e ATUALIZA o estoque da cerveja correspondente de forma transacional.
      *
+     * <p>A quantidade reposta é somada ao {@link StockLedger} somente após o commit,
+     * que a persiste em {@code tb_stock} de forma assíncrona.</p>
+     *
      * <p>O tempo de execução desta operação é monitorado pelo {@code restockingTimer}.</p>
      *
      * @param dto O {@link BeerRestockingDTO} com os dados para criação.
@@ -108,20 +182,153 @@ public class BeerRestockingServiceImpl implements BeerRestockingService {
             BeerRestocking entity = new BeerRestocking();
             copyDtoToEntity(dto, entity);
 
-            Beer beer = entity.getBeer();
-            if (beer.getStock() != null) {
-                beer.getStock().setQuantity(beer.getStock().getQuantity() + entity.getQuantity());
-                logger.info("SERVICE: Estoque da cerveja ID {} atualizado. Nova quantidade: {}", beer.getId(), beer.getStock().getQuantity());
-            } else {
-                logger.warn("SERVICE WARNING: Cerveja ID {} sem registro de Stock. Inicializando com quantidade reposta.", beer.getId());
-            }
-
             entity.setMoment(Instant.now());
             BeerRestocking savedEntity = bookRestockingRepository.save(entity);
+
+            Beer beer = entity.getBeer();
+            stockLedger.deposit(beer.getId(), entity.getQuantity(), StockMovementType.RESTOCK, savedEntity::getId);
+            logger.info("SERVICE: Reposição de {} unidade(s) registrada para a cerveja ID {}.", entity.getQuantity(), beer.getId());
             return new BeerRestockingDTO(savedEntity);
         });
     }
 
+    /**
+     * Importa reposições em massa, lendo o conteúdo linha a linha sem carregá-lo inteiro.
+     *
+     * <p>As linhas válidas são acumuladas em blocos de {@code stock-manager.restock.import.chunk-size}.
+     * Cada bloco é gravado na sua própria transação: as cervejas do bloco são validadas com
+     * uma única consulta, as reposições são incluídas com um lote JDBC e as quantidades são
+     * somadas por cerveja no {@link StockLedger} após o commit. Assim, a memória usada
+     * depende do tamanho do bloco, e não do arquivo.</p>
+     *
+     * <p>Linhas malformadas, com quantidade não positiva ou de cervejas sem estoque são
+     * recusadas e informadas no relatório; se a gravação de um bloco falhar, todas as linhas
+     * do bloco são recusadas e a importação continua com o próximo.</p>
+     *
+     * @param reader O conteúdo do arquivo.
+     * @param format O formato das linhas.
+     * @return O {@link RestockImportReportDTO} com os totais e as linhas recusadas.
+     * @throws IOException Se a leitura do conteúdo falhar.
+     */
+    @Override
+    public RestockImportReportDTO importRestocking(Reader reader, RestockImportFormat format) throws IOException {
+        logger.info("SERVICE: Iniciando importação de reposições em lote ({}).", format);
+        Timer.Sample sample = Timer.start();
+        RestockImportReportDTO report = new RestockImportReportDTO();
+
+        try {
+            BufferedReader lines = (reader instanceof BufferedReader buffered) ? buffered : new BufferedReader(reader);
+            List<RestockLine> chunk = new ArrayList<>(importChunkSize);
+            long number = 0;
+            boolean first = true;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                // Cabeçalho opcional do CSV: a primeira linha com conteúdo que não começa por um número
+                if (first && format == RestockImportFormat.CSV && !Character.isDigit(line.strip().charAt(0))) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+                report.lineRead();
+                try {
+                    chunk.add(parseLine(line, number, format));
+                } catch (IllegalArgumentException e) {
+                    report.reject(number, e.getMessage(), importMaxErrors);
+                }
+                if (chunk.size() >= importChunkSize) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, report);
+            }
+        } finally {
+            sample.stop(importTimer);
+        }
+
+        importedLinesCounter.increment(report.getImported());
+        rejectedLinesCounter.increment(report.getRejected());
+        logger.info("SERVICE: Importação de reposições concluída. Linhas: {}, Gravadas: {}, Recusadas: {}",
+                report.getLinesRead(), report.getImported(), report.getRejected());
+        return report;
+    }
+
+    /**
+     * Grava um bloco de linhas em uma transação própria e contabiliza o resultado no relatório.
+     */
+    private void writeChunk(List<RestockLine> chunk, RestockImportReportDTO report) {
+        Set<Long> beerIds = chunk.stream().map(RestockLine::beerId).collect(Collectors.toSet());
+        List<RestockLine> unknown = new ArrayList<>();
+        try {
+            int imported = transactionTemplate.execute(status -> {
+                Set<Long> known = new HashSet<>(bookRepository.findIdsWithStock(beerIds));
+                Instant now = Instant.now();
+                List<BeerRestocking> entities = new ArrayList<>(chunk.size());
+                for (RestockLine line : chunk) {
+                    if (known.contains(line.beerId())) {
+                        entities.add(new BeerRestocking(null, line.quantity(), now, bookRepository.getReferenceById(line.beerId())));
+                    } else {
+                        unknown.add(line);
+                    }
+                }
+                bookRestockingRepository.insertAll(entities);
+                stockLedger.depositAll(entities.stream()
+                        .map(entity -> new StockEntry(entity.getBeer().getId(), entity.getQuantity(), entity.getId()))
+                        .toList(), StockMovementType.RESTOCK);
+                return entities.size();
+            });
+            report.imported(imported);
+            unknown.forEach(line -> report.reject(line.number(), "Beer not found (ID: " + line.beerId() + ")", importMaxErrors));
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("SERVICE ERROR: Falha ao gravar bloco de {} reposição(ões) (linhas {} a {}). Detalhes: {}",
+                    chunk.size(), chunk.get(0).number(), chunk.get(chunk.size() - 1).number(), e.getMessage());
+            chunk.forEach(line -> report.reject(line.number(), "Database error: chunk not saved", importMaxErrors));
+        }
+    }
+
+    /**
+     * Converte uma linha do arquivo em uma reposição.
+     *
+     * @throws IllegalArgumentException Se a linha for malformada ou tiver quantidade não positiva.
+     */
+    private RestockLine parseLine(String line, long number, RestockImportFormat format) {
+        Long beerId;
+        Integer quantity;
+        if (format == RestockImportFormat.NDJSON) {
+            BeerRestockingDTO dto;
+            try {
+                dto = objectMapper.readValue(line, BeerRestockingDTO.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON line");
+            }
+            beerId = dto.getBeerId();
+            quantity = dto.getQuantity();
+        } else {
+            String[] fields = line.split(",", -1);
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Expected 2 fields (beerId,quantity), found " + fields.length);
+            }
+            try {
+                beerId = Long.valueOf(fields[0].strip());
+                quantity = Integer.valueOf(fields[1].strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number in line");
+            }
+        }
+        if (beerId == null) {
+            throw new IllegalArgumentException("Missing beerId");
+        }
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        return new RestockLine(number, beerId, quantity);
+    }
+
     /**
      * Atualiza um registro de reposição de cerveja existente.
      *
@@ -185,6 +392,41 @@ public class BeerRestockingServiceImpl implements BeerRestockingService {
         }
     }
 
+    /**
+     * Executa o planejamento de reposição (ver {@link ReplenishmentPlanner}).
+     *
+     * @param planDate A data do planejamento.
+     * @return O {@link ReplenishmentPlanReportDTO} da execução.
+     */
+    @Override
+    public ReplenishmentPlanReportDTO planReplenishment(LocalDate planDate) {
+        logger.info("SERVICE: Planejamento de reposição solicitado. Data: {}", planDate);
+        return replenishmentPlanner.run(planDate);
+    }
+
+    /**
+     * Busca as propostas de reposição de um planejamento, em ordem de ID da cerveja quando a
+     * paginação não define outra ordenação.
+     *
+     * @param planDate A data do planejamento, ou {@code null} para o mais recente.
+     * @param pageable Objeto de paginação do Spring Data.
+     * @return Uma {@link Page} de {@link RestockProposalDTO}; vazia se não houver planejamento.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<RestockProposalDTO> findProposals(LocalDate planDate, Pageable pageable) {
+        LocalDate date = (planDate != null) ? planDate : restockProposalRepository.findLatestPlanDate().orElse(null);
+        if (date == null) {
+            return Page.empty(pageable);
+        }
+        Pageable ordered = (pageable.isPaged() && pageable.getSort().isUnsorted())
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("beerId"))
+                : pageable;
+        Page<RestockProposalDTO> page = restockProposalRepository.findByPlanDate(date, ordered).map(RestockProposalDTO::new);
+        logger.info("SERVICE: Consulta de propostas de reposição de {} retornou {} elementos.", date, page.getNumberOfElements());
+        return page;
+    }
+
     /**
      * Copia os dados do DTO para a entidade {@link BeerRestocking}.
      *
@@ -195,12 +437,20 @@ public class BeerRestockingServiceImpl implements BeerRestockingService {
     private void copyDtoToEntity(BeerRestockingDTO dto, BeerRestocking entity) {
         entity.setQuantity(dto.getQuantity());
 
-        // Busca a entidade Beer para associar
-        Beer beer = bookRepository.findById(dto.getBeerId())
-                .orElseThrow(() -> new ResourceNotFoundException("Beer not found (ID: " + dto.getBeerId() + ")"));
+        // Associa a cerveja por referência: apenas o ID é necessário, sem carregar o grafo (categorias EAGER)
+        if (!bookRepository.existsById(dto.getBeerId())) {
+            throw new ResourceNotFoundException("Beer not found (ID: " + dto.getBeerId() + ")");
+        }
+        Beer beer = bookRepository.getReferenceById(dto.getBeerId());
         entity.setBeer(beer);
 
         // Garante que o objeto Stock da cerveja está carregado/inicializado antes de acessá-lo na criação.
         // beer.setStock(beer.getStock());
     }
-}
\ No newline at end of file
+
+    /**
+     * Linha válida do arquivo de importação, ainda não gravada.
+     */
+    private record RestockLine(long number, Long beerId, int quantity) {
+    }
+}
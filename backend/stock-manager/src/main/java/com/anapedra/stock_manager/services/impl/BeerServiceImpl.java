@@ -2,6 +2,7 @@ package com.anapedra.stock_manager.services.impl;
 
 import com.anapedra.stock_manager.domain.dtos.BeerFilterDTO;
 import com.anapedra.stock_manager.domain.dtos.BeerInsertDTO;
+import com.anapedra.stock_manager.domain.dtos.BeerSuggestionDTO;
 import com.anapedra.stock_manager.domain.dtos.StockInputDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.Category;
@@ -10,10 +11,19 @@ import com.anapedra.stock_manager.repositories.BeerRepository;
 import com.anapedra.stock_manager.repositories.CategoryRepository;
 import com.anapedra.stock_manager.repositories.StockRepository;
 import com.anapedra.stock_manager.services.BeerService;
+import com.anapedra.stock_manager.services.alerts.LowStockAlertEngine;
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
 import com.anapedra.stock_manager.services.exceptions.DatabaseException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.expiration.BeerExpirationIndex;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
+import com.anapedra.stock_manager.services.search.BeerSuggestIndex;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -47,25 +57,59 @@ public class BeerServiceImpl implements BeerService {
     private final BeerRepository beerRepository;
     private final CategoryRepository categoryRepository;
     private final StockRepository stockRepository;
+    private final StockLedger stockLedger;
+    private final BeerExpirationIndex beerExpirationIndex;
+    private final LowStockAlertEngine lowStockAlertEngine;
+    private final DemandForecaster demandForecaster;
+    private final BeerSuggestIndex beerSuggestIndex;
+    private final BeerCatalogCache beerCatalogCache;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final Timer beerCreationUpdateTimer;
 
+    /**
+     * Quantidade máxima de sugestões do autocompletar.
+     */
+    @Value("${stock-manager.suggest.max-results:20}")
+    private int maxSuggestions = 20;
+
     /**
      * Construtor para injeção de dependências.
      *
      * @param beerRepository Repositório de cervejas.
      * @param categoryRepository Repositório de categorias.
      * @param stockRepository Repositório de estoque.
+     * @param stockLedger Ledger de estoque em memória, sincronizado quando o estoque é editado.
+     * @param beerExpirationIndex Índice de validade em memória, atualizado a cada alteração de cerveja.
+     * @param lowStockAlertEngine Motor de alertas de estoque, que deixa de acompanhar cervejas excluídas.
+     * @param demandForecaster Previsão de demanda, que descarta o modelo de cervejas excluídas.
+     * @param beerSuggestIndex Índice de nomes em memória do autocompletar, atualizado a cada alteração de cerveja.
+     * @param beerCatalogCache Cache das leituras do catálogo, invalidado a cada alteração de cerveja.
+     * @param referenceDataRegistry Registro em memória das categorias, que valida as categorias informadas.
      * @param registry O registro de métricas do Micrometer.
      */
     public BeerServiceImpl(
             BeerRepository beerRepository,
             CategoryRepository categoryRepository,
             StockRepository stockRepository,
+            StockLedger stockLedger,
+            BeerExpirationIndex beerExpirationIndex,
+            LowStockAlertEngine lowStockAlertEngine,
+            DemandForecaster demandForecaster,
+            BeerSuggestIndex beerSuggestIndex,
+            BeerCatalogCache beerCatalogCache,
+            ReferenceDataRegistry referenceDataRegistry,
             MeterRegistry registry
     ) {
         this.beerRepository = beerRepository;
         this.categoryRepository = categoryRepository;
         this.stockRepository = stockRepository;
+        this.stockLedger = stockLedger;
+        this.beerExpirationIndex = beerExpirationIndex;
+        this.lowStockAlertEngine = lowStockAlertEngine;
+        this.demandForecaster = demandForecaster;
+        this.beerSuggestIndex = beerSuggestIndex;
+        this.beerCatalogCache = beerCatalogCache;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.beerCreationUpdateTimer = Timer.builder("stock_manager.beer.creation_update_time")
                 .description("Tempo de execução da criação ou atualização de cervejas")
                 .register(registry);
@@ -121,21 +165,44 @@ public class BeerServiceImpl implements BeerService {
     /**
      * Busca uma cerveja pelo seu identificador único.
      *
+     * <p>A leitura é servida pelo {@link BeerCatalogCache}; como contém a quantidade persistida,
+     * vale apenas até o limite de defasagem após uma movimentação de estoque.</p>
+     *
      * @param id O ID da cerveja.
      * @return O {@link BeerFilterDTO} correspondente.
      * @throws ResourceNotFoundException Se o ID não for encontrado.
      */
-    @Transactional(readOnly = true)
     @Override
     public BeerFilterDTO findById(Long id) {
         logger.info("SERVICE: Buscando cerveja pelo ID: {}", id);
-        Beer entity = beerRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("SERVICE WARN: Cerveja não encontrada com ID: {}", id);
-                    throw new ResourceNotFoundException("Cerveja (Entity) não encontrada com ID: " + id);
-                });
+        BeerFilterDTO dto = beerCatalogCache.findBeer("beer", id, true, () -> {
+            Beer entity = beerRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.warn("SERVICE WARN: Cerveja não encontrada com ID: {}", id);
+                        throw new ResourceNotFoundException("Cerveja (Entity) não encontrada com ID: " + id);
+                    });
+            return new BeerFilterDTO(entity);
+        });
         logger.info("SERVICE: Cerveja ID {} encontrada.", id);
-        return new BeerFilterDTO(entity);
+        return dto;
+    }
+
+    /**
+     * Sugere cervejas para o autocompletar a partir do {@link BeerSuggestIndex}, sem consultar o banco.
+     *
+     * @param query O termo digitado (nome da cerveja ou de uma categoria).
+     * @param limit A quantidade máxima de sugestões.
+     * @return Uma {@link List} de {@link BeerSuggestionDTO}, da mais para a menos relevante.
+     * @throws BusinessRuleException Se o limite for inválido.
+     */
+    @Override
+    public List<BeerSuggestionDTO> suggest(String query, int limit) {
+        if (limit < 1 || limit > maxSuggestions) {
+            throw new BusinessRuleException("O limite de sugestões deve estar entre 1 e " + maxSuggestions + ".");
+        }
+        List<BeerSuggestionDTO> suggestions = beerSuggestIndex.suggest(query, limit);
+        logger.debug("SERVICE: Autocompletar '{}' retornou {} sugestão(ões).", query, suggestions.size());
+        return suggestions;
     }
 
     /**
@@ -156,6 +223,10 @@ public class BeerServiceImpl implements BeerService {
             Beer beer = new Beer();
             copyInsertDtoToEntity(dto, beer);
             Beer savedBeer = beerRepository.save(beer);
+            stockLedger.open(savedBeer.getId(), savedBeer.getStock().getQuantity());
+            beerExpirationIndex.index(savedBeer.getId(), savedBeer.getExpirationDate());
+            beerSuggestIndex.index(savedBeer.getId(), savedBeer.getName(), savedBeer.getCategories());
+            beerCatalogCache.beerChanged(savedBeer.getId());
                 logger.info("SERVICE: Cerveja ID {} salva com sucesso.", savedBeer.getId());
 
           return new BeerInsertDTO(savedBeer);
@@ -181,8 +252,16 @@ public class BeerServiceImpl implements BeerService {
             try {
                 // Usa getReferenceById para carregar a entidade por referência e evitar query desnecessária antes do update
                 Beer beer = beerRepository.getReferenceById(id);
+                int previousQuantity = (beer.getStock() != null) ? beer.getStock().getQuantity() : 0;
                 copyInsertDtoToEntity(dto, beer);
                 Beer savedBeer = beerRepository.save(beer);
+                // Cervejas fracionadas: o saldo editado é dividido entre as frações existentes
+                stockRepository.redistributeShards(id, savedBeer.getStock().getQuantity());
+                // Mantém o ledger alinhado com a quantidade editada manualmente
+                stockLedger.overwrite(id, previousQuantity, savedBeer.getStock().getQuantity());
+                beerExpirationIndex.index(id, savedBeer.getExpirationDate());
+                beerSuggestIndex.index(id, savedBeer.getName(), savedBeer.getCategories());
+                beerCatalogCache.beerChanged(id);
                 logger.info("SERVICE: Cerveja ID {} atualizada com sucesso.", id);
                 return new BeerInsertDTO(savedBeer);
             } catch (jakarta.persistence.EntityNotFoundException e) {
@@ -213,6 +292,12 @@ public class BeerServiceImpl implements BeerService {
         }
         try {
             beerRepository.deleteById(id);
+            stockLedger.evict(id);
+            beerExpirationIndex.evict(id);
+            beerSuggestIndex.evict(id);
+            beerCatalogCache.beerChanged(id);
+            lowStockAlertEngine.forget(id);
+            demandForecaster.forget(id);
             logger.info("SERVICE: Cerveja ID {} excluída com sucesso.", id);
         } catch (DataIntegrityViolationException e) {
             logger.error("SERVICE ERROR: Falha de integridade ao excluir cerveja ID {}. Detalhes: {}", id, e.getMessage());
@@ -224,7 +309,8 @@ public class BeerServiceImpl implements BeerService {
      * Copia os dados de um DTO de inserção/atualização (BeerInsertDTO) para a entidade {@link Beer}.
      *
      * <p>Este método é responsável por mapear os campos básicos, atualizar/criar o {@link Stock}
-     * e atualizar o conjunto de {@link Category}s da cerveja.</p>
+     * e atualizar o conjunto de {@link Category}s da cerveja. As categorias são validadas pelo
+     * {@link ReferenceDataRegistry} e carregadas em uma única consulta.</p>
      *
      * @param dto O {@link BeerInsertDTO} de origem.
      * @param beer A entidade {@link Beer} de destino.
@@ -253,14 +339,26 @@ public class BeerServiceImpl implements BeerService {
 
         // Mapeamento de Categorias (relacionamento ManyToMany)
         beer.getCategories().clear();
+        Set<Long> categoryIds = new LinkedHashSet<>();
         dto.getCategories().forEach(catDto -> {
-            Category category = categoryRepository.findById(catDto.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoria não encontrada (ID: " + catDto.getId() + ")"));
-            // O logger.warn dentro do forEach não deve ser acionado se a linha acima lançar exceção. Corrigido o log.
-            //logger.warn("SERVICE WARN: Categoria ID {} não encontrada durante mapeamento.", catDto.getId());
+            if (referenceDataRegistry.findCategory(catDto.getId()).isEmpty()) {
+                throw new ResourceNotFoundException("Categoria não encontrada (ID: " + catDto.getId() + ")");
+            }
+            categoryIds.add(catDto.getId());
+        });
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+        // Uma única consulta (IN) para todas as categorias, em vez de uma por categoria
+        for (Category category : categoryRepository.findAllById(categoryIds)) {
             beer.getCategories().add(category);
+            categoryIds.remove(category.getId());
             logger.debug("SERVICE: Categoria ID {} adicionada à cerveja.", category.getId());
-        });
+        }
+        if (!categoryIds.isEmpty()) {
+            // Excluída por outra transação depois da validação
+            throw new ResourceNotFoundException("Categoria não encontrada (ID: " + categoryIds.iterator().next() + ")");
+        }
     }
 
 
@@ -4,8 +4,10 @@ import com.anapedra.stock_manager.domain.dtos.CategoryDTO;
 import com.anapedra.stock_manager.domain.entities.Category;
 import com.anapedra.stock_manager.repositories.CategoryRepository;
 import com.anapedra.stock_manager.services.CategoryService;
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
 import com.anapedra.stock_manager.services.exceptions.DatabaseException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -16,7 +18,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementação da interface {@link CategoryService} que gerencia as operações de negócio
@@ -26,6 +27,9 @@ import java.util.stream.Collectors;
  * categorias, garantindo a integridade transacional e o tratamento de exceções de negócio.
  * Inclui monitoramento de desempenho usando Micrometer ({@link Timer}).</p>
  *
+ * <p>As leituras são servidas pelo {@link ReferenceDataRegistry}, sem consulta ao banco; as
+ * gravações o atualizam após o commit.</p>
+ *
  * @author Ana Santana
  * @version 1.0
  * @see CategoryService
@@ -38,16 +42,23 @@ public class CategoryServiceImpl implements CategoryService {
     private static final Logger logger = LoggerFactory.getLogger(CategoryServiceImpl.class);
 
     private final CategoryRepository categoryRepository;
+    private final BeerCatalogCache beerCatalogCache;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final Timer categoryCreationUpdateTimer;
 
     /**
      * Construtor para injeção de dependências.
      *
      * @param categoryRepository Repositório de categorias.
+     * @param beerCatalogCache Cache das leituras do catálogo, que exibem as categorias das cervejas.
+     * @param referenceDataRegistry Registro em memória das categorias, que atende as leituras.
      * @param registry O registro de métricas do Micrometer.
      */
-    public CategoryServiceImpl(CategoryRepository categoryRepository, MeterRegistry registry) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, BeerCatalogCache beerCatalogCache,
+                               ReferenceDataRegistry referenceDataRegistry, MeterRegistry registry) {
         this.categoryRepository = categoryRepository;
+        this.beerCatalogCache = beerCatalogCache;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.categoryCreationUpdateTimer = Timer.builder("stock_manager.category.creation_update_time")
                 .description("Tempo de execução da criação ou atualização de categorias")
                 .register(registry);
@@ -60,14 +71,11 @@ public class CategoryServiceImpl implements CategoryService {
      * @return Uma {@link List} de {@link CategoryDTO}.
      */
     @Override
-    @Transactional(readOnly = true)
     public List<CategoryDTO> findAll() {
         logger.info("SERVICE: Buscando todas as categorias.");
-        List<Category> categories = categoryRepository.findAll();
+        List<CategoryDTO> categories = referenceDataRegistry.findAllCategories();
         logger.info("SERVICE: Retornando {} categorias.", categories.size());
-        return categories.stream()
-                .map(CategoryDTO::new)
-                .collect(Collectors.toList());
+        return categories;
     }
 
 
@@ -79,16 +87,15 @@ public class CategoryServiceImpl implements CategoryService {
      * @throws ResourceNotFoundException Se o ID não for encontrado.
      */
     @Override
-    @Transactional(readOnly = true)
     public CategoryDTO findById(Long id) {
         logger.info("SERVICE: Buscando categoria pelo ID: {}", id);
-        Category category = categoryRepository.findById(id)
+        CategoryDTO category = referenceDataRegistry.findCategory(id)
                 .orElseThrow(() -> {
                     logger.warn("SERVICE WARN: Categoria ID {} não encontrada.", id);
                     return new ResourceNotFoundException("Categoria não encontrada (ID: " + id + ")");
                 });
         logger.info("SERVICE: Categoria ID {} encontrada.", id);
-        return new CategoryDTO(category);
+        return category;
     }
 
 
@@ -108,6 +115,7 @@ public class CategoryServiceImpl implements CategoryService {
             Category category = new Category();
             category.setDescription(dto.getDescription());
             Category savedCategory = categoryRepository.save(category);
+            referenceDataRegistry.categorySaved(savedCategory);
             logger.info("SERVICE: Categoria ID {} salva com sucesso.", savedCategory.getId());
             return new CategoryDTO(savedCategory);
         });
@@ -134,6 +142,8 @@ public class CategoryServiceImpl implements CategoryService {
                 Category category = categoryRepository.getReferenceById(id);
                 category.setDescription(dto.getDescription());
                 Category updatedCategory = categoryRepository.save(category);
+                referenceDataRegistry.categorySaved(updatedCategory);
+                beerCatalogCache.catalogChanged();
                 logger.info("SERVICE: Categoria ID {} atualizada com sucesso.", id);
                 return new CategoryDTO(updatedCategory);
             } catch (jakarta.persistence.EntityNotFoundException e) {
@@ -164,6 +174,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         try {
             categoryRepository.deleteById(id);
+            referenceDataRegistry.categoryDeleted(id);
             logger.info("SERVICE: Categoria ID {} excluída com sucesso.", id);
         } catch (DataIntegrityViolationException e) {
             logger.error("SERVICE ERROR: Falha de integridade referencial ao excluir categoria ID {}. Detalhes: {}", id, e.getMessage());
@@ -0,0 +1,239 @@
+package com.anapedra.stock_manager.services.impl;
+
+import com.anapedra.stock_manager.domain.enums.ExportFormat;
+import com.anapedra.stock_manager.repositories.OrderRepository;
+import com.anapedra.stock_manager.repositories.StockLossRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.AuthService;
+import com.anapedra.stock_manager.services.ExportService;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.services.export.ExportWriter;
+import com.anapedra.stock_manager.services.ledger.StockLedgerFlusher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementação da interface {@link ExportService}.
+ *
+ * <p>Cada exportação abre uma transação somente leitura (necessária para que o driver do
+ * PostgreSQL use um cursor no servidor com {@code fetchSize}) e percorre as linhas com JDBC,
+ * escrevendo cada uma no destino assim que lida. O destino é descarregado a cada
+ * {@code stock-manager.export.fetch-size} linhas, para que o cliente receba o arquivo em partes.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final List<String> STOCK_COLUMNS = List.of("beerId", "name", "price", "alcoholContent",
+            "manufactureDate", "expirationDate", "quantity", "status", "lastUpdate");
+
+    private static final List<String> ORDER_COLUMNS = List.of("orderId", "momentAt", "orderStatus", "clientId",
+            "beerId", "quantity", "price", "subTotal");
+
+    private static final List<String> LOSS_COLUMNS = List.of("id", "lossDate", "beerId", "beerName", "reason",
+            "quantityLost", "description", "registrationMoment");
+
+    private final StockRepository stockRepository;
+    private final OrderRepository orderRepository;
+    private final StockLossRepository stockLossRepository;
+    private final StockLedgerFlusher stockLedgerFlusher;
+    private final AuthService authService;
+    private final TransactionTemplate readOnlyTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final Counter rowsCounter;
+    private final Timer exportTimer;
+
+    /**
+     * Quantidade de linhas lidas do banco por vez e escritas entre dois descarregamentos do destino.
+     */
+    @Value("${stock-manager.export.fetch-size:500}")
+    private int fetchSize = 500;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockRepository Repositório de estoque.
+     * @param orderRepository Repositório de pedidos.
+     * @param stockLossRepository Repositório de perdas.
+     * @param stockLedgerFlusher Gravador do ledger, acionado antes da exportação de estoque.
+     * @param authService Serviço de autorização; as exportações são restritas a administradores.
+     * @param transactionManager O gerenciador de transações usado nas leituras.
+     * @param objectMapper O {@link ObjectMapper} cuja fábrica gera o NDJSON.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public ExportServiceImpl(StockRepository stockRepository, OrderRepository orderRepository,
+                             StockLossRepository stockLossRepository, StockLedgerFlusher stockLedgerFlusher,
+                             AuthService authService, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             MeterRegistry registry) {
+        this.stockRepository = stockRepository;
+        this.orderRepository = orderRepository;
+        this.stockLossRepository = stockLossRepository;
+        this.stockLedgerFlusher = stockLedgerFlusher;
+        this.authService = authService;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+
+        this.rowsCounter = Counter.builder("stock_manager.export.rows")
+                .description("Total de linhas exportadas")
+                .register(registry);
+
+        this.exportTimer = Timer.builder("stock_manager.export.time")
+                .description("Tempo de execução das exportações")
+                .register(registry);
+    }
+
+    /**
+     * Restringe as exportações a administradores: os arquivos trazem os pedidos de todos os clientes.
+     *
+     * @throws com.anapedra.stock_manager.services.exceptions.ForbiddenException Se o usuário não for Admin.
+     */
+    @Override
+    public void validateAccess() {
+        authService.validateAdmin();
+    }
+
+    /**
+     * Recusa intervalos com {@code from} posterior a {@code to}; limites nulos são aceitos.
+     *
+     * @param from O primeiro dia, ou {@code null}.
+     * @param to O último dia, ou {@code null}.
+     * @throws BusinessRuleException Se o intervalo for inválido.
+     */
+    @Override
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            logger.warn("SERVICE WARN: Intervalo de exportação inválido: {} a {}.", from, to);
+            throw new BusinessRuleException("Informe um intervalo de datas válido (from anterior ou igual a to).");
+        }
+    }
+
+    /**
+     * Grava as variações pendentes do ledger antes da leitura, para que o arquivo traga o saldo atual.
+     *
+     * @param format O formato do arquivo.
+     * @param gzip Se o arquivo deve ser compactado em gzip.
+     * @param out O destino.
+     * @return A quantidade de linhas exportadas.
+     * @throws IOException Se a escrita no destino falhar.
+     */
+    @Override
+    public long exportStock(ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        validateAccess();
+        stockLedgerFlusher.flush();
+        return export("estoque", STOCK_COLUMNS, format, gzip, out,
+                action -> stockRepository.streamExport(fetchSize, action));
+    }
+
+    /**
+     * Exporta os itens dos pedidos cujo momento (UTC) está entre o início de {@code from} e o fim de {@code to}.
+     *
+     * @param from O primeiro dia, ou {@code null}.
+     * @param to O último dia (inclusive), ou {@code null}.
+     * @param format O formato do arquivo.
+     * @param gzip Se o arquivo deve ser compactado em gzip.
+     * @param out O destino.
+     * @return A quantidade de linhas exportadas.
+     * @throws IOException Se a escrita no destino falhar.
+     */
+    @Override
+    public long exportOrders(LocalDate from, LocalDate to, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        validateAccess();
+        validateRange(from, to);
+        return export("pedidos", ORDER_COLUMNS, format, gzip, out,
+                action -> orderRepository.streamItemsExport(
+                        (from != null) ? from.atStartOfDay() : null,
+                        (to != null) ? to.plusDays(1).atStartOfDay() : null,
+                        fetchSize, action));
+    }
+
+    /**
+     * Exporta as perdas cujo dia está entre {@code from} e {@code to}.
+     *
+     * @param from O primeiro dia, ou {@code null}.
+     * @param to O último dia (inclusive), ou {@code null}.
+     * @param format O formato do arquivo.
+     * @param gzip Se o arquivo deve ser compactado em gzip.
+     * @param out O destino.
+     * @return A quantidade de linhas exportadas.
+     * @throws IOException Se a escrita no destino falhar.
+     */
+    @Override
+    public long exportLosses(LocalDate from, LocalDate to, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        validateAccess();
+        validateRange(from, to);
+        return export("perdas", LOSS_COLUMNS, format, gzip, out,
+                action -> stockLossRepository.streamExport(from, to, fetchSize, action));
+    }
+
+    /**
+     * Percorre as linhas em uma transação somente leitura, escrevendo-as no destino.
+     */
+    private long export(String name, List<String> columns, ExportFormat format, boolean gzip, OutputStream out,
+                        Consumer<Consumer<Object[]>> source) throws IOException {
+        logger.info("SERVICE: Iniciando exportação de {}. Formato: {}, Gzip: {}", name, format, gzip);
+        long start = System.nanoTime();
+
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192, true) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                (compressed != null) ? compressed : out, StandardCharsets.UTF_8));
+        ExportWriter rows = ExportWriter.of(format, columns, writer, objectMapper.getFactory());
+
+        long[] count = new long[1];
+        try {
+            readOnlyTemplate.executeWithoutResult(status -> source.accept(values -> {
+                rows.write(values);
+                if (++count[0] % fetchSize == 0) {
+                    try {
+                        rows.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            // Em geral, o cliente encerrou a conexão: a leitura é interrompida e o cursor, fechado
+            logger.warn("SERVICE WARN: Exportação de {} interrompida após {} linha(s). Detalhes: {}",
+                    name, count[0], e.getMessage());
+            throw e.getCause();
+        }
+        rows.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        exportTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        rowsCounter.increment(count[0]);
+        logger.info("SERVICE: Exportação de {} concluída. Linhas: {}, Duração: {} ms",
+                name, count[0], TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return count[0];
+    }
+}
@@ -1,10 +1,19 @@
 package com.anapedra.stock_manager.services.impl;
 
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.OrderBatchResultDTO;
 import com.anapedra.stock_manager.domain.dtos.OrderDTO;
+import com.anapedra.stock_manager.domain.dtos.OrderItemDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.Order;
 import com.anapedra.stock_manager.domain.entities.OrderItem;
+import com.anapedra.stock_manager.domain.entities.SalesDaily;
 import com.anapedra.stock_manager.domain.entities.User;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import com.anapedra.stock_manager.domain.enums.OrderBatchStatus;
+import com.anapedra.stock_manager.domain.enums.OrderStatus;
+import com.anapedra.stock_manager.domain.pks.SalesDailyPK;
 import com.anapedra.stock_manager.repositories.BeerRepository;
 import com.anapedra.stock_manager.repositories.OrderItemRepository;
 import com.anapedra.stock_manager.repositories.OrderRepository;
@@ -12,11 +21,21 @@ import com.anapedra.stock_manager.repositories.UserRepository;
 import com.anapedra.stock_manager.services.AuthService;
 import com.anapedra.stock_manager.services.OrderService;
 import com.anapedra.stock_manager.services.UserService;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
 import com.anapedra.stock_manager.services.exceptions.ForbiddenException;
 import com.anapedra.stock_manager.services.exceptions.InsufficientStockException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
+import com.anapedra.stock_manager.services.ledger.StockHoldManager;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.ledger.StockPosition;
+import com.anapedra.stock_manager.services.pagination.PageCounter;
+import com.anapedra.stock_manager.services.pagination.SeekCursor;
+import com.anapedra.stock_manager.services.sales.SalesRollup;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -29,6 +48,17 @@ import org.slf4j.LoggerFactory;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -57,9 +87,22 @@ public class OrderServiceImpl implements OrderService {
     private final BeerRepository beerRepository;
     private final UserRepository userRepository;
     private final OrderItemRepository orderItemRepository;
+    private final StockLedger stockLedger;
+    private final StockHoldManager stockHoldManager;
+    private final DemandForecaster demandForecaster;
+    private final SalesRollup salesRollup;
+    private final PageCounter pageCounter;
 
     private final Timer orderCreationTimer;
     private final Counter insufficientStockCounter;
+    private final Timer orderBatchTimer;
+    private final Map<OrderBatchStatus, Counter> batchResultCounters = new EnumMap<>(OrderBatchStatus.class);
+
+    /**
+     * Quantidade máxima de pedidos aceita em uma importação em lote.
+     */
+    @Value("${stock-manager.orders.batch-max-size:1000}")
+    private int batchMaxSize = 1000;
 
     /**
      * Construtor responsável pela injeção de dependências do serviço de pedidos
@@ -71,6 +114,11 @@ public class OrderServiceImpl implements OrderService {
      * @param beerRepository repositório de persistência de cervejas
      * @param userRepository repositório de persistência de usuários
      * @param orderItemRepository repositório de persistência dos itens do pedido
+     * @param stockLedger ledger de estoque em memória, responsável pelas reservas de estoque
+     * @param stockHoldManager coordenador das reservas com prazo dos pedidos aguardando pagamento
+     * @param demandForecaster previsão de demanda, alimentada com as unidades dos pedidos criados
+     * @param salesRollup consolidação diária de vendas, atualizada a cada pedido criado, alterado ou excluído
+     * @param pageCounter regras do total de elementos das listagens paginadas
      * @param registry registro central de métricas do Micrometer
      */
     public OrderServiceImpl(
@@ -80,6 +128,11 @@ public class OrderServiceImpl implements OrderService {
             BeerRepository beerRepository,
             UserRepository userRepository,
             OrderItemRepository orderItemRepository,
+            StockLedger stockLedger,
+            StockHoldManager stockHoldManager,
+            DemandForecaster demandForecaster,
+            SalesRollup salesRollup,
+            PageCounter pageCounter,
             MeterRegistry registry
     ) {
         this.authService = authService;
@@ -88,6 +141,11 @@ public class OrderServiceImpl implements OrderService {
         this.beerRepository = beerRepository;
         this.userRepository = userRepository;
         this.orderItemRepository = orderItemRepository;
+        this.stockLedger = stockLedger;
+        this.stockHoldManager = stockHoldManager;
+        this.demandForecaster = demandForecaster;
+        this.salesRollup = salesRollup;
+        this.pageCounter = pageCounter;
 
         this.orderCreationTimer = Timer.builder("stock_manager.order.creation_time")
                 .description("Tempo de execução da criação/atualização de pedidos")
@@ -96,6 +154,17 @@ public class OrderServiceImpl implements OrderService {
         this.insufficientStockCounter = Counter.builder("stock_manager.order.insufficient_stock_errors")
                 .description("Contagem de pedidos que falharam por falta de estoque")
                 .register(registry);
+
+        this.orderBatchTimer = Timer.builder("stock_manager.order.batch_time")
+                .description("Tempo de execução da importação de pedidos em lote")
+                .register(registry);
+
+        for (OrderBatchStatus status : OrderBatchStatus.values()) {
+            batchResultCounters.put(status, Counter.builder("stock_manager.order.batch_results")
+                    .description("Pedidos processados em importações em lote, por resultado")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
     }
     
     /**
@@ -140,6 +209,9 @@ public class OrderServiceImpl implements OrderService {
     /**
      * Exclui um pedido pelo seu ID, validando as permissões de acesso.
      *
+     * <p>Se o pedido ainda retiver estoque (aguardando pagamento), a reserva é liberada. As suas
+     * vendas são retiradas da consolidação diária ({@link SalesRollup}).</p>
+     *
      * @param id O ID do pedido a ser excluído.
      * @throws ResourceNotFoundException Se o ID não for encontrado.
      * @throws ForbiddenException Se o usuário não tiver permissão de acesso.
@@ -154,12 +226,15 @@ public class OrderServiceImpl implements OrderService {
                     return new ResourceNotFoundException("Order not found with id " + id);
                 });
         authService.validateSelfOrAdmin(order.getClient().getId());
+        stockHoldManager.discard(order, quantitiesOf(order.getItems()));
+        salesRollup.remove(order);
         orderRepository.delete(order);
         logger.info("SERVICE: Pedido ID {} excluído com sucesso.", id);
     }
 
     /**
-     * Busca pedidos paginados aplicando filtros dinâmicos.
+     * Busca pedidos paginados aplicando filtros dinâmicos, com o modo de contagem escolhido pelo
+     * cliente. Sem filtros, o total aproximado vem da estimativa de linhas de {@code tb_order}.
      *
      * <p>Esta operação é restrita a usuários com o papel ROLE_ADMIN.</p>
      *
@@ -169,53 +244,131 @@ public class OrderServiceImpl implements OrderService {
      * @param minDate A data mínima para o filtro de data (opcional, String no formato LocalDate).
      * @param maxDate A data máxima para o filtro de data (opcional, String no formato LocalDate).
      * @param pageable Objeto de paginação e ordenação do Spring Data.
-     * @return Uma {@link Page} de {@link OrderDTO} que correspondem aos filtros.
+     * @param countMode O modo de contagem do total.
+     * @return A {@link CountedPageDTO} de {@link OrderDTO}, com o modo de contagem usado.
      * @throws ForbiddenException Se o usuário autenticado não for Admin.
      */
     @Transactional(readOnly = true)
-    public Page<OrderDTO> find(
+    @Override
+    public CountedPageDTO<OrderDTO> find(
             Long clientId,
             String nameClient,
             String cpfClient,
             String minDate,
             String maxDate,
-            Pageable pageable) {
+            Pageable pageable,
+            CountMode countMode) {
 
-        logger.info("SERVICE: Buscando pedidos com filtros (Admin). Client ID: {}, Data Min: {}", clientId, minDate);
+        logger.info("SERVICE: Buscando pedidos com filtros (Admin). Client ID: {}, Data Min: {}, Contagem: {}",
+                clientId, minDate, countMode);
         authService.validateAdmin();
 
         User client = (clientId != null && clientId > 0)
                 ? userRepository.findById(clientId).orElse(null)
                 : null;
 
+        Instant minInstant = startOfDay(minDate);
+        Instant maxInstant = endOfDay(maxDate);
+        boolean filtered = client != null || (nameClient != null && !nameClient.isEmpty())
+                || (cpfClient != null && !cpfClient.isEmpty()) || minInstant != null || maxInstant != null;
 
-        Instant minInstant = null;
-        Instant maxInstant = null;
+        CountedPageDTO<OrderDTO> page = pageCounter.find(countMode, pageable,
+                PageCounter.signature("orders", (client != null) ? client.getId() : null,
+                        nameClient, cpfClient, minInstant, maxInstant),
+                p -> withClients(orderRepository.find(client, nameClient, cpfClient, minInstant, maxInstant, p)),
+                p -> withClients(orderRepository.findSlice(client, nameClient, cpfClient, minInstant, maxInstant, p)),
+                () -> orderRepository.countFiltered(client, nameClient, cpfClient, minInstant, maxInstant),
+                filtered ? null : orderRepository::estimateRowCount,
+                OrderDTO::new);
 
-        // Conversão de LocalDate (String) para Instant, considerando UTC
-        if (minDate != null && !minDate.isBlank()) {
-            LocalDate minLD = LocalDate.parse(minDate);
-            minInstant = minLD.atStartOfDay(ZoneOffset.UTC).toInstant();
-        }
+        logger.info("SERVICE: Consulta de pedidos filtrados retornou {} elementos.", page.getNumberOfElements());
+        return page;
+    }
 
-        if (maxDate != null && !maxDate.isBlank()) {
-            // Adiciona 1 dia para incluir o dia inteiro no filtro max (ex: 2025-10-10 se torna 2025-10-11T00:00:00Z)
-            LocalDate maxLD = LocalDate.parse(maxDate);
-            maxInstant = maxLD.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
-        }
+    /**
+     * Variante de {@link #find} paginada por cursor (keyset): em ordem de ID, lê apenas os pedidos
+     * após o cursor e um item a mais para saber se há próxima página, sem consulta de contagem.
+     *
+     * <p>Esta operação é restrita a usuários com o papel ROLE_ADMIN.</p>
+     *
+     * @param clientId O ID do cliente (opcional).
+     * @param nameClient O nome do cliente (opcional, busca parcial).
+     * @param cpfClient O CPF do cliente (opcional, busca parcial).
+     * @param minDate A data mínima para o filtro de data (opcional, String no formato LocalDate).
+     * @param maxDate A data máxima para o filtro de data (opcional, String no formato LocalDate).
+     * @param cursor O token da página anterior, ou {@code null} para a primeira página.
+     * @param size O tamanho da página.
+     * @return A {@link CursorPageDTO} de {@link OrderDTO}.
+     * @throws ForbiddenException Se o usuário autenticado não for Admin.
+     * @throws BusinessRuleException Se o cursor ou o tamanho forem inválidos.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDTO<OrderDTO> findCursor(
+            Long clientId,
+            String nameClient,
+            String cpfClient,
+            String minDate,
+            String maxDate,
+            String cursor,
+            int size) {
 
+        logger.info("SERVICE: Buscando pedidos por cursor (Admin). Client ID: {}, Data Min: {}", clientId, minDate);
+        authService.validateAdmin();
+
+        Long afterId = SeekCursor.decode(cursor);
+        Pageable probe = SeekCursor.probe(size);
 
-        Page<Order> page = orderRepository.find(client, nameClient, cpfClient, minInstant, maxInstant, pageable);
-        // Otimiza N+1: Carrega os clientes de todos os pedidos na página
+        User client = (clientId != null && clientId > 0)
+                ? userRepository.findById(clientId).orElse(null)
+                : null;
+
+        List<Order> rows = orderRepository.findAfter(client, nameClient, cpfClient,
+                startOfDay(minDate), endOfDay(maxDate), afterId, probe);
+        // Otimiza N+1: Carrega os clientes de todos os pedidos lidos
+        orderRepository.findOrder(rows);
+        logger.info("SERVICE: Consulta de pedidos por cursor retornou {} elementos.", rows.size());
+        return SeekCursor.page(rows, size, Order::getId, OrderDTO::new);
+    }
+
+    /**
+     * Otimiza N+1: carrega os clientes de todos os pedidos da página.
+     */
+    private <S extends Slice<Order>> S withClients(S page) {
         orderRepository.findOrder(page.getContent());
-        logger.info("SERVICE: Consulta de pedidos filtrados retornou {} elementos.", page.getNumberOfElements());
-        return page.map(OrderDTO::new);
+        return page;
+    }
+
+    /**
+     * Converte a data mínima do filtro (LocalDate em String) no início do dia, em UTC.
+     */
+    private static Instant startOfDay(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        return LocalDate.parse(date).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Converte a data máxima do filtro no início do dia seguinte, em UTC, para incluir o dia
+     * inteiro (ex: 2025-10-10 se torna 2025-10-11T00:00:00Z).
+     */
+    private static Instant endOfDay(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        return LocalDate.parse(date).plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
     }
 
     /**
      * Salva um novo pedido, verificando o estoque e debitando a quantidade
      * de cada item de forma transacional.
      *
+     * <p>Pedidos aguardando pagamento apenas reservam o estoque por tempo limitado
+     * (ver {@link StockHoldManager}); os demais baixam o estoque definitivamente. Após o commit,
+     * as unidades do pedido (exceto se já criado como cancelado) alimentam a previsão de
+     * demanda ({@link DemandForecaster}) e a consolidação diária de vendas ({@link SalesRollup}).</p>
+     *
      * @param dto O {@link OrderDTO} com os dados para criação.
      * @return O {@link OrderDTO} criado.
      * @throws ResourceNotFoundException Se o cliente ou alguma cerveja não for encontrada.
@@ -227,18 +380,148 @@ public class OrderServiceImpl implements OrderService {
         logger.info("SERVICE: Iniciando criação de novo pedido. Itens: {}", dto.getItems().size());
         return orderCreationTimer.record(() -> {
             Order order = new Order();
-            copyDtoToEntity(dto, order);
+            StockPosition[] positions = copyDtoToEntity(dto, order);
             Order savedOrder = orderRepository.save(order);
+            stockHoldManager.record(savedOrder, positions[0], positions[1]);
+            if (savedOrder.getOrderStatus() != OrderStatus.CACELED) {
+                demandForecaster.record(quantitiesOf(savedOrder.getItems()), savedOrder.getMomentAt());
+            }
+            salesRollup.add(savedOrder);
             logger.info("SERVICE: Pedido ID {} criado com sucesso para o cliente ID {}.", savedOrder.getId(), savedOrder.getClient().getId());
             return new OrderDTO(savedOrder, savedOrder.getItems());
         });
     }
 
+    /**
+     * Importa vários pedidos novos em uma única transação (group commit).
+     *
+     * <p>As cervejas de todos os pedidos são carregadas com uma única consulta. Cada pedido
+     * válido tem o estoque reservado de forma atômica e independente no {@link StockLedger}
+     * ({@link StockLedger#rebalanceEach}), de modo que a concorrência com outros pedidos é
+     * tratada pelo ledger e um pedido sem saldo não bloqueia os demais. Os pedidos aceitos,
+     * os seus itens e as suas reservas são gravados com lotes JDBC, e as baixas de estoque são
+     * efetivadas juntas após o commit, assim como as vendas na consolidação diária.</p>
+     *
+     * @param dtos Os pedidos a importar.
+     * @return O resultado de cada pedido, na ordem recebida.
+     * @throws BusinessRuleException Se o lote exceder {@code stock-manager.orders.batch-max-size}.
+     * @throws ForbiddenException Se não houver um usuário autenticado na sessão.
+     */
+    @Transactional
+    @Override
+    public List<OrderBatchResultDTO> saveBatch(List<OrderDTO> dtos) {
+        if (dtos.size() > batchMaxSize) {
+            throw new BusinessRuleException("O lote excede o máximo de " + batchMaxSize + " pedidos.");
+        }
+        logger.info("SERVICE: Iniciando importação de {} pedido(s) em lote.", dtos.size());
+        return orderBatchTimer.record(() -> {
+            User client = authService.authenticatedUser();
+            if (client == null) {
+                logger.error("SERVICE ERROR: Usuário autenticado não encontrado.");
+                throw new ForbiddenException("Authenticated user not found or not logged in.");
+            }
+
+            OrderBatchResultDTO[] results = new OrderBatchResultDTO[dtos.size()];
+            List<Map<Long, Integer>> quantities = new ArrayList<>(dtos.size());
+            Set<Long> beerIds = new HashSet<>();
+            for (int i = 0; i < dtos.size(); i++) {
+                Map<Long, Integer> merged = new HashMap<>();
+                String error = mergeItems(dtos.get(i), merged);
+                if (error != null) {
+                    results[i] = new OrderBatchResultDTO(i, null, OrderBatchStatus.REJECTED, error);
+                    merged = null;
+                } else {
+                    beerIds.addAll(merged.keySet());
+                }
+                quantities.add(merged);
+            }
+
+            Map<Long, Beer> beers = beerRepository.findAllById(beerIds).stream()
+                    .collect(Collectors.toMap(Beer::getId, Function.identity()));
+
+            Instant now = Instant.now();
+            List<Integer> indexes = new ArrayList<>();
+            List<Order> orders = new ArrayList<>();
+            List<StockPosition> positions = new ArrayList<>();
+            for (int i = 0; i < dtos.size(); i++) {
+                Map<Long, Integer> merged = quantities.get(i);
+                if (merged == null) {
+                    continue;
+                }
+                Long missing = merged.keySet().stream().filter(id -> !beers.containsKey(id)).findFirst().orElse(null);
+                if (missing != null) {
+                    results[i] = new OrderBatchResultDTO(i, null, OrderBatchStatus.REJECTED, "Beer not found: " + missing);
+                    continue;
+                }
+                Order order = new Order(now, client, dtos.get(i).getOrderStatus());
+                indexes.add(i);
+                orders.add(order);
+                positions.add(stockHoldManager.positionFor(order.getOrderStatus(), merged));
+            }
+
+            Map<Integer, String> insufficient = stockLedger.rebalanceEach(positions, index -> orders.get(index).getId());
+            insufficient.forEach((position, message) -> {
+                int index = indexes.get(position);
+                results[index] = new OrderBatchResultDTO(index, null, OrderBatchStatus.INSUFFICIENT_STOCK, message);
+            });
+            if (!insufficient.isEmpty()) {
+                insufficientStockCounter.increment(insufficient.size());
+            }
+
+            List<Order> accepted = new ArrayList<>();
+            List<StockPosition> acceptedPositions = new ArrayList<>();
+            for (int position = 0; position < orders.size(); position++) {
+                if (insufficient.containsKey(position)) {
+                    continue;
+                }
+                Order order = orders.get(position);
+                Set<OrderItem> items = new HashSet<>();
+                quantities.get(indexes.get(position)).forEach((beerId, quantity) -> {
+                    Beer beer = beers.get(beerId);
+                    items.add(new OrderItem(order, beer, quantity, beer.getPrice()));
+                });
+                order.setItems(items);
+                accepted.add(order);
+                acceptedPositions.add(positions.get(position));
+            }
+
+            orderRepository.insertAll(accepted);
+            Map<Order, StockPosition> holds = new LinkedHashMap<>();
+            for (int i = 0; i < accepted.size(); i++) {
+                holds.put(accepted.get(i), acceptedPositions.get(i));
+            }
+            stockHoldManager.recordNew(holds);
+
+            Map<Long, Integer> demand = new HashMap<>();
+            accepted.stream()
+                    .filter(order -> order.getOrderStatus() != OrderStatus.CACELED)
+                    .forEach(order -> quantitiesOf(order.getItems()).forEach((beerId, quantity) -> demand.merge(beerId, quantity, Integer::sum)));
+            demandForecaster.record(demand, now);
+            salesRollup.addAll(accepted);
+
+            for (int position = 0; position < orders.size(); position++) {
+                if (!insufficient.containsKey(position)) {
+                    int index = indexes.get(position);
+                    results[index] = new OrderBatchResultDTO(index, orders.get(position).getId(), OrderBatchStatus.ACCEPTED, null);
+                }
+            }
+
+            for (OrderBatchResultDTO result : results) {
+                batchResultCounters.get(result.getStatus()).increment();
+            }
+            logger.info("SERVICE: Importação em lote concluída. Aceitos: {}, Sem estoque: {}, Recusados: {}",
+                    accepted.size(), insufficient.size(), dtos.size() - orders.size());
+            return Arrays.asList(results);
+        });
+    }
+
     /**
      * Atualiza um pedido existente, validando as permissões de acesso.
      *
      * <p>A atualização envolve a exclusão dos itens antigos e o mapeamento dos novos,
-     * com validação de estoque e débito.</p>
+     * com validação de estoque e débito. A mudança de status move a reserva do pedido:
+     * {@code PAID} efetiva a reserva e {@code CACELED} a libera. A consolidação diária de vendas
+     * troca a contribuição anterior do pedido pela atual ({@link SalesRollup#replace}).</p>
      *
      * @param id O ID do pedido a ser atualizado.
      * @param dto O {@link OrderDTO} com os dados atualizados.
@@ -258,8 +541,11 @@ public class OrderServiceImpl implements OrderService {
                         return new ResourceNotFoundException("Order not found with id " + id);
                     });
             authService.validateSelfOrAdmin(order.getClient().getId());
-            copyDtoToEntity(dto, order);
+            Map<SalesDailyPK, SalesDaily> previousSales = salesRollup.contributionOf(order);
+            StockPosition[] positions = copyDtoToEntity(dto, order);
             Order savedOrder = orderRepository.save(order);
+            stockHoldManager.record(savedOrder, positions[0], positions[1]);
+            salesRollup.replace(previousSales, savedOrder);
             logger.info("SERVICE: Pedido ID {} atualizado com sucesso.", savedOrder.getId());
             return new OrderDTO(savedOrder, savedOrder.getItems());
         });
@@ -273,22 +559,27 @@ public class OrderServiceImpl implements OrderService {
      * <li>Define o momento do pedido e o status inicial.</li>
      * <li>Realiza o <b>Self-enrollment</b>, associando o pedido ao usuário autenticado no sistema.</li>
      * <li>Em caso de atualização (ID presente), limpa os itens antigos para substituição.</li>
-     * <li>Valida a existência de cada cerveja (Beer) no banco de dados.</li>
-     * <li><b>Validação de Estoque:</b> Verifica se há saldo suficiente para cada item. Caso o pedido
-     * exceda o estoque disponível, interrompe o processo.</li>
+     * <li>Valida a existência de todas as cervejas (Beer) com uma única consulta ao banco.</li>
+     * <li><b>Validação de Estoque:</b> Move o pedido da sua posição de estoque anterior para a nova
+     * ({@link StockLedger#rebalance}), reservando de forma atômica apenas o acréscimo. A transição é
+     * efetivada após o commit e desfeita em caso de rollback.</li>
+     * <li>Registra em cada item o preço unitário atual da cerveja, de modo que o total do pedido
+     * não mude com alterações posteriores de preço.</li>
      * </ul>
      *
      * @param dto O Objeto de Transferência de Dados (DTO) contendo as informações do pedido.
      * @param entity A entidade {@link Order} de destino que será persistida ou atualizada.
+     * @return As posições de estoque anterior e nova do pedido, nessa ordem.
      * @throws ForbiddenException Se não houver um usuário autenticado na sessão.
      * @throws ResourceNotFoundException Se o ID de uma cerveja fornecido no DTO não existir no banco.
      * @throws InsufficientStockException Se a quantidade solicitada de uma cerveja for maior que o saldo em estoque.
      * @throws IllegalArgumentException Se o ID da cerveja for nulo em algum item do pedido.
      */
 
-    private void copyDtoToEntity(OrderDTO dto, Order entity) {
+    private StockPosition[] copyDtoToEntity(OrderDTO dto, Order entity) {
         logger.debug("SERVICE: Iniciando mapeamento e validação de estoque para o pedido.");
 
+        OrderStatus previousStatus = entity.getOrderStatus();
         entity.setMomentAt(Instant.now());
         entity.setOrderStatus(dto.getOrderStatus());
 
@@ -299,48 +590,87 @@ public class OrderServiceImpl implements OrderService {
         }
         entity.setClient(authenticatedUser);
 
+        StockPosition before = StockPosition.empty();
         if (entity.getId() != null) {
+            before = stockHoldManager.claim(entity.getId(), previousStatus, quantitiesOf(entity.getItems()));
             orderItemRepository.deleteAll(entity.getItems());
             entity.getItems().clear();
         }
 
-        entity.setItems(
-                dto.getItems().stream()
-                        .filter(java.util.Objects::nonNull)
-                        .map(itemDTO -> {
-                            if (itemDTO.getBeerId() == null) {
-                                logger.error("SERVICE ERROR: Beer ID nulo em item do pedido.");
-                                throw new IllegalArgumentException("Beer ID must not be null.");
-                            }
-
-                            Beer beer = beerRepository.findById(itemDTO.getBeerId())
-                                    .orElseThrow(() -> new ResourceNotFoundException("Beer not found: " + itemDTO.getBeerId()));
+        Map<Long, Integer> quantities = new HashMap<>();
+        dto.getItems().stream()
+                .filter(Objects::nonNull)
+                .forEach(itemDTO -> {
+                    if (itemDTO.getBeerId() == null) {
+                        logger.error("SERVICE ERROR: Beer ID nulo em item do pedido.");
+                        throw new IllegalArgumentException("Beer ID must not be null.");
+                    }
+                    quantities.merge(itemDTO.getBeerId(), itemDTO.getQuantity(), Integer::sum);
+                });
 
-                            // Validação de estoque (Regra de Negócio no Service)
-                            int estoqueAtual = beer.getStock().getQuantity();
+        Map<Long, Beer> beers = beerRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Beer::getId, Function.identity()));
 
-                            if (itemDTO.getQuantity() > estoqueAtual) {
-                                logger.warn("SERVICE WARN: Estoque insuficiente para Cerveja ID: {}. Pedido: {}, Disponível: {}",
-                                        beer.getId(), itemDTO.getQuantity(), estoqueAtual);
+        for (Long beerId : quantities.keySet()) {
+            if (!beers.containsKey(beerId)) {
+                throw new ResourceNotFoundException("Beer not found: " + beerId);
+            }
+        }
 
-                                throw new InsufficientStockException(
-                                        "Quantidade insuficiente em estoque para a cerveja: " + beer.getName() +
-                                                ". Solicitado: " + itemDTO.getQuantity() +
-                                                ", Disponível em estoque: " + estoqueAtual
-                                );
-                            }
+        StockPosition after = stockHoldManager.positionFor(entity.getOrderStatus(), quantities);
+        try {
+            stockLedger.rebalance(before, after, entity::getId);
+        } catch (InsufficientStockException e) {
+            insufficientStockCounter.increment();
+            logger.warn("SERVICE WARN: Estoque insuficiente para o pedido. {}", e.getMessage());
+            throw e;
+        }
 
+        entity.setItems(
+                dto.getItems().stream()
+                        .filter(Objects::nonNull)
+                        .map(itemDTO -> {
+                            Beer beer = beers.get(itemDTO.getBeerId());
                             logger.debug("SERVICE: Mapeando item para cerveja ID {} com quantidade {}.", beer.getId(), itemDTO.getQuantity());
-
-                            // Criação da entidade OrderItem
-                            OrderItem item = new OrderItem(entity, beer, itemDTO.getQuantity());
-
-                            // EXECUÇÃO DA ATUALIZAÇÃO: A entidade altera seu próprio estado (Inversão de Controle)
-                            item.setAtualStock();
-
-                            return item;
+                            return new OrderItem(entity, beer, itemDTO.getQuantity(), beer.getPrice());
                         })
                         .collect(Collectors.toSet())
         );
+        return new StockPosition[]{before, after};
+    }
+
+    /**
+     * Valida os itens de um pedido do lote e agrupa as quantidades por ID da cerveja.
+     *
+     * @param dto O pedido recebido.
+     * @param quantities Recebe as quantidades, indexadas pelo ID da cerveja.
+     * @return O motivo da recusa, ou {@code null} se o pedido for válido.
+     */
+    private String mergeItems(OrderDTO dto, Map<Long, Integer> quantities) {
+        if (dto == null || dto.getItems() == null || dto.getItems().isEmpty()) {
+            return "O pedido deve conter ao menos um item";
+        }
+        for (OrderItemDTO item : dto.getItems()) {
+            if (item == null || item.getBeerId() == null) {
+                return "Beer ID must not be null.";
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                return "Quantidade inválida para a cerveja ID " + item.getBeerId();
+            }
+            quantities.merge(item.getBeerId(), item.getQuantity(), Integer::sum);
+        }
+        return null;
+    }
+
+    /**
+     * Agrupa as quantidades dos itens de um pedido por ID da cerveja.
+     *
+     * @param items Os itens do pedido.
+     * @return As quantidades, indexadas pelo ID da cerveja.
+     */
+    private Map<Long, Integer> quantitiesOf(Set<OrderItem> items) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        items.forEach(item -> quantities.merge(item.getBeer().getId(), item.getQuantity(), Integer::sum));
+        return quantities;
     }
-}
\ No newline at end of file
+}
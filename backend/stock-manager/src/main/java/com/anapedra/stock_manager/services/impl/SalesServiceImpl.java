@@ -0,0 +1,148 @@
+package com.anapedra.stock_manager.services.impl;
+
+import com.anapedra.stock_manager.domain.dtos.CategorySalesDTO;
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.dtos.SalesSummaryDTO;
+import com.anapedra.stock_manager.repositories.SalesDailyRepository;
+import com.anapedra.stock_manager.services.SalesService;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.services.sales.SalesRollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Implementação da interface {@link SalesService}.
+ *
+ * <p>As consultas agregam {@code tb_sales_daily} no banco; o recálculo é delegado ao
+ * {@link SalesRollup}.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @see SalesService
+ * @since 0.0.1-SNAPSHOT
+ */
+@Service
+public class SalesServiceImpl implements SalesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesServiceImpl.class);
+
+    private final SalesDailyRepository salesDailyRepository;
+    private final SalesRollup salesRollup;
+
+    /**
+     * Maior intervalo, em dias, aceito no relatório diário.
+     */
+    @Value("${stock-manager.sales.max-daily-range:366}")
+    private int maxDailyRange = 366;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param salesDailyRepository Repositório da consolidação diária de vendas.
+     * @param salesRollup Componente que mantém e recalcula a consolidação.
+     */
+    public SalesServiceImpl(SalesDailyRepository salesDailyRepository, SalesRollup salesRollup) {
+        this.salesDailyRepository = salesDailyRepository;
+        this.salesRollup = salesRollup;
+    }
+
+    /**
+     * Retorna os totais diários do intervalo, limitado a {@code stock-manager.sales.max-daily-range} dias.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return Os totais dos dias com vendas.
+     * @throws BusinessRuleException Se o intervalo for inválido ou muito longo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesSummaryDTO> findDaily(LocalDate from, LocalDate to, Long beerId) {
+        validateRange(from, to);
+        if (ChronoUnit.DAYS.between(from, to) >= maxDailyRange) {
+            throw new BusinessRuleException("O relatório diário aceita no máximo " + maxDailyRange + " dias.");
+        }
+        logger.info("SERVICE: Buscando vendas diárias de {} a {}. Cerveja: {}", from, to, beerId);
+        return salesDailyRepository.summarize(from, to, beerId, ChronoUnit.DAYS);
+    }
+
+    /**
+     * Retorna os totais mensais de um ano.
+     *
+     * @param year O ano.
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return Os totais dos meses com vendas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesSummaryDTO> findMonthly(int year, Long beerId) {
+        logger.info("SERVICE: Buscando vendas mensais de {}. Cerveja: {}", year, beerId);
+        return salesDailyRepository.summarize(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), beerId, ChronoUnit.MONTHS);
+    }
+
+    /**
+     * Retorna os totais anuais do intervalo de anos.
+     *
+     * @param fromYear O primeiro ano.
+     * @param toYear O último ano (inclusive).
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return Os totais dos anos com vendas.
+     * @throws BusinessRuleException Se o primeiro ano for posterior ao último.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesSummaryDTO> findYearly(int fromYear, int toYear, Long beerId) {
+        if (fromYear > toYear) {
+            throw new BusinessRuleException("O ano inicial deve ser anterior ou igual ao ano final.");
+        }
+        logger.info("SERVICE: Buscando vendas anuais de {} a {}. Cerveja: {}", fromYear, toYear, beerId);
+        return salesDailyRepository.summarize(LocalDate.of(fromYear, 1, 1), LocalDate.of(toYear, 12, 31), beerId, ChronoUnit.YEARS);
+    }
+
+    /**
+     * Retorna os totais por categoria no intervalo.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @return Os totais das categorias com vendas.
+     * @throws BusinessRuleException Se o intervalo for inválido.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategorySalesDTO> findByCategory(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        logger.info("SERVICE: Buscando vendas por categoria de {} a {}.", from, to);
+        return salesDailyRepository.summarizeByCategory(from, to);
+    }
+
+    /**
+     * Reconstrói a consolidação do intervalo; sem datas, do dia do pedido mais antigo até hoje (UTC).
+     *
+     * @param from O primeiro dia, ou {@code null}.
+     * @param to O último dia, ou {@code null}.
+     * @return O {@link RollupBackfillReportDTO} da execução.
+     * @throws BusinessRuleException Se o intervalo for inválido ou já houver um recálculo em andamento.
+     */
+    @Override
+    public RollupBackfillReportDTO backfill(LocalDate from, LocalDate to) {
+        LocalDate end = (to != null) ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = (from != null) ? from : salesDailyRepository.findFirstOrderDate().orElse(end);
+        validateRange(start, end);
+        return salesRollup.backfill(start, end);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            logger.warn("SERVICE WARN: Intervalo de datas inválido: {} a {}.", from, to);
+            throw new BusinessRuleException("Informe um intervalo de datas válido (from anterior ou igual a to).");
+        }
+    }
+}
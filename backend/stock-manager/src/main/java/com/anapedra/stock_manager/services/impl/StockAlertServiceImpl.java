@@ -0,0 +1,143 @@
+package com.anapedra.stock_manager.services.impl;
+
+import com.anapedra.stock_manager.domain.dtos.StockAlertDTO;
+import com.anapedra.stock_manager.domain.dtos.StockThresholdDTO;
+import com.anapedra.stock_manager.domain.entities.StockThreshold;
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.CategoryRepository;
+import com.anapedra.stock_manager.repositories.StockThresholdRepository;
+import com.anapedra.stock_manager.services.StockAlertService;
+import com.anapedra.stock_manager.services.alerts.LowStockAlertEngine;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementação da interface {@link StockAlertService}.
+ *
+ * <p>A lista de acompanhamento é lida do {@link LowStockAlertEngine}, sem consultar
+ * {@code tb_stock}. Os limites são gravados em {@code tb_stock_threshold} e recarregados no
+ * motor de alertas após o commit.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @see StockAlertService
+ * @since 0.0.1-SNAPSHOT
+ */
+@Service
+public class StockAlertServiceImpl implements StockAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAlertServiceImpl.class);
+
+    private final StockThresholdRepository stockThresholdRepository;
+    private final BeerRepository beerRepository;
+    private final CategoryRepository categoryRepository;
+    private final LowStockAlertEngine lowStockAlertEngine;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param stockThresholdRepository Repositório dos limites de estoque baixo.
+     * @param beerRepository Repositório de cervejas.
+     * @param categoryRepository Repositório de categorias.
+     * @param lowStockAlertEngine O motor de alertas de estoque.
+     */
+    public StockAlertServiceImpl(StockThresholdRepository stockThresholdRepository, BeerRepository beerRepository,
+                                 CategoryRepository categoryRepository, LowStockAlertEngine lowStockAlertEngine) {
+        this.stockThresholdRepository = stockThresholdRepository;
+        this.beerRepository = beerRepository;
+        this.categoryRepository = categoryRepository;
+        this.lowStockAlertEngine = lowStockAlertEngine;
+    }
+
+    /**
+     * Retorna as cervejas atualmente em estoque baixo ou sem estoque, mantidas em memória pelo motor de alertas.
+     *
+     * @param status {@link StockStatus#LOW} ou {@link StockStatus#OUT_OF_STOCK}.
+     * @return Uma {@link List} de {@link StockAlertDTO}.
+     * @throws BusinessRuleException Se o status não for de alerta.
+     */
+    @Override
+    public List<StockAlertDTO> findWatchlist(StockStatus status) {
+        if (status != StockStatus.LOW && status != StockStatus.OUT_OF_STOCK) {
+            throw new BusinessRuleException("A lista de acompanhamento aceita apenas os status LOW e OUT_OF_STOCK.");
+        }
+        List<StockAlertDTO> items = lowStockAlertEngine.watchlist(status);
+        logger.info("SERVICE: Lista de acompanhamento {} com {} cerveja(s).", status, items.size());
+        return items;
+    }
+
+    /**
+     * Retorna todos os limites de estoque baixo configurados.
+     *
+     * @return Uma {@link List} de {@link StockThresholdDTO}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockThresholdDTO> findThresholds() {
+        logger.info("SERVICE: Buscando limites de estoque baixo.");
+        return stockThresholdRepository.findAll().stream().map(StockThresholdDTO::new).toList();
+    }
+
+    /**
+     * Cria ou substitui o limite de uma cerveja ou categoria; o motor de alertas recarrega
+     * os limites e reclassifica as cervejas após o commit.
+     *
+     * @param dto O {@link StockThresholdDTO} com exatamente um entre {@code beerId} e {@code categoryId}.
+     * @return O {@link StockThresholdDTO} gravado.
+     * @throws BusinessRuleException Se o escopo for inválido.
+     * @throws ResourceNotFoundException Se a cerveja ou a categoria não existir.
+     */
+    @Override
+    @Transactional
+    public StockThresholdDTO saveThreshold(StockThresholdDTO dto) {
+        if ((dto.getBeerId() == null) == (dto.getCategoryId() == null)) {
+            throw new BusinessRuleException("Informe exatamente um entre beerId e categoryId.");
+        }
+
+        StockThreshold threshold;
+        if (dto.getBeerId() != null) {
+            if (!beerRepository.existsById(dto.getBeerId())) {
+                throw new ResourceNotFoundException("Cerveja não encontrada (ID: " + dto.getBeerId() + ")");
+            }
+            threshold = stockThresholdRepository.findByBeerId(dto.getBeerId())
+                    .orElseGet(() -> new StockThreshold(null, dto.getBeerId(), null, dto.getLowLimit()));
+        } else {
+            if (!categoryRepository.existsById(dto.getCategoryId())) {
+                throw new ResourceNotFoundException("Categoria não encontrada (ID: " + dto.getCategoryId() + ")");
+            }
+            threshold = stockThresholdRepository.findByCategoryId(dto.getCategoryId())
+                    .orElseGet(() -> new StockThreshold(null, null, dto.getCategoryId(), dto.getLowLimit()));
+        }
+        threshold.setLowLimit(dto.getLowLimit());
+        threshold = stockThresholdRepository.save(threshold);
+        lowStockAlertEngine.thresholdsChanged();
+
+        logger.info("SERVICE: Limite de estoque baixo ID {} gravado (cerveja: {}, categoria: {}, limite: {}).",
+                threshold.getId(), threshold.getBeerId(), threshold.getCategoryId(), threshold.getLowLimit());
+        return new StockThresholdDTO(threshold);
+    }
+
+    /**
+     * Exclui um limite; as cervejas afetadas voltam ao limite da categoria ou ao padrão.
+     *
+     * @param id O ID do limite.
+     * @throws ResourceNotFoundException Se o ID não for encontrado.
+     */
+    @Override
+    @Transactional
+    public void deleteThreshold(Long id) {
+        if (!stockThresholdRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Limite de estoque baixo não encontrado (ID: " + id + ")");
+        }
+        stockThresholdRepository.deleteById(id);
+        lowStockAlertEngine.thresholdsChanged();
+        logger.info("SERVICE: Limite de estoque baixo ID {} excluído.", id);
+    }
+}
@@ -1,26 +1,49 @@
 package com.anapedra.stock_manager.services.impl;
 
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.LossTotalDTO;
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.dtos.ShrinkageDTO;
 import com.anapedra.stock_manager.domain.dtos.StockLossDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.StockLoss;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import com.anapedra.stock_manager.domain.enums.LossGrouping;
 import com.anapedra.stock_manager.domain.enums.LossReason;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
 import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.SalesDailyRepository;
+import com.anapedra.stock_manager.repositories.StockLossDailyRepository;
 import com.anapedra.stock_manager.repositories.StockLossRepository;
 import com.anapedra.stock_manager.services.StockLossService;
+import com.anapedra.stock_manager.services.exceptions.BatchValidationException;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
 import com.anapedra.stock_manager.services.exceptions.InsufficientStockException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.ledger.StockEntry;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.losses.StockLossRollup;
+import com.anapedra.stock_manager.services.pagination.PageCounter;
+import com.anapedra.stock_manager.services.pagination.SeekCursor;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementação da interface {@link StockLossService} responsável por gerenciar
@@ -47,6 +70,11 @@ public class StockLossServiceImpl implements StockLossService {
 
     private final BeerRepository beerRepository;
     private final StockLossRepository stockLossRepository;
+    private final StockLedger stockLedger;
+    private final StockLossRollup stockLossRollup;
+    private final StockLossDailyRepository stockLossDailyRepository;
+    private final SalesDailyRepository salesDailyRepository;
+    private final PageCounter pageCounter;
 
     /** Métrica de tempo para registro de perdas */
     private final Timer lossRegistrationTimer;
@@ -54,13 +82,27 @@ public class StockLossServiceImpl implements StockLossService {
     /** Métrica de volume total de unidades perdidas */
     private final Counter totalUnitsLostCounter;
 
+    /** Máximo de perdas aceitas em um único lote */
+    @Value("${stock-manager.losses.batch-max-size:1000}")
+    private int batchMaxSize = 1000;
+
     public StockLossServiceImpl(
             BeerRepository beerRepository,
             StockLossRepository stockLossRepository,
+            StockLedger stockLedger,
+            StockLossRollup stockLossRollup,
+            StockLossDailyRepository stockLossDailyRepository,
+            SalesDailyRepository salesDailyRepository,
+            PageCounter pageCounter,
             MeterRegistry registry) {
 
         this.beerRepository = beerRepository;
         this.stockLossRepository = stockLossRepository;
+        this.stockLedger = stockLedger;
+        this.stockLossRollup = stockLossRollup;
+        this.stockLossDailyRepository = stockLossDailyRepository;
+        this.salesDailyRepository = salesDailyRepository;
+        this.pageCounter = pageCounter;
 
         this.lossRegistrationTimer = Timer.builder("stock_manager.stock_loss.registration_time")
                 .description("Tempo de execução do registro de perda de estoque")
@@ -72,38 +114,84 @@ public class StockLossServiceImpl implements StockLossService {
     }
 
     /**
-     * Busca paginada de perdas de estoque com filtros opcionais.
+     * Busca paginada de perdas com o modo de contagem escolhido pelo cliente. Sem filtros, o
+     * total aproximado vem da estimativa de linhas de {@code tb_stock_loss}.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CountedPageDTO<StockLossDTO> findLossesByFilters(
+            Integer reasonCode,
+            Long beerId,
+            String beerName,
+            Long categoryId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Pageable pageable,
+            CountMode countMode) {
+
+        logger.info("SERVICE: Buscando perdas de estoque. Beer ID: {}, Reason: {}, Contagem: {}",
+                beerId, reasonCode, countMode);
+
+        String beerSearch = (beerName != null && !beerName.trim().isEmpty())
+                ? beerName.trim()
+                : null;
+        boolean filtered = reasonCode != null || beerId != null || beerSearch != null
+                || categoryId != null || startDate != null || endDate != null;
+
+        CountedPageDTO<StockLossDTO> page = pageCounter.find(countMode, pageable,
+                PageCounter.signature("losses", reasonCode, beerId, beerSearch, categoryId, startDate, endDate),
+                p -> stockLossRepository.findLossesByFilters(reasonCode, beerId, beerSearch, categoryId,
+                        startDate, endDate, p),
+                p -> stockLossRepository.findLossesByFiltersSlice(reasonCode, beerId, beerSearch, categoryId,
+                        startDate, endDate, p),
+                () -> stockLossRepository.countLossesByFilters(reasonCode, beerId, beerSearch, categoryId,
+                        startDate, endDate),
+                filtered ? null : stockLossRepository::estimateRowCount,
+                StockLossDTO::new);
+
+        logger.info("SERVICE: Consulta retornou {} registros.", page.getNumberOfElements());
+        return page;
+    }
+
+    /**
+     * Busca de perdas paginada por cursor: em ordem de ID, lê um item a mais para saber se há
+     * próxima página, sem consulta de contagem.
      */
     @Transactional(readOnly = true)
     @Override
-    public Page<StockLossDTO> findLossesByFilters(
+    public CursorPageDTO<StockLossDTO> findLossesByFiltersCursor(
             Integer reasonCode,
             Long beerId,
             String beerName,
             Long categoryId,
             LocalDate startDate,
             LocalDate endDate,
-            Pageable pageable) {
+            String cursor,
+            int size) {
 
-        logger.info("SERVICE: Buscando perdas de estoque. Beer ID: {}, Reason: {}", beerId, reasonCode);
+        Long afterId = SeekCursor.decode(cursor);
+        Pageable probe = SeekCursor.probe(size);
+        logger.info("SERVICE: Buscando perdas de estoque por cursor. Beer ID: {}, Reason: {}, Após ID: {}",
+                beerId, reasonCode, afterId);
 
         String beerSearch = (beerName != null && !beerName.trim().isEmpty())
                 ? beerName.trim()
                 : null;
 
-        Page<StockLoss> page = stockLossRepository.findLossesByFilters(
+        List<StockLoss> rows = stockLossRepository.findLossesByFiltersAfter(
                 reasonCode,
                 beerId,
                 beerSearch,
                 categoryId,
                 startDate,
                 endDate,
-                pageable
+                afterId,
+                probe
         );
 
-        logger.info("SERVICE: Consulta retornou {} registros.", page.getTotalElements());
+        logger.info("SERVICE: Consulta por cursor retornou {} registros.", rows.size());
 
-        return page.map(StockLossDTO::new);
+        return SeekCursor.page(rows, size, StockLoss::getId, StockLossDTO::new);
     }
 
     /**
@@ -120,13 +208,164 @@ public class StockLossServiceImpl implements StockLossService {
             StockLoss entity = new StockLoss();
             copyDtoToEntity(dto, entity);
             entity = stockLossRepository.save(entity);
+            stockLossRollup.add(List.of(entity));
             return new StockLossDTO(entity);
         });
     }
 
+    /**
+     * Registra várias perdas de estoque em uma única transação.
+     *
+     * <p>Todos os itens são validados antes de qualquer gravação; a existência das cervejas
+     * é verificada com uma única leitura em lote do estoque ({@link StockLedger#availableAll}).
+     * As perdas são incluídas com um lote JDBC e o total perdido de cada cerveja é retirado
+     * de uma só vez e de forma atômica para o conjunto ({@link StockLedger#withdrawAll}),
+     * efetivado após o commit. As métricas são atualizadas uma vez por lote.</p>
+     */
+    @Transactional
+    @Override
+    public List<StockLossDTO> registerLosses(List<StockLossDTO> dtos) {
+        if (dtos.size() > batchMaxSize) {
+            throw new BusinessRuleException("O lote excede o máximo de " + batchMaxSize + " perdas.");
+        }
+        logger.info("SERVICE: Iniciando registro de {} perda(s) em lote.", dtos.size());
+
+        return lossRegistrationTimer.record(() -> {
+            Map<String, String> errors = new LinkedHashMap<>();
+            Set<Long> beerIds = new HashSet<>();
+            for (int i = 0; i < dtos.size(); i++) {
+                StockLossDTO dto = dtos.get(i);
+                if (dto == null) {
+                    errors.put("[" + i + "]", "Loss must not be null.");
+                    continue;
+                }
+                if (dto.getBeerId() == null) {
+                    errors.put("[" + i + "].beerId", "Beer ID must not be null.");
+                } else {
+                    beerIds.add(dto.getBeerId());
+                }
+                if (dto.getQuantityLost() == null || dto.getQuantityLost() <= 0) {
+                    errors.put("[" + i + "].quantityLost", "Quantity lost must be greater than zero.");
+                }
+            }
+
+            Map<Long, Integer> available = stockLedger.availableAll(beerIds);
+            for (int i = 0; i < dtos.size(); i++) {
+                StockLossDTO dto = dtos.get(i);
+                Long beerId = (dto != null) ? dto.getBeerId() : null;
+                if (beerId != null && !available.containsKey(beerId)) {
+                    errors.put("[" + i + "].beerId", "Cerveja não encontrada. ID: " + beerId);
+                }
+            }
+            if (!errors.isEmpty()) {
+                logger.warn("SERVICE WARN: Lote de perdas recusado. Itens inválidos: {}", errors.size());
+                throw new BatchValidationException("Lote de perdas inválido", errors);
+            }
+
+            Instant now = Instant.now();
+            List<StockLoss> entities = new ArrayList<>(dtos.size());
+            for (StockLossDTO dto : dtos) {
+                StockLoss entity = new StockLoss();
+                // Referência sem carregar o grafo da cerveja: a gravação usa apenas o ID
+                entity.setBeer(beerRepository.getReferenceById(dto.getBeerId()));
+                entity.setQuantityLost(dto.getQuantityLost());
+                entity.setLossReason(dto.getReason() != null ? dto.getReason() : LossReason.OTHER);
+                entity.setLossDate(dto.getLossDate() != null ? dto.getLossDate() : LocalDate.now());
+                entity.setDescription(dto.getDescription());
+                entity.setRegistrationMoment(now);
+                entities.add(entity);
+            }
+            stockLossRepository.insertAll(entities);
+            stockLossRollup.add(entities);
+
+            List<StockEntry> entries = new ArrayList<>(entities.size());
+            int units = 0;
+            for (int i = 0; i < entities.size(); i++) {
+                StockLoss entity = entities.get(i);
+                entries.add(new StockEntry(dtos.get(i).getBeerId(), entity.getQuantityLost(), entity.getId()));
+                units += entity.getQuantityLost();
+            }
+            try {
+                stockLedger.withdrawAll(entries, StockMovementType.LOSS);
+            } catch (InsufficientStockException e) {
+                logger.error("SERVICE ERROR: Estoque insuficiente para o lote de perdas. {}", e.getMessage());
+                throw e;
+            }
+
+            totalUnitsLostCounter.increment(units);
+            logger.info("SERVICE: Lote de perdas registrado. Registros: {}, Unidades: {}", entities.size(), units);
+
+            List<StockLossDTO> result = new ArrayList<>(entities.size());
+            for (int i = 0; i < entities.size(); i++) {
+                StockLoss entity = entities.get(i);
+                StockLossDTO dto = new StockLossDTO(entity.getId(), dtos.get(i).getBeerId(), entity.getQuantityLost(),
+                        entity.getLossDate(), entity.getLossReason(), entity.getDescription());
+                dto.setRegistrationMoment(entity.getRegistrationMoment());
+                result.add(dto);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Totais de perdas agrupados, lidos de {@code tb_stock_loss_daily}: o custo depende da
+     * quantidade de dias, cervejas e motivos do intervalo, e não da quantidade de perdas.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<LossTotalDTO> findLossTotals(LossGrouping grouping, LocalDate from, LocalDate to,
+                                             Integer reasonCode, Long beerId, Long categoryId) {
+        validateRange(from, to);
+        if (grouping == null) {
+            throw new BusinessRuleException("Informe o agrupamento dos totais de perdas.");
+        }
+        LossReason reason = null;
+        if (reasonCode != null) {
+            try {
+                reason = LossReason.valueOf(reasonCode);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessRuleException("Motivo de perda inválido: " + reasonCode);
+            }
+        }
+        logger.info("SERVICE: Buscando totais de perdas por {} de {} a {}. Reason: {}, Beer ID: {}, Category ID: {}",
+                grouping, from, to, reason, beerId, categoryId);
+        return stockLossDailyRepository.summarize(grouping, from, to, reason, beerId, categoryId);
+    }
+
+    /**
+     * Taxa de quebra a partir das consolidações diárias de perdas e de vendas.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public ShrinkageDTO getShrinkage(LocalDate from, LocalDate to, Long beerId) {
+        validateRange(from, to);
+        long lost = stockLossDailyRepository.sumUnits(from, to, beerId);
+        long sold = salesDailyRepository.sumUnits(from, to, beerId);
+        logger.info("SERVICE: Quebra de {} a {}. Beer ID: {}, Perdidas: {}, Vendidas: {}", from, to, beerId, lost, sold);
+        return new ShrinkageDTO(from, to, beerId, lost, sold);
+    }
+
+    /**
+     * Recalcula a consolidação diária de perdas; sem datas, do dia da perda mais antiga até hoje.
+     */
+    @Override
+    public RollupBackfillReportDTO backfillLossTotals(LocalDate from, LocalDate to) {
+        LocalDate end = (to != null) ? to : LocalDate.now();
+        LocalDate start = (from != null) ? from : stockLossDailyRepository.findFirstLossDate().orElse(end);
+        validateRange(start, end);
+        return stockLossRollup.backfill(start, end);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            logger.warn("SERVICE WARN: Intervalo de datas inválido: {} a {}.", from, to);
+            throw new BusinessRuleException("Informe um intervalo de datas válido (from anterior ou igual a to).");
+        }
+    }
+
     /**
      * Mapeia dados do DTO para a entidade aplicando regras de negócio
-     * e validações de estoque.
+     * e validações de estoque (via {@link StockLedger}).
      */
     private void copyDtoToEntity(StockLossDTO dto, StockLoss entity) {
 
@@ -146,19 +385,13 @@ public class StockLossServiceImpl implements StockLossService {
             throw new IllegalArgumentException("Quantity lost must be greater than zero.");
         }
 
-        int currentStock = beer.getStock().getQuantity();
-
-        if (dto.getQuantityLost() > currentStock) {
-            logger.error(
-                    "SERVICE ERROR: Estoque insuficiente. Beer ID: {}, Disponível: {}, Solicitado: {}",
-                    beer.getId(), currentStock, dto.getQuantityLost()
-            );
-
-            throw new InsufficientStockException(
-                    "Quantidade insuficiente em estoque para a cerveja: " + beer.getName() +
-                    ". Disponível: " + currentStock +
-                    ", Solicitado: " + dto.getQuantityLost()
-            );
+        // Retira a quantidade perdida do ledger: efetivada após o commit, desfeita em caso de rollback
+        try {
+            stockLedger.withdraw(Map.of(beer.getId(), dto.getQuantityLost()), StockMovementType.LOSS, entity::getId);
+        } catch (InsufficientStockException e) {
+            logger.error("SERVICE ERROR: Estoque insuficiente. Beer ID: {}, Solicitado: {}",
+                    beer.getId(), dto.getQuantityLost());
+            throw e;
         }
 
         entity.setBeer(beer);
@@ -172,9 +405,6 @@ public class StockLossServiceImpl implements StockLossService {
         entity.setDescription(dto.getDescription());
         entity.setRegistrationMoment(Instant.now());
 
-        // Atualização do estoque encapsulada na entidade
-        entity.getBeer().getStock().setQuantity(entity.getBeer().getStock().getQuantity() - entity.getQuantityLost());
-
         totalUnitsLostCounter.increment(dto.getQuantityLost());
 
         logger.info(
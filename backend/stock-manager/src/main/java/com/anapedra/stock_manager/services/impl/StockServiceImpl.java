@@ -1,10 +1,27 @@
 package com.anapedra.stock_manager.services.impl;
 
 import com.anapedra.stock_manager.domain.dtos.BeerStockDTO;
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.DemandForecastDTO;
+import com.anapedra.stock_manager.domain.dtos.ExpiredWriteOffReportDTO;
+import com.anapedra.stock_manager.domain.dtos.StockMovementDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.StockMovementRepository;
 import com.anapedra.stock_manager.services.StockService;
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.expiration.BeerExpirationIndex;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
+import com.anapedra.stock_manager.services.ledger.ExpiredStockWriteOff;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.ledger.StockLedgerFlusher;
+import com.anapedra.stock_manager.services.pagination.PageCounter;
+import com.anapedra.stock_manager.services.pagination.SeekCursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -13,7 +30,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +46,10 @@ import java.util.stream.Collectors;
  * busca por ID, relatórios de itens vencidos e consultas complexas utilizando
  * funções de banco de dados (PL/pgSQL).</p>
  *
+ * <p>As quantidades retornadas refletem o {@link StockLedger}: o saldo físico, a quantidade
+ * reservada por pedidos aguardando pagamento e o disponível ({@code quantidade - reservado}).
+ * O histórico de cada cerveja é lido do diário de movimentações ({@code tb_stock_movement}).</p>
+ *
  * @author Ana Santana
  * @version 1.0
  * @see StockService
@@ -36,19 +62,71 @@ public class StockServiceImpl implements StockService {
     private static final Logger logger = LoggerFactory.getLogger(StockServiceImpl.class);
 
     private final BeerRepository beerRepository;
+    private final StockLedger stockLedger;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockLedgerFlusher stockLedgerFlusher;
+    private final ExpiredStockWriteOff expiredStockWriteOff;
+    private final BeerExpirationIndex beerExpirationIndex;
+    private final DemandForecaster demandForecaster;
+    private final PageCounter pageCounter;
+    private final BeerCatalogCache beerCatalogCache;
+
+    /**
+     * Quantidade máxima de frações de estoque por cerveja.
+     */
+    @Value("${stock-manager.shards.max-count:32}")
+    private int maxShards = 32;
+
+    /**
+     * Quantidade máxima de dias de uma previsão de demanda.
+     */
+    @Value("${stock-manager.forecast.max-days:90}")
+    private int maxForecastDays = 90;
+
+    /**
+     * Quantidade máxima de cervejas retornadas pela busca por nome.
+     */
+    @Value("${stock-manager.search.max-results:100}")
+    private int maxSearchResults = 100;
 
     /**
      * Construtor para injeção de dependências.
      *
      * @param beerRepository Repositório de cervejas.
+     * @param stockLedger Ledger de estoque em memória, fonte das quantidades reservadas.
+     * @param stockMovementRepository Repositório do diário de movimentações de estoque.
+     * @param stockLedgerFlusher Gravador do ledger, responsável pela reconstrução a partir do diário.
+     * @param expiredStockWriteOff Rotina de baixa do estoque vencido.
+     * @param beerExpirationIndex Índice de validade em memória, usado nas consultas por vencimento.
+     * @param demandForecaster Previsão de demanda em memória.
+     * @param pageCounter Regras do total de elementos das listagens paginadas.
+     * @param beerCatalogCache Cache das leituras do catálogo (cervejas por ID e páginas da listagem).
      */
-    public StockServiceImpl(BeerRepository beerRepository) {
+    public StockServiceImpl(BeerRepository beerRepository, StockLedger stockLedger,
+                            StockMovementRepository stockMovementRepository, StockLedgerFlusher stockLedgerFlusher,
+                            ExpiredStockWriteOff expiredStockWriteOff, BeerExpirationIndex beerExpirationIndex,
+                            DemandForecaster demandForecaster, PageCounter pageCounter,
+                            BeerCatalogCache beerCatalogCache) {
         this.beerRepository = beerRepository;
+        this.stockLedger = stockLedger;
+        this.stockMovementRepository = stockMovementRepository;
+        this.stockLedgerFlusher = stockLedgerFlusher;
+        this.expiredStockWriteOff = expiredStockWriteOff;
+        this.beerExpirationIndex = beerExpirationIndex;
+        this.demandForecaster = demandForecaster;
+        this.pageCounter = pageCounter;
+        this.beerCatalogCache = beerCatalogCache;
     }
 
 
     /**
-     * Busca cervejas com informações de estoque paginadas aplicando filtros dinâmicos.
+     * Busca cervejas com informações de estoque paginadas aplicando filtros dinâmicos, com o modo
+     * de contagem escolhido pelo cliente. Sem filtros, o total aproximado vem da estimativa de
+     * linhas de {@code tb_beers}.
+     *
+     * <p>As páginas são servidas pelo {@link BeerCatalogCache}, sem as quantidades do ledger, que
+     * são aplicadas a cada leitura. Páginas filtradas ou ordenadas pela quantidade em estoque
+     * valem apenas até o limite de defasagem após uma movimentação de estoque.</p>
      *
      * @param categoryId ID da categoria (opcional).
      * @param categoryName Descrição da categoria (opcional, busca parcial).
@@ -56,20 +134,80 @@ public class StockServiceImpl implements StockService {
      * @param minQuantity Quantidade mínima em estoque (opcional).
      * @param maxQuantity Quantidade máxima em estoque (opcional).
      * @param pageable Objeto de paginação e ordenação do Spring Data.
-     * @return Uma {@link Page} de {@link BeerStockDTO} que correspondem aos filtros.
+     * @param countMode O modo de contagem do total.
+     * @return A {@link CountedPageDTO} de {@link BeerStockDTO}, com o modo de contagem usado.
+     */
+    @Override
+    public CountedPageDTO<BeerStockDTO> findAllBeer(
+            Long categoryId,
+            String categoryName,
+            String beerDescription,
+            Integer minQuantity,
+            Integer maxQuantity,
+            Pageable pageable,
+            CountMode countMode) {
+
+        logger.info("SERVICE: Buscando estoque com filtros - CatID: {}, Quantidade Min: {}. Página: {}, Contagem: {}",
+                    categoryId, minQuantity, pageable.getPageNumber(), countMode);
+
+        String categorySearch = (categoryName != null && !categoryName.isBlank())
+                ? categoryName.trim()
+                : null;
+
+        String beerSearch = (beerDescription != null && !beerDescription.isBlank())
+                ? beerDescription.trim()
+                : null;
+
+        boolean filtered = categoryId != null || categorySearch != null || beerSearch != null
+                || minQuantity != null || maxQuantity != null;
+
+        boolean stockSensitive = BeerCatalogCache.isStockSensitive(minQuantity, maxQuantity, pageable.getSort());
+        String signature = PageCounter.signature("beers", categoryId, categorySearch, beerSearch, minQuantity, maxQuantity);
+
+        CountedPageDTO<BeerStockDTO> cached = beerCatalogCache.findPage("beers",
+                PageCounter.signature(signature, pageable, countMode), stockSensitive,
+                () -> pageCounter.find(countMode, pageable, signature,
+                        p -> beerRepository.findAllBeer(categoryId, categorySearch, beerSearch, minQuantity, maxQuantity, p),
+                        p -> beerRepository.findAllBeerSlice(categoryId, categorySearch, beerSearch, minQuantity, maxQuantity, p),
+                        () -> beerRepository.countAllBeer(categoryId, categorySearch, beerSearch, minQuantity, maxQuantity),
+                        filtered ? null : beerRepository::estimateRowCount,
+                        BeerStockDTO::new));
+
+        CountedPageDTO<BeerStockDTO> page = cached.map(dto -> applyLedger(new BeerStockDTO(dto)));
+
+        logger.info("SERVICE: Consulta de estoque retornou {} elementos na página {}.",
+                    page.getNumberOfElements(), pageable.getPageNumber());
+        return page;
+    }
+
+    /**
+     * Variante de {@link #findAllBeer} paginada por cursor: ordena pelo ID, lê apenas as cervejas
+     * após o cursor e um item a mais para saber se há próxima página, sem consulta de contagem.
+     *
+     * @param categoryId ID da categoria (opcional).
+     * @param categoryName Descrição da categoria (opcional, busca parcial).
+     * @param beerDescription Nome/descrição da cerveja (opcional, busca parcial).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param cursor O token da página anterior, ou {@code null} para a primeira página.
+     * @param size O tamanho da página.
+     * @return A {@link CursorPageDTO} de {@link BeerStockDTO}.
      */
     @Transactional(readOnly = true)
     @Override
-    public Page<BeerStockDTO> findAllBeer(
+    public CursorPageDTO<BeerStockDTO> findAllBeerCursor(
             Long categoryId,
             String categoryName,
             String beerDescription,
             Integer minQuantity,
             Integer maxQuantity,
-            Pageable pageable) {
+            String cursor,
+            int size) {
 
-        logger.info("SERVICE: Buscando estoque com filtros - CatID: {}, Quantidade Min: {}. Página: {}", 
-                    categoryId, minQuantity, pageable.getPageNumber());
+        Long afterId = SeekCursor.decode(cursor);
+        Pageable probe = SeekCursor.probe(size);
+        logger.info("SERVICE: Buscando estoque por cursor - CatID: {}, Quantidade Min: {}. Após ID: {}",
+                    categoryId, minQuantity, afterId);
 
         String categorySearch = (categoryName != null && !categoryName.isBlank())
                 ? categoryName.trim()
@@ -79,41 +217,80 @@ public class StockServiceImpl implements StockService {
                 ? beerDescription.trim()
                 : null;
 
-        Page<Beer> filteredPage = beerRepository.findAllBeer(
+        List<Beer> rows = beerRepository.findAllBeerAfter(
                 categoryId,
                 categorySearch,
                 beerSearch,
                 minQuantity,
                 maxQuantity,
-                pageable
+                afterId,
+                probe
         );
-        
-        logger.info("SERVICE: Consulta de estoque retornou {} elementos na página {}.", 
-                    filteredPage.getNumberOfElements(), pageable.getPageNumber());
 
-        return filteredPage.map(BeerStockDTO::new);
+        return SeekCursor.page(rows, size, Beer::getId, this::toStockDTO);
     }
     
 
+    /**
+     * Busca cervejas pelo nome, da mais para a menos relevante.
+     *
+     * <p>O ranking é calculado pelo banco ({@link BeerRepository#searchIdsByName}); apenas as
+     * cervejas encontradas são carregadas, preservando essa ordem.</p>
+     *
+     * @param query O termo buscado.
+     * @param categoryName Parte do nome de uma categoria da cerveja (opcional).
+     * @param limit A quantidade máxima de cervejas retornadas.
+     * @return Uma {@link List} de {@link BeerStockDTO}, em ordem de relevância.
+     * @throws BusinessRuleException Se o termo estiver vazio ou o limite for inválido.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<BeerStockDTO> searchByName(String query, String categoryName, int limit) {
+        String term = (query != null) ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (term.isEmpty()) {
+            throw new BusinessRuleException("Informe o termo da busca.");
+        }
+        if (limit < 1 || limit > maxSearchResults) {
+            throw new BusinessRuleException("O limite da busca deve estar entre 1 e " + maxSearchResults + ".");
+        }
+        String categorySearch = (categoryName != null && !categoryName.isBlank())
+                ? categoryName.trim().toLowerCase(Locale.ROOT)
+                : null;
+
+        logger.info("SERVICE: Buscando cervejas por nome. Termo: '{}', Categoria: '{}', Limite: {}", term, categorySearch, limit);
+        List<Beer> beers = findAllInOrder(beerRepository.searchIdsByName(term, categorySearch, limit));
+
+        logger.info("SERVICE: Busca por nome retornou {} cerveja(s).", beers.size());
+        return beers.stream()
+                .map(this::toStockDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Busca uma cerveja com informações de estoque pelo seu identificador único.
      *
+     * <p>A cerveja é servida pelo {@link BeerCatalogCache}; as quantidades vêm do ledger a cada
+     * leitura.</p>
+     *
      * @param id O ID da cerveja.
      * @return O {@link BeerStockDTO} correspondente.
      * @throws ResourceNotFoundException Se o ID não for encontrado.
      */
-    @Transactional(readOnly = true)
     @Override
     public BeerStockDTO findById(Long id) {
         logger.info("SERVICE: Buscando estoque da cerveja pelo ID: {}", id);
-        Beer entity = beerRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("SERVICE WARN: Cerveja ID {} não encontrada.", id);
-                    return new ResourceNotFoundException("Cerveja não encontrada com ID: " + id);
-                });
-        
-        logger.info("SERVICE: Estoque da cerveja ID {} encontrado. Quantidade: {}", id, entity.getStock().getQuantity());
-        return new BeerStockDTO(entity);
+        BeerStockDTO cached = beerCatalogCache.findBeer("stock", id, false, () -> {
+            Beer entity = beerRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.warn("SERVICE WARN: Cerveja ID {} não encontrada.", id);
+                        return new ResourceNotFoundException("Cerveja não encontrada com ID: " + id);
+                    });
+            return new BeerStockDTO(entity);
+        });
+
+        BeerStockDTO dto = applyLedger(new BeerStockDTO(cached));
+        logger.info("SERVICE: Estoque da cerveja ID {} encontrado. Quantidade: {}", id, dto.getStock());
+        return dto;
     }
 
 
@@ -129,13 +306,15 @@ public class StockServiceImpl implements StockService {
     public List<BeerStockDTO> getExpiredBeersReport(LocalDate referenceDate) {
         logger.info("SERVICE: Gerando relatório de cervejas vencidas antes de: {}", referenceDate);
         
-        // O método findExpiredBeersBefore no repositório faz a busca
-        List<Beer> expiredBeers = beerRepository.findExpiredBeersBefore(referenceDate);
+        // Com o índice de validade, só as cervejas vencidas são lidas do banco
+        List<Beer> expiredBeers = beerExpirationIndex.isEnabled()
+                ? findAllInOrder(beerExpirationIndex.expiredBefore(referenceDate))
+                : beerRepository.findExpiredBeersBefore(referenceDate);
 
         logger.info("SERVICE: Relatório de cervejas vencidas concluído. Total de itens: {}", expiredBeers.size());
         
         return expiredBeers.stream()
-                .map(BeerStockDTO::new)
+                .map(this::toStockDTO)
                 .collect(Collectors.toList());
     }
 
@@ -167,10 +346,61 @@ public class StockServiceImpl implements StockService {
         logger.info("SERVICE: Executando função PL/pgSQL com filtros - DaysUntilExpiry: {}, Page: {}", 
                     daysUntilExpiry, pageNumber);
 
+        return queryPlpgsqlFunction(beerId, beerDescription, minQuantity, maxQuantity, daysUntilExpiry,
+                pageSize, pageNumber, null);
+    }
+
+    /**
+     * Variante de {@link #findUsingPlpgsqlFunction} paginada por cursor: a função PL/pgSQL
+     * recebe o ID da última cerveja entregue e lê {@code size + 1} itens, sem {@code OFFSET}.
+     *
+     * @param beerId ID da cerveja (opcional).
+     * @param beerDescription Descrição da cerveja (opcional).
+     * @param minQuantity Quantidade mínima em estoque (opcional).
+     * @param maxQuantity Quantidade máxima em estoque (opcional).
+     * @param daysUntilExpiry Número de dias para expiração (opcional).
+     * @param cursor O token da página anterior, ou {@code null} para a primeira página.
+     * @param size O tamanho da página.
+     * @return A {@link CursorPageDTO} de {@link BeerStockDTO}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BeerStockDTO> findUsingPlpgsqlFunctionCursor(
+            Long beerId,
+            String beerDescription,
+            Integer minQuantity,
+            Integer maxQuantity,
+            Integer daysUntilExpiry,
+            String cursor,
+            int size) {
+
+        Long afterId = SeekCursor.decode(cursor);
+        Pageable probe = SeekCursor.probe(size);
+        logger.info("SERVICE: Executando função PL/pgSQL por cursor - DaysUntilExpiry: {}, Após ID: {}",
+                    daysUntilExpiry, afterId);
+
+        List<BeerStockDTO> rows = queryPlpgsqlFunction(beerId, beerDescription, minQuantity, maxQuantity,
+                daysUntilExpiry, probe.getPageSize(), 0, afterId);
+
+        return SeekCursor.page(rows, size, BeerStockDTO::getId, Function.identity());
+    }
+
+    /**
+     * Chama a função PL/pgSQL (ou a variante restrita pelo índice de validade), paginando por
+     * número de página ou, com {@code afterId}, a partir da última cerveja entregue.
+     */
+    private List<BeerStockDTO> queryPlpgsqlFunction(Long beerId, String beerDescription, Integer minQuantity,
+                                                    Integer maxQuantity, Integer daysUntilExpiry,
+                                                    Integer pageSize, Integer pageNumber, Long afterId) {
         String beerSearch = (beerDescription != null && !beerDescription.isBlank())
                 ? beerDescription.trim()
                 : null;
 
+        if (daysUntilExpiry != null && beerExpirationIndex.isEnabled()) {
+            return findUsingExpirationIndex(beerId, beerSearch, minQuantity, maxQuantity, daysUntilExpiry,
+                    pageSize, pageNumber, afterId);
+        }
+
         // O método no repositório é responsável por chamar a função do banco
         List<BeerStockDTO> result = beerRepository.findBeersUsingPlpgsqlFunction(
                 beerId,
@@ -179,11 +409,182 @@ public class StockServiceImpl implements StockService {
                 maxQuantity,
                 daysUntilExpiry,
                 pageSize,
-                pageNumber
+                pageNumber,
+                afterId
         );
         
         logger.info("SERVICE: Função PL/pgSQL retornou {} itens.", result.size());
         
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Conta as cervejas vencidas e as que vencem em 7, 30 e 90 dias, a partir do índice de validade.
+     *
+     * @param today A data corrente.
+     * @return As contagens por janela de vencimento.
+     */
+    @Override
+    public Map<String, Long> getExpirationSummary(LocalDate today) {
+        logger.info("SERVICE: Gerando resumo de vencimentos a partir de: {}", today);
+        return beerExpirationIndex.summary(today);
+    }
+
+    /**
+     * Calcula a previsão de demanda para os próximos dias a partir do {@link DemandForecaster},
+     * tomando o dia corrente em UTC como referência.
+     *
+     * @param days A quantidade de dias previstos.
+     * @param beerId O ID de uma cerveja, ou {@code null} para todas.
+     * @return As previsões, em ordem de ID da cerveja.
+     * @throws BusinessRuleException Se a quantidade de dias estiver fora de 1 a {@code stock-manager.forecast.max-days}.
+     */
+    @Override
+    public List<DemandForecastDTO> getDemandForecast(int days, Long beerId) {
+        if (days < 1 || days > maxForecastDays) {
+            throw new BusinessRuleException("A previsão deve ter entre 1 e " + maxForecastDays + " dias.");
+        }
+        logger.info("SERVICE: Calculando previsão de demanda para {} dia(s). Cerveja: {}", days, beerId);
+        return demandForecaster.forecast(LocalDate.now(ZoneOffset.UTC), days, beerId);
+    }
+
+    /**
+     * Busca, de forma paginada, o histórico de movimentações de uma cerveja no diário de estoque.
+     *
+     * @param beerId O ID da cerveja.
+     * @param pageable Objeto de paginação e ordenação do Spring Data.
+     * @return Uma {@link Page} de {@link StockMovementDTO}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<StockMovementDTO> findMovements(Long beerId, Pageable pageable) {
+        logger.info("SERVICE: Buscando movimentações de estoque da cerveja ID {}. Página: {}", beerId, pageable.getPageNumber());
+        Page<StockMovementDTO> page = stockMovementRepository.findByBeerId(beerId, pageable).map(StockMovementDTO::new);
+        logger.info("SERVICE: {} movimentação(ões) retornada(s) para a cerveja ID {}.", page.getNumberOfElements(), beerId);
+        return page;
+    }
+
+    /**
+     * Reconstrói o saldo persistido ({@code tb_stock}) a partir do diário de movimentações.
+     *
+     * <p>As alterações pendentes do ledger são gravadas antes da comparação; a correção
+     * de cada cerveja divergente é aplicada ao banco e ao ledger.</p>
+     *
+     * @return A quantidade de cervejas cujo saldo foi corrigido.
+     */
+    @Override
+    public int rebuildFromJournal() {
+        logger.warn("SERVICE: Reconstrução do estoque a partir do diário solicitada.");
+        int corrected = stockLedgerFlusher.rebuild();
+        if (corrected > 0) {
+            // O saldo persistido das cervejas fora do ledger pode ter mudado
+            beerCatalogCache.catalogChanged();
+        }
+        logger.info("SERVICE: Reconstrução concluída. Cervejas corrigidas: {}", corrected);
+        return corrected;
+    }
+
+    /**
+     * Divide o saldo de uma cerveja em frações, ou as reúne com {@code shardCount = 1}.
+     *
+     * <p>As alterações pendentes do ledger são gravadas antes da divisão; o saldo total não muda.</p>
+     *
+     * @param beerId O ID da cerveja.
+     * @param shardCount A quantidade de frações (entre 1 e o máximo configurado).
+     * @return O {@link BeerStockDTO} da cerveja.
+     * @throws BusinessRuleException Se a quantidade de frações estiver fora do intervalo permitido.
+     * @throws ResourceNotFoundException Se a cerveja não possuir registro de estoque.
+     */
+    @Override
+    public BeerStockDTO configureShards(Long beerId, int shardCount) {
+        if (shardCount < 1 || shardCount > maxShards) {
+            throw new BusinessRuleException("A quantidade de frações deve estar entre 1 e " + maxShards + ".");
+        }
+        logger.info("SERVICE: Configurando {} fração(ões) de estoque para a cerveja ID {}.", shardCount, beerId);
+        int total = stockLedgerFlusher.reshard(beerId, shardCount);
+        if (total < 0) {
+            logger.warn("SERVICE WARN: Estoque não encontrado para a cerveja ID {}.", beerId);
+            throw new ResourceNotFoundException("Estoque não encontrado para a cerveja (ID: " + beerId + ")");
+        }
+        return findById(beerId);
+    }
+
+    /**
+     * Baixa o estoque disponível das cervejas vencidas, delegando à {@link ExpiredStockWriteOff}.
+     *
+     * <p>Não é transacional: cada bloco de cervejas é baixado em sua própria transação curta.</p>
+     *
+     * @param referenceDate A data de referência.
+     * @return O {@link ExpiredWriteOffReportDTO} com o resultado da execução.
+     * @throws BusinessRuleException Se já houver uma baixa em execução.
+     */
+    @Override
+    public ExpiredWriteOffReportDTO writeOffExpired(LocalDate referenceDate) {
+        logger.info("SERVICE: Baixa de estoque vencido solicitada. Data de referência: {}", referenceDate);
+        return expiredStockWriteOff.run(referenceDate);
+    }
+
+    /**
+     * Executa a função PL/pgSQL restrita às cervejas que vencem nos próximos dias, resolvidas
+     * pelo índice de validade; sem candidatas, o banco não é consultado.
+     */
+    private List<BeerStockDTO> findUsingExpirationIndex(Long beerId, String beerSearch, Integer minQuantity,
+                                                        Integer maxQuantity, Integer daysUntilExpiry,
+                                                        Integer pageSize, Integer pageNumber, Long afterId) {
+        List<Long> candidates = beerExpirationIndex.expiringWithin(LocalDate.now(), daysUntilExpiry);
+        if (beerId != null) {
+            candidates = candidates.contains(beerId) ? List.of(beerId) : List.of();
+        }
+        if (candidates.isEmpty()) {
+            logger.info("SERVICE: Nenhuma cerveja vence nos próximos {} dia(s).", daysUntilExpiry);
+            return List.of();
+        }
+
+        List<BeerStockDTO> result = beerRepository.findBeersUsingPlpgsqlFunctionByIds(
+                candidates.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                beerSearch,
+                minQuantity,
+                maxQuantity,
+                pageSize,
+                pageNumber,
+                afterId
+        );
+
+        logger.info("SERVICE: Função PL/pgSQL retornou {} itens de {} cerveja(s) a vencer.", result.size(), candidates.size());
+        return result;
+    }
+
+    /**
+     * Carrega as cervejas pelos IDs, preservando a ordem informada.
+     */
+    private List<Beer> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Beer> byId = beerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Beer::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Converte uma cerveja em {@link BeerStockDTO}, aplicando o saldo e a reserva do ledger.
+     *
+     * @param beer A cerveja.
+     * @return O DTO com quantidade, reservado e disponível.
+     */
+    private BeerStockDTO toStockDTO(Beer beer) {
+        return applyLedger(new BeerStockDTO(beer));
+    }
+
+    /**
+     * Aplica ao DTO o saldo e a reserva do ledger; o saldo lido do banco vale para cervejas fora do ledger.
+     *
+     * @param dto O DTO, alterado pelo método.
+     * @return O próprio DTO.
+     */
+    private BeerStockDTO applyLedger(BeerStockDTO dto) {
+        int persisted = (dto.getStock() != null) ? dto.getStock() : 0;
+        dto.applyReservation(stockLedger.onHand(dto.getId(), persisted), stockLedger.reserved(dto.getId()));
+        return dto;
+    }
+}
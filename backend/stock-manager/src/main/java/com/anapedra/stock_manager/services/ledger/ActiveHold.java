@@ -0,0 +1,66 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserva ativa de um pedido mantida em memória pelo {@link StockHoldRegistry}: as quantidades
+ * retidas por cerveja e o momento em que expiram.
+ *
+ * <p>A igualdade é por identidade, de modo que uma reserva substituída não seja expirada
+ * no lugar da nova.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class ActiveHold {
+
+    private final Long orderId;
+    private final Map<Long, Integer> quantities;
+    private final Instant expiresAt;
+
+    /**
+     * Construtor para inicializar uma reserva ativa.
+     *
+     * @param orderId O ID do pedido.
+     * @param quantities As quantidades retidas, indexadas pelo ID da cerveja.
+     * @param expiresAt O momento de expiração.
+     */
+    public ActiveHold(Long orderId, Map<Long, Integer> quantities, Instant expiresAt) {
+        this.orderId = orderId;
+        this.quantities = Collections.unmodifiableMap(new TreeMap<>(quantities));
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Retorna o ID do pedido.
+     * @return O ID do pedido.
+     */
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Retorna as quantidades retidas.
+     * @return Um mapa imutável de ID da cerveja para quantidade.
+     */
+    public Map<Long, Integer> getQuantities() {
+        return quantities;
+    }
+
+    /**
+     * Retorna o momento de expiração.
+     * @return O Instant de expiração.
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ActiveHold{orderId=" + orderId + ", quantities=" + quantities + ", expiresAt=" + expiresAt + '}';
+    }
+}
@@ -0,0 +1,218 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import com.anapedra.stock_manager.domain.dtos.ExpiredWriteOffReportDTO;
+import com.anapedra.stock_manager.domain.entities.StockLoss;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.StockLossRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.services.losses.StockLossRollup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Baixa como perda ({@link LossReason#EXPIRED}) o estoque das cervejas vencidas.
+ *
+ * <p>As cervejas vencidas com estoque são percorridas em blocos ordenados por ID (paginação
+ * por chave, sem {@code OFFSET}), cada bloco na sua própria transação curta: o disponível
+ * de todas as cervejas do bloco é lido de uma vez no {@link StockLedger}, as perdas são
+ * incluídas com um lote JDBC e as retiradas são aplicadas juntas após o commit
+ * ({@link StockLedger#withdrawAll}). Quantidades retidas por pedidos aguardando pagamento
+ * não são baixadas.</p>
+ *
+ * <p>Executada diariamente ({@code stock-manager.expired-write-off.cron}) e sob demanda
+ * pelo {@code StockService}. Apenas uma execução ocorre por vez.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class ExpiredStockWriteOff {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredStockWriteOff.class);
+
+    private static final String DESCRIPTION = "Baixa automática de estoque vencido";
+
+    private final StockRepository stockRepository;
+    private final StockLossRepository stockLossRepository;
+    private final BeerRepository beerRepository;
+    private final StockLedger stockLedger;
+    private final StockLedgerFlusher stockLedgerFlusher;
+    private final StockLossRollup stockLossRollup;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock running = new ReentrantLock();
+
+    private final Timer runTimer;
+    private final Counter beersCounter;
+    private final Counter unitsCounter;
+    private final Counter totalUnitsLostCounter;
+
+    /**
+     * Quantidade de cervejas por bloco (e por transação).
+     */
+    @Value("${stock-manager.expired-write-off.chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockRepository Repositório de estoque, usado para localizar as cervejas vencidas.
+     * @param stockLossRepository Repositório de perdas, que recebe as baixas.
+     * @param beerRepository Repositório de cervejas, usado para referenciar as cervejas baixadas.
+     * @param stockLedger O ledger de estoque em memória.
+     * @param stockLedgerFlusher Gravador do ledger, acionado antes da varredura.
+     * @param stockLossRollup Consolidação diária de perdas, que recebe as baixas após o commit.
+     * @param transactionManager O gerenciador de transações usado em cada bloco.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public ExpiredStockWriteOff(StockRepository stockRepository, StockLossRepository stockLossRepository,
+                                BeerRepository beerRepository, StockLedger stockLedger,
+                                StockLedgerFlusher stockLedgerFlusher, StockLossRollup stockLossRollup,
+                                PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.stockRepository = stockRepository;
+        this.stockLossRepository = stockLossRepository;
+        this.beerRepository = beerRepository;
+        this.stockLedger = stockLedger;
+        this.stockLedgerFlusher = stockLedgerFlusher;
+        this.stockLossRollup = stockLossRollup;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.runTimer = Timer.builder("stock_manager.expired_write_off.run_time")
+                .description("Tempo de execução da baixa de estoque vencido")
+                .register(registry);
+
+        this.beersCounter = Counter.builder("stock_manager.expired_write_off.beers")
+                .description("Total de cervejas vencidas com estoque baixado")
+                .register(registry);
+
+        this.unitsCounter = Counter.builder("stock_manager.expired_write_off.units")
+                .description("Total de unidades vencidas baixadas")
+                .register(registry);
+
+        // Mesmo contador do registro de perdas: a baixa de vencidos também é perda
+        this.totalUnitsLostCounter = Counter.builder("stock_manager.stock_loss.total_units_lost")
+                .description("Total de unidades registradas como perda")
+                .register(registry);
+    }
+
+    /**
+     * Execução agendada, com a data corrente como referência.
+     */
+    @Scheduled(cron = "${stock-manager.expired-write-off.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        try {
+            run(LocalDate.now());
+        } catch (BusinessRuleException e) {
+            logger.warn("SERVICE WARN: Baixa de estoque vencido agendada ignorada: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Baixa o estoque disponível de todas as cervejas vencidas até a data de referência.
+     *
+     * @param referenceDate A data de referência (validade anterior ou igual é considerada vencida).
+     * @return O {@link ExpiredWriteOffReportDTO} da execução.
+     * @throws BusinessRuleException Se já houver uma execução em andamento.
+     */
+    public ExpiredWriteOffReportDTO run(LocalDate referenceDate) {
+        if (!running.tryLock()) {
+            throw new BusinessRuleException("A baixa de estoque vencido já está em execução.");
+        }
+        try {
+            logger.info("SERVICE: Iniciando baixa de estoque vencido. Data de referência: {}", referenceDate);
+            long start = System.nanoTime();
+            ExpiredWriteOffReportDTO report = new ExpiredWriteOffReportDTO(referenceDate);
+
+            // Grava as variações pendentes para que a varredura no banco enxergue o saldo atual
+            stockLedgerFlusher.flush();
+
+            long afterId = 0;
+            List<Long> beerIds;
+            do {
+                beerIds = stockRepository.findExpiredWithStock(referenceDate, afterId, chunkSize);
+                if (beerIds.isEmpty()) {
+                    break;
+                }
+                writeOff(beerIds, referenceDate, report);
+                afterId = beerIds.get(beerIds.size() - 1);
+            } while (beerIds.size() == chunkSize);
+
+            long elapsed = System.nanoTime() - start;
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            report.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            logger.info("SERVICE: Baixa de estoque vencido concluída. Blocos: {}, Cervejas: {}, Unidades: {}, Falhas: {}, Duração: {} ms",
+                    report.getChunks(), report.getBeersWrittenOff(), report.getUnitsWrittenOff(),
+                    report.getFailedChunks(), report.getDurationMs());
+            return report;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Baixa um bloco de cervejas em uma transação própria.
+     */
+    private void writeOff(List<Long> beerIds, LocalDate referenceDate, ExpiredWriteOffReportDTO report) {
+        try {
+            List<StockLoss> losses = transactionTemplate.execute(status -> {
+                Map<Long, Integer> available = stockLedger.availableAll(beerIds);
+                Instant now = Instant.now();
+                List<Long> writtenOff = new ArrayList<>();
+                List<StockLoss> created = new ArrayList<>();
+                available.forEach((beerId, quantity) -> {
+                    if (quantity > 0) {
+                        StockLoss loss = new StockLoss(null, beerRepository.getReferenceById(beerId), quantity,
+                                LossReason.EXPIRED, referenceDate, DESCRIPTION);
+                        loss.setRegistrationMoment(now);
+                        writtenOff.add(beerId);
+                        created.add(loss);
+                    }
+                });
+                if (created.isEmpty()) {
+                    return created;
+                }
+                stockLossRepository.insertAll(created);
+                List<StockEntry> entries = new ArrayList<>(created.size());
+                for (int i = 0; i < created.size(); i++) {
+                    StockLoss loss = created.get(i);
+                    entries.add(new StockEntry(writtenOff.get(i), loss.getQuantityLost(), loss.getId()));
+                }
+                stockLedger.withdrawAll(entries, StockMovementType.LOSS);
+                stockLossRollup.add(created);
+                return created;
+            });
+
+            long units = losses.stream().mapToLong(StockLoss::getQuantityLost).sum();
+            report.chunk(beerIds.size(), losses.size(), units);
+            beersCounter.increment(losses.size());
+            unitsCounter.increment(units);
+            totalUnitsLostCounter.increment(units);
+            logger.info("SERVICE: Baixa de vencidos: bloco {} (IDs {} a {}) com {} cerveja(s) e {} unidade(s).",
+                    report.getChunks(), beerIds.get(0), beerIds.get(beerIds.size() - 1), losses.size(), units);
+        } catch (RuntimeException e) {
+            // Ex: uma venda concorrente reservou o saldo; o bloco é refeito na próxima execução
+            report.failedChunk(beerIds.size());
+            logger.error("SERVICE ERROR: Falha na baixa de vencidos do bloco com IDs {} a {}. Detalhes: {}",
+                    beerIds.get(0), beerIds.get(beerIds.size() - 1), e.getMessage());
+        }
+    }
+}
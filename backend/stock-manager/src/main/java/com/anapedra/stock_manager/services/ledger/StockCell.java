@@ -0,0 +1,258 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Célula de estoque em memória de uma única cerveja, mantida pelo {@link StockLedger}.
+ *
+ * <p>O saldo físico ({@code onHand}) e a quantidade reservada ({@code reserved}) são
+ * empacotados em um único {@code long} (32 bits cada), de modo que toda mutação é um
+ * único compare-and-set, sem locks. A quantidade disponível é sempre
+ * {@code onHand - reserved}.</p>
+ *
+ * <p>Toda variação do saldo físico também é acumulada em {@code unflushed}, a variação
+ * líquida ainda não gravada no banco, drenada pelo {@link StockLedgerFlusher}. As mutações
+ * que alteram o saldo físico ficam registradas em {@code inFlight} entre o compare-and-set e a
+ * atualização de {@code unflushed}, para que a ressincronização leia os dois de forma
+ * consistente.</p>
+ *
+ * <p>Cada mutação aplicada incrementa o contador de alterações compartilhado pelas células do
+ * ledger ({@link StockLedger#changes()}).</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+final class StockCell {
+
+    private final AtomicLong state;
+    private final AtomicInteger unflushed = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder changes;
+
+    StockCell(int onHand, LongAdder changes) {
+        this.state = new AtomicLong(pack(onHand, 0));
+        this.changes = changes;
+    }
+
+    /**
+     * Tenta reservar uma quantidade, falhando se o disponível for insuficiente.
+     *
+     * @param amount A quantidade a reservar (positiva).
+     * @return {@code true} se a reserva foi aplicada.
+     */
+    boolean tryReserve(int amount) {
+        while (true) {
+            long current = state.get();
+            int onHand = onHand(current);
+            int reserved = reserved(current);
+            if (onHand - reserved < amount) {
+                return false;
+            }
+            if (swap(current, pack(onHand, reserved + amount))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Efetiva uma reserva: retira a quantidade do saldo físico e da reserva.
+     *
+     * @param amount A quantidade reservada anteriormente.
+     * @return O novo saldo físico.
+     */
+    int confirm(int amount) {
+        inFlight.incrementAndGet();
+        try {
+            while (true) {
+                long current = state.get();
+                int onHand = onHand(current) - amount;
+                long next = pack(onHand, reserved(current) - amount);
+                if (swap(current, next)) {
+                    unflushed.addAndGet(-amount);
+                    return onHand;
+                }
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Devolve uma reserva ao disponível sem alterar o saldo físico.
+     *
+     * @param amount A quantidade reservada anteriormente.
+     */
+    void release(int amount) {
+        while (true) {
+            long current = state.get();
+            if (swap(current, pack(onHand(current), reserved(current) - amount))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Soma (ou subtrai, se negativo) uma quantidade ao saldo físico.
+     *
+     * @param amount A variação do saldo.
+     * @return O novo saldo físico.
+     */
+    int add(int amount) {
+        inFlight.incrementAndGet();
+        try {
+            while (true) {
+                long current = state.get();
+                int onHand = onHand(current) + amount;
+                if (swap(current, pack(onHand, reserved(current)))) {
+                    unflushed.addAndGet(amount);
+                    return onHand;
+                }
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Aplica, de uma só vez, variações ao saldo físico e à quantidade reservada.
+     *
+     * @param onHandDelta A variação do saldo físico.
+     * @param reservedDelta A variação da quantidade reservada.
+     */
+    void adjust(int onHandDelta, int reservedDelta) {
+        inFlight.incrementAndGet();
+        try {
+            while (true) {
+                long current = state.get();
+                long next = pack(onHand(current) + onHandDelta, reserved(current) + reservedDelta);
+                if (swap(current, next)) {
+                    if (onHandDelta != 0) {
+                        unflushed.addAndGet(onHandDelta);
+                    }
+                    return;
+                }
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Substitui o saldo físico por um valor já gravado no banco, preservando as reservas
+     * em andamento e descartando a variação ainda não gravada.
+     *
+     * @param onHand O novo saldo físico.
+     */
+    void set(int onHand) {
+        while (true) {
+            long current = state.get();
+            if (swap(current, pack(onHand, reserved(current)))) {
+                unflushed.set(0);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Realinha o saldo físico com o valor lido do banco depois que uma variação drenada foi
+     * recusada, preservando as reservas e as variações aplicadas depois da drenagem.
+     *
+     * <p>O novo saldo é {@code dbQuantity + unflushed}: as variações ainda não gravadas
+     * continuam pendentes e chegam ao banco na próxima gravação. Saldo e variação pendente são
+     * lidos sem nenhuma mutação em andamento, de modo que uma variação já aplicada ao saldo não
+     * fique de fora da variação lida.</p>
+     *
+     * @param dbQuantity O saldo físico atual em {@code tb_stock}.
+     * @return A correção aplicada ao saldo.
+     */
+    int resync(int dbQuantity) {
+        while (true) {
+            long current = state.get();
+            if (inFlight.get() != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int onHand = dbQuantity + unflushed.get();
+            if (swap(current, pack(onHand, reserved(current)))) {
+                return onHand - onHand(current);
+            }
+        }
+    }
+
+    /**
+     * Desloca o saldo físico sem registrar variação pendente, preservando as reservas.
+     *
+     * @param delta A correção a aplicar ao saldo.
+     */
+    void rebase(int delta) {
+        while (true) {
+            long current = state.get();
+            if (swap(current, pack(onHand(current) + delta, reserved(current)))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retira e retorna a variação líquida ainda não gravada no banco.
+     *
+     * @return A variação acumulada desde a última drenagem.
+     */
+    int drainUnflushed() {
+        return unflushed.getAndSet(0);
+    }
+
+    /**
+     * Devolve uma variação cuja gravação falhou, para nova tentativa.
+     *
+     * @param delta A variação drenada anteriormente.
+     */
+    void restoreUnflushed(int delta) {
+        unflushed.addAndGet(delta);
+    }
+
+    int onHand() {
+        return onHand(state.get());
+    }
+
+    int reserved() {
+        return reserved(state.get());
+    }
+
+    int available() {
+        long current = state.get();
+        return onHand(current) - reserved(current);
+    }
+
+    /**
+     * Retorna o estado empacotado (saldo físico e reserva), que muda a cada mutação da célula.
+     *
+     * @return O estado corrente.
+     */
+    long state() {
+        return state.get();
+    }
+
+    private boolean swap(long current, long next) {
+        if (state.compareAndSet(current, next)) {
+            changes.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private static long pack(int onHand, int reserved) {
+        return ((long) onHand << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int onHand(long state) {
+        return (int) (state >> 32);
+    }
+
+    private static int reserved(long state) {
+        return (int) state;
+    }
+}
@@ -0,0 +1,17 @@
+package com.anapedra.stock_manager.services.ledger;
+
+/**
+ * Lançamento de estoque de uma cerveja, com o ID do registro que o originou.
+ *
+ * <p>Usado pelo {@link StockLedger#depositAll} e pelo {@link StockLedger#withdrawAll} para
+ * aplicar vários lançamentos de uma só vez (ex: reposições ou perdas em lote).</p>
+ *
+ * @param beerId O ID da cerveja.
+ * @param quantity A quantidade lançada (positiva; o sentido é dado pelo método que a aplica).
+ * @param referenceId O ID do registro de origem, registrado no diário.
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public record StockEntry(Long beerId, int quantity, Long referenceId) {
+}
@@ -0,0 +1,42 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Gancho de durabilidade do {@link StockLedgerFlusher}: permite que outros componentes
+ * acompanhem cada gravação das alterações de estoque acumuladas em memória.
+ *
+ * <p>Implementações registradas como beans são chamadas em todos os ciclos de gravação.
+ * {@link #onFlush} executa dentro da transação de gravação: uma exceção desfaz o lote
+ * inteiro, que volta para a memória e é repetido no próximo ciclo. Os ganchos devem ser
+ * rápidos, pois atrasam a gravação das próximas variações.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public interface StockFlushHook {
+
+    /**
+     * Chamado dentro da transação de gravação, depois dos {@code UPDATE}s de {@code tb_stock}
+     * e da inclusão das movimentações no diário.
+     *
+     * @param deltas As variações líquidas gravadas, indexadas e ordenadas pelo ID da cerveja.
+     * @param movements As movimentações gravadas no diário.
+     */
+    default void onFlush(SortedMap<Long, Integer> deltas, List<StockMovement> movements) {
+    }
+
+    /**
+     * Chamado quando uma gravação falha e as alterações voltam para a memória.
+     *
+     * @param deltas As variações que não foram gravadas.
+     * @param movements As movimentações que não foram gravadas.
+     * @param cause A falha ocorrida.
+     */
+    default void onFlushFailure(SortedMap<Long, Integer> deltas, List<StockMovement> movements, Exception cause) {
+    }
+}
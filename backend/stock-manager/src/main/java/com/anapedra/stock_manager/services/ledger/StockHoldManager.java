@@ -0,0 +1,210 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import com.anapedra.stock_manager.domain.entities.Order;
+import com.anapedra.stock_manager.domain.entities.StockHold;
+import com.anapedra.stock_manager.domain.enums.HoldStatus;
+import com.anapedra.stock_manager.domain.enums.OrderStatus;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.StockHoldRepository;
+import com.anapedra.stock_manager.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coordena as reservas de estoque com prazo dos pedidos.
+ *
+ * <p>Um pedido aguardando pagamento ({@link OrderStatus#WAITING_PAYMENT}) apenas retém suas
+ * quantidades no {@link StockLedger} por um tempo limitado
+ * ({@code stock-manager.hold.ttl-minutes}); ao ser pago, a retenção vira baixa definitiva; ao
+ * ser cancelado ou expirar, a quantidade volta ao disponível. As reservas são gravadas em
+ * {@code tb_stock_hold} na mesma transação do pedido e mantidas em memória no
+ * {@link StockHoldRegistry}, de onde o {@link StockHoldSweeper} as expira.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class StockHoldManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockHoldManager.class);
+
+    private final StockLedger stockLedger;
+    private final StockHoldRegistry stockHoldRegistry;
+    private final StockHoldRepository stockHoldRepository;
+    private final BeerRepository beerRepository;
+
+    /**
+     * Tempo (minutos) que um pedido aguardando pagamento retém o estoque.
+     */
+    @Value("${stock-manager.hold.ttl-minutes:30}")
+    private long ttlMinutes = 30;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param stockLedger O ledger de estoque em memória.
+     * @param stockHoldRegistry O registro em memória das reservas ativas.
+     * @param stockHoldRepository Repositório de reservas.
+     * @param beerRepository Repositório de cervejas, usado para referenciar as cervejas reservadas.
+     */
+    public StockHoldManager(StockLedger stockLedger, StockHoldRegistry stockHoldRegistry,
+                            StockHoldRepository stockHoldRepository, BeerRepository beerRepository) {
+        this.stockLedger = stockLedger;
+        this.stockHoldRegistry = stockHoldRegistry;
+        this.stockHoldRepository = stockHoldRepository;
+        this.beerRepository = beerRepository;
+    }
+
+    /**
+     * Calcula a posição de estoque correspondente a um status de pedido.
+     *
+     * @param status O status do pedido.
+     * @param quantities As quantidades dos itens, indexadas pelo ID da cerveja.
+     * @return Retida para {@code WAITING_PAYMENT}, vazia para {@code CACELED} e retirada nos demais casos.
+     */
+    public StockPosition positionFor(OrderStatus status, Map<Long, Integer> quantities) {
+        if (status == OrderStatus.WAITING_PAYMENT) {
+            return StockPosition.held(quantities);
+        }
+        if (status == OrderStatus.CACELED) {
+            return StockPosition.empty();
+        }
+        return StockPosition.committed(quantities);
+    }
+
+    /**
+     * Determina a posição de estoque atual de um pedido existente, assumindo a responsabilidade
+     * pela sua reserva ativa (que deixa de poder expirar). Se a transação corrente sofrer
+     * rollback, a reserva volta ao registro.
+     *
+     * @param orderId O ID do pedido.
+     * @param status O status atual (antes da alteração) do pedido.
+     * @param quantities As quantidades atuais dos itens, indexadas pelo ID da cerveja.
+     * @return A posição atual do pedido.
+     */
+    public StockPosition claim(Long orderId, OrderStatus status, Map<Long, Integer> quantities) {
+        ActiveHold hold = stockHoldRegistry.claim(orderId);
+        if (hold != null) {
+            runAfterRollback(() -> stockHoldRegistry.register(hold));
+            return StockPosition.held(hold.getQuantities());
+        }
+        if (stockHoldRepository.existsByOrderIdAndStatus(orderId, HoldStatus.CONFIRMED.getCode())) {
+            return StockPosition.committed(quantities);
+        }
+        if (stockHoldRepository.existsByOrderId(orderId)) {
+            // Reservas expiradas ou liberadas: o pedido não retém nada
+            return StockPosition.empty();
+        }
+        // Pedido anterior ao controle de reservas: o estoque foi baixado na criação
+        return (status == OrderStatus.CACELED) ? StockPosition.empty() : StockPosition.committed(quantities);
+    }
+
+    /**
+     * Grava em {@code tb_stock_hold} a nova posição de um pedido e, após o commit, registra a
+     * reserva ativa para expiração. As transições de estoque no ledger devem ter sido feitas
+     * com {@link StockLedger#rebalance}.
+     *
+     * @param order O pedido já persistido.
+     * @param before A posição anterior.
+     * @param after A nova posição.
+     */
+    public void record(Order order, StockPosition before, StockPosition after) {
+        Long orderId = order.getId();
+        List<Long> orderIds = List.of(orderId);
+
+        if (!before.isHeld() && !after.isHeld() && before.getCommitted().equals(after.getCommitted())) {
+            return;
+        }
+        if (before.isHeld() && !after.isHeld() && before.getHeld().equals(after.getCommitted())) {
+            // Pagamento sem alteração de itens: a retenção vira baixa definitiva
+            stockHoldRepository.updateStatusByOrderIds(orderIds, HoldStatus.ACTIVE.getCode(), HoldStatus.CONFIRMED.getCode());
+            logger.info("SERVICE: Reserva do pedido ID {} confirmada.", orderId);
+            return;
+        }
+
+        stockHoldRepository.updateStatusByOrderIds(orderIds, HoldStatus.ACTIVE.getCode(), HoldStatus.RELEASED.getCode());
+        stockHoldRepository.updateStatusByOrderIds(orderIds, HoldStatus.CONFIRMED.getCode(), HoldStatus.RELEASED.getCode());
+
+        Instant expiresAt = after.isHeld() ? Instant.now().plus(Duration.ofMinutes(ttlMinutes)) : null;
+        List<StockHold> holds = new ArrayList<>();
+        after.getHeld().forEach((beerId, quantity) -> holds.add(
+                new StockHold(order, beerRepository.getReferenceById(beerId), quantity, HoldStatus.ACTIVE, expiresAt)));
+        after.getCommitted().forEach((beerId, quantity) -> holds.add(
+                new StockHold(order, beerRepository.getReferenceById(beerId), quantity, HoldStatus.CONFIRMED, null)));
+        stockHoldRepository.saveAll(holds);
+
+        if (after.isHeld()) {
+            ActiveHold hold = new ActiveHold(orderId, after.getHeld(), expiresAt);
+            AfterCommit.run(() -> stockHoldRegistry.register(hold));
+            logger.info("SERVICE: Estoque do pedido ID {} reservado até {}.", orderId, expiresAt);
+        }
+    }
+
+    /**
+     * Grava em lote as reservas de pedidos recém-incluídos (sem posição anterior) e, após o
+     * commit, registra as reservas ativas para expiração. Usado pela importação de pedidos
+     * em massa; as transições de estoque devem ter sido feitas com {@link StockLedger#rebalanceEach}.
+     *
+     * @param positions As posições de estoque de cada pedido já persistido.
+     */
+    public void recordNew(Map<Order, StockPosition> positions) {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(ttlMinutes));
+        List<StockHold> holds = new ArrayList<>();
+        List<ActiveHold> active = new ArrayList<>();
+        positions.forEach((order, position) -> {
+            position.getHeld().forEach((beerId, quantity) -> holds.add(
+                    new StockHold(order, beerRepository.getReferenceById(beerId), quantity, HoldStatus.ACTIVE, expiresAt)));
+            position.getCommitted().forEach((beerId, quantity) -> holds.add(
+                    new StockHold(order, beerRepository.getReferenceById(beerId), quantity, HoldStatus.CONFIRMED, null)));
+            if (position.isHeld()) {
+                active.add(new ActiveHold(order.getId(), position.getHeld(), expiresAt));
+            }
+        });
+        stockHoldRepository.insertAll(holds);
+
+        if (!active.isEmpty()) {
+            AfterCommit.run(() -> active.forEach(stockHoldRegistry::register));
+            logger.info("SERVICE: Estoque de {} pedido(s) reservado até {}.", active.size(), expiresAt);
+        }
+    }
+
+    /**
+     * Libera a reserva ativa de um pedido que está sendo excluído e remove seus registros
+     * de reserva. Baixas já efetivadas não são devolvidas.
+     *
+     * @param order O pedido a ser excluído.
+     * @param quantities As quantidades dos itens, indexadas pelo ID da cerveja.
+     */
+    public void discard(Order order, Map<Long, Integer> quantities) {
+        StockPosition before = claim(order.getId(), order.getOrderStatus(), quantities);
+        if (before.isHeld()) {
+            stockLedger.rebalance(before, StockPosition.empty(), order::getId);
+        }
+        stockHoldRepository.deleteByOrderId(order.getId());
+    }
+
+    private void runAfterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
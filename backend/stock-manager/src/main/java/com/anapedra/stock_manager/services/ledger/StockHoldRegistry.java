@@ -0,0 +1,145 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Registro em memória das reservas ativas dos pedidos, indexadas pelo ID do pedido e
+ * organizadas em uma roda de tempo (hashed timing wheel) pelo momento de expiração.
+ *
+ * <p>Cada posição da roda cobre um intervalo ({@code tick}) e guarda as reservas que expiram
+ * nele; a cada volta, as reservas de voltas futuras são simplesmente recolocadas. Assim, a
+ * expiração percorre apenas as posições vencidas desde o último ciclo, sem varrer
+ * {@code tb_order} nem todas as reservas.</p>
+ *
+ * <p>Uma reserva é de quem a retira primeiro do índice: o {@link StockHoldSweeper} (expiração)
+ * ou uma alteração do pedido ({@link #claim}). Isso impede que a mesma retenção seja liberada
+ * duas vezes.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class StockHoldRegistry {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final ConcurrentHashMap<Long, ActiveHold> active = new ConcurrentHashMap<>();
+    private final List<Queue<ActiveHold>> wheel;
+    private final long tickMillis;
+    private final long origin;
+
+    private volatile long lastTick;
+
+    /**
+     * Construtor que inicializa a roda de tempo e registra a métrica de reservas ativas.
+     *
+     * @param tickMillis A duração (ms) de cada posição da roda.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public StockHoldRegistry(@Value("${stock-manager.hold.tick-ms:1000}") long tickMillis, MeterRegistry registry) {
+        this.tickMillis = tickMillis;
+        this.origin = System.currentTimeMillis();
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+
+        Gauge.builder("stock_manager.hold.active", active, Map::size)
+                .description("Quantidade de pedidos com reserva de estoque ativa")
+                .register(registry);
+    }
+
+    /**
+     * Registra (ou substitui) a reserva ativa de um pedido.
+     *
+     * @param hold A reserva ativa.
+     */
+    public void register(ActiveHold hold) {
+        active.put(hold.getOrderId(), hold);
+        wheel.get(slotFor(hold.getExpiresAt())).add(hold);
+    }
+
+    /**
+     * Retira a reserva ativa de um pedido do registro, tornando o chamador responsável por ela.
+     *
+     * @param orderId O ID do pedido.
+     * @return A reserva retirada, ou {@code null} se não houver reserva ativa (ou se já expirou).
+     */
+    public ActiveHold claim(Long orderId) {
+        return active.remove(orderId);
+    }
+
+    /**
+     * Retorna a reserva ativa de um pedido, sem retirá-la do registro.
+     *
+     * @param orderId O ID do pedido.
+     * @return A reserva ativa, ou {@code null}.
+     */
+    public ActiveHold find(Long orderId) {
+        return active.get(orderId);
+    }
+
+    /**
+     * Retira do registro e retorna as reservas expiradas até o momento informado,
+     * percorrendo apenas as posições da roda vencidas desde a última chamada.
+     *
+     * @param now O momento de referência.
+     * @return As reservas expiradas, agora sob responsabilidade do chamador.
+     */
+    public synchronized List<ActiveHold> expireDue(Instant now) {
+        long currentTick = tickOf(now);
+        List<ActiveHold> expired = new ArrayList<>();
+
+        long from = Math.max(lastTick, currentTick - MASK);
+        for (long tick = from; tick <= currentTick; tick++) {
+            Queue<ActiveHold> slot = wheel.get((int) (tick & MASK));
+            // Percorre apenas o que já estava na posição; reservas de voltas futuras voltam para o fim da fila
+            for (int remaining = slot.size(); remaining > 0; remaining--) {
+                ActiveHold hold = slot.poll();
+                if (hold == null) {
+                    break;
+                }
+                if (hold.getExpiresAt().isAfter(now)) {
+                    slot.add(hold);
+                } else if (active.remove(hold.getOrderId(), hold)) {
+                    expired.add(hold);
+                }
+                // Caso contrário, a reserva já foi retirada por uma alteração do pedido e é descartada
+            }
+        }
+        lastTick = currentTick;
+        return expired;
+    }
+
+    /**
+     * Retorna a quantidade de reservas ativas.
+     *
+     * @return O número de pedidos com reserva ativa.
+     */
+    public int size() {
+        return active.size();
+    }
+
+    private int slotFor(Instant expiresAt) {
+        // Reservas já vencidas entram na posição corrente para serem expiradas no próximo ciclo
+        long tick = Math.max(tickOf(expiresAt), lastTick);
+        return (int) (tick & MASK);
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.max(0, (instant.toEpochMilli() - origin) / tickMillis);
+    }
+}
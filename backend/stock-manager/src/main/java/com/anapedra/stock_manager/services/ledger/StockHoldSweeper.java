@@ -0,0 +1,132 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import com.anapedra.stock_manager.domain.entities.StockHold;
+import com.anapedra.stock_manager.domain.enums.HoldStatus;
+import com.anapedra.stock_manager.repositories.StockHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expira as reservas de estoque vencidas e reconstrói as reservas ativas na inicialização.
+ *
+ * <p>A cada tick, as reservas vencidas são retiradas do {@link StockHoldRegistry}, suas
+ * quantidades voltam ao disponível no {@link StockLedger} e os registros em
+ * {@code tb_stock_hold} são marcados como {@link HoldStatus#EXPIRED} com {@code UPDATE}s em
+ * massa por lote de pedidos.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class StockHoldSweeper implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockHoldSweeper.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final StockHoldRegistry stockHoldRegistry;
+    private final StockLedger stockLedger;
+    private final StockHoldRepository stockHoldRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer sweepTimer;
+    private final Counter expiredCounter;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockHoldRegistry O registro em memória das reservas ativas.
+     * @param stockLedger O ledger de estoque em memória.
+     * @param stockHoldRepository Repositório de reservas.
+     * @param transactionManager O gerenciador de transações usado nas atualizações em massa.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public StockHoldSweeper(StockHoldRegistry stockHoldRegistry, StockLedger stockLedger,
+                            StockHoldRepository stockHoldRepository,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.stockHoldRegistry = stockHoldRegistry;
+        this.stockLedger = stockLedger;
+        this.stockHoldRepository = stockHoldRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.sweepTimer = Timer.builder("stock_manager.hold.sweep_time")
+                .description("Tempo gasto para expirar reservas de estoque vencidas")
+                .register(registry);
+
+        this.expiredCounter = Counter.builder("stock_manager.hold.expired")
+                .description("Total de reservas de pedidos expiradas sem pagamento")
+                .register(registry);
+    }
+
+    /**
+     * Reconstrói, a partir de {@code tb_stock_hold}, as reservas ativas no ledger e no
+     * registro antes que a aplicação passe a atender requisições.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<StockHold> holds = transactionTemplate.execute(status ->
+                stockHoldRepository.findByStatus(HoldStatus.ACTIVE.getCode()));
+        if (holds == null || holds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Map<Long, Integer>> quantitiesByOrder = new HashMap<>();
+        Map<Long, Instant> expiryByOrder = new HashMap<>();
+        for (StockHold hold : holds) {
+            Long orderId = hold.getOrder().getId();
+            quantitiesByOrder.computeIfAbsent(orderId, id -> new HashMap<>())
+                    .merge(hold.getBeer().getId(), hold.getQuantity(), Integer::sum);
+            Instant expiresAt = (hold.getExpiresAt() != null) ? hold.getExpiresAt() : Instant.now();
+            expiryByOrder.merge(orderId, expiresAt, (a, b) -> a.isBefore(b) ? a : b);
+        }
+
+        quantitiesByOrder.forEach((orderId, quantities) -> {
+            stockLedger.restoreHeld(quantities);
+            stockHoldRegistry.register(new ActiveHold(orderId, quantities, expiryByOrder.get(orderId)));
+        });
+        logger.info("SERVICE: {} reserva(s) de estoque ativa(s) restaurada(s).", quantitiesByOrder.size());
+    }
+
+    /**
+     * Expira as reservas vencidas desde o último tick.
+     */
+    @Scheduled(fixedDelayString = "${stock-manager.hold.tick-ms:1000}")
+    public void sweep() {
+        List<ActiveHold> expired = stockHoldRegistry.expireDue(Instant.now());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        sweepTimer.record(() -> {
+            expired.forEach(hold -> stockLedger.releaseHeld(hold.getQuantities()));
+
+            List<Long> orderIds = expired.stream().map(ActiveHold::getOrderId).toList();
+            for (int from = 0; from < orderIds.size(); from += BATCH_SIZE) {
+                List<Long> batch = orderIds.subList(from, Math.min(from + BATCH_SIZE, orderIds.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> stockHoldRepository.updateStatusByOrderIds(
+                            batch, HoldStatus.ACTIVE.getCode(), HoldStatus.EXPIRED.getCode()));
+                } catch (RuntimeException e) {
+                    // O estoque já foi liberado; as reservas serão expiradas novamente na próxima inicialização
+                    logger.error("SERVICE ERROR: Falha ao marcar {} reserva(s) como expirada(s).", batch.size(), e);
+                }
+            }
+            expiredCounter.increment(expired.size());
+        });
+        logger.info("SERVICE: {} reserva(s) de estoque expirada(s) e liberada(s).", expired.size());
+    }
+}
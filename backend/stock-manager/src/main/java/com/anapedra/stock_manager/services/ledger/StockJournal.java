@@ -0,0 +1,96 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fila em memória das movimentações de estoque ainda não gravadas no diário
+ * ({@code tb_stock_movement}).
+ *
+ * <p>O {@link StockLedger} registra aqui cada variação do saldo físico no momento em que
+ * a aplica; o {@link StockLedgerFlusher} drena a fila e grava as movimentações em lote na
+ * mesma transação que aplica as variações em {@code tb_stock}, mantendo o diário e o
+ * saldo persistido consistentes entre si.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @see StockMovement
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class StockJournal {
+
+    private final Queue<StockMovement> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Construtor que registra a métrica de movimentações pendentes.
+     *
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public StockJournal(MeterRegistry registry) {
+        Gauge.builder("stock_manager.journal.pending", size, AtomicInteger::get)
+                .description("Movimentações de estoque aguardando gravação no diário")
+                .register(registry);
+    }
+
+    /**
+     * Registra uma movimentação já aplicada ao saldo. Variações nulas são ignoradas, exceto
+     * o saldo de abertura, que marca o início do histórico da cerveja.
+     *
+     * @param beerId O ID da cerveja.
+     * @param quantity A variação do saldo (positiva = entrada, negativa = saída).
+     * @param type A origem da movimentação.
+     * @param referenceId O ID do registro de origem (opcional).
+     */
+    public void append(Long beerId, int quantity, StockMovementType type, Long referenceId) {
+        if (quantity != 0 || type == StockMovementType.OPENING) {
+            pending.add(new StockMovement(beerId, quantity, type, referenceId, Instant.now()));
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Retira e retorna as movimentações pendentes, na ordem em que foram registradas.
+     *
+     * @return As movimentações a gravar.
+     */
+    List<StockMovement> drain() {
+        List<StockMovement> drained = new ArrayList<>();
+        StockMovement movement;
+        while ((movement = pending.poll()) != null) {
+            drained.add(movement);
+        }
+        size.addAndGet(-drained.size());
+        return drained;
+    }
+
+    /**
+     * Devolve movimentações cuja gravação falhou, para nova tentativa no próximo ciclo.
+     *
+     * @param movements As movimentações drenadas anteriormente.
+     */
+    void restore(List<StockMovement> movements) {
+        pending.addAll(movements);
+        size.addAndGet(movements.size());
+    }
+
+    /**
+     * Retorna a quantidade de movimentações pendentes.
+     *
+     * @return O número de movimentações ainda não gravadas.
+     */
+    public int size() {
+        return size.get();
+    }
+}
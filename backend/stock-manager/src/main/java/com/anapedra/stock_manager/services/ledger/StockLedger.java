@@ -0,0 +1,723 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.exceptions.InsufficientStockException;
+import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Livro-razão de estoque em memória: fonte autoritativa das quantidades por cerveja
+ * para pedidos, reposições e perdas.
+ *
+ * <p>Cada cerveja é representada por uma {@link StockCell} lock-free, carregada do banco
+ * no primeiro acesso. As mutações seguem o ciclo reservar / efetivar / liberar e são
+ * amarradas à transação Spring corrente: a reserva é efetivada somente após o commit e
+ * liberada em caso de rollback. As cervejas alteradas são marcadas como "sujas" e a
+ * variação líquida de cada uma é persistida de forma assíncrona em {@code tb_stock} pelo
+ * {@link StockLedgerFlusher}, evitando locks de linha no banco durante o pedido.</p>
+ *
+ * <p>Como a persistência grava variações condicionais (e não valores absolutos), uma
+ * divergência com o banco é detectada na gravação e corrigida com {@link #resync}.</p>
+ *
+ * <p>Toda variação do saldo físico é registrada no {@link StockJournal} no momento em que
+ * é aplicada, com a sua origem; a referência ao registro de origem é resolvida nesse
+ * momento (após o commit), quando o ID de um registro novo já foi gerado.</p>
+ *
+ * <p>Ao final de cada mutação efetivada, o ledger avisa o {@link StockLedgerFlusher}
+ * ({@link #onMutation}), que decide se antecipa a gravação ou a deixa para o próximo ciclo.</p>
+ *
+ * <p>Cada alteração de saldo físico incrementa a {@link #version() versão} do ledger, usada
+ * por quem guarda leituras do estoque para saber se elas ainda refletem o saldo atual.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @see StockLedgerFlusher
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class StockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    private final StockRepository stockRepository;
+    private final StockJournal stockJournal;
+
+    private final ConcurrentHashMap<Long, StockCell> cells = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder cellChanges = new LongAdder();
+
+    private final Counter rejectedReservationsCounter;
+
+    private volatile Runnable mutationListener = () -> { };
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas do ledger.
+     *
+     * @param stockRepository Repositório de estoque, usado na carga inicial de cada cerveja.
+     * @param stockJournal Fila das movimentações a gravar no diário de estoque.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public StockLedger(StockRepository stockRepository, StockJournal stockJournal, MeterRegistry registry) {
+        this.stockRepository = stockRepository;
+        this.stockJournal = stockJournal;
+
+        this.rejectedReservationsCounter = Counter.builder("stock_manager.ledger.rejected_reservations")
+                .description("Reservas de estoque recusadas por saldo insuficiente")
+                .register(registry);
+
+        Gauge.builder("stock_manager.ledger.cells", cells, Map::size)
+                .description("Quantidade de cervejas carregadas no ledger de estoque")
+                .register(registry);
+
+        Gauge.builder("stock_manager.ledger.dirty", dirty, Set::size)
+                .description("Quantidade de cervejas com alterações ainda não persistidas")
+                .register(registry);
+    }
+
+    /**
+     * Retorna a quantidade disponível (saldo físico menos reservas) de uma cerveja.
+     *
+     * @param beerId O ID da cerveja.
+     * @return A quantidade disponível.
+     * @throws ResourceNotFoundException Se a cerveja não possuir registro de estoque.
+     */
+    public int available(Long beerId) {
+        return cell(beerId).available();
+    }
+
+    /**
+     * Retorna a quantidade disponível de várias cervejas, carregando as que ainda não estão
+     * no ledger com uma única consulta ao banco.
+     *
+     * @param beerIds Os IDs das cervejas.
+     * @return As quantidades disponíveis, indexadas pelo ID da cerveja; cervejas sem
+     *         registro de estoque ficam de fora.
+     */
+    public Map<Long, Integer> availableAll(Collection<Long> beerIds) {
+        Set<Long> missing = new TreeSet<>();
+        for (Long beerId : beerIds) {
+            if (!cells.containsKey(beerId)) {
+                missing.add(beerId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            stockRepository.findQuantities(missing).forEach((beerId, quantity) -> cells.putIfAbsent(beerId, new StockCell(quantity, cellChanges)));
+        }
+
+        Map<Long, Integer> available = new TreeMap<>();
+        for (Long beerId : beerIds) {
+            StockCell cell = cells.get(beerId);
+            if (cell != null) {
+                available.put(beerId, cell.available());
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Retorna a quantidade reservada de uma cerveja, sem disparar carga do banco.
+     *
+     * @param beerId O ID da cerveja.
+     * @return A quantidade reservada, ou 0 se a cerveja não estiver no ledger.
+     */
+    public int reserved(Long beerId) {
+        StockCell cell = cells.get(beerId);
+        return (cell != null) ? cell.reserved() : 0;
+    }
+
+    /**
+     * Retorna o saldo físico de uma cerveja, sem disparar carga do banco.
+     *
+     * @param beerId O ID da cerveja.
+     * @param fallback O valor a retornar se a cerveja não estiver no ledger (ex: o valor lido do banco).
+     * @return O saldo físico.
+     */
+    public int onHand(Long beerId, int fallback) {
+        StockCell cell = cells.get(beerId);
+        return (cell != null) ? cell.onHand() : fallback;
+    }
+
+    /**
+     * Reserva, de forma atômica para o conjunto, as quantidades informadas.
+     *
+     * <p>As cervejas são reservadas em ordem crescente de ID; se alguma não tiver saldo
+     * suficiente, as reservas já aplicadas são desfeitas e nada fica retido.</p>
+     *
+     * @param quantities As quantidades solicitadas, indexadas pelo ID da cerveja.
+     * @return A {@link StockReservation} que deve ser efetivada ou liberada.
+     * @throws InsufficientStockException Se alguma cerveja não tiver saldo suficiente.
+     * @throws ResourceNotFoundException Se alguma cerveja não possuir registro de estoque.
+     */
+    public StockReservation reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> requested = new TreeMap<>();
+        quantities.forEach((beerId, amount) -> {
+            if (amount == null || amount <= 0) {
+                throw new IllegalArgumentException("A quantidade reservada deve ser positiva.");
+            }
+            requested.merge(beerId, amount, Integer::sum);
+        });
+
+        return new StockReservation(reserveAll(requested));
+    }
+
+    /**
+     * Leva um pedido de uma posição de estoque a outra (ex: de retido para pago).
+     *
+     * <p>Somente o acréscimo líquido de cada cerveja (retido + retirado, depois menos antes)
+     * é reservado imediatamente, de forma atômica para o conjunto; o restante da transição
+     * (baixa do saldo físico, liberação de retenções) é aplicado após o commit da transação
+     * corrente. Em caso de rollback, o acréscimo reservado é liberado e a posição anterior
+     * permanece intacta. Sem transação ativa, a transição é aplicada imediatamente.</p>
+     *
+     * @param before A posição atual do pedido.
+     * @param after A posição desejada.
+     * @param orderId Fornece o ID do pedido, registrado nas movimentações do diário.
+     * @throws InsufficientStockException Se alguma cerveja não tiver saldo para o acréscimo.
+     */
+    public void rebalance(StockPosition before, StockPosition after, Supplier<Long> orderId) {
+        bind(List.of(prepare(before, after, orderId)));
+    }
+
+    /**
+     * Leva vários pedidos novos (sem posição anterior) às suas posições de estoque, de forma
+     * independente: um pedido sem saldo é recusado sem afetar os demais.
+     *
+     * <p>As transições aceitas são efetivadas juntas após o commit da transação corrente, com
+     * um único aviso de gravação, e liberadas em caso de rollback.</p>
+     *
+     * @param positions As posições desejadas, na ordem dos pedidos.
+     * @param orderIds Fornece o ID do pedido de cada posição (pelo índice), resolvido após o commit.
+     * @return As mensagens de recusa por saldo insuficiente, indexadas pela posição recusada.
+     */
+    public Map<Integer, String> rebalanceEach(List<StockPosition> positions, IntFunction<Long> orderIds) {
+        Map<Integer, String> rejected = new TreeMap<>();
+        List<Transition> transitions = new ArrayList<>(positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            int index = i;
+            try {
+                transitions.add(prepare(StockPosition.empty(), positions.get(i), () -> orderIds.apply(index)));
+            } catch (InsufficientStockException e) {
+                rejected.put(i, e.getMessage());
+            }
+        }
+        bind(transitions);
+        return rejected;
+    }
+
+    /**
+     * Reserva o acréscimo líquido de uma transição e calcula as variações a aplicar no commit.
+     */
+    private Transition prepare(StockPosition before, StockPosition after, Supplier<Long> orderId) {
+        Set<Long> beerIds = new TreeSet<>();
+        beerIds.addAll(before.getHeld().keySet());
+        beerIds.addAll(before.getCommitted().keySet());
+        beerIds.addAll(after.getHeld().keySet());
+        beerIds.addAll(after.getCommitted().keySet());
+
+        Map<Long, Integer> claims = new TreeMap<>();
+        Map<Long, int[]> adjustments = new TreeMap<>();
+        for (Long beerId : beerIds) {
+            int held = before.getHeld().getOrDefault(beerId, 0);
+            int committed = before.getCommitted().getOrDefault(beerId, 0);
+            int newHeld = after.getHeld().getOrDefault(beerId, 0);
+            int newCommitted = after.getCommitted().getOrDefault(beerId, 0);
+
+            int claim = (newHeld + newCommitted) - (held + committed);
+            if (claim > 0) {
+                claims.put(beerId, claim);
+            }
+            // {variação do saldo físico, variação da reserva} a aplicar no commit
+            adjustments.put(beerId, new int[]{committed - newCommitted, (newHeld - held) - Math.max(claim, 0)});
+        }
+
+        return new Transition(new StockReservation(reserveAll(claims)), adjustments, orderId);
+    }
+
+    /**
+     * Amarra transições à transação corrente: efetivadas após o commit (ou imediatamente,
+     * sem transação ativa) e liberadas em caso de rollback.
+     */
+    private void bind(List<Transition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        Runnable apply = () -> {
+            boolean changed = false;
+            for (Transition transition : transitions) {
+                changed |= apply(transition);
+            }
+            if (changed) {
+                mutated();
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply.run();
+                } else {
+                    transitions.forEach(transition -> release(transition.reservation()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Aplica as variações de uma transição e registra no diário as alterações do saldo físico.
+     *
+     * @return {@code true} se algum saldo físico mudou.
+     */
+    private boolean apply(Transition transition) {
+        boolean changed = false;
+        for (Map.Entry<Long, int[]> entry : transition.adjustments().entrySet()) {
+            Long beerId = entry.getKey();
+            int[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0) {
+                continue;
+            }
+            cell(beerId).adjust(delta[0], delta[1]);
+            if (delta[0] != 0) {
+                dirty.add(beerId);
+                stockJournal.append(beerId, delta[0], StockMovementType.ORDER, transition.orderId().get());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Libera imediatamente quantidades retidas (ex: reservas expiradas).
+     *
+     * @param quantities As quantidades retidas, indexadas pelo ID da cerveja.
+     */
+    public void releaseHeld(Map<Long, Integer> quantities) {
+        quantities.forEach((beerId, amount) -> {
+            StockCell cell = cells.get(beerId);
+            if (cell != null) {
+                cell.adjust(0, -amount);
+            }
+        });
+    }
+
+    /**
+     * Reaplica quantidades retidas persistidas, sem validar o disponível. Usado na
+     * inicialização para reconstruir as reservas ativas.
+     *
+     * @param quantities As quantidades retidas, indexadas pelo ID da cerveja.
+     */
+    public void restoreHeld(Map<Long, Integer> quantities) {
+        quantities.forEach((beerId, amount) -> cell(beerId).adjust(0, amount));
+    }
+
+    /**
+     * Efetiva uma reserva, retirando as quantidades do saldo físico.
+     *
+     * @param reservation A reserva a ser efetivada.
+     * @param type A origem da retirada, registrada no diário.
+     * @param referenceId Fornece o ID do registro de origem (pode retornar {@code null}).
+     */
+    public void confirm(StockReservation reservation, StockMovementType type, Supplier<Long> referenceId) {
+        Long reference = referenceId.get();
+        reservation.getQuantities().forEach((beerId, amount) -> {
+            cell(beerId).confirm(amount);
+            dirty.add(beerId);
+            stockJournal.append(beerId, -amount, type, reference);
+        });
+        mutated();
+    }
+
+    /**
+     * Libera uma reserva, devolvendo as quantidades ao disponível.
+     *
+     * @param reservation A reserva a ser liberada.
+     */
+    public void release(StockReservation reservation) {
+        reservation.getQuantities().forEach((beerId, amount) -> {
+            StockCell cell = cells.get(beerId);
+            if (cell != null) {
+                cell.release(amount);
+            }
+        });
+    }
+
+    /**
+     * Retira as quantidades informadas dentro da transação corrente: reserva agora,
+     * efetiva após o commit e libera em caso de rollback. Sem transação ativa, a retirada
+     * é efetivada imediatamente.
+     *
+     * @param quantities As quantidades a retirar, indexadas pelo ID da cerveja.
+     * @param type A origem da retirada, registrada no diário.
+     * @param referenceId Fornece o ID do registro de origem, resolvido na efetivação.
+     * @return A {@link StockReservation} criada.
+     * @throws InsufficientStockException Se alguma cerveja não tiver saldo suficiente.
+     */
+    public StockReservation withdraw(Map<Long, Integer> quantities, StockMovementType type, Supplier<Long> referenceId) {
+        StockReservation reservation = reserve(quantities);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirm(reservation, type, referenceId);
+            return reservation;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    confirm(reservation, type, referenceId);
+                } else {
+                    release(reservation);
+                }
+            }
+        });
+        return reservation;
+    }
+
+    /**
+     * Retira várias saídas do saldo físico dentro da transação corrente: as quantidades são
+     * somadas por cerveja e reservadas agora, de forma atômica para o conjunto, efetivadas
+     * após o commit e liberadas em caso de rollback. Sem transação ativa, a retirada é
+     * efetivada imediatamente.
+     *
+     * <p>Cada saída é registrada no diário com a sua própria referência.</p>
+     *
+     * @param entries As saídas a aplicar.
+     * @param type A origem das saídas, registrada no diário.
+     * @throws InsufficientStockException Se alguma cerveja não tiver saldo suficiente para o total.
+     */
+    public void withdrawAll(List<StockEntry> entries, StockMovementType type) {
+        Map<Long, Integer> totals = new TreeMap<>();
+        for (StockEntry entry : entries) {
+            if (entry.quantity() <= 0) {
+                throw new IllegalArgumentException("A quantidade retirada deve ser positiva.");
+            }
+            totals.merge(entry.beerId(), entry.quantity(), Integer::sum);
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        StockReservation reservation = new StockReservation(reserveAll(totals));
+        Runnable confirm = () -> {
+            reservation.getQuantities().forEach((beerId, amount) -> {
+                cell(beerId).confirm(amount);
+                dirty.add(beerId);
+            });
+            entries.forEach(entry -> stockJournal.append(entry.beerId(), -entry.quantity(), type, entry.referenceId()));
+            mutated();
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            confirm.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    confirm.run();
+                } else {
+                    release(reservation);
+                }
+            }
+        });
+    }
+
+    /**
+     * Acrescenta uma quantidade ao saldo físico após o commit da transação corrente
+     * (ou imediatamente, sem transação ativa).
+     *
+     * @param beerId O ID da cerveja.
+     * @param amount A quantidade reposta (positiva).
+     * @param type A origem da entrada, registrada no diário.
+     * @param referenceId Fornece o ID do registro de origem, resolvido após o commit.
+     */
+    public void deposit(Long beerId, int amount, StockMovementType type, Supplier<Long> referenceId) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("A quantidade reposta deve ser positiva.");
+        }
+        AfterCommit.run(() -> {
+            cell(beerId).add(amount);
+            dirty.add(beerId);
+            stockJournal.append(beerId, amount, type, referenceId.get());
+            mutated();
+        });
+    }
+
+    /**
+     * Acrescenta várias entradas ao saldo físico após o commit da transação corrente
+     * (ou imediatamente, sem transação ativa).
+     *
+     * <p>As quantidades são somadas por cerveja, de modo que cada cerveja recebe uma única
+     * variação, mas cada entrada é registrada no diário com a sua própria referência.</p>
+     *
+     * @param entries As entradas a aplicar.
+     * @param type A origem das entradas, registrada no diário.
+     */
+    public void depositAll(List<StockEntry> entries, StockMovementType type) {
+        Map<Long, Integer> totals = new TreeMap<>();
+        for (StockEntry entry : entries) {
+            if (entry.quantity() <= 0) {
+                throw new IllegalArgumentException("A quantidade reposta deve ser positiva.");
+            }
+            totals.merge(entry.beerId(), entry.quantity(), Integer::sum);
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            totals.forEach((beerId, amount) -> {
+                cell(beerId).add(amount);
+                dirty.add(beerId);
+            });
+            entries.forEach(entry -> stockJournal.append(entry.beerId(), entry.quantity(), type, entry.referenceId()));
+            mutated();
+        });
+    }
+
+    /**
+     * Registra no diário, após o commit da transação corrente, o saldo de abertura de uma
+     * cerveja recém-cadastrada, cujo estoque inicial já foi gravado em {@code tb_stock}.
+     *
+     * @param beerId O ID da cerveja.
+     * @param quantity O estoque inicial.
+     */
+    public void open(Long beerId, int quantity) {
+        AfterCommit.run(() -> {
+            stockJournal.append(beerId, quantity, StockMovementType.OPENING, beerId);
+            mutated();
+        });
+    }
+
+    /**
+     * Substitui o saldo físico de uma cerveja já carregada no ledger após o commit da
+     * transação corrente. Usado quando o estoque é editado diretamente (cadastro de cerveja),
+     * caso em que o banco já contém o novo valor.
+     *
+     * <p>A diferença para o saldo anterior é registrada no diário como
+     * {@link StockMovementType#ADJUSTMENT}.</p>
+     *
+     * @param beerId O ID da cerveja.
+     * @param previous O saldo anterior lido do banco, usado se a cerveja não estiver no ledger.
+     * @param quantity O novo saldo físico.
+     */
+    public void overwrite(Long beerId, int previous, int quantity) {
+        AfterCommit.run(() -> {
+            StockCell cell = cells.get(beerId);
+            int current = previous;
+            if (cell != null) {
+                current = cell.onHand();
+                cell.set(quantity);
+            }
+            stockJournal.append(beerId, quantity - current, StockMovementType.ADJUSTMENT, null);
+            mutated();
+        });
+    }
+
+    /**
+     * Retorna a versão do ledger, incrementada a cada alteração efetivada do saldo físico de
+     * qualquer cerveja (inclusive ressincronizações com o banco).
+     *
+     * @return A versão corrente.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Retorna a quantidade de mutações aplicadas às cervejas do ledger, inclusive as que
+     * alteram apenas a reserva (que não incrementam a {@link #version() versão}).
+     *
+     * @return O total de mutações desde o início da aplicação.
+     */
+    public long changes() {
+        return cellChanges.sum();
+    }
+
+    /**
+     * Retorna um carimbo do saldo físico e da reserva de uma cerveja, sem disparar carga do banco:
+     * o carimbo muda sempre que um dos dois muda.
+     *
+     * @param beerId O ID da cerveja.
+     * @return O carimbo, ou {@link Long#MIN_VALUE} se a cerveja não estiver no ledger.
+     */
+    public long stamp(Long beerId) {
+        StockCell cell = cells.get(beerId);
+        return (cell != null) ? cell.state() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Define quem é avisado ao final de cada mutação efetivada (após o commit), depois que
+     * as cervejas foram marcadas como pendentes e as movimentações registradas no diário.
+     *
+     * <p>Não é chamado pela ressincronização ({@link #resync}), que ocorre durante a gravação.</p>
+     *
+     * @param listener A ação a executar.
+     */
+    void onMutation(Runnable listener) {
+        this.mutationListener = listener;
+    }
+
+    /**
+     * Remove uma cerveja do ledger após o commit da transação corrente (ex: exclusão da cerveja).
+     *
+     * @param beerId O ID da cerveja.
+     */
+    public void evict(Long beerId) {
+        AfterCommit.run(() -> {
+            cells.remove(beerId);
+            dirty.remove(beerId);
+        });
+    }
+
+    /**
+     * Retira e retorna, em ordem crescente, os IDs das cervejas com alterações pendentes.
+     *
+     * @return Os IDs a persistir.
+     */
+    List<Long> drainDirty() {
+        List<Long> drained = new ArrayList<>();
+        for (Long beerId : dirty) {
+            if (dirty.remove(beerId)) {
+                drained.add(beerId);
+            }
+        }
+        Collections.sort(drained);
+        return drained;
+    }
+
+    /**
+     * Retira a variação líquida ainda não gravada de uma cerveja carregada.
+     *
+     * @param beerId O ID da cerveja.
+     * @return A variação, ou 0 se a cerveja não estiver no ledger.
+     */
+    int drainDelta(Long beerId) {
+        StockCell cell = cells.get(beerId);
+        return (cell != null) ? cell.drainUnflushed() : 0;
+    }
+
+    /**
+     * Devolve uma variação cuja gravação falhou e marca a cerveja como pendente novamente.
+     *
+     * @param beerId O ID da cerveja.
+     * @param delta A variação drenada anteriormente.
+     */
+    void restoreDelta(Long beerId, int delta) {
+        StockCell cell = cells.get(beerId);
+        if (cell != null) {
+            cell.restoreUnflushed(delta);
+            dirty.add(beerId);
+        }
+    }
+
+    /**
+     * Realinha o saldo físico de uma cerveja com o valor lido do banco, descartando apenas a
+     * variação recusada. Usado quando o banco recusa uma variação condicional; as variações
+     * aplicadas depois da drenagem continuam pendentes.
+     *
+     * @param beerId O ID da cerveja.
+     * @param quantity A quantidade atual em {@code tb_stock}.
+     */
+    void resync(Long beerId, int quantity) {
+        StockCell cell = cells.get(beerId);
+        if (cell != null) {
+            int correction = cell.resync(quantity);
+            version.incrementAndGet();
+            // O diário já contém as movimentações recusadas: registra a correção para manter o saldo igual ao banco
+            stockJournal.append(beerId, correction, StockMovementType.RESYNC, null);
+            logger.warn("LEDGER WARN: Cerveja ID {} ressincronizada com o banco. Quantidade: {}", beerId, quantity);
+        }
+    }
+
+    /**
+     * Desloca o saldo físico de uma cerveja carregada sem gerar variação pendente. Usado
+     * quando {@code tb_stock} já foi corrigido diretamente (reconstrução pelo diário).
+     *
+     * @param beerId O ID da cerveja.
+     * @param correction A correção aplicada ao saldo.
+     */
+    void realign(Long beerId, int correction) {
+        StockCell cell = cells.get(beerId);
+        if (cell != null) {
+            cell.rebase(correction);
+            version.incrementAndGet();
+        }
+    }
+
+    private Map<Long, Integer> reserveAll(Map<Long, Integer> requested) {
+        Map<Long, Integer> taken = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+            StockCell cell = cell(entry.getKey());
+            if (!cell.tryReserve(entry.getValue())) {
+                taken.forEach((beerId, amount) -> cells.get(beerId).release(amount));
+                rejectedReservationsCounter.increment();
+                logger.warn("LEDGER WARN: Reserva recusada para a cerveja ID {}. Solicitado: {}, Disponível: {}",
+                        entry.getKey(), entry.getValue(), cell.available());
+                throw new InsufficientStockException(
+                        "Quantidade insuficiente em estoque para a cerveja ID " + entry.getKey() +
+                                ". Solicitado: " + entry.getValue() +
+                                ", Disponível em estoque: " + cell.available());
+            }
+            taken.put(entry.getKey(), entry.getValue());
+        }
+        return taken;
+    }
+
+    private StockCell cell(Long beerId) {
+        StockCell cell = cells.get(beerId);
+        if (cell != null) {
+            return cell;
+        }
+        int quantity = stockRepository.findQuantityByBeerId(beerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Estoque não encontrado para a cerveja ID: " + beerId));
+        StockCell loaded = new StockCell(quantity, cellChanges);
+        StockCell existing = cells.putIfAbsent(beerId, loaded);
+        if (existing == null) {
+            logger.debug("LEDGER: Cerveja ID {} carregada no ledger com quantidade {}.", beerId, quantity);
+            return loaded;
+        }
+        return existing;
+    }
+
+    /**
+     * Incrementa a versão e avisa o {@link #onMutation listener} de uma mutação efetivada.
+     */
+    private void mutated() {
+        version.incrementAndGet();
+        mutationListener.run();
+    }
+
+    /**
+     * Transição de estoque de um pedido: o acréscimo já reservado e as variações
+     * {saldo físico, reserva} de cada cerveja a aplicar no commit.
+     */
+    private record Transition(StockReservation reservation, Map<Long, int[]> adjustments, Supplier<Long> orderId) {
+    }
+}
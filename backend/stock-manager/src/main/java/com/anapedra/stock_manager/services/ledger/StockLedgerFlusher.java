@@ -0,0 +1,459 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import com.anapedra.stock_manager.domain.entities.StockMovement;
+import com.anapedra.stock_manager.repositories.StockMovementRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persiste periodicamente em {@code tb_stock} as variações de estoque acumuladas no {@link StockLedger}.
+ *
+ * <p>A cada ciclo, a variação líquida de cada cerveja pendente é drenada do ledger e
+ * gravada com um único lote de {@code UPDATE}s condicionais
+ * ({@link StockRepository#applyQuantityDeltas}), em ordem crescente de ID. Na mesma
+ * transação, as movimentações pendentes do {@link StockJournal} são incluídas em lote no
+ * diário ({@code tb_stock_movement}), de modo que o diário e {@code tb_stock} nunca
+ * divergem no banco. Falhas transitórias (deadlock, serialização, timeout de lock) são
+ * repetidas com espera aleatória crescente; se o banco recusar uma variação, a cerveja é
+ * ressincronizada com a quantidade do banco.</p>
+ *
+ * <p>Este componente é o único gravador do diário: a geração periódica de instantâneos
+ * ({@link #snapshot()}) e a reconstrução de {@code tb_stock} ({@link #rebuild()}) são
+ * serializadas com a gravação, garantindo que nenhuma movimentação com ID menor seja
+ * confirmada depois de um instantâneo.</p>
+ *
+ * <p>Por padrão a gravação é feita apenas pelo ciclo periódico ({@code flush-interval-ms}), em
+ * segundo plano: as threads que confirmam pedidos, reposições e perdas não esperam pelo banco.
+ * Com {@code stock-manager.ledger.write-behind.enabled=true}, a primeira mutação após uma
+ * gravação abre uma janela curta ({@code write-behind.window-ms}); ao fim da janela, ou assim
+ * que o diário acumular {@code write-behind.max-pending} movimentações, as variações de cada
+ * cerveja são gravadas como um único {@code UPDATE} líquido por uma thread própria do
+ * write-behind, também fora das threads das requisições. Em ambos os modos, as alterações
+ * ainda não gravadas são perdidas se o processo terminar abruptamente; no encerramento normal,
+ * uma última gravação é executada ({@link #shutdown()}).</p>
+ *
+ * <p>Os {@link StockFlushHook}s registrados são chamados em cada gravação.</p>
+ *
+ * <p>Para cervejas com o saldo dividido em frações ({@code tb_stock_shard}), as variações
+ * são gravadas nas frações e o consolidado de {@code tb_stock} é atualizado periodicamente
+ * ({@link #rollupShards()}).</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class StockLedgerFlusher {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedgerFlusher.class);
+
+    private final StockLedger stockLedger;
+    private final StockJournal stockJournal;
+    private final StockRepository stockRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean windowOpen = new AtomicBoolean();
+    private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+    private volatile ScheduledExecutorService writeBehindExecutor;
+
+    private List<StockFlushHook> flushHooks = List.of();
+
+    private final Timer flushTimer;
+    private final Counter retryCounter;
+    private final Counter resyncCounter;
+    private final Counter movementCounter;
+    private final Counter snapshotCounter;
+    private final Counter earlyFlushCounter;
+    private final Counter shardRollupCounter;
+
+    /**
+     * Número máximo de tentativas de gravação de um lote.
+     */
+    @Value("${stock-manager.ledger.flush-max-attempts:3}")
+    private int maxAttempts = 3;
+
+    /**
+     * Espera base (ms) entre tentativas; a espera real é aleatória entre 1x e 2x este valor, multiplicada pela tentativa.
+     */
+    @Value("${stock-manager.ledger.flush-retry-backoff-ms:20}")
+    private long retryBackoffMs = 20;
+
+    /**
+     * Por quantos dias os instantâneos substituídos são mantidos (o mais recente de cada cerveja é sempre mantido).
+     */
+    @Value("${stock-manager.journal.snapshot-retention-days:30}")
+    private long snapshotRetentionDays = 30;
+
+    /**
+     * Se {@code true}, as variações são gravadas ao fim de uma janela curta aberta pela primeira mutação (write-behind); se {@code false}, apenas pelo ciclo periódico.
+     */
+    @Value("${stock-manager.ledger.write-behind.enabled:false}")
+    private boolean writeBehindEnabled = false;
+
+    /**
+     * No modo write-behind, duração (ms) da janela em que as variações de cada cerveja são acumuladas antes da gravação.
+     */
+    @Value("${stock-manager.ledger.write-behind.window-ms:5}")
+    private long windowMs = 5;
+
+    /**
+     * No modo write-behind, quantidade de movimentações pendentes que fecha a janela antecipadamente.
+     */
+    @Value("${stock-manager.ledger.write-behind.max-pending:500}")
+    private int maxPending = 500;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockLedger O ledger de estoque em memória.
+     * @param stockJournal A fila de movimentações do diário de estoque.
+     * @param stockRepository Repositório de estoque.
+     * @param stockMovementRepository Repositório do diário de movimentações.
+     * @param transactionManager O gerenciador de transações usado na gravação.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public StockLedgerFlusher(StockLedger stockLedger, StockJournal stockJournal, StockRepository stockRepository,
+                              StockMovementRepository stockMovementRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.stockLedger = stockLedger;
+        this.stockJournal = stockJournal;
+        this.stockRepository = stockRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A gravação pode ser disparada no afterCommit de outra transação
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.flushTimer = Timer.builder("stock_manager.ledger.flush_time")
+                .description("Tempo gasto para persistir as alterações do ledger de estoque")
+                .register(registry);
+
+        this.retryCounter = Counter.builder("stock_manager.ledger.flush_retries")
+                .description("Tentativas repetidas de gravação do ledger por falha transitória do banco")
+                .register(registry);
+
+        this.resyncCounter = Counter.builder("stock_manager.ledger.resyncs")
+                .description("Cervejas ressincronizadas após o banco recusar uma variação de estoque")
+                .register(registry);
+
+        this.movementCounter = Counter.builder("stock_manager.journal.movements")
+                .description("Movimentações de estoque gravadas no diário")
+                .register(registry);
+
+        this.snapshotCounter = Counter.builder("stock_manager.journal.snapshots")
+                .description("Instantâneos de saldo gerados a partir do diário de estoque")
+                .register(registry);
+
+        this.earlyFlushCounter = Counter.builder("stock_manager.ledger.early_flushes")
+                .description("Gravações do ledger antecipadas por excesso de movimentações pendentes")
+                .register(registry);
+
+        this.shardRollupCounter = Counter.builder("stock_manager.ledger.shard_rollups")
+                .description("Consolidados de tb_stock atualizados a partir das frações de estoque")
+                .register(registry);
+
+        stockLedger.onMutation(this::afterMutation);
+    }
+
+    /**
+     * Registra os ganchos de durabilidade chamados em cada gravação.
+     *
+     * @param flushHooks Os {@link StockFlushHook}s disponíveis no contexto.
+     */
+    @Autowired(required = false)
+    public void setFlushHooks(List<StockFlushHook> flushHooks) {
+        this.flushHooks = List.copyOf(flushHooks);
+    }
+
+    /**
+     * Grava as variações pendentes do ledger e as movimentações pendentes do diário no banco de dados.
+     */
+    @Scheduled(fixedDelayString = "${stock-manager.ledger.flush-interval-ms:200}")
+    public void flush() {
+        lock.lock();
+        try {
+            SortedMap<Long, Integer> deltas = new TreeMap<>();
+            for (Long beerId : stockLedger.drainDirty()) {
+                int delta = stockLedger.drainDelta(beerId);
+                if (delta != 0) {
+                    deltas.put(beerId, delta);
+                }
+            }
+            List<StockMovement> movements = stockJournal.drain();
+            if (deltas.isEmpty() && movements.isEmpty()) {
+                return;
+            }
+
+            flushTimer.record(() -> write(deltas, movements));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava as alterações pendentes antes do encerramento da aplicação.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ScheduledExecutorService executor = writeBehindExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        flush();
+        if (stockJournal.size() > 0) {
+            logger.error("LEDGER ERROR: Encerrando com {} movimentação(ões) de estoque não gravada(s).", stockJournal.size());
+        } else {
+            logger.info("LEDGER: Alterações de estoque gravadas antes do encerramento.");
+        }
+    }
+
+    /**
+     * Chamado pelo ledger ao final de cada mutação efetivada. Sem write-behind, não faz nada:
+     * a mutação é gravada pelo próximo ciclo. No modo write-behind, abre a janela de gravação
+     * se nenhuma estiver aberta, ou a fecha antecipadamente se o diário acumulou movimentações
+     * demais. A gravação é sempre agendada na thread do write-behind; a thread que confirmou a
+     * mutação não espera pelo banco.
+     */
+    void afterMutation() {
+        if (!writeBehindEnabled || lock.isHeldByCurrentThread()) {
+            return;
+        }
+        boolean full = stockJournal.size() >= maxPending;
+        if (windowOpen.compareAndSet(false, true)) {
+            writeBehindExecutor().schedule(this::closeWindow, full ? 0 : windowMs, TimeUnit.MILLISECONDS);
+        } else if (full && earlyFlushQueued.compareAndSet(false, true)) {
+            earlyFlushCounter.increment();
+            writeBehindExecutor().execute(this::closeWindow);
+        }
+    }
+
+    /**
+     * Fecha a janela de write-behind e grava o que foi acumulado. As mutações efetivadas a
+     * partir daqui abrem uma nova janela.
+     */
+    private void closeWindow() {
+        windowOpen.set(false);
+        earlyFlushQueued.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("LEDGER ERROR: Falha na gravação do write-behind; nova tentativa no próximo ciclo.", e);
+        }
+    }
+
+    private ScheduledExecutorService writeBehindExecutor() {
+        ScheduledExecutorService executor = writeBehindExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = writeBehindExecutor;
+                if (executor == null) {
+                    executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "stock-ledger-write-behind");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    writeBehindExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Gera um instantâneo de saldo para cada cerveja movimentada desde o último ciclo e
+     * exclui os instantâneos substituídos mais antigos que o período de retenção.
+     */
+    @Scheduled(fixedDelayString = "${stock-manager.journal.snapshot-interval-ms:300000}",
+            initialDelayString = "${stock-manager.journal.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        Instant now = Instant.now();
+        lock.lock();
+        try {
+            Integer created = transactionTemplate.execute(status -> {
+                int count = stockMovementRepository.createSnapshots(now);
+                stockMovementRepository.pruneSnapshots(now.minus(Duration.ofDays(snapshotRetentionDays)));
+                return count;
+            });
+            if (created != null && created > 0) {
+                snapshotCounter.increment(created);
+                logger.info("LEDGER: {} instantâneo(s) de saldo gerado(s) a partir do diário de estoque.", created);
+            }
+        } catch (RuntimeException e) {
+            logger.error("LEDGER ERROR: Falha ao gerar instantâneos do diário de estoque; nova tentativa no próximo ciclo.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói {@code tb_stock} a partir do diário (instantâneo + cauda) após gravar as
+     * alterações pendentes, e desloca o ledger pela mesma correção.
+     *
+     * <p>Apenas cervejas com saldo de abertura no diário são reconstruídas; correções que
+     * deixariam o estoque negativo são recusadas e apenas registradas em log.</p>
+     *
+     * @return A quantidade de cervejas corrigidas.
+     */
+    public int rebuild() {
+        lock.lock();
+        try {
+            flush();
+
+            SortedMap<Long, Integer> corrections = transactionTemplate.execute(status -> {
+                SortedMap<Long, Integer> drift = stockMovementRepository.findJournalDrift();
+                List<Long> rejected = stockRepository.applyQuantityDeltas(drift);
+                rejected.forEach(beerId -> {
+                    logger.warn("LEDGER WARN: Saldo do diário negativo para a cerveja ID {}; correção de {} recusada.", beerId, drift.get(beerId));
+                    drift.remove(beerId);
+                });
+                return drift;
+            });
+            if (corrections == null) {
+                return 0;
+            }
+
+            corrections.forEach(stockLedger::realign);
+            logger.warn("LEDGER WARN: tb_stock reconstruído a partir do diário. Cervejas corrigidas: {}", corrections.keySet());
+            return corrections.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Consolida em {@code tb_stock} a soma das frações das cervejas fracionadas, mantendo
+     * quantidade e status legíveis pelas consultas que leem a entidade diretamente.
+     */
+    @Scheduled(fixedDelayString = "${stock-manager.shards.rollup-interval-ms:5000}")
+    public void rollupShards() {
+        lock.lock();
+        try {
+            Integer updated = transactionTemplate.execute(status -> stockRepository.rollupShards());
+            if (updated != null && updated > 0) {
+                shardRollupCounter.increment(updated);
+                logger.debug("LEDGER: {} consolidado(s) de estoque fracionado atualizado(s).", updated);
+            }
+        } catch (RuntimeException e) {
+            logger.error("LEDGER ERROR: Falha ao consolidar o estoque fracionado; nova tentativa no próximo ciclo.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Divide o saldo de uma cerveja em frações (ou reúne as frações, se {@code shardCount <= 1})
+     * depois de gravar as alterações pendentes, sem alterar o saldo total.
+     *
+     * @param beerId O ID da cerveja.
+     * @param shardCount A nova quantidade de frações.
+     * @return O saldo total da cerveja, ou -1 se não houver registro de estoque.
+     */
+    public int reshard(Long beerId, int shardCount) {
+        lock.lock();
+        try {
+            flush();
+            Integer total = transactionTemplate.execute(status -> stockRepository.reshard(beerId, shardCount));
+            if (total == null || total < 0) {
+                return -1;
+            }
+            logger.info("LEDGER: Estoque da cerveja ID {} dividido em {} fração(ões).", beerId, Math.max(shardCount, 1));
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(SortedMap<Long, Integer> deltas, List<StockMovement> movements) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<Long> rejected = transactionTemplate.execute(status -> {
+                    List<Long> refused = stockRepository.applyQuantityDeltas(deltas);
+                    stockMovementRepository.appendAll(movements);
+                    flushHooks.forEach(hook -> hook.onFlush(deltas, movements));
+                    return refused;
+                });
+                movementCounter.increment(movements.size());
+                logger.debug("LEDGER: {} variação(ões) e {} movimentação(ões) de estoque persistida(s).", deltas.size(), movements.size());
+                if (rejected != null) {
+                    rejected.forEach(this::resync);
+                }
+                return;
+            } catch (TransientDataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    logger.error("LEDGER ERROR: Falha transitória persistente ao gravar {} variação(ões); nova tentativa no próximo ciclo.", deltas.size(), e);
+                    fail(deltas, movements, e);
+                    return;
+                }
+                retryCounter.increment();
+                logger.warn("LEDGER WARN: Falha transitória na tentativa {} de gravação do ledger: {}", attempt, e.getMessage());
+                if (!backoff(attempt)) {
+                    fail(deltas, movements, e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                logger.error("LEDGER ERROR: Falha ao gravar {} variação(ões); nova tentativa no próximo ciclo.", deltas.size(), e);
+                fail(deltas, movements, e);
+                return;
+            }
+        }
+    }
+
+    private void fail(SortedMap<Long, Integer> deltas, List<StockMovement> movements, Exception cause) {
+        for (StockFlushHook hook : flushHooks) {
+            try {
+                hook.onFlushFailure(deltas, movements, cause);
+            } catch (RuntimeException e) {
+                logger.warn("LEDGER WARN: Gancho de gravação {} falhou ao tratar a falha: {}", hook.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        restore(deltas, movements);
+    }
+
+    private void restore(SortedMap<Long, Integer> deltas, List<StockMovement> movements) {
+        deltas.forEach(stockLedger::restoreDelta);
+        stockJournal.restore(movements);
+    }
+
+    private void resync(Long beerId) {
+        resyncCounter.increment();
+        stockRepository.findQuantityByBeerId(beerId).ifPresentOrElse(
+                quantity -> stockLedger.resync(beerId, quantity),
+                () -> stockLedger.evict(beerId));
+    }
+
+    private boolean backoff(int attempt) {
+        long wait = ThreadLocalRandom.current().nextLong(retryBackoffMs, retryBackoffMs * 2 + 1) * attempt;
+        try {
+            Thread.sleep(wait);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
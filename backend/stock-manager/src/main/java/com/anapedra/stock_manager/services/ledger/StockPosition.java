@@ -0,0 +1,99 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Posição de estoque de um pedido: as quantidades apenas retidas (reservas ainda não pagas)
+ * e as quantidades já retiradas definitivamente do estoque, por cerveja.
+ *
+ * <p>Usada pelo {@link StockLedger#rebalance} para levar um pedido de uma posição a outra
+ * (ex: de retido para pago, ou de retido para cancelado) reservando apenas o acréscimo.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class StockPosition {
+
+    private static final StockPosition EMPTY = new StockPosition(Map.of(), Map.of());
+
+    private final Map<Long, Integer> held;
+    private final Map<Long, Integer> committed;
+
+    private StockPosition(Map<Long, Integer> held, Map<Long, Integer> committed) {
+        this.held = Collections.unmodifiableMap(new TreeMap<>(held));
+        this.committed = Collections.unmodifiableMap(new TreeMap<>(committed));
+    }
+
+    /**
+     * Posição sem nenhuma quantidade retida ou retirada.
+     *
+     * @return A posição vazia.
+     */
+    public static StockPosition empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Posição com quantidades apenas retidas.
+     *
+     * @param quantities As quantidades por ID de cerveja.
+     * @return A nova posição.
+     */
+    public static StockPosition held(Map<Long, Integer> quantities) {
+        return new StockPosition(quantities, Map.of());
+    }
+
+    /**
+     * Posição com quantidades retiradas definitivamente do estoque.
+     *
+     * @param quantities As quantidades por ID de cerveja.
+     * @return A nova posição.
+     */
+    public static StockPosition committed(Map<Long, Integer> quantities) {
+        return new StockPosition(Map.of(), quantities);
+    }
+
+    /**
+     * Retorna as quantidades retidas, ordenadas por ID da cerveja.
+     *
+     * @return Um mapa imutável de ID da cerveja para quantidade.
+     */
+    public Map<Long, Integer> getHeld() {
+        return held;
+    }
+
+    /**
+     * Retorna as quantidades retiradas, ordenadas por ID da cerveja.
+     *
+     * @return Um mapa imutável de ID da cerveja para quantidade.
+     */
+    public Map<Long, Integer> getCommitted() {
+        return committed;
+    }
+
+    /**
+     * Indica se a posição retém alguma quantidade.
+     *
+     * @return {@code true} se houver quantidades retidas.
+     */
+    public boolean isHeld() {
+        return !held.isEmpty();
+    }
+
+    /**
+     * Indica se a posição retirou alguma quantidade do estoque.
+     *
+     * @return {@code true} se houver quantidades retiradas.
+     */
+    public boolean isCommitted() {
+        return !committed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "StockPosition{held=" + held + ", committed=" + committed + '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.anapedra.stock_manager.services.ledger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserva de estoque devolvida pelo {@link StockLedger}: as quantidades retidas por
+ * cerveja, que devem ser efetivadas ({@link StockLedger#confirm}) ou liberadas
+ * ({@link StockLedger#release}) exatamente uma vez.
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class StockReservation {
+
+    private final Map<Long, Integer> quantities;
+
+    StockReservation(Map<Long, Integer> quantities) {
+        this.quantities = Collections.unmodifiableMap(new TreeMap<>(quantities));
+    }
+
+    /**
+     * Retorna as quantidades reservadas, indexadas pelo ID da cerveja e ordenadas por ID.
+     *
+     * @return Um mapa imutável de ID da cerveja para quantidade.
+     */
+    public Map<Long, Integer> getQuantities() {
+        return quantities;
+    }
+
+    /**
+     * Indica se a reserva não retém nenhuma quantidade.
+     *
+     * @return {@code true} se estiver vazia.
+     */
+    public boolean isEmpty() {
+        return quantities.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "StockReservation" + quantities;
+    }
+}
@@ -0,0 +1,206 @@
+package com.anapedra.stock_manager.services.losses;
+
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.entities.StockLoss;
+import com.anapedra.stock_manager.domain.entities.StockLossDaily;
+import com.anapedra.stock_manager.domain.pks.StockLossDailyPK;
+import com.anapedra.stock_manager.repositories.StockLossDailyRepository;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém a consolidação diária de perdas ({@code tb_stock_loss_daily}) a partir das perdas registradas.
+ *
+ * <p>Cada perda soma as suas unidades e um registro na linha do seu dia, cerveja e motivo. As
+ * variações de um registro (individual, em lote ou da baixa de vencidos) são agrupadas e gravadas
+ * após o commit, em uma transação curta própria, como em
+ * {@link com.anapedra.stock_manager.services.sales.SalesRollup}.</p>
+ *
+ * <p>Uma variação que não puder ser gravada é descartada (com registro em log e métrica) e
+ * corrigida por {@link #backfill}, que reconstrói um intervalo de dias a partir de
+ * {@code tb_stock_loss}, em blocos com transações próprias; os últimos dias são recalculados
+ * diariamente ({@code stock-manager.losses.reconcile-cron}). Apenas um recálculo ocorre por vez.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class StockLossRollup {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLossRollup.class);
+
+    private final StockLossDailyRepository stockLossDailyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNewTemplate;
+    private final ReentrantLock running = new ReentrantLock();
+
+    private final Counter rowsCounter;
+    private final Counter failuresCounter;
+    private final Timer backfillTimer;
+
+    /**
+     * Quantidade de dias recalculados por bloco (e por transação).
+     */
+    @Value("${stock-manager.losses.backfill-chunk-days:31}")
+    private int chunkDays = 31;
+
+    /**
+     * Quantidade de dias anteriores ao corrente recalculados na reconciliação diária.
+     */
+    @Value("${stock-manager.losses.reconcile-days:2}")
+    private int reconcileDays = 2;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockLossDailyRepository Repositório da consolidação diária de perdas.
+     * @param transactionManager O gerenciador de transações usado nas gravações.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public StockLossRollup(StockLossDailyRepository stockLossDailyRepository,
+                           PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.stockLossDailyRepository = stockLossDailyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Chamado em afterCommit: os recursos da transação da perda ainda estão associados à thread
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.rowsCounter = Counter.builder("stock_manager.stock_loss.rollup_rows")
+                .description("Variações gravadas na consolidação diária de perdas")
+                .register(registry);
+
+        this.failuresCounter = Counter.builder("stock_manager.stock_loss.rollup_failures")
+                .description("Gravações de variações da consolidação de perdas que falharam")
+                .register(registry);
+
+        this.backfillTimer = Timer.builder("stock_manager.stock_loss.backfill_time")
+                .description("Tempo de execução do recálculo da consolidação de perdas")
+                .register(registry);
+    }
+
+    /**
+     * Soma as perdas registradas após o commit da transação corrente.
+     *
+     * @param losses As perdas gravadas, com cerveja, motivo e dia.
+     */
+    public void add(Collection<StockLoss> losses) {
+        Map<StockLossDailyPK, StockLossDaily> deltas = new HashMap<>();
+        for (StockLoss loss : losses) {
+            if (loss.getLossDate() == null || loss.getQuantityLost() == null) {
+                continue;
+            }
+            StockLossDailyPK key = new StockLossDailyPK(loss.getLossDate(), loss.getBeer().getId(), loss.getLossReason());
+            deltas.merge(key, new StockLossDaily(key, loss.getQuantityLost().longValue(), 1L), StockLossRollup::sum);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<StockLossDaily> rows = new ArrayList<>(deltas.values());
+        AfterCommit.run(() -> write(rows));
+    }
+
+    /**
+     * Recálculo diário dos últimos dias, corrigindo variações que não puderam ser gravadas.
+     */
+    @Scheduled(cron = "${stock-manager.losses.reconcile-cron:0 45 3 * * *}")
+    public void scheduledReconcile() {
+        LocalDate today = LocalDate.now();
+        try {
+            backfill(today.minusDays(reconcileDays), today);
+        } catch (BusinessRuleException e) {
+            logger.warn("SERVICE WARN: Reconciliação agendada das perdas ignorada: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstrói a consolidação diária de um intervalo a partir das perdas, em blocos de
+     * {@code stock-manager.losses.backfill-chunk-days} dias, cada um na sua própria transação.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @return O {@link RollupBackfillReportDTO} da execução.
+     * @throws BusinessRuleException Se já houver um recálculo em andamento.
+     */
+    public RollupBackfillReportDTO backfill(LocalDate from, LocalDate to) {
+        if (!running.tryLock()) {
+            throw new BusinessRuleException("O recálculo da consolidação de perdas já está em execução.");
+        }
+        try {
+            logger.info("SERVICE: Iniciando recálculo da consolidação de perdas de {} a {}.", from, to);
+            long start = System.nanoTime();
+            RollupBackfillReportDTO report = new RollupBackfillReportDTO(from, to);
+
+            for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(chunkDays)) {
+                LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1L);
+                if (chunkEnd.isAfter(to)) {
+                    chunkEnd = to;
+                }
+                rebuild(chunkStart, chunkEnd, report);
+            }
+
+            long elapsed = System.nanoTime() - start;
+            backfillTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            report.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            logger.info("SERVICE: Recálculo da consolidação de perdas concluído. Blocos: {}, Linhas: {}, Falhas: {}, Duração: {} ms",
+                    report.getChunks(), report.getRows(), report.getFailedChunks(), report.getDurationMs());
+            return report;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói um bloco de dias em uma transação própria.
+     */
+    private void rebuild(LocalDate from, LocalDate to, RollupBackfillReportDTO report) {
+        try {
+            Integer rows = transactionTemplate.execute(status -> stockLossDailyRepository.rebuild(from, to));
+            report.chunk((rows != null) ? rows : 0);
+        } catch (RuntimeException e) {
+            report.failedChunk();
+            logger.error("SERVICE ERROR: Falha no recálculo das perdas de {} a {}. Detalhes: {}", from, to, e.getMessage());
+        }
+    }
+
+    private void write(List<StockLossDaily> rows) {
+        try {
+            try {
+                requiresNewTemplate.executeWithoutResult(status -> stockLossDailyRepository.applyDeltas(rows));
+            } catch (DuplicateKeyException e) {
+                // Outra perda incluiu a mesma linha (dia, cerveja e motivo) ao mesmo tempo: agora ela existe
+                requiresNewTemplate.executeWithoutResult(status -> stockLossDailyRepository.applyDeltas(rows));
+            }
+            rowsCounter.increment(rows.size());
+        } catch (RuntimeException e) {
+            failuresCounter.increment();
+            logger.error("SERVICE ERROR: Falha ao gravar {} variação(ões) da consolidação de perdas; serão corrigidas pelo recálculo. Detalhes: {}",
+                    rows.size(), e.getMessage());
+        }
+    }
+
+    private static StockLossDaily sum(StockLossDaily a, StockLossDaily b) {
+        return new StockLossDaily(a.getId(), a.getUnits() + b.getUnits(), a.getLossCount() + b.getLossCount());
+    }
+}
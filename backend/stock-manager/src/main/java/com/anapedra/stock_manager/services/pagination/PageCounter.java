@@ -0,0 +1,194 @@
+package com.anapedra.stock_manager.services.pagination;
+
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Regras do total de elementos das listagens paginadas por número (cervejas, pedidos e perdas).
+ *
+ * <p>O {@code COUNT} da consulta filtrada, executado a cada página, muitas vezes custa mais que
+ * a própria página. Conforme o {@link CountMode} pedido pelo cliente:</p>
+ * <ul>
+ *     <li>{@link CountMode#NONE}: lê a página como {@link Slice} (um item a mais, apenas para
+ *     saber se há próxima página), sem contagem;</li>
+ *     <li>{@link CountMode#APPROX}: lê a página como {@link Slice} e usa a estimativa de linhas
+ *     do planejador nas listagens sem filtro, ou uma contagem guardada por alguns segundos para
+ *     cada combinação de filtros (assinatura). Na última página o total é conhecido e é
+ *     informado como exato;</li>
+ *     <li>{@link CountMode#EXACT}: lê a página com a contagem do Spring Data.</li>
+ * </ul>
+ *
+ * <p>As contagens guardadas não são invalidadas pelas gravações: o total aproximado pode ficar
+ * defasado por até o tempo de vida configurado.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class PageCounter {
+
+    /**
+     * Tempo de vida (segundos) de uma contagem guardada.
+     */
+    @Value("${stock-manager.pagination.approx-count-ttl-seconds:30}")
+    private long ttlSeconds = 30;
+
+    /**
+     * Quantidade máxima de assinaturas de filtro com contagem guardada.
+     */
+    @Value("${stock-manager.pagination.approx-count-max-entries:1000}")
+    private int maxEntries = 1000;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    private final Counter estimateCounter;
+    private final Counter cacheHitCounter;
+    private final Counter queryCounter;
+
+    /**
+     * Construtor para injeção de dependências.
+     *
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public PageCounter(MeterRegistry registry) {
+        this.estimateCounter = Counter.builder("stock_manager.pagination.approx_count")
+                .description("Approximate page totals, by source")
+                .tag("source", "estimate")
+                .register(registry);
+        this.cacheHitCounter = Counter.builder("stock_manager.pagination.approx_count")
+                .description("Approximate page totals, by source")
+                .tag("source", "cache")
+                .register(registry);
+        this.queryCounter = Counter.builder("stock_manager.pagination.approx_count")
+                .description("Approximate page totals, by source")
+                .tag("source", "query")
+                .register(registry);
+    }
+
+    /**
+     * Monta a assinatura de uma combinação de filtros, chave das contagens guardadas.
+     *
+     * @param listing O nome da listagem.
+     * @param filters Os valores dos filtros, já normalizados.
+     * @return A assinatura.
+     */
+    public static String signature(String listing, Object... filters) {
+        return listing + Arrays.toString(filters);
+    }
+
+    /**
+     * Lê uma página e o seu total conforme o modo de contagem.
+     *
+     * @param mode O modo de contagem pedido.
+     * @param pageable A página solicitada.
+     * @param signature A assinatura dos filtros (ver {@link #signature}).
+     * @param pageQuery Consulta da página com contagem exata.
+     * @param sliceQuery Consulta da página sem contagem.
+     * @param countQuery Contagem exata da consulta filtrada (guardada no modo aproximado).
+     * @param estimateQuery Estimativa de linhas da tabela, apenas nas listagens sem filtro
+     *                      ({@code null} quando há filtros); valores menores que 1 são ignorados.
+     * @param mapper Converte um item no tipo entregue.
+     * @param <E> O tipo dos itens lidos.
+     * @param <T> O tipo dos itens entregues.
+     * @return A página, com o modo de contagem efetivamente usado.
+     */
+    public <E, T> CountedPageDTO<T> find(CountMode mode, Pageable pageable, String signature,
+                                         Function<Pageable, Page<E>> pageQuery,
+                                         Function<Pageable, Slice<E>> sliceQuery,
+                                         LongSupplier countQuery, LongSupplier estimateQuery,
+                                         Function<E, T> mapper) {
+        if (mode == CountMode.EXACT || pageable.isUnpaged()) {
+            Page<E> page = pageQuery.apply(pageable);
+            return new CountedPageDTO<>(map(page.getContent(), mapper), page.getNumber(), page.getSize(),
+                    page.getNumberOfElements(), page.getTotalElements(), page.getTotalPages(),
+                    page.hasNext(), CountMode.EXACT);
+        }
+
+        Slice<E> slice = sliceQuery.apply(pageable);
+        List<T> content = map(slice.getContent(), mapper);
+        if (mode == CountMode.NONE) {
+            return new CountedPageDTO<>(content, slice.getNumber(), slice.getSize(),
+                    slice.getNumberOfElements(), null, null, slice.hasNext(), CountMode.NONE);
+        }
+
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+            // Última página: o total é conhecido sem contagem
+            return counted(content, slice, seen, CountMode.EXACT);
+        }
+
+        long total = approximate(signature, countQuery, estimateQuery);
+        // A estimativa nunca pode contradizer o que já foi lido
+        total = Math.max(total, slice.hasNext() ? seen + 1 : seen);
+        return counted(content, slice, total, CountMode.APPROX);
+    }
+
+    /**
+     * Retorna a estimativa da tabela (listagens sem filtro) ou a contagem guardada da
+     * assinatura, executando a contagem apenas se ela não existir ou tiver expirado.
+     */
+    private long approximate(String signature, LongSupplier countQuery, LongSupplier estimateQuery) {
+        if (estimateQuery != null) {
+            long estimate = estimateQuery.getAsLong();
+            if (estimate > 0) {
+                estimateCounter.increment();
+                return estimate;
+            }
+        }
+
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(signature);
+        if (cached != null && now - cached.expiresAt < 0) {
+            cacheHitCounter.increment();
+            return cached.value;
+        }
+
+        long value = countQuery.getAsLong();
+        queryCounter.increment();
+        if (counts.size() >= maxEntries) {
+            counts.values().removeIf(entry -> now - entry.expiresAt >= 0);
+            if (counts.size() >= maxEntries) {
+                counts.clear();
+            }
+        }
+        counts.put(signature, new CachedCount(value, now + ttlSeconds * 1_000_000_000L));
+        return value;
+    }
+
+    private static <T> CountedPageDTO<T> counted(List<T> content, Slice<?> slice, long total, CountMode mode) {
+        int totalPages = (int) ((total + slice.getSize() - 1) / slice.getSize());
+        return new CountedPageDTO<>(content, slice.getNumber(), slice.getSize(), slice.getNumberOfElements(),
+                total, totalPages, slice.hasNext(), mode);
+    }
+
+    private static <E, T> List<T> map(List<E> rows, Function<E, T> mapper) {
+        List<T> content = new ArrayList<>(rows.size());
+        for (E row : rows) {
+            content.add(mapper.apply(row));
+        }
+        return content;
+    }
+
+    /**
+     * Contagem guardada de uma assinatura de filtros e o instante ({@link System#nanoTime()})
+     * em que expira.
+     */
+    private record CachedCount(long value, long expiresAt) {
+    }
+}
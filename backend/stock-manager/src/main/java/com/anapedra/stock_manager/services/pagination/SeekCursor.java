@@ -0,0 +1,110 @@
+package com.anapedra.stock_manager.services.pagination;
+
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Regras da paginação por cursor (keyset) usadas pelas listagens de cervejas, pedidos e perdas.
+ *
+ * <p>As listagens são ordenadas pelo ID, e o cursor guarda o ID do último item entregue: a
+ * página seguinte é lida com o predicado {@code id > :afterId}, que usa o índice da chave
+ * primária, em vez de {@code OFFSET}. Cada consulta lê um item além do tamanho da página, apenas
+ * para saber se há próxima página, sem {@code COUNT}.</p>
+ *
+ * <p>O token é o ID codificado em Base64 (URL) com um prefixo de versão, e deve ser tratado pelos
+ * clientes como opaco.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class SeekCursor {
+
+    /**
+     * Maior tamanho de página aceito.
+     */
+    public static final int MAX_SIZE = 1000;
+
+    private static final String PREFIX = "id:";
+
+    private SeekCursor() {
+    }
+
+    /**
+     * Lê o ID do último item entregue a partir do token.
+     *
+     * @param cursor O token recebido, ou {@code null} (ou vazio) para a primeira página.
+     * @return O ID, ou {@code null} para a primeira página.
+     * @throws BusinessRuleException Se o token for inválido.
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (value.startsWith(PREFIX)) {
+                return Long.parseLong(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 ou número inválido: tratado abaixo
+        }
+        throw new BusinessRuleException("Cursor de paginação inválido.");
+    }
+
+    /**
+     * Gera o token que aponta para o item seguinte ao ID informado.
+     *
+     * @param lastId O ID do último item entregue.
+     * @return O token.
+     */
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Valida o tamanho da página e monta a consulta de {@code size + 1} itens.
+     *
+     * @param size O tamanho da página.
+     * @return O {@link Pageable} da consulta (sempre a primeira página do Spring Data).
+     * @throws BusinessRuleException Se o tamanho estiver fora do intervalo aceito.
+     */
+    public static Pageable probe(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BusinessRuleException("O tamanho da página deve estar entre 1 e " + MAX_SIZE + ".");
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Monta a página a partir dos itens lidos com {@link #probe}: o item excedente apenas indica
+     * que há próxima página e não é entregue.
+     *
+     * @param rows Os itens lidos, em ordem de ID (no máximo {@code size + 1}).
+     * @param size O tamanho da página.
+     * @param idOf Extrai o ID de um item.
+     * @param mapper Converte um item no tipo entregue.
+     * @param <E> O tipo dos itens lidos.
+     * @param <T> O tipo dos itens entregues.
+     * @return A página.
+     */
+    public static <E, T> CursorPageDTO<T> page(List<E> rows, int size, Function<E, Long> idOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> visible = hasNext ? rows.subList(0, size) : rows;
+        List<T> content = new ArrayList<>(visible.size());
+        for (E row : visible) {
+            content.add(mapper.apply(row));
+        }
+        String next = hasNext ? encode(idOf.apply(visible.get(visible.size() - 1))) : null;
+        return new CursorPageDTO<>(content, size, hasNext, next);
+    }
+}
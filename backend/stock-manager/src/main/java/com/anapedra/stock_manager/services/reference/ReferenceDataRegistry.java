@@ -0,0 +1,267 @@
+package com.anapedra.stock_manager.services.reference;
+
+import com.anapedra.stock_manager.domain.dtos.CategoryDTO;
+import com.anapedra.stock_manager.domain.entities.Category;
+import com.anapedra.stock_manager.domain.entities.Role;
+import com.anapedra.stock_manager.repositories.CategoryRepository;
+import com.anapedra.stock_manager.repositories.RoleRepository;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registro em memória dos dados de referência: categorias e cargos (roles).
+ *
+ * <p>Esses dados mudam raramente, mas eram lidos do banco a cada listagem de categorias, a cada
+ * categoria associada a uma cerveja e a cada login. O registro mantém um instantâneo imutável,
+ * carregado ao iniciar a aplicação (ou na primeira consulta): as consultas por ID são leituras
+ * de mapa, sem bloqueio e sem consulta ao banco.</p>
+ *
+ * <p>Cada alteração de categoria copia o instantâneo, aplica a alteração na cópia e a publica
+ * por inteiro após o commit da transação corrente (cópia na escrita): uma consulta concorrente
+ * enxerga o instantâneo anterior ou o novo, nunca um estado intermediário. Os cargos não são
+ * alterados pela aplicação; um ID de cargo desconhecido (cadastrado direto no banco) recarrega
+ * os cargos uma vez.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class ReferenceDataRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private final CategoryRepository categoryRepository;
+    private final RoleRepository roleRepository;
+    private final Object writeLock = new Object();
+    private final AtomicLong categoryVersion = new AtomicLong();
+    private final Counter roleReloadCounter;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param categoryRepository Repositório de categorias, usado na carga do registro.
+     * @param roleRepository Repositório de cargos, usado na carga do registro.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public ReferenceDataRegistry(CategoryRepository categoryRepository, RoleRepository roleRepository,
+                                 MeterRegistry registry) {
+        this.categoryRepository = categoryRepository;
+        this.roleRepository = roleRepository;
+
+        Gauge.builder("stock_manager.reference_data.size", this, data -> data.current().categories().size())
+                .description("Quantidade de registros no registro de dados de referência, por tipo")
+                .tag("type", "category")
+                .register(registry);
+        Gauge.builder("stock_manager.reference_data.size", this, data -> data.current().authorities().size())
+                .description("Quantidade de registros no registro de dados de referência, por tipo")
+                .tag("type", "role")
+                .register(registry);
+        this.roleReloadCounter = Counter.builder("stock_manager.reference_data.role_reloads")
+                .description("Recargas dos cargos causadas por um ID de cargo desconhecido")
+                .register(registry);
+    }
+
+    /**
+     * Carrega o registro ao iniciar a aplicação, para que a primeira consulta não pague a carga.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            // O registro será carregado na primeira consulta
+            logger.warn("SERVICE WARN: Falha ao carregar os dados de referência na inicialização: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Retorna todas as categorias, em ordem de ID.
+     *
+     * @return Uma {@link List} de {@link CategoryDTO} (cópias, que podem ser alteradas por quem as recebe).
+     */
+    public List<CategoryDTO> findAllCategories() {
+        ensureLoaded();
+        List<CategoryEntry> ordered = snapshot.orderedCategories();
+        List<CategoryDTO> result = new ArrayList<>(ordered.size());
+        for (CategoryEntry entry : ordered) {
+            result.add(entry.toDTO());
+        }
+        return result;
+    }
+
+    /**
+     * Busca uma categoria pelo ID.
+     *
+     * @param id O ID da categoria.
+     * @return Um {@link Optional} com uma cópia da categoria, ou vazio se ela não existir.
+     */
+    public Optional<CategoryDTO> findCategory(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+        CategoryEntry entry = snapshot.categories().get(id);
+        return (entry != null) ? Optional.of(entry.toDTO()) : Optional.empty();
+    }
+
+    /**
+     * Busca o nome da autoridade de um cargo (ex: {@code ROLE_ADMIN}), recarregando os cargos
+     * uma vez se o ID for desconhecido.
+     *
+     * @param roleId O ID do cargo.
+     * @return Um {@link Optional} com a autoridade, ou vazio se o cargo não existir.
+     */
+    public Optional<String> findAuthority(Long roleId) {
+        if (roleId == null) {
+            return Optional.empty();
+        }
+        ensureLoaded();
+        String authority = snapshot.authorities().get(roleId);
+        if (authority == null) {
+            reloadRoles();
+            authority = snapshot.authorities().get(roleId);
+        }
+        return Optional.ofNullable(authority);
+    }
+
+    /**
+     * Retorna a versão das categorias, incrementada a cada instantâneo publicado com uma
+     * alteração de categoria.
+     *
+     * @return A versão corrente.
+     */
+    public long categoryVersion() {
+        return categoryVersion.get();
+    }
+
+    /**
+     * Registra, após o commit da transação corrente, uma categoria incluída ou alterada.
+     *
+     * @param category A categoria salva, com o ID gerado.
+     */
+    public void categorySaved(Category category) {
+        // Os campos são lidos ainda dentro da transação
+        CategoryEntry entry = new CategoryEntry(category.getId(), category.getName(), category.getDescription());
+        AfterCommit.run(() -> apply(current -> {
+            Map<Long, CategoryEntry> categories = new HashMap<>(current.categories());
+            categories.put(entry.id(), entry);
+            return Snapshot.of(categories.values(), current.authorities());
+        }));
+    }
+
+    /**
+     * Remove uma categoria do registro após o commit da transação corrente.
+     *
+     * @param id O ID da categoria excluída.
+     */
+    public void categoryDeleted(Long id) {
+        AfterCommit.run(() -> apply(current -> {
+            Map<Long, CategoryEntry> categories = new HashMap<>(current.categories());
+            categories.remove(id);
+            return Snapshot.of(categories.values(), current.authorities());
+        }));
+    }
+
+    private void apply(UnaryOperator<Snapshot> change) {
+        synchronized (writeLock) {
+            // Antes da carga, o banco já contém a alteração
+            if (snapshot == null) {
+                return;
+            }
+            snapshot = change.apply(snapshot);
+            categoryVersion.incrementAndGet();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return (current != null) ? current : Snapshot.EMPTY;
+    }
+
+    private void ensureLoaded() {
+        if (snapshot != null) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                return;
+            }
+            long start = System.nanoTime();
+            List<CategoryEntry> categories = new ArrayList<>();
+            for (Category category : categoryRepository.findAll()) {
+                categories.add(new CategoryEntry(category.getId(), category.getName(), category.getDescription()));
+            }
+            snapshot = Snapshot.of(categories, loadAuthorities());
+            logger.info("SERVICE: Dados de referência carregados: {} categoria(s) e {} cargo(s) ({} ms).",
+                    snapshot.categories().size(), snapshot.authorities().size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void reloadRoles() {
+        synchronized (writeLock) {
+            Map<Long, String> authorities = loadAuthorities();
+            snapshot = new Snapshot(snapshot.categories(), snapshot.orderedCategories(), authorities);
+            roleReloadCounter.increment();
+            logger.info("SERVICE: Cargos recarregados: {} cargo(s).", authorities.size());
+        }
+    }
+
+    private Map<Long, String> loadAuthorities() {
+        Map<Long, String> authorities = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            if (role.getAuthority() != null) {
+                authorities.put(role.getId(), role.getAuthority());
+            }
+        }
+        return Map.copyOf(authorities);
+    }
+
+    /**
+     * Dados imutáveis de uma categoria; as consultas entregam cópias em {@link CategoryDTO}.
+     */
+    private record CategoryEntry(Long id, String name, String description) {
+
+        CategoryDTO toDTO() {
+            return new CategoryDTO(id, name, description);
+        }
+    }
+
+    /**
+     * Instantâneo imutável do registro.
+     */
+    private record Snapshot(Map<Long, CategoryEntry> categories, List<CategoryEntry> orderedCategories,
+                            Map<Long, String> authorities) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), List.of(), Map.of());
+
+        static Snapshot of(Collection<CategoryEntry> categories, Map<Long, String> authorities) {
+            Map<Long, CategoryEntry> byId = new HashMap<>();
+            for (CategoryEntry entry : categories) {
+                byId.put(entry.id(), entry);
+            }
+            List<CategoryEntry> ordered = categories.stream()
+                    .sorted(Comparator.comparing(CategoryEntry::id))
+                    .toList();
+            return new Snapshot(Map.copyOf(byId), ordered, authorities);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.anapedra.stock_manager.services.replenishment;
+
+import com.anapedra.stock_manager.domain.dtos.DemandForecastDTO;
+import com.anapedra.stock_manager.domain.dtos.ReplenishmentPlanReportDTO;
+import com.anapedra.stock_manager.domain.entities.RestockProposal;
+import com.anapedra.stock_manager.repositories.RestockProposalRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Planejamento de reposição: propõe, para cada cerveja, quanto comprar com base na demanda
+ * prevista e no prazo de entrega.
+ *
+ * <p>A demanda vem do {@link DemandForecaster} (taxa diária com sazonalidade por dia da
+ * semana), sem consultar o histórico de pedidos. Para cada cerveja:</p>
+ * <ul>
+ *     <li>estoque de segurança = demanda diária x {@code safety-stock-days};</li>
+ *     <li>ponto de pedido = demanda prevista nos {@code lead-time-days} + estoque de segurança;</li>
+ *     <li>se o disponível (saldo menos reservas) estiver no ponto de pedido ou abaixo, a
+ *     quantidade sugerida completa a demanda prevista nos {@code lead-time-days + review-days}
+ *     mais o estoque de segurança.</li>
+ * </ul>
+ *
+ * <p>O catálogo é dividido em faixas de IDs de {@code range-size} cervejas, planejadas em
+ * paralelo por um {@link ForkJoinPool} de {@code parallelism} threads; cada faixa lê as
+ * quantidades com uma única consulta por chave primária. A execução tem um orçamento de tempo
+ * ({@code time-budget-ms}): faixas que ainda não começaram quando ele se esgota são ignoradas
+ * e informadas no relatório. As propostas são gravadas em {@code tb_restock_proposal} com um
+ * único lote JDBC, substituindo as da mesma data.</p>
+ *
+ * <p>Executado diariamente ({@code stock-manager.replenishment.cron}) e sob demanda pelo
+ * {@code BeerRestockingService}. Apenas uma execução ocorre por vez.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class ReplenishmentPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplenishmentPlanner.class);
+
+    private final StockRepository stockRepository;
+    private final RestockProposalRepository restockProposalRepository;
+    private final StockLedger stockLedger;
+    private final DemandForecaster demandForecaster;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock running = new ReentrantLock();
+
+    private final Timer runTimer;
+    private final Timer rangeTimer;
+    private final Counter proposalsCounter;
+    private final Counter skippedRangesCounter;
+
+    /**
+     * Prazo de entrega do fornecedor, em dias.
+     */
+    @Value("${stock-manager.replenishment.lead-time-days:5}")
+    private int leadTimeDays = 5;
+
+    /**
+     * Intervalo entre revisões do planejamento, em dias (a compra deve cobrir até a próxima revisão).
+     */
+    @Value("${stock-manager.replenishment.review-days:7}")
+    private int reviewDays = 7;
+
+    /**
+     * Dias de demanda mantidos como estoque de segurança.
+     */
+    @Value("${stock-manager.replenishment.safety-stock-days:3}")
+    private double safetyStockDays = 3;
+
+    /**
+     * Quantidade de IDs de cerveja por faixa planejada.
+     */
+    @Value("${stock-manager.replenishment.range-size:2000}")
+    private int rangeSize = 2000;
+
+    /**
+     * Quantidade de threads do planejamento.
+     */
+    @Value("${stock-manager.replenishment.parallelism:4}")
+    private int parallelism = 4;
+
+    /**
+     * Tempo máximo (ms) para iniciar faixas; as restantes são ignoradas.
+     */
+    @Value("${stock-manager.replenishment.time-budget-ms:300000}")
+    private long timeBudgetMs = 300000;
+
+    /**
+     * Dias de retenção das propostas de planejamentos anteriores.
+     */
+    @Value("${stock-manager.replenishment.retention-days:30}")
+    private int retentionDays = 30;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param stockRepository Repositório de estoque, usado na leitura das quantidades por faixa.
+     * @param restockProposalRepository Repositório das propostas de reposição.
+     * @param stockLedger O ledger de estoque em memória, fonte do saldo e das reservas.
+     * @param demandForecaster A previsão de demanda em memória.
+     * @param transactionManager O gerenciador de transações usado na gravação das propostas.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public ReplenishmentPlanner(StockRepository stockRepository, RestockProposalRepository restockProposalRepository,
+                                StockLedger stockLedger, DemandForecaster demandForecaster,
+                                PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.stockRepository = stockRepository;
+        this.restockProposalRepository = restockProposalRepository;
+        this.stockLedger = stockLedger;
+        this.demandForecaster = demandForecaster;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.runTimer = Timer.builder("stock_manager.replenishment.run_time")
+                .description("Tempo de execução do planejamento de reposição")
+                .register(registry);
+
+        this.rangeTimer = Timer.builder("stock_manager.replenishment.range_time")
+                .description("Tempo de planejamento de cada faixa de IDs de cerveja")
+                .register(registry);
+
+        this.proposalsCounter = Counter.builder("stock_manager.replenishment.proposals")
+                .description("Total de propostas de reposição geradas")
+                .register(registry);
+
+        this.skippedRangesCounter = Counter.builder("stock_manager.replenishment.skipped_ranges")
+                .description("Faixas de IDs ignoradas por esgotamento do orçamento de tempo")
+                .register(registry);
+    }
+
+    /**
+     * Execução agendada, com a data corrente (UTC) como data do planejamento.
+     */
+    @Scheduled(cron = "${stock-manager.replenishment.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        try {
+            run(LocalDate.now(ZoneOffset.UTC));
+        } catch (BusinessRuleException e) {
+            logger.warn("SERVICE WARN: Planejamento de reposição agendado ignorado: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("SERVICE ERROR: Falha no planejamento de reposição agendado.", e);
+        }
+    }
+
+    /**
+     * Planeja a reposição de todo o catálogo e grava as propostas da data informada.
+     *
+     * @param planDate A data do planejamento (referência da previsão de demanda).
+     * @return O {@link ReplenishmentPlanReportDTO} da execução.
+     * @throws BusinessRuleException Se já houver uma execução em andamento.
+     */
+    public ReplenishmentPlanReportDTO run(LocalDate planDate) {
+        if (!running.tryLock()) {
+            throw new BusinessRuleException("O planejamento de reposição já está em execução.");
+        }
+        try {
+            logger.info("SERVICE: Iniciando planejamento de reposição. Data: {}", planDate);
+            long start = System.nanoTime();
+            Plan plan = new Plan(planDate, start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs));
+
+            List<RestockProposal> proposals = List.of();
+            List<Object[]> bounds = stockRepository.findIdRange();
+            if (!bounds.isEmpty() && bounds.get(0)[0] != null) {
+                long minId = ((Number) bounds.get(0)[0]).longValue();
+                long maxId = ((Number) bounds.get(0)[1]).longValue();
+                ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+                try {
+                    proposals = pool.invoke(new PlanRange(plan, minId, maxId));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+
+            List<RestockProposal> written = proposals;
+            transactionTemplate.executeWithoutResult(status ->
+                    restockProposalRepository.replacePlan(planDate, planDate.minusDays(retentionDays), written));
+
+            long suggestedUnits = proposals.stream().mapToLong(RestockProposal::getSuggestedQuantity).sum();
+            long elapsed = System.nanoTime() - start;
+            runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            proposalsCounter.increment(proposals.size());
+            skippedRangesCounter.increment(plan.skipped.get());
+
+            ReplenishmentPlanReportDTO report = new ReplenishmentPlanReportDTO(planDate, plan.ranges.get(),
+                    plan.skipped.get(), plan.failed.get(), plan.scanned.get(), proposals.size(), suggestedUnits,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+            if (report.isComplete()) {
+                logger.info("SERVICE: Planejamento de reposição concluído. Faixas: {}, Cervejas: {}, Propostas: {}, Unidades: {}, Duração: {} ms",
+                        report.getRanges(), report.getBeersScanned(), report.getProposals(), suggestedUnits, report.getDurationMs());
+            } else {
+                logger.warn("SERVICE WARN: Planejamento de reposição incompleto. Faixas: {}, Ignoradas: {}, Com falha: {}, Propostas: {}, Duração: {} ms",
+                        report.getRanges(), report.getSkippedRanges(), report.getFailedRanges(), report.getProposals(), report.getDurationMs());
+            }
+            return report;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Calcula as propostas de uma faixa de IDs.
+     */
+    private List<RestockProposal> planRange(Plan plan, long fromId, long toId) {
+        plan.ranges.incrementAndGet();
+        if (System.nanoTime() > plan.deadline) {
+            plan.skipped.incrementAndGet();
+            return List.of();
+        }
+        long start = System.nanoTime();
+        try {
+            Map<Long, Integer> quantities = stockRepository.findQuantitiesBetween(fromId, toId);
+            plan.scanned.addAndGet(quantities.size());
+            Instant now = Instant.now();
+            List<RestockProposal> proposals = new ArrayList<>();
+            quantities.forEach((beerId, quantity) -> {
+                int available = stockLedger.onHand(beerId, quantity) - stockLedger.reserved(beerId);
+                RestockProposal proposal = propose(beerId, available, plan.planDate, now);
+                if (proposal != null) {
+                    proposals.add(proposal);
+                }
+            });
+            return proposals;
+        } catch (RuntimeException e) {
+            plan.failed.incrementAndGet();
+            logger.error("SERVICE ERROR: Falha no planejamento de reposição da faixa de IDs {} a {}. Detalhes: {}",
+                    fromId, toId, e.getMessage());
+            return List.of();
+        } finally {
+            rangeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Calcula a proposta de uma cerveja, ou {@code null} se o disponível estiver acima do ponto
+     * de pedido ou não houver demanda registrada.
+     */
+    private RestockProposal propose(Long beerId, int available, LocalDate planDate, Instant now) {
+        DemandForecastDTO leadTime = demandForecaster.forecastOf(planDate, leadTimeDays, beerId);
+        if (leadTime == null || leadTime.getDailyRate() <= 0) {
+            return null;
+        }
+        int safetyStock = (int) Math.ceil(leadTime.getDailyRate() * safetyStockDays);
+        int reorderPoint = (int) Math.ceil(leadTime.getForecastUnits()) + safetyStock;
+        if (available > reorderPoint) {
+            return null;
+        }
+        DemandForecastDTO cycle = demandForecaster.forecastOf(planDate, leadTimeDays + reviewDays, beerId);
+        double cycleDemand = (cycle != null) ? cycle.getForecastUnits() : leadTime.getForecastUnits();
+        int suggested = (int) Math.ceil(cycleDemand) + safetyStock - Math.max(available, 0);
+        if (suggested <= 0) {
+            return null;
+        }
+        return new RestockProposal(null, beerId, planDate, available, leadTime.getDailyRate(),
+                safetyStock, reorderPoint, suggested, now);
+    }
+
+    /**
+     * Estado compartilhado de uma execução: data, prazo e contadores das faixas.
+     */
+    private static final class Plan {
+        private final LocalDate planDate;
+        private final long deadline;
+        private final AtomicInteger ranges = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong scanned = new AtomicLong();
+
+        Plan(LocalDate planDate, long deadline) {
+            this.planDate = planDate;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * Tarefa fork/join que divide uma faixa de IDs ao meio até o tamanho de {@code rangeSize}.
+     */
+    private final class PlanRange extends RecursiveTask<List<RestockProposal>> {
+
+        private final Plan plan;
+        private final long fromId;
+        private final long toId;
+
+        PlanRange(Plan plan, long fromId, long toId) {
+            this.plan = plan;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected List<RestockProposal> compute() {
+            if (toId - fromId < Math.max(1, rangeSize)) {
+                return planRange(plan, fromId, toId);
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            PlanRange left = new PlanRange(plan, fromId, middle);
+            left.fork();
+            List<RestockProposal> right = new PlanRange(plan, middle + 1, toId).compute();
+            List<RestockProposal> merged = new ArrayList<>(left.join());
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.anapedra.stock_manager.services.sales;
+
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.entities.Order;
+import com.anapedra.stock_manager.domain.entities.OrderItem;
+import com.anapedra.stock_manager.domain.entities.SalesDaily;
+import com.anapedra.stock_manager.domain.enums.OrderStatus;
+import com.anapedra.stock_manager.domain.pks.SalesDailyPK;
+import com.anapedra.stock_manager.repositories.SalesDailyRepository;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantém a consolidação diária de vendas ({@code tb_sales_daily}) a partir dos pedidos.
+ *
+ * <p>A contribuição de um pedido não cancelado é, para cada cerveja, as unidades, a receita
+ * (quantidade vezes o preço unitário do item) e um pedido, no dia (UTC) do pedido. Criar um pedido
+ * soma a sua contribuição, excluí-lo a subtrai e alterá-lo aplica a diferença entre a contribuição
+ * anterior e a nova. As variações são gravadas após o commit do pedido, em uma transação curta
+ * própria, para que as linhas mais disputadas (o dia corrente das cervejas mais vendidas) não
+ * fiquem bloqueadas durante a transação do pedido.</p>
+ *
+ * <p>Uma variação que não puder ser gravada é descartada (com registro em log e métrica) e
+ * corrigida pelo recálculo: {@link #backfill} reconstrói um intervalo de dias a partir dos pedidos,
+ * em blocos com transações próprias, e os últimos dias são recalculados diariamente
+ * ({@code stock-manager.sales.reconcile-cron}). Apenas um recálculo ocorre por vez.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class SalesRollup {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollup.class);
+
+    private final SalesDailyRepository salesDailyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate requiresNewTemplate;
+    private final ReentrantLock running = new ReentrantLock();
+
+    private final Counter rowsCounter;
+    private final Counter failuresCounter;
+    private final Timer backfillTimer;
+
+    /**
+     * Quantidade de dias recalculados por bloco (e por transação).
+     */
+    @Value("${stock-manager.sales.backfill-chunk-days:31}")
+    private int chunkDays = 31;
+
+    /**
+     * Quantidade de dias anteriores ao corrente recalculados na reconciliação diária.
+     */
+    @Value("${stock-manager.sales.reconcile-days:2}")
+    private int reconcileDays = 2;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param salesDailyRepository Repositório da consolidação diária de vendas.
+     * @param transactionManager O gerenciador de transações usado nas gravações.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public SalesRollup(SalesDailyRepository salesDailyRepository, PlatformTransactionManager transactionManager,
+                       MeterRegistry registry) {
+        this.salesDailyRepository = salesDailyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Chamado em afterCommit: os recursos da transação do pedido ainda estão associados à thread
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.rowsCounter = Counter.builder("stock_manager.sales.rollup_rows")
+                .description("Variações gravadas na consolidação diária de vendas")
+                .register(registry);
+
+        this.failuresCounter = Counter.builder("stock_manager.sales.rollup_failures")
+                .description("Gravações de variações da consolidação de vendas que falharam")
+                .register(registry);
+
+        this.backfillTimer = Timer.builder("stock_manager.sales.backfill_time")
+                .description("Tempo de execução do recálculo da consolidação de vendas")
+                .register(registry);
+    }
+
+    /**
+     * Soma a contribuição de um pedido novo após o commit da transação corrente.
+     *
+     * @param order O pedido criado, com itens.
+     */
+    public void add(Order order) {
+        apply(contributionOf(order));
+    }
+
+    /**
+     * Soma a contribuição de vários pedidos novos após o commit da transação corrente.
+     *
+     * @param orders Os pedidos criados, com itens.
+     */
+    public void addAll(Collection<Order> orders) {
+        Map<SalesDailyPK, SalesDaily> deltas = new HashMap<>();
+        orders.forEach(order -> contributionOf(order).forEach((key, delta) -> deltas.merge(key, delta, SalesRollup::sum)));
+        apply(deltas);
+    }
+
+    /**
+     * Subtrai a contribuição de um pedido excluído após o commit da transação corrente.
+     *
+     * @param order O pedido excluído, com itens.
+     */
+    public void remove(Order order) {
+        apply(negate(contributionOf(order)));
+    }
+
+    /**
+     * Substitui a contribuição anterior de um pedido alterado pela atual, após o commit da
+     * transação corrente.
+     *
+     * @param previous A contribuição do pedido antes da alteração (ver {@link #contributionOf}).
+     * @param order O pedido alterado, com itens.
+     */
+    public void replace(Map<SalesDailyPK, SalesDaily> previous, Order order) {
+        Map<SalesDailyPK, SalesDaily> deltas = negate(previous);
+        contributionOf(order).forEach((key, delta) -> deltas.merge(key, delta, SalesRollup::sum));
+        apply(deltas);
+    }
+
+    /**
+     * Calcula a contribuição de um pedido para a consolidação diária: vazia para pedidos cancelados.
+     *
+     * @param order O pedido, com itens.
+     * @return As contribuições, indexadas pelo dia e pela cerveja.
+     */
+    public Map<SalesDailyPK, SalesDaily> contributionOf(Order order) {
+        Map<SalesDailyPK, SalesDaily> contribution = new HashMap<>();
+        if (order.getOrderStatus() == OrderStatus.CACELED || order.getMomentAt() == null) {
+            return contribution;
+        }
+        LocalDate day = LocalDate.ofInstant(order.getMomentAt(), ZoneOffset.UTC);
+        Map<Long, long[]> units = new HashMap<>();
+        Map<Long, Double> revenue = new HashMap<>();
+        for (OrderItem item : order.getItems()) {
+            Long beerId = item.getBeer().getId();
+            units.computeIfAbsent(beerId, id -> new long[1])[0] += item.getQuantity();
+            revenue.merge(beerId, item.getSubTotal(), Double::sum);
+        }
+        units.forEach((beerId, total) -> {
+            SalesDailyPK key = new SalesDailyPK(day, beerId);
+            contribution.put(key, new SalesDaily(key, total[0], revenue.get(beerId), 1L));
+        });
+        return contribution;
+    }
+
+    /**
+     * Recálculo diário dos últimos dias, corrigindo variações que não puderam ser gravadas.
+     */
+    @Scheduled(cron = "${stock-manager.sales.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        try {
+            backfill(today.minusDays(reconcileDays), today);
+        } catch (BusinessRuleException e) {
+            logger.warn("SERVICE WARN: Reconciliação agendada das vendas ignorada: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstrói a consolidação diária de um intervalo a partir dos pedidos, em blocos de
+     * {@code stock-manager.sales.backfill-chunk-days} dias, cada um na sua própria transação.
+     *
+     * @param from O primeiro dia.
+     * @param to O último dia (inclusive).
+     * @return O {@link RollupBackfillReportDTO} da execução.
+     * @throws BusinessRuleException Se já houver um recálculo em andamento.
+     */
+    public RollupBackfillReportDTO backfill(LocalDate from, LocalDate to) {
+        if (!running.tryLock()) {
+            throw new BusinessRuleException("O recálculo da consolidação de vendas já está em execução.");
+        }
+        try {
+            logger.info("SERVICE: Iniciando recálculo da consolidação de vendas de {} a {}.", from, to);
+            long start = System.nanoTime();
+            RollupBackfillReportDTO report = new RollupBackfillReportDTO(from, to);
+
+            for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(chunkDays)) {
+                LocalDate chunkEnd = chunkStart.plusDays(chunkDays - 1L);
+                if (chunkEnd.isAfter(to)) {
+                    chunkEnd = to;
+                }
+                rebuild(chunkStart, chunkEnd, report);
+            }
+
+            long elapsed = System.nanoTime() - start;
+            backfillTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            report.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            logger.info("SERVICE: Recálculo da consolidação de vendas concluído. Blocos: {}, Linhas: {}, Falhas: {}, Duração: {} ms",
+                    report.getChunks(), report.getRows(), report.getFailedChunks(), report.getDurationMs());
+            return report;
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói um bloco de dias em uma transação própria.
+     */
+    private void rebuild(LocalDate from, LocalDate to, RollupBackfillReportDTO report) {
+        try {
+            Integer rows = transactionTemplate.execute(status -> salesDailyRepository.rebuild(from, to));
+            report.chunk((rows != null) ? rows : 0);
+        } catch (RuntimeException e) {
+            report.failedChunk();
+            logger.error("SERVICE ERROR: Falha no recálculo das vendas de {} a {}. Detalhes: {}", from, to, e.getMessage());
+        }
+    }
+
+    /**
+     * Grava as variações após o commit da transação corrente.
+     */
+    private void apply(Map<SalesDailyPK, SalesDaily> deltas) {
+        List<SalesDaily> rows = new ArrayList<>();
+        deltas.values().forEach(delta -> {
+            if (delta.getUnits() != 0 || delta.getRevenue() != 0 || delta.getOrderCount() != 0) {
+                rows.add(delta);
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> write(rows));
+    }
+
+    private void write(List<SalesDaily> rows) {
+        try {
+            try {
+                requiresNewTemplate.executeWithoutResult(status -> salesDailyRepository.applyDeltas(rows));
+            } catch (DuplicateKeyException e) {
+                // Outro pedido incluiu a mesma linha (dia e cerveja) ao mesmo tempo: agora ela existe
+                requiresNewTemplate.executeWithoutResult(status -> salesDailyRepository.applyDeltas(rows));
+            }
+            rowsCounter.increment(rows.size());
+        } catch (RuntimeException e) {
+            failuresCounter.increment();
+            logger.error("SERVICE ERROR: Falha ao gravar {} variação(ões) da consolidação de vendas; serão corrigidas pelo recálculo. Detalhes: {}",
+                    rows.size(), e.getMessage());
+        }
+    }
+
+    private static Map<SalesDailyPK, SalesDaily> negate(Map<SalesDailyPK, SalesDaily> contribution) {
+        Map<SalesDailyPK, SalesDaily> negated = new HashMap<>();
+        contribution.forEach((key, delta) -> negated.put(key,
+                new SalesDaily(key, -delta.getUnits(), -delta.getRevenue(), -delta.getOrderCount())));
+        return negated;
+    }
+
+    private static SalesDaily sum(SalesDaily a, SalesDaily b) {
+        return new SalesDaily(a.getId(), a.getUnits() + b.getUnits(), a.getRevenue() + b.getRevenue(),
+                a.getOrderCount() + b.getOrderCount());
+    }
+}
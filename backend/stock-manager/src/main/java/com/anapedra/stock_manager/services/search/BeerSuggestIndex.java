@@ -0,0 +1,476 @@
+package com.anapedra.stock_manager.services.search;
+
+import com.anapedra.stock_manager.domain.dtos.BeerSuggestionDTO;
+import com.anapedra.stock_manager.domain.entities.Category;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória dos nomes das cervejas e das suas categorias, usado no autocompletar.
+ *
+ * <p>Os nomes são normalizados (minúsculas, sem acentos e com as palavras separadas por um
+ * espaço) e indexados em vetores ordenados (nomes completos, palavras dos nomes e palavras das
+ * categorias), em que os prefixos são localizados por busca binária, e em listas de cervejas por
+ * trigrama, que atendem termos no meio do nome. As sugestões saem por faixas de relevância, cada
+ * uma em ordem alfabética, e a varredura para ao atingir o limite: uma sugestão custa
+ * O(log n + limite) na maioria dos termos, sem consulta ao banco.</p>
+ *
+ * <p>As consultas leem um instantâneo imutável, substituído por inteiro a cada alteração
+ * (as alterações de cervejas são raras em comparação com as consultas). O índice é carregado
+ * do banco ao iniciar a aplicação (ou na primeira consulta) e mantido pelo {@code BeerService}
+ * após o commit de cada inclusão, alteração ou exclusão de cerveja.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+@Component
+public class BeerSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeerSuggestIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Tamanho dos trigramas; termos menores são atendidos apenas por prefixo.
+     */
+    private static final int GRAM = 3;
+
+    // Estimativa de memória (referências comprimidas e Strings compactas)
+    private static final long STRING_BYTES = 40;
+    private static final long ENTRY_BYTES = 48;
+    private static final long ARRAY_BYTES = 16;
+
+    private final BeerRepository beerRepository;
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, List<String>> categories = new HashMap<>();
+    private final Object writeLock = new Object();
+    private final Timer lookupTimer;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Construtor para injeção de dependências e registro das métricas.
+     *
+     * @param beerRepository Repositório de cervejas, usado na carga do índice.
+     * @param registry O registro de métricas do Micrometer.
+     */
+    public BeerSuggestIndex(BeerRepository beerRepository, MeterRegistry registry) {
+        this.beerRepository = beerRepository;
+
+        Gauge.builder("stock_manager.suggest_index.size", this, index -> index.current().names.size())
+                .description("Quantidade de cervejas no índice de autocompletar")
+                .register(registry);
+        Gauge.builder("stock_manager.suggest_index.memory_bytes", this, index -> index.current().bytes)
+                .description("Memória estimada do índice de autocompletar (bytes)")
+                .baseUnit("bytes")
+                .register(registry);
+        this.lookupTimer = Timer.builder("stock_manager.suggest_index.lookup_time")
+                .description("Tempo de resposta de uma sugestão do autocompletar")
+                .register(registry);
+    }
+
+    /**
+     * Carrega o índice ao iniciar a aplicação, para que a primeira sugestão não pague a carga.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            ensureLoaded();
+        } catch (RuntimeException e) {
+            // O índice será carregado na primeira consulta
+            logger.warn("SERVICE WARN: Falha ao carregar o índice de autocompletar na inicialização: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sugere as cervejas cujo nome (ou o nome de uma de suas categorias) corresponde ao termo.
+     *
+     * <p>Faixas, da mais para a menos relevante: nome igual ou começando pelo termo; palavras do
+     * nome começando pelas palavras do termo; termo no meio do nome (com três ou mais caracteres);
+     * categoria correspondente. Acentos e maiúsculas são ignorados.</p>
+     *
+     * @param query O termo digitado.
+     * @param limit A quantidade máxima de sugestões.
+     * @return As sugestões, por faixa de relevância e, dentro da faixa, em ordem alfabética.
+     */
+    public List<BeerSuggestionDTO> suggest(String query, int limit) {
+        ensureLoaded();
+        return lookupTimer.record(() -> snapshot.search(normalize(query), limit));
+    }
+
+    /**
+     * Registra, após o commit da transação corrente, o nome e as categorias de uma cerveja
+     * incluída ou alterada.
+     *
+     * @param beerId O ID da cerveja.
+     * @param name O nome da cerveja.
+     * @param beerCategories As categorias da cerveja.
+     */
+    public void index(Long beerId, String name, Collection<Category> beerCategories) {
+        // Os nomes são lidos ainda dentro da transação
+        List<String> categoryNames = new ArrayList<>();
+        for (Category category : beerCategories) {
+            if (category.getName() != null) {
+                categoryNames.add(category.getName());
+            }
+        }
+        AfterCommit.run(() -> apply(beerId, name, categoryNames));
+    }
+
+    /**
+     * Remove uma cerveja do índice após o commit da transação corrente.
+     *
+     * @param beerId O ID da cerveja.
+     */
+    public void evict(Long beerId) {
+        AfterCommit.run(() -> apply(beerId, null, List.of()));
+    }
+
+    private void apply(Long beerId, String name, List<String> categoryNames) {
+        synchronized (writeLock) {
+            // Antes da carga, o banco já contém a alteração
+            if (snapshot == null) {
+                return;
+            }
+            if (name != null) {
+                names.put(beerId, name);
+                categories.put(beerId, categoryNames);
+            } else {
+                names.remove(beerId);
+                categories.remove(beerId);
+            }
+            snapshot = Snapshot.build(names, categories);
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return (current != null) ? current : Snapshot.EMPTY;
+    }
+
+    private void ensureLoaded() {
+        if (snapshot != null) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                return;
+            }
+            long start = System.nanoTime();
+            for (Object[] row : beerRepository.findAllNames()) {
+                if (row[1] != null) {
+                    names.put(((Number) row[0]).longValue(), (String) row[1]);
+                }
+            }
+            for (Object[] row : beerRepository.findAllCategoryNames()) {
+                if (row[2] != null) {
+                    categories.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>()).add((String) row[2]);
+                }
+            }
+            snapshot = Snapshot.build(names, categories);
+            logger.info("SERVICE: Índice de autocompletar carregado com {} cerveja(s), ~{} KB ({} ms).",
+                    names.size(), snapshot.bytes / 1024, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Normaliza um nome ou termo: minúsculas, sem acentos e com as palavras separadas por um
+     * único espaço.
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(plain.toLowerCase(Locale.ROOT).replace("ß", "ss")).replaceAll(" ").trim();
+    }
+
+    /**
+     * Instantâneo imutável do índice.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = build(Map.of(), Map.of());
+
+        final Map<Long, String> names;
+        final Map<Long, String> normalized;
+        final Map<Long, String[]> normalizedCategories;
+        final String[] fullNames;
+        final long[] fullNameBeers;
+        final String[] words;
+        final long[] wordBeers;
+        final String[] categoryWords;
+        final long[] categoryWordBeers;
+        final Map<String, long[]> grams;
+        final long bytes;
+
+        private Snapshot(Map<Long, String> names, Map<Long, String> normalized, Map<Long, String[]> normalizedCategories,
+                         String[] fullNames, long[] fullNameBeers, String[] words, long[] wordBeers,
+                         String[] categoryWords, long[] categoryWordBeers, Map<String, long[]> grams, long bytes) {
+            this.names = names;
+            this.normalized = normalized;
+            this.normalizedCategories = normalizedCategories;
+            this.fullNames = fullNames;
+            this.fullNameBeers = fullNameBeers;
+            this.words = words;
+            this.wordBeers = wordBeers;
+            this.categoryWords = categoryWords;
+            this.categoryWordBeers = categoryWordBeers;
+            this.grams = grams;
+            this.bytes = bytes;
+        }
+
+        static Snapshot build(Map<Long, String> names, Map<Long, List<String>> categories) {
+            // Em ordem de ID, para que as listas por trigrama saiam ordenadas
+            Map<Long, String> sortedNames = new TreeMap<>(names);
+            Map<Long, String> normalized = new HashMap<>();
+            Map<Long, String[]> normalizedCategories = new HashMap<>();
+            List<Object[]> namePairs = new ArrayList<>();
+            List<Object[]> wordPairs = new ArrayList<>();
+            List<Object[]> categoryPairs = new ArrayList<>();
+            Map<String, List<Long>> gramLists = new HashMap<>();
+            long bytes = 0;
+
+            for (Map.Entry<Long, String> entry : sortedNames.entrySet()) {
+                Long beerId = entry.getKey();
+                String name = normalize(entry.getValue());
+                normalized.put(beerId, name);
+                bytes += 2 * (ENTRY_BYTES + STRING_BYTES) + entry.getValue().length() + name.length();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                namePairs.add(new Object[]{name, name, beerId});
+                for (String word : new LinkedHashSet<>(Arrays.asList(name.split(" ")))) {
+                    wordPairs.add(new Object[]{word, name, beerId});
+                }
+                for (String gram : grams(name)) {
+                    gramLists.computeIfAbsent(gram, key -> new ArrayList<>()).add(beerId);
+                }
+
+                Set<String> categoryNames = new LinkedHashSet<>();
+                for (String categoryName : categories.getOrDefault(beerId, List.of())) {
+                    String value = normalize(categoryName);
+                    if (!value.isEmpty()) {
+                        categoryNames.add(value);
+                    }
+                }
+                if (!categoryNames.isEmpty()) {
+                    normalizedCategories.put(beerId, categoryNames.toArray(new String[0]));
+                    bytes += ENTRY_BYTES + ARRAY_BYTES;
+                    Set<String> categoryWordSet = new LinkedHashSet<>();
+                    for (String value : categoryNames) {
+                        bytes += STRING_BYTES + value.length() + 4;
+                        categoryWordSet.addAll(Arrays.asList(value.split(" ")));
+                    }
+                    for (String word : categoryWordSet) {
+                        categoryPairs.add(new Object[]{word, name, beerId});
+                    }
+                }
+            }
+
+            // Cada vetor é ordenado pela chave e, dentro da mesma chave, pelo nome e pelo ID:
+            // a varredura de um prefixo já sai na ordem de exibição e pode parar no limite
+            Comparator<Object[]> order = Comparator.<Object[], String>comparing(pair -> (String) pair[0])
+                    .thenComparing(pair -> (String) pair[1])
+                    .thenComparing(pair -> (Long) pair[2]);
+            namePairs.sort(order);
+            wordPairs.sort(order);
+            categoryPairs.sort(order);
+
+            String[] fullNames = keys(namePairs);
+            String[] words = keys(wordPairs);
+            String[] categoryWords = keys(categoryPairs);
+            for (String[] keys : List.of(words, categoryWords)) {
+                for (String key : keys) {
+                    bytes += STRING_BYTES + key.length() + 12;
+                }
+            }
+            bytes += 12L * fullNames.length;
+
+            Map<String, long[]> grams = new HashMap<>();
+            for (Map.Entry<String, List<Long>> entry : gramLists.entrySet()) {
+                long[] ids = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+                grams.put(entry.getKey(), ids);
+                bytes += ENTRY_BYTES + STRING_BYTES + GRAM + ARRAY_BYTES + 8L * ids.length;
+            }
+            bytes += 6 * ARRAY_BYTES;
+
+            return new Snapshot(Map.copyOf(names), normalized, normalizedCategories,
+                    fullNames, ids(namePairs), words, ids(wordPairs), categoryWords, ids(categoryPairs), grams, bytes);
+        }
+
+        /**
+         * Busca por faixas de relevância, cada uma em ordem alfabética do nome; as faixas
+         * seguintes só são consultadas enquanto o limite não for atingido.
+         */
+        List<BeerSuggestionDTO> search(String query, int limit) {
+            if (query.isEmpty() || limit < 1) {
+                return List.of();
+            }
+            String[] terms = query.split(" ");
+            Set<Long> hits = new LinkedHashSet<>();
+
+            // 1. Nome igual ou começando pelo termo
+            int end = upperBound(fullNames, query);
+            for (int i = lowerBound(fullNames, query); i < end && hits.size() < limit; i++) {
+                hits.add(fullNameBeers[i]);
+            }
+
+            // 2. Palavras do nome começando pelas palavras do termo
+            end = upperBound(words, terms[0]);
+            for (int i = lowerBound(words, terms[0]); i < end && hits.size() < limit; i++) {
+                if (matchesAll(normalized.get(wordBeers[i]), terms)) {
+                    hits.add(wordBeers[i]);
+                }
+            }
+
+            // 3. Trecho no meio do nome
+            if (hits.size() < limit && query.length() >= GRAM) {
+                List<Long> infix = new ArrayList<>();
+                for (long beerId : intersect(grams(query))) {
+                    if (!hits.contains(beerId) && normalized.get(beerId).contains(query)) {
+                        infix.add(beerId);
+                    }
+                }
+                infix.sort(Comparator.comparing((Long beerId) -> normalized.get(beerId)).thenComparing(beerId -> beerId));
+                for (int i = 0; i < infix.size() && hits.size() < limit; i++) {
+                    hits.add(infix.get(i));
+                }
+            }
+
+            // 4. Palavras das categorias começando pelas palavras do termo
+            end = upperBound(categoryWords, terms[0]);
+            for (int i = lowerBound(categoryWords, terms[0]); i < end && hits.size() < limit; i++) {
+                long beerId = categoryWordBeers[i];
+                for (String category : normalizedCategories.get(beerId)) {
+                    if (matchesAll(category, terms)) {
+                        hits.add(beerId);
+                        break;
+                    }
+                }
+            }
+
+            List<BeerSuggestionDTO> result = new ArrayList<>(hits.size());
+            for (Long beerId : hits) {
+                result.add(new BeerSuggestionDTO(beerId, names.get(beerId)));
+            }
+            return result;
+        }
+
+        /**
+         * Cervejas presentes nas listas de todos os trigramas (interseção de vetores ordenados).
+         */
+        private long[] intersect(Set<String> queryGrams) {
+            long[] result = null;
+            for (String gram : queryGrams) {
+                long[] ids = grams.get(gram);
+                if (ids == null) {
+                    return new long[0];
+                }
+                if (result == null) {
+                    result = ids;
+                    continue;
+                }
+                long[] common = new long[Math.min(result.length, ids.length)];
+                int size = 0;
+                for (int i = 0, j = 0; i < result.length && j < ids.length; ) {
+                    if (result[i] < ids[j]) {
+                        i++;
+                    } else if (result[i] > ids[j]) {
+                        j++;
+                    } else {
+                        common[size++] = result[i];
+                        i++;
+                        j++;
+                    }
+                }
+                result = Arrays.copyOf(common, size);
+                if (size == 0) {
+                    break;
+                }
+            }
+            return (result != null) ? result : new long[0];
+        }
+
+        /**
+         * Indica se cada palavra do termo é o início de alguma palavra do texto normalizado.
+         */
+        private static boolean matchesAll(String text, String[] terms) {
+            for (String term : terms) {
+                if (!text.startsWith(term) && !text.contains(" " + term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Set<String> grams(String value) {
+            Set<String> result = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                result.add(value.substring(i, i + GRAM));
+            }
+            return result;
+        }
+
+        private static String[] keys(List<Object[]> pairs) {
+            String[] keys = new String[pairs.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (String) pairs.get(i)[0];
+            }
+            return keys;
+        }
+
+        private static long[] ids(List<Object[]> pairs) {
+            long[] ids = new long[pairs.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = (Long) pairs.get(i)[2];
+            }
+            return ids;
+        }
+
+        private static int lowerBound(String[] sorted, String key) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Primeira posição após as chaves que começam pelo prefixo (todas as chaves com o
+         * prefixo são menores que o prefixo seguido do maior caractere).
+         */
+        private static int upperBound(String[] sorted, String prefix) {
+            return lowerBound(sorted, prefix + Character.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.anapedra.stock_manager.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia uma ação para depois do commit da transação corrente.
+ *
+ * <p>Usado pelos índices e caches em memória, que só devem refletir uma alteração depois que
+ * ela foi gravada no banco: em caso de rollback, a ação é descartada.</p>
+ *
+ * @author Ana Santana
+ * @version 1.0
+ * @since 0.0.1-SNAPSHOT
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente, ou imediatamente se não houver
+     * sincronização de transação ativa.
+     *
+     * @param action A ação a executar.
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
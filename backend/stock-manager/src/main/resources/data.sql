@@ -130,6 +130,11 @@ INSERT INTO tb_stock (beer_id, quantity, last_update, status) VALUES
 (9, 25, CURRENT_TIMESTAMP, 0),  -- Porter Defumada: OK
 (10, 80, CURRENT_TIMESTAMP, 0); -- Saison de Frutas: OK
 -- ==========================
+-- Diário de estoque: saldo de abertura (type 6 = OPENING) de cada estoque acima
+-- ==========================
+INSERT INTO tb_stock_movement (beer_id, quantity, type, reference_id, moment)
+SELECT beer_id, quantity, 6, NULL, CURRENT_TIMESTAMP FROM tb_stock;
+-- ==========================
 -- Beer Categories (M:N)
 -- CORREÇÃO: Nome da tabela de junção corrigido para 'beer_category'
 -- ==========================
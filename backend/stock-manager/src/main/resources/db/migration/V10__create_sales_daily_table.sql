@@ -0,0 +1,15 @@
+-- ==========================
+-- Consolidação diária de vendas por cerveja
+-- ==========================
+-- Mantida de forma incremental a cada pedido e reconstruída a partir de tb_order/tb_order_item
+-- pela rotina de recálculo. Os relatórios de vendas mensais e anuais leem apenas esta tabela.
+CREATE TABLE IF NOT EXISTS tb_sales_daily (
+    sale_date    DATE             NOT NULL,
+    beer_id      BIGINT           NOT NULL REFERENCES tb_beers (id) ON DELETE CASCADE,
+    units        BIGINT           NOT NULL,
+    revenue      DOUBLE PRECISION NOT NULL,
+    order_count  BIGINT           NOT NULL,
+    PRIMARY KEY (sale_date, beer_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sales_daily_beer ON tb_sales_daily (beer_id, sale_date);
@@ -0,0 +1,15 @@
+-- ==========================
+-- Consolidação diária de perdas por cerveja e motivo
+-- ==========================
+-- Mantida a cada perda registrada e reconstruída a partir de tb_stock_loss pela rotina de
+-- recálculo. Os totais, tendências e a taxa de quebra leem apenas esta tabela e tb_sales_daily.
+CREATE TABLE IF NOT EXISTS tb_stock_loss_daily (
+    loss_date   DATE    NOT NULL,
+    beer_id     BIGINT  NOT NULL REFERENCES tb_beers (id) ON DELETE CASCADE,
+    reason      INTEGER NOT NULL,
+    units       BIGINT  NOT NULL,
+    loss_count  BIGINT  NOT NULL,
+    PRIMARY KEY (loss_date, beer_id, reason)
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_loss_daily_beer ON tb_stock_loss_daily (beer_id, loss_date);
@@ -0,0 +1,121 @@
+-- ==========================
+-- Paginação por cursor (keyset) nas funções de filtro de cervejas
+-- ==========================
+-- Acrescenta p_after_id: quando informado, a página começa após esse ID (b.id > p_after_id),
+-- usando o índice da chave primária, e p_page_number é ignorado (sem OFFSET). Sem p_after_id,
+-- o comportamento anterior (OFFSET p_page_number * p_page_size) é mantido.
+-- As assinaturas antigas são removidas para evitar chamadas ambíguas entre as versões.
+DROP FUNCTION IF EXISTS find_beers_using_filters(BIGINT, TEXT, INTEGER, INTEGER, INTEGER, INTEGER, INTEGER);
+DROP FUNCTION IF EXISTS find_beers_using_filters_by_ids(TEXT, TEXT, INTEGER, INTEGER, INTEGER, INTEGER);
+
+CREATE OR REPLACE FUNCTION find_beers_using_filters(
+    p_beer_id               BIGINT DEFAULT NULL,
+    p_beer_description      TEXT DEFAULT NULL,
+    p_min_quantity          INTEGER DEFAULT NULL,
+    p_max_quantity          INTEGER DEFAULT NULL,
+    p_days_until_expiry     INTEGER DEFAULT NULL,
+    p_page_size             INTEGER DEFAULT 10,
+    p_page_number           INTEGER DEFAULT 0,
+    p_after_id              BIGINT DEFAULT NULL
+)
+RETURNS TABLE (
+    id              BIGINT,
+    name            VARCHAR,
+    price           NUMERIC,
+    expiration_date DATE
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+v_offset INTEGER := 0;
+BEGIN
+    -- Cálculo de página (apenas sem cursor)
+    IF p_after_id IS NULL AND p_page_size > 0 THEN
+        v_offset := p_page_number * p_page_size;
+END IF;
+
+RETURN QUERY
+SELECT DISTINCT
+    b.id,
+    b.name,
+    b.price,
+    b.expiration_date
+FROM tb_beers b
+         LEFT JOIN tb_stock s ON s.beer_id = b.id
+WHERE
+  -- Cursor: apenas as cervejas após o último ID entregue
+    (p_after_id IS NULL OR b.id > p_after_id)
+
+  -- Filtro por ID
+  AND (p_beer_id IS NULL OR b.id = p_beer_id)
+
+  -- Filtro por Descrição (Trata vazio como NULL para não ignorar outros filtros)
+  AND (NULLIF(TRIM(p_beer_description), '') IS NULL
+    OR LOWER(b.name) LIKE LOWER(CONCAT('%', TRIM(p_beer_description), '%')))
+
+  -- Filtro por Quantidade
+  AND (p_min_quantity IS NULL OR COALESCE(s.quantity, 0) >= p_min_quantity)
+  AND (p_max_quantity IS NULL OR COALESCE(s.quantity, 0) <= p_max_quantity)
+
+  -- Filtro por Prazo de Validade
+  AND (p_days_until_expiry IS NULL
+    OR (b.expiration_date > CURRENT_DATE
+        AND (b.expiration_date - CURRENT_DATE) <= p_days_until_expiry))
+ORDER BY b.id
+    LIMIT p_page_size
+OFFSET v_offset;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION find_beers_using_filters_by_ids(
+    p_beer_ids              TEXT,
+    p_beer_description      TEXT DEFAULT NULL,
+    p_min_quantity          INTEGER DEFAULT NULL,
+    p_max_quantity          INTEGER DEFAULT NULL,
+    p_page_size             INTEGER DEFAULT 10,
+    p_page_number           INTEGER DEFAULT 0,
+    p_after_id              BIGINT DEFAULT NULL
+)
+RETURNS TABLE (
+    id              BIGINT,
+    name            VARCHAR,
+    price           NUMERIC,
+    expiration_date DATE
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+v_offset INTEGER := 0;
+BEGIN
+    -- Cálculo de página (apenas sem cursor)
+    IF p_after_id IS NULL AND p_page_size > 0 THEN
+        v_offset := p_page_number * p_page_size;
+END IF;
+
+RETURN QUERY
+SELECT
+    b.id,
+    b.name,
+    b.price,
+    b.expiration_date
+FROM tb_beers b
+         LEFT JOIN tb_stock s ON s.beer_id = b.id
+WHERE
+  -- Filtro por IDs (resolvidos pelo índice de validade)
+    b.id = ANY (string_to_array(p_beer_ids, ',')::BIGINT[])
+
+  -- Cursor: apenas as cervejas após o último ID entregue
+  AND (p_after_id IS NULL OR b.id > p_after_id)
+
+  -- Filtro por Descrição (Trata vazio como NULL para não ignorar outros filtros)
+  AND (NULLIF(TRIM(p_beer_description), '') IS NULL
+    OR LOWER(b.name) LIKE LOWER(CONCAT('%', TRIM(p_beer_description), '%')))
+
+  -- Filtro por Quantidade
+  AND (p_min_quantity IS NULL OR COALESCE(s.quantity, 0) >= p_min_quantity)
+  AND (p_max_quantity IS NULL OR COALESCE(s.quantity, 0) <= p_max_quantity)
+ORDER BY b.id
+    LIMIT p_page_size
+OFFSET v_offset;
+END;
+$$;
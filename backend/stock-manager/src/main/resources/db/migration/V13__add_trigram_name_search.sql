@@ -0,0 +1,141 @@
+-- ==========================
+-- Busca por nome de cervejas e categorias com índices de trigramas (pg_trgm)
+-- ==========================
+-- Os filtros por nome usam LIKE '%termo%' sobre LOWER(name), que nenhum índice B-tree atende.
+-- Os índices GIN de trigramas sobre a mesma expressão atendem LIKE/ILIKE com curinga no início
+-- e os operadores de similaridade (%, <%), usados na busca por relevância tolerante a erros de
+-- digitação. LOWER(CAST(name AS text)), gerado pelas consultas JPQL, é a mesma expressão.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_beers_name_trgm ON tb_beers USING gin (LOWER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_category_name_trgm ON tb_category USING gin (LOWER(name) gin_trgm_ops);
+
+-- As funções de filtro passam a montar o WHERE apenas com os filtros informados (EXECUTE ... USING).
+-- Com o predicado "p IS NULL OR LOWER(b.name) LIKE ..." fixo, o plano genérico guardado pelo
+-- PL/pgSQL não pode usar o índice de trigramas; com SQL dinâmico, cada chamada é planejada com
+-- os filtros reais. Assinaturas e resultados não mudam.
+CREATE OR REPLACE FUNCTION find_beers_using_filters(
+    p_beer_id               BIGINT DEFAULT NULL,
+    p_beer_description      TEXT DEFAULT NULL,
+    p_min_quantity          INTEGER DEFAULT NULL,
+    p_max_quantity          INTEGER DEFAULT NULL,
+    p_days_until_expiry     INTEGER DEFAULT NULL,
+    p_page_size             INTEGER DEFAULT 10,
+    p_page_number           INTEGER DEFAULT 0,
+    p_after_id              BIGINT DEFAULT NULL
+)
+RETURNS TABLE (
+    id              BIGINT,
+    name            VARCHAR,
+    price           NUMERIC,
+    expiration_date DATE
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+v_offset INTEGER := 0;
+v_search TEXT := NULLIF(LOWER(TRIM(p_beer_description)), '');
+v_sql    TEXT;
+BEGIN
+    -- Cálculo de página (apenas sem cursor)
+    IF p_after_id IS NULL AND p_page_size > 0 THEN
+        v_offset := p_page_number * p_page_size;
+END IF;
+
+    v_sql := 'SELECT DISTINCT b.id, b.name, b.price::NUMERIC, b.expiration_date '
+          || 'FROM tb_beers b LEFT JOIN tb_stock s ON s.beer_id = b.id WHERE TRUE';
+
+    -- Cursor: apenas as cervejas após o último ID entregue
+    IF p_after_id IS NOT NULL THEN
+        v_sql := v_sql || ' AND b.id > $1';
+END IF;
+
+    -- Filtro por ID
+    IF p_beer_id IS NOT NULL THEN
+        v_sql := v_sql || ' AND b.id = $2';
+END IF;
+
+    -- Filtro por Descrição (atendido pelo índice idx_beers_name_trgm)
+    IF v_search IS NOT NULL THEN
+        v_sql := v_sql || ' AND LOWER(b.name) LIKE ''%'' || $3 || ''%''';
+END IF;
+
+    -- Filtro por Quantidade
+    IF p_min_quantity IS NOT NULL THEN
+        v_sql := v_sql || ' AND COALESCE(s.quantity, 0) >= $4';
+END IF;
+    IF p_max_quantity IS NOT NULL THEN
+        v_sql := v_sql || ' AND COALESCE(s.quantity, 0) <= $5';
+END IF;
+
+    -- Filtro por Prazo de Validade
+    IF p_days_until_expiry IS NOT NULL THEN
+        v_sql := v_sql || ' AND b.expiration_date > CURRENT_DATE'
+                       || ' AND (b.expiration_date - CURRENT_DATE) <= $6';
+END IF;
+
+    v_sql := v_sql || ' ORDER BY b.id LIMIT $7 OFFSET $8';
+
+RETURN QUERY EXECUTE v_sql
+    USING p_after_id, p_beer_id, v_search, p_min_quantity, p_max_quantity,
+          p_days_until_expiry, p_page_size, v_offset;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION find_beers_using_filters_by_ids(
+    p_beer_ids              TEXT,
+    p_beer_description      TEXT DEFAULT NULL,
+    p_min_quantity          INTEGER DEFAULT NULL,
+    p_max_quantity          INTEGER DEFAULT NULL,
+    p_page_size             INTEGER DEFAULT 10,
+    p_page_number           INTEGER DEFAULT 0,
+    p_after_id              BIGINT DEFAULT NULL
+)
+RETURNS TABLE (
+    id              BIGINT,
+    name            VARCHAR,
+    price           NUMERIC,
+    expiration_date DATE
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+v_offset INTEGER := 0;
+v_search TEXT := NULLIF(LOWER(TRIM(p_beer_description)), '');
+v_sql    TEXT;
+BEGIN
+    -- Cálculo de página (apenas sem cursor)
+    IF p_after_id IS NULL AND p_page_size > 0 THEN
+        v_offset := p_page_number * p_page_size;
+END IF;
+
+    -- Filtro por IDs (resolvidos pelo índice de validade)
+    v_sql := 'SELECT b.id, b.name, b.price::NUMERIC, b.expiration_date '
+          || 'FROM tb_beers b LEFT JOIN tb_stock s ON s.beer_id = b.id '
+          || 'WHERE b.id = ANY (string_to_array($1, '','')::BIGINT[])';
+
+    -- Cursor: apenas as cervejas após o último ID entregue
+    IF p_after_id IS NOT NULL THEN
+        v_sql := v_sql || ' AND b.id > $2';
+END IF;
+
+    -- Filtro por Descrição (atendido pelo índice idx_beers_name_trgm)
+    IF v_search IS NOT NULL THEN
+        v_sql := v_sql || ' AND LOWER(b.name) LIKE ''%'' || $3 || ''%''';
+END IF;
+
+    -- Filtro por Quantidade
+    IF p_min_quantity IS NOT NULL THEN
+        v_sql := v_sql || ' AND COALESCE(s.quantity, 0) >= $4';
+END IF;
+    IF p_max_quantity IS NOT NULL THEN
+        v_sql := v_sql || ' AND COALESCE(s.quantity, 0) <= $5';
+END IF;
+
+    v_sql := v_sql || ' ORDER BY b.id LIMIT $6 OFFSET $7';
+
+RETURN QUERY EXECUTE v_sql
+    USING p_beer_ids, p_after_id, v_search, p_min_quantity, p_max_quantity,
+          p_page_size, v_offset;
+END;
+$$;
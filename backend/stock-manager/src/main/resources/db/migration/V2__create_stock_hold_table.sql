@@ -0,0 +1,15 @@
+-- ==========================
+-- Reservas de estoque com prazo (pedidos aguardando pagamento)
+-- ==========================
+CREATE TABLE IF NOT EXISTS tb_stock_hold (
+    id          BIGSERIAL PRIMARY KEY,
+    order_id    BIGINT                   NOT NULL REFERENCES tb_order (id),
+    beer_id     BIGINT                   NOT NULL REFERENCES tb_beers (id),
+    quantity    INTEGER                  NOT NULL,
+    status      INTEGER                  NOT NULL,
+    expires_at  TIMESTAMP WITH TIME ZONE,
+    created_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_hold_order ON tb_stock_hold (order_id);
+CREATE INDEX IF NOT EXISTS idx_stock_hold_status ON tb_stock_hold (status);
@@ -0,0 +1,29 @@
+-- ==========================
+-- Diário de movimentações de estoque (append-only) e instantâneos de saldo
+-- ==========================
+CREATE TABLE IF NOT EXISTS tb_stock_movement (
+    id            BIGSERIAL PRIMARY KEY,
+    beer_id       BIGINT                   NOT NULL,
+    quantity      INTEGER                  NOT NULL,
+    type          INTEGER                  NOT NULL,
+    reference_id  BIGINT,
+    moment        TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_movement_beer ON tb_stock_movement (beer_id, id);
+
+CREATE TABLE IF NOT EXISTS tb_stock_snapshot (
+    id                BIGSERIAL PRIMARY KEY,
+    beer_id           BIGINT                   NOT NULL,
+    quantity          INTEGER                  NOT NULL,
+    last_movement_id  BIGINT                   NOT NULL,
+    moment            TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_snapshot_beer ON tb_stock_snapshot (beer_id, id);
+
+-- Saldo de abertura (tipo 6 = OPENING): o estoque existente passa a ser o ponto de partida do diário
+INSERT INTO tb_stock_movement (beer_id, quantity, type, reference_id, moment)
+SELECT s.beer_id, s.quantity, 6, NULL, NOW()
+FROM tb_stock s
+WHERE NOT EXISTS (SELECT 1 FROM tb_stock_movement m WHERE m.beer_id = s.beer_id);
@@ -0,0 +1,12 @@
+-- ==========================
+-- Frações (shards) de estoque para cervejas muito disputadas
+-- ==========================
+-- Uma cerveja com linhas nesta tabela tem o saldo igual à soma das frações;
+-- tb_stock.quantity passa a ser apenas o consolidado periódico.
+CREATE TABLE IF NOT EXISTS tb_stock_shard (
+    id        BIGSERIAL PRIMARY KEY,
+    beer_id   BIGINT  NOT NULL REFERENCES tb_beers (id) ON DELETE CASCADE,
+    shard_no  INTEGER NOT NULL,
+    quantity  INTEGER NOT NULL,
+    CONSTRAINT uk_stock_shard_beer_shard UNIQUE (beer_id, shard_no)
+);
@@ -0,0 +1,2 @@
+-- Índice para a varredura de cervejas vencidas (baixa automática de estoque vencido)
+CREATE INDEX IF NOT EXISTS idx_beers_expiration_date ON tb_beers (expiration_date, id);
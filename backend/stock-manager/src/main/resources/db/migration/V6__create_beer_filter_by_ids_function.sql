@@ -0,0 +1,53 @@
+-- ==========================
+-- Variante de find_beers_using_filters restrita a uma lista de IDs
+-- ==========================
+-- Usada quando o filtro de validade já foi resolvido pelo índice em memória da aplicação:
+-- recebe os IDs candidatos (separados por vírgula) em vez de p_days_until_expiry.
+CREATE OR REPLACE FUNCTION find_beers_using_filters_by_ids(
+    p_beer_ids              TEXT,
+    p_beer_description      TEXT DEFAULT NULL,
+    p_min_quantity          INTEGER DEFAULT NULL,
+    p_max_quantity          INTEGER DEFAULT NULL,
+    p_page_size             INTEGER DEFAULT 10,
+    p_page_number           INTEGER DEFAULT 0
+)
+RETURNS TABLE (
+    id              BIGINT,
+    name            VARCHAR,
+    price           NUMERIC,
+    expiration_date DATE
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+v_offset INTEGER := 0;
+BEGIN
+    -- Cálculo de página
+    IF p_page_size > 0 THEN
+        v_offset := p_page_number * p_page_size;
+END IF;
+
+RETURN QUERY
+SELECT
+    b.id,
+    b.name,
+    b.price,
+    b.expiration_date
+FROM tb_beers b
+         LEFT JOIN tb_stock s ON s.beer_id = b.id
+WHERE
+  -- Filtro por IDs (resolvidos pelo índice de validade)
+    b.id = ANY (string_to_array(p_beer_ids, ',')::BIGINT[])
+
+  -- Filtro por Descrição (Trata vazio como NULL para não ignorar outros filtros)
+  AND (NULLIF(TRIM(p_beer_description), '') IS NULL
+    OR LOWER(b.name) LIKE LOWER(CONCAT('%', TRIM(p_beer_description), '%')))
+
+  -- Filtro por Quantidade
+  AND (p_min_quantity IS NULL OR COALESCE(s.quantity, 0) >= p_min_quantity)
+  AND (p_max_quantity IS NULL OR COALESCE(s.quantity, 0) <= p_max_quantity)
+ORDER BY b.id
+    LIMIT p_page_size
+OFFSET v_offset;
+END;
+$$;
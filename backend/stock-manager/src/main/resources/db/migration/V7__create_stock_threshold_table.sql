@@ -0,0 +1,13 @@
+-- ==========================
+-- Limites de estoque baixo por cerveja ou por categoria
+-- ==========================
+-- Cada linha se aplica a uma cerveja ou a uma categoria; o limite da cerveja prevalece.
+CREATE TABLE IF NOT EXISTS tb_stock_threshold (
+    id           BIGSERIAL PRIMARY KEY,
+    beer_id      BIGINT  REFERENCES tb_beers (id) ON DELETE CASCADE,
+    category_id  BIGINT  REFERENCES tb_category (id) ON DELETE CASCADE,
+    low_limit    INTEGER NOT NULL CHECK (low_limit >= 0),
+    CONSTRAINT uk_stock_threshold_beer UNIQUE (beer_id),
+    CONSTRAINT uk_stock_threshold_category UNIQUE (category_id),
+    CONSTRAINT ck_stock_threshold_scope CHECK ((beer_id IS NULL) <> (category_id IS NULL))
+);
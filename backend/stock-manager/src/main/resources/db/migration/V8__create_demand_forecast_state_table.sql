@@ -0,0 +1,14 @@
+-- ==========================
+-- Estado da previsão de demanda por cerveja
+-- ==========================
+-- Ponto de restauração do modelo em memória (taxa diária com suavização exponencial e
+-- fatores sazonais de segunda a domingo), gravado periodicamente e lido na inicialização.
+CREATE TABLE IF NOT EXISTS tb_demand_forecast_state (
+    beer_id        BIGINT           PRIMARY KEY REFERENCES tb_beers (id) ON DELETE CASCADE,
+    daily_rate     DOUBLE PRECISION NOT NULL,
+    seasonality    VARCHAR(200)     NOT NULL,
+    current_day    DATE             NOT NULL,
+    current_units  BIGINT           NOT NULL,
+    observed_days  INTEGER          NOT NULL,
+    updated_at     TIMESTAMP WITH TIME ZONE NOT NULL
+);
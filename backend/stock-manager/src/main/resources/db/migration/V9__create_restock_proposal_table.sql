@@ -0,0 +1,18 @@
+-- ==========================
+-- Propostas de reposição (rascunhos) do planejamento noturno
+-- ==========================
+-- Cada execução substitui as propostas da mesma data; propostas antigas são descartadas
+-- após o período de retenção.
+CREATE TABLE IF NOT EXISTS tb_restock_proposal (
+    id                  BIGSERIAL PRIMARY KEY,
+    beer_id             BIGINT           NOT NULL REFERENCES tb_beers (id) ON DELETE CASCADE,
+    plan_date           DATE             NOT NULL,
+    available           INTEGER          NOT NULL,
+    daily_demand        DOUBLE PRECISION NOT NULL,
+    safety_stock        INTEGER          NOT NULL,
+    reorder_point       INTEGER          NOT NULL,
+    suggested_quantity  INTEGER          NOT NULL CHECK (suggested_quantity > 0),
+    created_at          TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_restock_proposal_plan ON tb_restock_proposal (plan_date, beer_id);
@@ -1,13 +1,16 @@
 package com.anapedra.stock_manager.controllers;
 
 import com.anapedra.stock_manager.domain.dtos.BeerFilterDTO;
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
 import com.anapedra.stock_manager.domain.dtos.BeerInsertDTO;
 import com.anapedra.stock_manager.domain.dtos.BeerStockDTO;
 import com.anapedra.stock_manager.domain.dtos.StockInputDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.Stock;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import com.anapedra.stock_manager.services.BeerService;
 import com.anapedra.stock_manager.services.StockService; // Importar StockService
+import com.anapedra.stock_manager.services.catalog.CatalogETags;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +28,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -49,12 +53,15 @@ public class BeerControllerTest {
     @MockBean
     private StockService beerService;
 
+    @MockBean
+    private CatalogETags catalogETags;
+
     private Beer beerEntity;
     private BeerFilterDTO beerFilterDTO;
     private BeerInsertDTO beerInsertDTO;
     private StockInputDTO stockDTO;
     private Page<BeerFilterDTO> beerFilterPage;
-    private Page<BeerStockDTO> beerStockPage;
+    private CountedPageDTO<BeerStockDTO> beerStockPage;
 
     @BeforeEach
     void setUp() {
@@ -95,7 +102,7 @@ public class BeerControllerTest {
 
         // Page que deve ser retornada pelo StockService.findAllBeer
         BeerStockDTO beerStockDTO = new BeerStockDTO(beerEntity);
-        beerStockPage = new PageImpl<>(List.of(beerStockDTO), PageRequest.of(0, 10), 1);
+        beerStockPage = new CountedPageDTO<>(List.of(beerStockDTO), 0, 10, 1, 1L, 1, false, CountMode.EXACT);
 
 
         // MOCKS:
@@ -103,8 +110,9 @@ public class BeerControllerTest {
         Mockito.when(service.findById(anyLong()))
                 .thenReturn(beerFilterDTO);
 
-        // findAllBeer (StockService) - Retorna Page<BeerStockDTO>
-        Mockito.when(beerService.findAllBeer(any(), any(), any(), any(), any(), any(PageRequest.class)))
+        // findAllBeer (StockService) - Retorna CountedPageDTO<BeerStockDTO>
+        Mockito.when(beerService.findAllBeer(any(), any(), any(), any(), any(), any(PageRequest.class),
+                        any(CountMode.class)))
                 .thenReturn(beerStockPage);
 
         // insert, update e delete (BeerService)
@@ -130,4 +138,17 @@ public class BeerControllerTest {
                 .andExpect(jsonPath("$.content[0].name").value("IPA Teste"))
                 .andExpect(jsonPath("$.content[0].stock").value(50));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void testFindAll_ReturnsNotModified_WithoutCallingService_WhenETagMatches() throws Exception {
+        Mockito.when(catalogETags.beersNotModified(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<WebRequest>getArgument(0).checkNotModified("\"etag\""));
+
+        mockMvc.perform(get("/api/v1/beers").header("If-None-Match", "\"etag\""))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(beerService, Mockito.never()).findAllBeer(any(), any(), any(), any(), any(), any(PageRequest.class),
+                any(CountMode.class));
+    }
+}
@@ -0,0 +1,134 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
+import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BeerCatalogCacheTest {
+
+    private StockLedger stockLedger;
+    private SimpleMeterRegistry registry;
+    private BeerCatalogCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        stockLedger = mock(StockLedger.class);
+        registry = new SimpleMeterRegistry();
+        cache = new BeerCatalogCache(stockLedger, mock(PlatformTransactionManager.class), registry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void findBeer_ShouldLoadOnce_AndServeNextReadsFromCache() {
+        assertEquals("beer-1#1", cache.findBeer("beer", 1L, false, loader("beer-1")));
+        assertEquals("beer-1#1", cache.findBeer("beer", 1L, false, loader("beer-1")));
+        assertEquals("stock-1#2", cache.findBeer("stock", 1L, false, loader("stock-1")));
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, registry.get("stock_manager.catalog_cache.lookups").tag("result", "hit").counter().count());
+        assertEquals(2.0, registry.get("stock_manager.catalog_cache.lookups").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void beerChanged_ShouldEvictThatBeer_AndAllPages_Only() {
+        cache.findBeer("beer", 1L, false, loader("beer-1"));
+        cache.findBeer("beer", 2L, false, loader("beer-2"));
+        cache.findPage("beers", "page-0", false, loader("page-0"));
+
+        cache.beerChanged(1L);
+
+        assertEquals("beer-1#4", cache.findBeer("beer", 1L, false, loader("beer-1")));
+        assertEquals("beer-2#2", cache.findBeer("beer", 2L, false, loader("beer-2")));
+        assertEquals("page-0#5", cache.findPage("beers", "page-0", false, loader("page-0")));
+    }
+
+    @Test
+    void catalogChanged_ShouldEvictEverything() {
+        cache.findBeer("beer", 1L, false, loader("beer-1"));
+        cache.findPage("beers", "page-0", false, loader("page-0"));
+
+        cache.catalogChanged();
+
+        cache.findBeer("beer", 1L, false, loader("beer-1"));
+        cache.findPage("beers", "page-0", false, loader("page-0"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void stockSensitiveReads_ShouldBeServed_WithinStalenessBound() {
+        when(stockLedger.version()).thenReturn(1L);
+        cache.findBeer("beer", 1L, true, loader("beer-1"));
+
+        when(stockLedger.version()).thenReturn(2L);
+        assertEquals("beer-1#1", cache.findBeer("beer", 1L, true, loader("beer-1")));
+    }
+
+    @Test
+    void stockSensitiveReads_ShouldReload_AfterStockMutation_BeyondStalenessBound() {
+        ReflectionTestUtils.setField(cache, "stockStalenessMillis", 0L);
+        when(stockLedger.version()).thenReturn(1L);
+        cache.findBeer("beer", 1L, true, loader("beer-1"));
+        cache.findBeer("stock", 1L, false, loader("stock-1"));
+
+        when(stockLedger.version()).thenReturn(2L);
+
+        assertEquals("beer-1#3", cache.findBeer("beer", 1L, true, loader("beer-1")));
+        assertEquals("stock-1#2", cache.findBeer("stock", 1L, false, loader("stock-1")));
+        // A nova leitura guarda a versão corrente do ledger
+        assertEquals("beer-1#3", cache.findBeer("beer", 1L, true, loader("beer-1")));
+    }
+
+    @Test
+    void failedLoads_ShouldNotBeCached() {
+        Supplier<String> missing = () -> {
+            loads.incrementAndGet();
+            throw new ResourceNotFoundException("Cerveja não encontrada com ID: 9");
+        };
+
+        assertThrows(ResourceNotFoundException.class, () -> cache.findBeer("beer", 9L, false, missing));
+        assertThrows(ResourceNotFoundException.class, () -> cache.findBeer("beer", 9L, false, missing));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void maxEntries_ShouldEvictLeastRecentlyUsedRead() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        cache.findBeer("beer", 1L, false, loader("beer-1"));
+        cache.findBeer("beer", 2L, false, loader("beer-2"));
+        cache.findBeer("beer", 1L, false, loader("beer-1"));
+
+        cache.findBeer("beer", 3L, false, loader("beer-3"));
+
+        assertEquals("beer-1#1", cache.findBeer("beer", 1L, false, loader("beer-1")));
+        assertEquals("beer-2#4", cache.findBeer("beer", 2L, false, loader("beer-2")));
+        assertEquals(2.0, registry.get("stock_manager.catalog_cache.size").gauge().value());
+    }
+
+    @Test
+    void disabledCache_ShouldAlwaysLoad() {
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        cache.findBeer("beer", 1L, false, loader("beer-1"));
+        cache.findBeer("beer", 1L, false, loader("beer-1"));
+
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<String> loader(String value) {
+        return () -> value + "#" + loads.incrementAndGet();
+    }
+}
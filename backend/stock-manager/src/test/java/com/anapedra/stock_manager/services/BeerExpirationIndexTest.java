@@ -0,0 +1,82 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.services.expiration.BeerExpirationIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BeerExpirationIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private BeerRepository beerRepository;
+    private BeerExpirationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        beerRepository = mock(BeerRepository.class);
+        index = new BeerExpirationIndex(beerRepository, new SimpleMeterRegistry());
+
+        when(beerRepository.findAllExpirationDates()).thenReturn(List.of(
+                new Object[]{5L, TODAY.minusDays(3)},
+                new Object[]{2L, TODAY.minusDays(3)},
+                new Object[]{7L, TODAY},
+                new Object[]{1L, TODAY.plusDays(5)},
+                new Object[]{3L, TODAY.plusDays(20)},
+                new Object[]{4L, TODAY.plusDays(60)},
+                new Object[]{6L, TODAY.plusDays(200)}));
+    }
+
+    @Test
+    void expiredBefore_ShouldReturnIdsOrderedByDateThenId_LoadingOnce() {
+        assertEquals(List.of(2L, 5L), index.expiredBefore(TODAY));
+        assertEquals(List.of(2L, 5L, 7L, 1L), index.expiredBefore(TODAY.plusDays(6)));
+
+        verify(beerRepository, times(1)).findAllExpirationDates();
+    }
+
+    @Test
+    void expiringWithin_ShouldExcludeAlreadyExpired_AndIncludeLastDay() {
+        assertEquals(List.of(1L), index.expiringWithin(TODAY, 5));
+        assertEquals(List.of(1L, 3L), index.expiringWithin(TODAY, 30));
+        assertTrue(index.expiringWithin(TODAY, 0).isEmpty());
+    }
+
+    @Test
+    void summary_ShouldCountExpiredAndEachWindow() {
+        Map<String, Long> summary = index.summary(TODAY);
+
+        assertEquals(3L, summary.get("expired"));
+        assertEquals(1L, summary.get("within7Days"));
+        assertEquals(2L, summary.get("within30Days"));
+        assertEquals(3L, summary.get("within90Days"));
+    }
+
+    @Test
+    void indexAndEvict_ShouldMoveBeersBetweenBuckets() {
+        index.expiredBefore(TODAY);
+
+        index.index(5L, TODAY.plusDays(2));
+        index.index(8L, TODAY.plusDays(2));
+        index.evict(1L);
+        index.index(3L, null);
+
+        assertEquals(List.of(2L), index.expiredBefore(TODAY));
+        assertEquals(List.of(5L, 8L), index.expiringWithin(TODAY, 30));
+    }
+
+    @Test
+    void index_ShouldBeIgnoredBeforeLoad_SinceTheDatabaseAlreadyHasTheChange() {
+        index.index(9L, TODAY.minusDays(1));
+
+        assertEquals(List.of(2L, 5L), index.expiredBefore(TODAY));
+    }
+}
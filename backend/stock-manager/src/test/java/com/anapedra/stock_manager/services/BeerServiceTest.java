@@ -9,10 +9,18 @@ import com.anapedra.stock_manager.domain.entities.Category;
 import com.anapedra.stock_manager.domain.entities.Stock;
 import com.anapedra.stock_manager.repositories.BeerRepository;
 import com.anapedra.stock_manager.repositories.CategoryRepository;
+import com.anapedra.stock_manager.repositories.RoleRepository;
 import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.alerts.LowStockAlertEngine;
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
 import com.anapedra.stock_manager.services.impl.BeerServiceImpl;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
 import com.anapedra.stock_manager.services.exceptions.DatabaseException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.expiration.BeerExpirationIndex;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
+import com.anapedra.stock_manager.services.search.BeerSuggestIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
@@ -39,6 +48,8 @@ public class BeerServiceTest {
     private BeerRepository beerRepository;
     private CategoryRepository categoryRepository;
     private StockRepository stockRepository;
+    private StockLedger stockLedger;
+    private BeerExpirationIndex beerExpirationIndex;
 
     private Long existingId;
     private Long nonExistingId;
@@ -55,9 +66,15 @@ public class BeerServiceTest {
         beerRepository = mock(BeerRepository.class);
         categoryRepository = mock(CategoryRepository.class);
         stockRepository = mock(StockRepository.class);
+        stockLedger = mock(StockLedger.class);
+        beerExpirationIndex = mock(BeerExpirationIndex.class);
 
         // Inicializando service com SimpleMeterRegistry
-        beerService = new BeerServiceImpl(beerRepository, categoryRepository, stockRepository, new SimpleMeterRegistry());
+        beerService = new BeerServiceImpl(beerRepository, categoryRepository, stockRepository, stockLedger, beerExpirationIndex,
+                mock(LowStockAlertEngine.class), mock(DemandForecaster.class), mock(BeerSuggestIndex.class),
+                new BeerCatalogCache(stockLedger, mock(PlatformTransactionManager.class), new SimpleMeterRegistry()),
+                new ReferenceDataRegistry(categoryRepository, mock(RoleRepository.class), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
 
         existingId = 1L;
         nonExistingId = 1000L;
@@ -104,6 +121,7 @@ public class BeerServiceTest {
 
         when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
         when(categoryRepository.findAllById(anySet())).thenReturn(List.of(category));
+        when(categoryRepository.findAll()).thenReturn(List.of(category));
 
         when(beerRepository.findAllBeer(any(), any(), any(), any(), any(), any(Pageable.class))).thenReturn(page);
         when(beerRepository.findAll(any(Pageable.class))).thenReturn(page);
@@ -136,6 +154,18 @@ public class BeerServiceTest {
         verify(beerRepository, times(1)).findById(nonExistingId);
     }
 
+    @Test
+    @DisplayName("findById deve servir a segunda leitura do cache e recarregar após a alteração da cerveja")
+    void findById_shouldServeFromCache_untilBeerIsUpdated() {
+        beerService.findById(existingId);
+        beerService.findById(existingId);
+        verify(beerRepository, times(1)).findById(existingId);
+
+        beerService.update(existingId, new BeerInsertDTO(beer));
+        beerService.findById(existingId);
+        verify(beerRepository, times(2)).findById(existingId);
+    }
+
     // --- Testes INSERT ---
     @Test
     @DisplayName("insert deve retornar BeerInsertDTO com ID quando inserir com sucesso")
@@ -145,7 +175,22 @@ public class BeerServiceTest {
         assertEquals(existingId, result.getId());
         verify(beerRepository, times(1)).save(any(Beer.class));
         verify(stockRepository, times(1)).save(any(Stock.class));
-        verify(categoryRepository, times(beerInsertDTO.getCategories().size())).findById(anyLong());
+        // Categorias validadas pelo registro de dados de referência e carregadas em uma única consulta
+        verify(categoryRepository, never()).findById(anyLong());
+        verify(categoryRepository, times(1)).findAllById(anySet());
+        verify(beerExpirationIndex, times(1)).index(eq(existingId), any());
+    }
+
+    @Test
+    @DisplayName("insert deve lançar ResourceNotFoundException quando a categoria não existir")
+    void insert_shouldThrowResourceNotFoundException_whenCategoryDoesNotExist() {
+        beerInsertDTO.getCategories().add(new CategoryDTO(nonExistingId, "Inexistente", null));
+
+        ResourceNotFoundException e = assertThrows(ResourceNotFoundException.class, () -> beerService.insert(beerInsertDTO));
+
+        assertEquals("Categoria não encontrada (ID: " + nonExistingId + ")", e.getMessage());
+        verify(categoryRepository, never()).findAllById(anySet());
+        verify(beerRepository, never()).save(any(Beer.class));
     }
 
     // --- Testes UPDATE ---
@@ -168,7 +213,8 @@ public class BeerServiceTest {
         // As verificações restantes permanecem corretas
         verify(beerRepository, times(1)).save(any(Beer.class));
         verify(stockRepository, times(1)).save(any(Stock.class));
-        verify(categoryRepository, times(updateDTO.getCategories().size())).findById(anyLong());
+        verify(categoryRepository, never()).findById(anyLong());
+        verify(categoryRepository, times(1)).findAllById(anySet());
     }
 
     @Test
@@ -189,6 +235,7 @@ public class BeerServiceTest {
         assertDoesNotThrow(() -> beerService.delete(existingId));
         verify(beerRepository, times(1)).existsById(existingId);
         verify(beerRepository, times(1)).deleteById(existingId);
+        verify(beerExpirationIndex, times(1)).evict(existingId);
     }
 
     @Test
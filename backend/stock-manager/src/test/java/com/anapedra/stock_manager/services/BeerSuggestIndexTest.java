@@ -0,0 +1,66 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.BeerSuggestionDTO;
+import com.anapedra.stock_manager.domain.entities.Category;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.services.search.BeerSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BeerSuggestIndexTest {
+
+    private BeerRepository repository;
+    private SimpleMeterRegistry registry;
+    private BeerSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BeerRepository.class);
+        when(repository.findAllNames()).thenReturn(List.of(
+                new Object[]{1L, "Pale Ale"},
+                new Object[]{2L, "India Pale Ale"},
+                new Object[]{3L, "Cerveja Pálida"},
+                new Object[]{4L, "Stout Imperial"}));
+        when(repository.findAllCategoryNames()).thenReturn(List.<Object[]>of(new Object[]{4L, 7L, "Escuras"}));
+        registry = new SimpleMeterRegistry();
+        index = new BeerSuggestIndex(repository, registry);
+    }
+
+    @Test
+    void suggest_ShouldRankNamePrefixBeforeWordPrefix_IgnoringAccents() {
+        assertEquals(List.of(1L, 2L, 3L), ids(index.suggest("PAL", 10)));
+        assertEquals(List.of(3L), ids(index.suggest("palida", 10)));
+    }
+
+    @Test
+    void suggest_ShouldMatchEveryWord_InfixAndCategoryNames() {
+        assertEquals(List.of(1L, 2L), ids(index.suggest("pale ale", 10)));
+        assertEquals(List.of(4L), ids(index.suggest("perial", 10)));
+        assertEquals(List.of(4L), ids(index.suggest("escu", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("pal", 1)));
+    }
+
+    @Test
+    void suggest_ShouldLoadOnce_AndFollowInsertsAndDeletes() {
+        index.suggest("pale", 10);
+        index.index(5L, "Pale Lager", Set.of(new Category(8L, "Lager", null)));
+        index.evict(1L);
+
+        assertEquals(List.of(5L, 2L), ids(index.suggest("pale", 10)));
+        assertEquals("Pale Lager", index.suggest("lager", 10).get(0).getName());
+        verify(repository, times(1)).findAllNames();
+        assertEquals(4.0, registry.get("stock_manager.suggest_index.size").gauge().value());
+        assertTrue(registry.get("stock_manager.suggest_index.memory_bytes").gauge().value() > 0);
+    }
+
+    private static List<Long> ids(List<BeerSuggestionDTO> suggestions) {
+        return suggestions.stream().map(BeerSuggestionDTO::getId).toList();
+    }
+}
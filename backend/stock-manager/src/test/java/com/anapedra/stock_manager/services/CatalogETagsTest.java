@@ -0,0 +1,122 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
+import com.anapedra.stock_manager.services.catalog.CatalogETags;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogETagsTest {
+
+    private ReferenceDataRegistry referenceDataRegistry;
+    private BeerCatalogCache beerCatalogCache;
+    private StockLedger stockLedger;
+    private SimpleMeterRegistry registry;
+    private CatalogETags etags;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataRegistry = mock(ReferenceDataRegistry.class);
+        beerCatalogCache = mock(BeerCatalogCache.class);
+        stockLedger = mock(StockLedger.class);
+        registry = new SimpleMeterRegistry();
+        etags = new CatalogETags(referenceDataRegistry, beerCatalogCache, stockLedger, registry);
+    }
+
+    @Test
+    void categories_ShouldAnswerNotModified_UntilCategoryVersionChanges() {
+        when(referenceDataRegistry.categoryVersion()).thenReturn(1L);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertFalse(etags.categoriesNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/categories"), first)));
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+        assertEquals("no-cache, private", first.getHeader("Cache-Control"));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertTrue(etags.categoriesNotModified(new ServletWebRequest(conditional("/api/v1/categories", etag), second)));
+        assertEquals(304, second.getStatus());
+
+        when(referenceDataRegistry.categoryVersion()).thenReturn(2L);
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        assertFalse(etags.categoriesNotModified(new ServletWebRequest(conditional("/api/v1/categories", etag), third)));
+        assertNotEquals(etag, third.getHeader("ETag"));
+
+        assertEquals(1.0, registry.get("stock_manager.etag.requests")
+                .tag("resource", "categories").tag("result", "not_modified").counter().count());
+        assertEquals(2.0, registry.get("stock_manager.etag.requests")
+                .tag("resource", "categories").tag("result", "modified").counter().count());
+    }
+
+    @Test
+    void beers_ShouldChange_WithCatalogVersionOrLedgerChanges() {
+        when(beerCatalogCache.version()).thenReturn(3L);
+        when(stockLedger.changes()).thenReturn(10L);
+        String etag = beersETag(PageRequest.of(0, 10));
+
+        assertTrue(etags.beersNotModified(new ServletWebRequest(conditional("/api/v1/beers", etag), new MockHttpServletResponse()),
+                null, null, PageRequest.of(0, 10)));
+
+        when(stockLedger.changes()).thenReturn(11L);
+        assertNotEquals(etag, beersETag(PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void stockSensitiveListings_ShouldNotReceiveETag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(etags.beersNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/beers"), response),
+                null, null, PageRequest.of(0, 10, Sort.by("stock.quantity"))));
+
+        assertNull(response.getHeader("ETag"));
+        assertEquals(1.0, registry.get("stock_manager.etag.requests")
+                .tag("resource", "beers").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void stock_ShouldChange_OnlyWithThatBeersLedgerStamp() {
+        when(stockLedger.stamp(1L)).thenReturn(42L);
+        when(stockLedger.stamp(2L)).thenReturn(7L);
+        String etag = stockETag(1L);
+
+        when(stockLedger.stamp(2L)).thenReturn(8L);
+        assertEquals(etag, stockETag(1L));
+
+        when(stockLedger.stamp(1L)).thenReturn(43L);
+        assertNotEquals(etag, stockETag(1L));
+    }
+
+    private String beersETag(PageRequest pageable) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        etags.beersNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/beers"), response),
+                null, null, pageable);
+        return response.getHeader("ETag");
+    }
+
+    private String stockETag(Long beerId) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        etags.stockNotModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/stock/" + beerId), response), beerId);
+        return response.getHeader("ETag");
+    }
+
+    private static MockHttpServletRequest conditional(String uri, String etag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader("If-None-Match", etag);
+        return request;
+    }
+}
@@ -3,9 +3,12 @@ package com.anapedra.stock_manager.services;
 import com.anapedra.stock_manager.domain.dtos.CategoryDTO;
 import com.anapedra.stock_manager.domain.entities.Category;
 import com.anapedra.stock_manager.repositories.CategoryRepository;
+import com.anapedra.stock_manager.repositories.RoleRepository;
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
 import com.anapedra.stock_manager.services.exceptions.DatabaseException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
 import com.anapedra.stock_manager.services.impl.CategoryServiceImpl;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
@@ -36,6 +39,12 @@ public class CategoryServiceTest {
     @Mock
     private CategoryRepository repository;
 
+    @Mock
+    private BeerCatalogCache beerCatalogCache;
+
+    @Mock
+    private RoleRepository roleRepository;
+
     private MeterRegistry meterRegistry;
 
     private Long existingId;
@@ -56,7 +65,8 @@ public class CategoryServiceTest {
 
         meterRegistry = new SimpleMeterRegistry(); 
 
-        service = new CategoryServiceImpl(repository, meterRegistry);
+        service = new CategoryServiceImpl(repository, beerCatalogCache,
+                new ReferenceDataRegistry(repository, roleRepository, meterRegistry), meterRegistry);
 
         // Mocks do repository
         when(repository.findAll()).thenReturn(List.of(categoryPilsen));
@@ -91,14 +101,16 @@ public class CategoryServiceTest {
         CategoryDTO result = service.findById(existingId);
         Assertions.assertNotNull(result);
         Assertions.assertEquals(existingId, result.getId());
-        verify(repository, times(1)).findById(existingId);
+        // Servida pelo registro de dados de referência, carregado uma única vez
+        verify(repository, times(1)).findAll();
+        verify(repository, never()).findById(existingId);
     }
 
     @Test
     @DisplayName("findById deve lançar ResourceNotFoundException quando ID não existe")
     void findById_shouldThrowResourceNotFoundException_whenIdDoesNotExist() {
         Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findById(nonExistingId));
-        verify(repository, times(1)).findById(nonExistingId);
+        verify(repository, never()).findById(nonExistingId);
     }
 
     @Test
@@ -137,6 +149,20 @@ public class CategoryServiceTest {
         // CORREÇÃO DE VERIFICAÇÃO: O serviço usa getReferenceById(id)
         verify(repository, times(1)).getReferenceById(existingId); 
         verify(repository, times(1)).save(any());
+        verify(beerCatalogCache, times(1)).catalogChanged();
+    }
+
+    @Test
+    @DisplayName("findAll deve refletir a atualização sem reler as categorias do banco")
+    void findAll_shouldReflectUpdate_withoutReloadingFromRepository() {
+        service.findAll();
+
+        service.update(existingId, new CategoryDTO(existingId, "Pilsen", "Descrição Atualizada"));
+        List<CategoryDTO> result = service.findAll();
+
+        Assertions.assertEquals("Descrição Atualizada", result.get(0).getDescription());
+        Assertions.assertEquals("Descrição Atualizada", service.findById(existingId).getDescription());
+        verify(repository, times(1)).findAll();
     }
 
     @Test
@@ -159,6 +185,17 @@ public class CategoryServiceTest {
         verify(repository, times(1)).deleteById(existingId);
     }
 
+    @Test
+    @DisplayName("findById deve lançar ResourceNotFoundException após a exclusão da categoria")
+    void findById_shouldThrowResourceNotFoundException_afterDelete() {
+        Assertions.assertNotNull(service.findById(existingId));
+
+        service.delete(existingId);
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> service.findById(existingId));
+        verify(repository, times(1)).findAll();
+    }
+
     @Test
     @DisplayName("delete deve lançar ResourceNotFoundException quando ID não existe")
     void delete_shouldThrowResourceNotFoundException_whenIdDoesNotExist() {
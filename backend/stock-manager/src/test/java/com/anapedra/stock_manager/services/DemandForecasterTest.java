@@ -0,0 +1,117 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.DemandForecastDTO;
+import com.anapedra.stock_manager.domain.entities.DemandForecastState;
+import com.anapedra.stock_manager.repositories.DemandForecastStateRepository;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class DemandForecasterTest {
+
+    // Sábado
+    private static final LocalDate START = LocalDate.of(2026, 1, 3);
+
+    private DemandForecastStateRepository repository;
+    private DemandForecaster forecaster;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DemandForecastStateRepository.class);
+        forecaster = newForecaster();
+    }
+
+    @Test
+    void forecast_ShouldProjectDailyRate_WhenDemandIsSteady() {
+        for (int day = 0; day < 30; day++) {
+            forecaster.record(1L, 10, START.plusDays(day));
+        }
+
+        List<DemandForecastDTO> result = forecaster.forecast(START.plusDays(30), 7, null);
+
+        assertEquals(1, result.size());
+        assertEquals(10.0, result.get(0).getDailyRate(), 0.01);
+        assertEquals(70.0, result.get(0).getForecastUnits(), 0.01);
+        assertEquals(30, result.get(0).getObservedDays());
+    }
+
+    @Test
+    void forecast_ShouldFollowDayOfWeekSeasonality() {
+        // Doze semanas com vendas quatro vezes maiores aos sábados
+        for (int day = 0; day < 84; day++) {
+            LocalDate date = START.plusDays(day);
+            forecaster.record(1L, (date.getDayOfWeek().getValue() == 6) ? 40 : 10, date);
+        }
+        LocalDate friday = START.plusDays(83);
+
+        double saturday = forecaster.forecast(friday, 1, 1L).get(0).getForecastUnits();
+        double weekend = forecaster.forecast(friday, 2, 1L).get(0).getForecastUnits();
+
+        assertTrue(saturday > 2.5 * (weekend - saturday),
+                "Sábado (" + saturday + ") deveria superar o domingo (" + (weekend - saturday) + ")");
+    }
+
+    @Test
+    void forecast_ShouldDecay_WhenNoSalesAreRecorded() {
+        for (int day = 0; day < 14; day++) {
+            forecaster.record(1L, 10, START.plusDays(day));
+        }
+
+        double recent = forecaster.forecast(START.plusDays(14), 7, 1L).get(0).getDailyRate();
+        double idle = forecaster.forecast(START.plusDays(44), 7, 1L).get(0).getDailyRate();
+
+        assertTrue(idle < recent / 10);
+        assertTrue(forecaster.forecast(START, 7, 2L).isEmpty());
+    }
+
+    @Test
+    void checkpoint_ShouldPersistChangedStates_AndRestoreThem() {
+        for (int day = 0; day < 21; day++) {
+            forecaster.record(1L, 5 + day % 7, START.plusDays(day));
+            forecaster.record(2L, 3, START.plusDays(day));
+        }
+
+        assertEquals(2, forecaster.checkpoint());
+        assertEquals(0, forecaster.checkpoint());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DemandForecastState>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).upsertAll(captor.capture());
+        when(repository.findAll()).thenReturn(captor.getValue());
+
+        DemandForecaster restored = newForecaster();
+        restored.afterSingletonsInstantiated();
+
+        LocalDate today = START.plusDays(21);
+        List<DemandForecastDTO> expected = forecaster.forecast(today, 14, null);
+        List<DemandForecastDTO> actual = restored.forecast(today, 14, null);
+        assertEquals(2, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getBeerId(), actual.get(i).getBeerId());
+            assertEquals(expected.get(i).getForecastUnits(), actual.get(i).getForecastUnits(), 0.001);
+        }
+    }
+
+    @Test
+    void checkpoint_ShouldKeepStatesPending_WhenWriteFails() {
+        forecaster.record(1L, 10, START);
+        doThrow(new RuntimeException("falha")).doNothing().when(repository).upsertAll(anyList());
+
+        assertThrows(RuntimeException.class, () -> forecaster.checkpoint());
+        assertEquals(1, forecaster.checkpoint());
+    }
+
+    private DemandForecaster newForecaster() {
+        return new DemandForecaster(repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,115 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.ExpiredWriteOffReportDTO;
+import com.anapedra.stock_manager.domain.entities.Beer;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.StockLossRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.ledger.ExpiredStockWriteOff;
+import com.anapedra.stock_manager.services.ledger.StockJournal;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.ledger.StockLedgerFlusher;
+import com.anapedra.stock_manager.services.losses.StockLossRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ExpiredStockWriteOffTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 10);
+
+    private StockRepository stockRepository;
+    private StockLossRepository stockLossRepository;
+    private StockLedgerFlusher stockLedgerFlusher;
+    private StockLedger ledger;
+    private SimpleMeterRegistry registry;
+    private ExpiredStockWriteOff writeOff;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository = mock(StockRepository.class);
+        stockLossRepository = mock(StockLossRepository.class);
+        stockLedgerFlusher = mock(StockLedgerFlusher.class);
+        BeerRepository beerRepository = mock(BeerRepository.class);
+        registry = new SimpleMeterRegistry();
+        ledger = new StockLedger(stockRepository, new StockJournal(registry), registry);
+        writeOff = new ExpiredStockWriteOff(stockRepository, stockLossRepository, beerRepository, ledger,
+                stockLedgerFlusher, mock(StockLossRollup.class), mock(PlatformTransactionManager.class), registry);
+        ReflectionTestUtils.setField(writeOff, "chunkSize", 2);
+
+        when(beerRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Beer beer = new Beer();
+            beer.setId(invocation.getArgument(0));
+            return beer;
+        });
+        when(stockRepository.findQuantities(any())).thenReturn(Map.of(1L, 10, 2L, 4, 3L, 7));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_ShouldWriteOffAvailableStock_ChunkByChunk() {
+        when(stockRepository.findExpiredWithStock(TODAY, 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(stockRepository.findExpiredWithStock(TODAY, 2L, 2)).thenReturn(List.of(3L));
+        // Parte do saldo da cerveja 1 está retida por um pedido aguardando pagamento
+        ledger.availableAll(List.of(1L, 2L, 3L));
+        ledger.reserve(Map.of(1L, 3));
+
+        ExpiredWriteOffReportDTO report = writeOff.run(TODAY);
+
+        verify(stockLedgerFlusher).flush();
+        verify(stockLossRepository, times(2)).insertAll(any());
+        verify(stockLossRepository).insertAll(argThat(losses -> losses.size() == 2
+                && losses.get(0).getQuantityLost() == 7
+                && losses.get(0).getLossReason() == LossReason.EXPIRED
+                && losses.get(0).getLossDate().equals(TODAY)
+                && losses.get(1).getQuantityLost() == 4));
+
+        assertEquals(2, report.getChunks());
+        assertEquals(0, report.getFailedChunks());
+        assertEquals(3, report.getBeersScanned());
+        assertEquals(3, report.getBeersWrittenOff());
+        assertEquals(18, report.getUnitsWrittenOff());
+
+        assertEquals(3, ledger.onHand(1L, 0));
+        assertEquals(0, ledger.available(1L));
+        assertEquals(0, ledger.onHand(2L, 0));
+        assertEquals(0, ledger.onHand(3L, 0));
+        assertEquals(18.0, registry.get("stock_manager.expired_write_off.units").counter().count());
+        assertEquals(18.0, registry.get("stock_manager.stock_loss.total_units_lost").counter().count());
+    }
+
+    @Test
+    void run_ShouldSkipFailedChunk_AndKeepGoing() {
+        when(stockRepository.findExpiredWithStock(TODAY, 0L, 2)).thenReturn(List.of(1L, 2L));
+        when(stockRepository.findExpiredWithStock(TODAY, 2L, 2)).thenReturn(List.of(3L));
+        doThrow(new DataIntegrityViolationException("falha"))
+                .doNothing()
+                .when(stockLossRepository).insertAll(any());
+
+        ExpiredWriteOffReportDTO report = writeOff.run(TODAY);
+
+        assertEquals(1, report.getChunks());
+        assertEquals(1, report.getFailedChunks());
+        assertEquals(3, report.getBeersScanned());
+        assertEquals(1, report.getBeersWrittenOff());
+        assertEquals(7, report.getUnitsWrittenOff());
+
+        // O bloco que falhou não tocou no ledger
+        assertEquals(10, ledger.onHand(1L, 0));
+        assertEquals(4, ledger.onHand(2L, 0));
+        assertEquals(0, ledger.onHand(3L, 0));
+    }
+}
@@ -0,0 +1,68 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.enums.ExportFormat;
+import com.anapedra.stock_manager.repositories.OrderRepository;
+import com.anapedra.stock_manager.repositories.StockLossRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.exceptions.ForbiddenException;
+import com.anapedra.stock_manager.services.impl.ExportServiceImpl;
+import com.anapedra.stock_manager.services.ledger.StockLedgerFlusher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ExportServiceTest {
+
+    private StockRepository stockRepository;
+    private OrderRepository orderRepository;
+    private StockLossRepository stockLossRepository;
+    private StockLedgerFlusher stockLedgerFlusher;
+    private AuthService authService;
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository = mock(StockRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        stockLossRepository = mock(StockLossRepository.class);
+        stockLedgerFlusher = mock(StockLedgerFlusher.class);
+        authService = mock(AuthService.class);
+        exportService = new ExportServiceImpl(stockRepository, orderRepository, stockLossRepository,
+                stockLedgerFlusher, authService, mock(PlatformTransactionManager.class), new ObjectMapper(),
+                new SimpleMeterRegistry());
+        doThrow(new ForbiddenException("Access denied: Admins only.")).when(authService).validateAdmin();
+    }
+
+    @Test
+    void validateAccess_ShouldDenyNonAdmin() {
+        assertThrows(ForbiddenException.class, () -> exportService.validateAccess());
+    }
+
+    @Test
+    void exports_ShouldDenyNonAdmin_BeforeReadingOrWriting() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(ForbiddenException.class, () -> exportService.exportStock(ExportFormat.CSV, false, out));
+        assertThrows(ForbiddenException.class, () -> exportService.exportOrders(null, null, ExportFormat.CSV, false, out));
+        assertThrows(ForbiddenException.class, () -> exportService.exportLosses(null, null, ExportFormat.NDJSON, true, out));
+
+        assertEquals(0, out.size());
+        verify(stockLedgerFlusher, never()).flush();
+        verify(orderRepository, never()).streamItemsExport(any(), any(), anyInt(), any());
+        verifyNoInteractions(stockRepository, stockLossRepository);
+    }
+}
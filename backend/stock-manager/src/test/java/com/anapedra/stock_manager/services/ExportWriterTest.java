@@ -0,0 +1,46 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.enums.ExportFormat;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+import com.anapedra.stock_manager.services.export.ExportWriter;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "description", "reason", "lossDate");
+
+    @Test
+    void csv_ShouldWriteHeader_AndQuoteFieldsWithSeparatorsOrQuotes() throws IOException {
+        StringWriter out = new StringWriter();
+        ExportWriter writer = ExportWriter.of(ExportFormat.CSV, COLUMNS, out, new JsonFactory());
+
+        writer.write(new Object[]{1L, "garrafa \"quebrada\", lote 7", LossReason.DAMAGED, LocalDate.of(2026, 3, 2)});
+        writer.write(new Object[]{2L, null, LossReason.THEFT, null});
+        writer.flush();
+
+        assertEquals("id,description,reason,lossDate\r\n"
+                + "1,\"garrafa \"\"quebrada\"\", lote 7\",DAMAGED,2026-03-02\r\n"
+                + "2,,THEFT,\r\n", out.toString());
+    }
+
+    @Test
+    void ndjson_ShouldWriteOneObjectPerLine() throws IOException {
+        StringWriter out = new StringWriter();
+        ExportWriter writer = ExportWriter.of(ExportFormat.NDJSON, COLUMNS, out, new JsonFactory());
+
+        writer.write(new Object[]{1L, "linha\nnova", LossReason.EXPIRED, LocalDate.of(2026, 3, 2)});
+        writer.write(new Object[]{2L, null, LossReason.OTHER, null});
+        writer.flush();
+
+        assertEquals("{\"id\":1,\"description\":\"linha\\nnova\",\"reason\":\"EXPIRED\",\"lossDate\":\"2026-03-02\"}\n"
+                + "{\"id\":2,\"description\":null,\"reason\":\"OTHER\",\"lossDate\":null}\n", out.toString());
+    }
+}
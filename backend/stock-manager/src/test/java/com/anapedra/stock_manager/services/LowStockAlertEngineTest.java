@@ -0,0 +1,123 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.StockAlertDTO;
+import com.anapedra.stock_manager.domain.entities.StockThreshold;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import com.anapedra.stock_manager.domain.enums.StockStatus;
+import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.repositories.StockThresholdRepository;
+import com.anapedra.stock_manager.services.alerts.LowStockAlertEngine;
+import com.anapedra.stock_manager.services.alerts.StockStatusChangedEvent;
+import com.anapedra.stock_manager.services.ledger.StockJournal;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LowStockAlertEngineTest {
+
+    private StockThresholdRepository stockThresholdRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private StockLedger ledger;
+    private SimpleMeterRegistry registry;
+    private LowStockAlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        StockRepository stockRepository = mock(StockRepository.class);
+        BeerRepository beerRepository = mock(BeerRepository.class);
+        stockThresholdRepository = mock(StockThresholdRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        registry = new SimpleMeterRegistry();
+        ledger = new StockLedger(stockRepository, new StockJournal(registry), registry);
+        engine = new LowStockAlertEngine(ledger, stockRepository, stockThresholdRepository, beerRepository,
+                eventPublisher, mock(PlatformTransactionManager.class), registry);
+        ReflectionTestUtils.setField(engine, "debounceMs", 0L);
+
+        // Cerveja 1 pertence à categoria 7, com limite 20; as demais usam o padrão (10)
+        when(stockThresholdRepository.findAll()).thenReturn(List.of(new StockThreshold(1L, null, 7L, 20)));
+        when(beerRepository.findBeerIdsByCategoryIds(any())).thenReturn(List.<Object[]>of(new Object[]{1L, 7L}));
+        when(stockRepository.findAllQuantities()).thenReturn(Map.of(1L, 50, 2L, 8, 3L, 0));
+        when(stockRepository.findQuantityByBeerId(1L)).thenReturn(Optional.of(50));
+
+        engine.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldBuildWatchlists_WithoutPublishing() {
+        assertEquals(List.of(2L), engine.watchlist(StockStatus.LOW).stream().map(StockAlertDTO::getBeerId).toList());
+        assertEquals(List.of(3L), engine.watchlist(StockStatus.OUT_OF_STOCK).stream().map(StockAlertDTO::getBeerId).toList());
+        assertEquals(20, engine.limitFor(1L));
+        assertEquals(10, engine.limitFor(2L));
+
+        engine.dispatch();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void onFlush_ShouldPublishTransition_UsingCategoryThreshold() {
+        ledger.withdraw(Map.of(1L, 35), StockMovementType.ORDER, () -> 9L);
+        engine.onFlush(new TreeMap<>(Map.of(1L, -35)), List.of());
+        engine.dispatch();
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        StockStatusChangedEvent event = (StockStatusChangedEvent) captor.getValue();
+        assertEquals(1L, event.beerId());
+        assertEquals(StockStatus.AVAILABLE, event.previous());
+        assertEquals(StockStatus.LOW, event.current());
+        assertEquals(15, event.quantity());
+        assertEquals(20, event.lowLimit());
+
+        assertEquals(List.of(1L, 2L), engine.watchlist(StockStatus.LOW).stream().map(StockAlertDTO::getBeerId).toList());
+        assertEquals(1.0, registry.get("stock_manager.alerts.transitions").tag("status", "LOW").counter().count());
+
+        // Sem nova mudança, nada é publicado de novo
+        engine.onFlush(new TreeMap<>(Map.of(1L, 0)), List.of());
+        engine.dispatch();
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void onFlush_ShouldNotPublish_WhenStatusReturnsBeforeDispatch() {
+        ledger.withdraw(Map.of(1L, 35), StockMovementType.ORDER, () -> 9L);
+        engine.onFlush(new TreeMap<>(Map.of(1L, -35)), List.of());
+        ledger.deposit(1L, 35, StockMovementType.RESTOCK, () -> 10L);
+        engine.onFlush(new TreeMap<>(Map.of(1L, 35)), List.of());
+
+        engine.dispatch();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        assertTrue(engine.watchlist(StockStatus.LOW).stream().noneMatch(item -> item.getBeerId() == 1L));
+    }
+
+    @Test
+    void thresholdsChanged_ShouldReclassifyTrackedBeers() {
+        when(stockThresholdRepository.findAll()).thenReturn(List.of(new StockThreshold(2L, 2L, null, 5)));
+
+        engine.thresholdsChanged();
+        engine.dispatch();
+
+        assertTrue(engine.watchlist(StockStatus.LOW).isEmpty());
+        assertEquals(10, engine.limitFor(1L));
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        StockStatusChangedEvent event = (StockStatusChangedEvent) captor.getValue();
+        assertEquals(2L, event.beerId());
+        assertEquals(StockStatus.AVAILABLE, event.current());
+    }
+}
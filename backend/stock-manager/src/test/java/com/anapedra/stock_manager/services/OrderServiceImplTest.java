@@ -1,22 +1,36 @@
 package com.anapedra.stock_manager.services;
 
+import com.anapedra.stock_manager.domain.dtos.OrderBatchResultDTO;
 import com.anapedra.stock_manager.domain.dtos.OrderDTO;
+import com.anapedra.stock_manager.domain.dtos.OrderItemDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.Order;
 import com.anapedra.stock_manager.domain.entities.Stock;
 import com.anapedra.stock_manager.domain.entities.User;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import com.anapedra.stock_manager.domain.enums.OrderBatchStatus;
 import com.anapedra.stock_manager.repositories.BeerRepository;
 import com.anapedra.stock_manager.repositories.OrderItemRepository;
 import com.anapedra.stock_manager.repositories.OrderRepository;
 import com.anapedra.stock_manager.repositories.UserRepository;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
 import com.anapedra.stock_manager.services.exceptions.ForbiddenException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
 import com.anapedra.stock_manager.services.impl.OrderServiceImpl;
+import com.anapedra.stock_manager.services.ledger.StockHoldManager;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.pagination.PageCounter;
+import com.anapedra.stock_manager.services.sales.SalesRollup;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry; // Importação CRÍTICA
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +44,10 @@ class OrderServiceImplTest {
     private BeerRepository beerRepository;
     private UserRepository userRepository;
     private OrderItemRepository orderItemRepository;
+    private StockLedger stockLedger;
+    private StockHoldManager stockHoldManager;
+    private DemandForecaster demandForecaster;
+    private SalesRollup salesRollup;
     private SimpleMeterRegistry meterRegistry;
 
     private OrderServiceImpl service;
@@ -47,6 +65,10 @@ class OrderServiceImplTest {
         beerRepository = mock(BeerRepository.class);
         userRepository = mock(UserRepository.class);
         orderItemRepository = mock(OrderItemRepository.class);
+        stockLedger = mock(StockLedger.class);
+        stockHoldManager = mock(StockHoldManager.class);
+        demandForecaster = mock(DemandForecaster.class);
+        salesRollup = mock(SalesRollup.class);
 
         // **CORREÇÃO CRÍTICA**: Inicializa o MeterRegistry com uma implementação real e simples.
         // Isso resolve a NullPointerException no construtor.
@@ -57,7 +79,8 @@ class OrderServiceImplTest {
         service = new OrderServiceImpl(
                 authService, userService, orderRepository,
                 beerRepository, userRepository, orderItemRepository,
-                meterRegistry
+                stockLedger, stockHoldManager, demandForecaster, salesRollup,
+                new PageCounter(meterRegistry), meterRegistry
 
         );
 
@@ -146,6 +169,8 @@ class OrderServiceImplTest {
         service.delete(1L);
 
         verify(authService).validateSelfOrAdmin(user.getId());
+        verify(stockHoldManager).discard(eq(order), anyMap());
+        verify(salesRollup).remove(order);
         verify(orderRepository).delete(order);
     }
 
@@ -161,8 +186,58 @@ class OrderServiceImplTest {
         doThrow(new ForbiddenException("")).when(authService).validateAdmin();
 
         assertThrows(ForbiddenException.class,
-                () -> service.find(1L, "Ana", "01589924578","","",Pageable.unpaged()));
+                () -> service.find(1L, "Ana", "01589924578","","",Pageable.unpaged(), CountMode.EXACT));
         
         verify(authService).validateAdmin();
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveBatch_ShouldReturnResultPerOrder_InRequestOrder() {
+        when(authService.authenticatedUser()).thenReturn(user);
+        when(beerRepository.findAllById(any())).thenReturn(List.of(beer));
+        // A segunda posição enviada ao ledger (terceiro pedido do lote) fica sem saldo
+        when(stockLedger.rebalanceEach(anyList(), any())).thenReturn(Map.of(1, "Quantidade insuficiente"));
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(10L));
+            return null;
+        }).when(orderRepository).insertAll(anyList());
+
+        List<OrderBatchResultDTO> results = service.saveBatch(List.of(
+                orderWith(new OrderItemDTO(100L, 2)),
+                new OrderDTO(),
+                orderWith(new OrderItemDTO(100L, 50)),
+                orderWith(new OrderItemDTO(999L, 1))));
+
+        assertEquals(4, results.size());
+        assertEquals(OrderBatchStatus.ACCEPTED, results.get(0).getStatus());
+        assertEquals(10L, results.get(0).getOrderId());
+        assertEquals(OrderBatchStatus.REJECTED, results.get(1).getStatus());
+        assertEquals(OrderBatchStatus.INSUFFICIENT_STOCK, results.get(2).getStatus());
+        assertEquals(OrderBatchStatus.REJECTED, results.get(3).getStatus());
+        assertEquals(3, results.get(3).getIndex());
+
+        // Uma única consulta de cervejas e um único lote de inclusão, só com o pedido aceito
+        verify(beerRepository, times(1)).findAllById(any());
+        verify(orderRepository, times(1)).insertAll(argThat(orders -> orders.size() == 1));
+        verify(stockHoldManager).recordNew(anyMap());
+        // Só as unidades do pedido aceito alimentam a previsão de demanda
+        verify(demandForecaster).record(eq(Map.of(100L, 2)), any(Instant.class));
+        verify(salesRollup).addAll(argThat(orders -> orders.size() == 1));
+    }
+
+    @Test
+    void saveBatch_ShouldThrow_WhenBatchExceedsMaximum() {
+        ReflectionTestUtils.setField(service, "batchMaxSize", 1);
+
+        assertThrows(BusinessRuleException.class,
+                () -> service.saveBatch(List.of(new OrderDTO(), new OrderDTO())));
+        verifyNoInteractions(stockLedger);
+    }
+
+    private OrderDTO orderWith(OrderItemDTO item) {
+        OrderDTO dto = new OrderDTO();
+        dto.getItems().add(item);
+        return dto;
+    }
+}
@@ -0,0 +1,151 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import com.anapedra.stock_manager.services.pagination.PageCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class PageCounterTest {
+
+    private static final long TOTAL = 57;
+
+    private PageCounter counter;
+    private AtomicInteger counts;
+
+    @BeforeEach
+    void setUp() {
+        counter = new PageCounter(new SimpleMeterRegistry());
+        counts = new AtomicInteger();
+    }
+
+    @Test
+    void none_ShouldReadSlice_WithoutCounting() {
+        CountedPageDTO<Long> page = counter.find(CountMode.NONE, PageRequest.of(1, 10), "beers[]",
+                this::unexpectedPage, this::slice, this::unexpectedCount, null, Function.identity());
+
+        assertEquals(List.of(11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L, 20L), page.getContent());
+        assertNull(page.getTotalElements());
+        assertNull(page.getTotalPages());
+        assertTrue(page.getHasNext());
+        assertFalse(page.isFirst());
+        assertFalse(page.isLast());
+        assertEquals(CountMode.NONE, page.getCountMode());
+    }
+
+    @Test
+    void approx_ShouldCacheCount_PerSignature() {
+        String signature = PageCounter.signature("beers", 1L, null);
+
+        CountedPageDTO<Long> first = counter.find(CountMode.APPROX, PageRequest.of(0, 10), signature,
+                this::unexpectedPage, this::slice, this::count, null, Function.identity());
+        CountedPageDTO<Long> second = counter.find(CountMode.APPROX, PageRequest.of(1, 10), signature,
+                this::unexpectedPage, this::slice, this::count, null, Function.identity());
+
+        assertEquals(1, counts.get());
+        assertEquals(TOTAL, first.getTotalElements());
+        assertEquals(TOTAL, second.getTotalElements());
+        assertEquals(6, second.getTotalPages());
+        assertEquals(CountMode.APPROX, second.getCountMode());
+
+        counter.find(CountMode.APPROX, PageRequest.of(0, 10), PageCounter.signature("beers", 2L, null),
+                this::unexpectedPage, this::slice, this::count, null, Function.identity());
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void approx_ShouldUseTableEstimate_WhenUnfiltered() {
+        CountedPageDTO<Long> page = counter.find(CountMode.APPROX, PageRequest.of(0, 10), "orders[]",
+                this::unexpectedPage, this::slice, this::unexpectedCount, () -> 60, Function.identity());
+
+        assertEquals(60L, page.getTotalElements());
+        assertEquals(CountMode.APPROX, page.getCountMode());
+    }
+
+    @Test
+    void approx_ShouldNotReportLessThanAlreadyRead() {
+        LongSupplier staleEstimate = () -> 12;
+
+        CountedPageDTO<Long> page = counter.find(CountMode.APPROX, PageRequest.of(2, 10), "orders[]",
+                this::unexpectedPage, this::slice, this::unexpectedCount, staleEstimate, Function.identity());
+
+        assertEquals(31L, page.getTotalElements());
+    }
+
+    @Test
+    void approx_ShouldReportExactTotal_OnLastPage() {
+        CountedPageDTO<Long> page = counter.find(CountMode.APPROX, PageRequest.of(5, 10), "losses[]",
+                this::unexpectedPage, this::slice, this::unexpectedCount, null, Function.identity());
+
+        assertEquals(7, page.getNumberOfElements());
+        assertEquals(TOTAL, page.getTotalElements());
+        assertEquals(6, page.getTotalPages());
+        assertTrue(page.isFirst());
+        assertFalse(page.isLast());
+        assertFalse(page.isEmpty());
+        assertEquals(CountMode.EXACT, page.getCountMode());
+    }
+
+    @Test
+    void exact_ShouldUsePageQuery() {
+        CountedPageDTO<String> page = counter.find(CountMode.EXACT, PageRequest.of(0, 10), "beers[]",
+                this::page, this::unexpectedSlice, this::unexpectedCount, null, id -> "#" + id);
+
+        assertEquals("#1", page.getContent().get(0));
+        assertEquals(TOTAL, page.getTotalElements());
+        assertEquals(6, page.getTotalPages());
+        assertEquals(CountMode.EXACT, page.getCountMode());
+    }
+
+    private List<Long> rows(Pageable pageable) {
+        return LongStream.rangeClosed(1, TOTAL)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .boxed()
+                .toList();
+    }
+
+    private Slice<Long> slice(Pageable pageable) {
+        return new SliceImpl<>(rows(pageable), pageable, pageable.getOffset() + pageable.getPageSize() < TOTAL);
+    }
+
+    private Page<Long> page(Pageable pageable) {
+        return new PageImpl<>(rows(pageable), pageable, TOTAL);
+    }
+
+    private long count() {
+        counts.incrementAndGet();
+        return TOTAL;
+    }
+
+    private Page<Long> unexpectedPage(Pageable pageable) {
+        return fail("Consulta com contagem não esperada");
+    }
+
+    private Slice<Long> unexpectedSlice(Pageable pageable) {
+        return fail("Consulta sem contagem não esperada");
+    }
+
+    private long unexpectedCount() {
+        return fail("Contagem não esperada");
+    }
+}
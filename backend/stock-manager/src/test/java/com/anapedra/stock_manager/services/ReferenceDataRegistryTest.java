@@ -0,0 +1,92 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.CategoryDTO;
+import com.anapedra.stock_manager.domain.entities.Category;
+import com.anapedra.stock_manager.domain.entities.Role;
+import com.anapedra.stock_manager.repositories.CategoryRepository;
+import com.anapedra.stock_manager.repositories.RoleRepository;
+import com.anapedra.stock_manager.services.reference.ReferenceDataRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReferenceDataRegistryTest {
+
+    private CategoryRepository categoryRepository;
+    private RoleRepository roleRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        roleRepository = mock(RoleRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new ReferenceDataRegistry(categoryRepository, roleRepository, meterRegistry);
+
+        when(categoryRepository.findAll()).thenReturn(List.of(
+                new Category(3L, "Stout", "Escura"),
+                new Category(1L, "Pilsen", "Leve")));
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ROLE_OPERATOR")));
+    }
+
+    @Test
+    void lookups_ShouldLoadOnce_AndServeFromSnapshot() {
+        assertEquals(List.of(1L, 3L), registry.findAllCategories().stream().map(CategoryDTO::getId).toList());
+        assertEquals("Stout", registry.findCategory(3L).orElseThrow().getName());
+        assertTrue(registry.findCategory(9L).isEmpty());
+        assertEquals(Optional.of("ROLE_OPERATOR"), registry.findAuthority(1L));
+
+        verify(categoryRepository, times(1)).findAll();
+        verify(roleRepository, times(1)).findAll();
+        assertEquals(2.0, meterRegistry.get("stock_manager.reference_data.size").tag("type", "category").gauge().value());
+    }
+
+    @Test
+    void returnedCategories_ShouldBeCopies() {
+        registry.findCategory(1L).orElseThrow().setDescription("Alterada");
+        registry.findAllCategories().get(0).setName("Alterada");
+
+        CategoryDTO category = registry.findCategory(1L).orElseThrow();
+        assertEquals("Pilsen", category.getName());
+        assertEquals("Leve", category.getDescription());
+    }
+
+    @Test
+    void categorySavedAndDeleted_ShouldPublishNewSnapshot() {
+        registry.findAllCategories();
+
+        registry.categorySaved(new Category(2L, "IPA", "Lupulada"));
+        registry.categorySaved(new Category(1L, "Pilsen", "Refrescante"));
+        registry.categoryDeleted(3L);
+
+        assertEquals(List.of(1L, 2L), registry.findAllCategories().stream().map(CategoryDTO::getId).toList());
+        assertEquals("Refrescante", registry.findCategory(1L).orElseThrow().getDescription());
+        assertTrue(registry.findCategory(3L).isEmpty());
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void unknownRole_ShouldReloadRoles() {
+        assertEquals(Optional.of("ROLE_OPERATOR"), registry.findAuthority(1L));
+        when(roleRepository.findAll()).thenReturn(List.of(
+                new Role(1L, "ROLE_OPERATOR"), new Role(2L, "ROLE_ADMIN")));
+
+        assertEquals(Optional.of("ROLE_ADMIN"), registry.findAuthority(2L));
+        assertEquals(Optional.of("ROLE_ADMIN"), registry.findAuthority(2L));
+        assertTrue(registry.findAuthority(7L).isEmpty());
+
+        verify(roleRepository, times(3)).findAll();
+        assertEquals(2.0, meterRegistry.get("stock_manager.reference_data.role_reloads").counter().count());
+    }
+}
@@ -0,0 +1,97 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.ReplenishmentPlanReportDTO;
+import com.anapedra.stock_manager.domain.entities.RestockProposal;
+import com.anapedra.stock_manager.repositories.DemandForecastStateRepository;
+import com.anapedra.stock_manager.repositories.RestockProposalRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
+import com.anapedra.stock_manager.services.ledger.StockJournal;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.replenishment.ReplenishmentPlanner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ReplenishmentPlannerTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 5);
+    private static final LocalDate TODAY = START.plusDays(28);
+
+    private StockRepository stockRepository;
+    private RestockProposalRepository restockProposalRepository;
+    private ReplenishmentPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        stockRepository = mock(StockRepository.class);
+        restockProposalRepository = mock(RestockProposalRepository.class);
+        StockLedger ledger = new StockLedger(stockRepository, new StockJournal(registry), registry);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        // Cervejas 1, 2 e 5 vendem 10 unidades por dia; a 7 nunca vendeu
+        DemandForecaster forecaster = new DemandForecaster(mock(DemandForecastStateRepository.class), transactionManager, registry);
+        for (int day = 0; day < 28; day++) {
+            for (long beerId : new long[]{1L, 2L, 5L}) {
+                forecaster.record(beerId, 10, START.plusDays(day));
+            }
+        }
+
+        TreeMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 0, 2L, 100, 5L, 3, 7L, 0));
+        when(stockRepository.findIdRange()).thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        when(stockRepository.findQuantitiesBetween(anyLong(), anyLong())).thenAnswer(invocation ->
+                new TreeMap<>(quantities.subMap(invocation.getArgument(0), true, invocation.getArgument(1), true)));
+
+        planner = new ReplenishmentPlanner(stockRepository, restockProposalRepository, ledger, forecaster,
+                transactionManager, registry);
+        ReflectionTestUtils.setField(planner, "rangeSize", 3);
+    }
+
+    @Test
+    void run_ShouldProposeBeersAtOrBelowReorderPoint_InParallelRanges() {
+        ReplenishmentPlanReportDTO report = planner.run(TODAY);
+
+        // Demanda diária 10: segurança 30, ponto de pedido 50 + 30 = 80, cobertura de 12 dias = 120
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RestockProposal>> captor = ArgumentCaptor.forClass(List.class);
+        verify(restockProposalRepository).replacePlan(eq(TODAY), eq(TODAY.minusDays(30)), captor.capture());
+        List<RestockProposal> proposals = captor.getValue();
+
+        assertEquals(List.of(1L, 5L), proposals.stream().map(RestockProposal::getBeerId).toList());
+        assertEquals(80, proposals.get(0).getReorderPoint());
+        assertEquals(30, proposals.get(0).getSafetyStock());
+        assertEquals(150, proposals.get(0).getSuggestedQuantity());
+        assertEquals(147, proposals.get(1).getSuggestedQuantity());
+
+        assertEquals(4, report.getRanges());
+        assertEquals(4, report.getBeersScanned());
+        assertEquals(2, report.getProposals());
+        assertEquals(297, report.getSuggestedUnits());
+        assertTrue(report.isComplete());
+    }
+
+    @Test
+    void run_ShouldSkipRanges_WhenTimeBudgetIsExhausted() {
+        ReflectionTestUtils.setField(planner, "timeBudgetMs", -1L);
+
+        ReplenishmentPlanReportDTO report = planner.run(TODAY);
+
+        assertEquals(4, report.getSkippedRanges());
+        assertFalse(report.isComplete());
+        verify(stockRepository, never()).findQuantitiesBetween(anyLong(), anyLong());
+        verify(restockProposalRepository).replacePlan(eq(TODAY), any(), eq(List.of()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.entities.Beer;
+import com.anapedra.stock_manager.domain.entities.Order;
+import com.anapedra.stock_manager.domain.entities.OrderItem;
+import com.anapedra.stock_manager.domain.entities.SalesDaily;
+import com.anapedra.stock_manager.domain.enums.OrderStatus;
+import com.anapedra.stock_manager.domain.pks.SalesDailyPK;
+import com.anapedra.stock_manager.repositories.SalesDailyRepository;
+import com.anapedra.stock_manager.services.sales.SalesRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SalesRollupTest {
+
+    private static final Instant MONDAY = Instant.parse("2026-03-02T15:00:00Z");
+    private static final Instant TUESDAY = Instant.parse("2026-03-03T09:00:00Z");
+
+    private SalesDailyRepository repository;
+    private SalesRollup rollup;
+    private Beer lager;
+    private Beer stout;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SalesDailyRepository.class);
+        rollup = new SalesRollup(repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        lager = beer(1L, 10.0);
+        stout = beer(2L, 20.0);
+    }
+
+    @Test
+    void addAll_ShouldMergeOrdersPerDayAndBeer_IgnoringCanceledOrders() {
+        Order first = order(MONDAY, OrderStatus.PAID, Map.of(lager, 2, stout, 1));
+        Order second = order(MONDAY, OrderStatus.WAITING_PAYMENT, Map.of(lager, 3));
+        Order canceled = order(MONDAY, OrderStatus.CACELED, Map.of(lager, 50));
+
+        rollup.addAll(List.of(first, second, canceled));
+
+        Map<Long, SalesDaily> rows = captureDeltas();
+        assertEquals(2, rows.size());
+        assertEquals(5L, rows.get(1L).getUnits());
+        assertEquals(50.0, rows.get(1L).getRevenue(), 0.001);
+        assertEquals(2L, rows.get(1L).getOrderCount());
+        assertEquals(1L, rows.get(2L).getOrderCount());
+        assertEquals(LocalDate.of(2026, 3, 2), rows.get(1L).getId().getSaleDate());
+    }
+
+    @Test
+    void contributionOf_ShouldUseItemPrice_InsteadOfCurrentBeerPrice() {
+        Order order = order(MONDAY, OrderStatus.PAID, Map.of(lager, 2));
+        lager.setPrice(99.0);
+
+        SalesDaily row = rollup.contributionOf(order).get(new SalesDailyPK(LocalDate.of(2026, 3, 2), 1L));
+
+        assertEquals(20.0, row.getRevenue(), 0.001);
+    }
+
+    @Test
+    void replace_ShouldMoveSalesToTheNewDay_AndApplyOnlyTheDifference() {
+        Order order = order(MONDAY, OrderStatus.PAID, Map.of(lager, 2));
+        Map<SalesDailyPK, SalesDaily> previous = rollup.contributionOf(order);
+
+        order.setMomentAt(TUESDAY);
+        order.setItems(items(order, Map.of(lager, 5)));
+        rollup.replace(previous, order);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SalesDaily>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).applyDeltas(captor.capture());
+        Map<LocalDate, SalesDaily> byDay = captor.getValue().stream()
+                .collect(Collectors.toMap(row -> row.getId().getSaleDate(), Function.identity()));
+        assertEquals(-2L, byDay.get(LocalDate.of(2026, 3, 2)).getUnits());
+        assertEquals(-1L, byDay.get(LocalDate.of(2026, 3, 2)).getOrderCount());
+        assertEquals(5L, byDay.get(LocalDate.of(2026, 3, 3)).getUnits());
+        assertEquals(50.0, byDay.get(LocalDate.of(2026, 3, 3)).getRevenue(), 0.001);
+    }
+
+    @Test
+    void replace_ShouldWriteNothing_WhenSalesDoNotChange() {
+        Order order = order(MONDAY, OrderStatus.PAID, Map.of(lager, 2));
+
+        rollup.replace(rollup.contributionOf(order), order);
+
+        verify(repository, never()).applyDeltas(any());
+    }
+
+    @Test
+    void backfill_ShouldRebuildInChunks_AndReportFailedChunks() {
+        ReflectionTestUtils.setField(rollup, "chunkDays", 10);
+        when(repository.rebuild(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(4)
+                .thenThrow(new RuntimeException("falha"))
+                .thenReturn(1);
+
+        RollupBackfillReportDTO report = rollup.backfill(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 25));
+
+        verify(repository).rebuild(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 10));
+        verify(repository).rebuild(LocalDate.of(2026, 1, 11), LocalDate.of(2026, 1, 20));
+        verify(repository).rebuild(LocalDate.of(2026, 1, 21), LocalDate.of(2026, 1, 25));
+        assertEquals(3, report.getChunks());
+        assertEquals(1, report.getFailedChunks());
+        assertEquals(5, report.getRows());
+    }
+
+    private Map<Long, SalesDaily> captureDeltas() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SalesDaily>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).applyDeltas(captor.capture());
+        return captor.getValue().stream().collect(Collectors.toMap(row -> row.getId().getBeerId(), Function.identity()));
+    }
+
+    private static Beer beer(Long id, Double price) {
+        Beer beer = new Beer();
+        beer.setId(id);
+        beer.setPrice(price);
+        return beer;
+    }
+
+    private static Order order(Instant moment, OrderStatus status, Map<Beer, Integer> quantities) {
+        Order order = new Order(moment, null, status);
+        order.setItems(items(order, quantities));
+        return order;
+    }
+
+    private static Set<OrderItem> items(Order order, Map<Beer, Integer> quantities) {
+        return quantities.entrySet().stream()
+                .map(entry -> new OrderItem(order, entry.getKey(), entry.getValue(), entry.getKey().getPrice()))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,56 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.services.pagination.SeekCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeekCursorTest {
+
+    @Test
+    void decode_ShouldReturnTheEncodedId() {
+        assertEquals(42L, SeekCursor.decode(SeekCursor.encode(42L)));
+    }
+
+    @Test
+    void decode_ShouldReturnNull_ForTheFirstPage() {
+        assertNull(SeekCursor.decode(null));
+        assertNull(SeekCursor.decode(" "));
+    }
+
+    @Test
+    void decode_ShouldReject_InvalidTokens() {
+        assertThrows(BusinessRuleException.class, () -> SeekCursor.decode("%%%"));
+        assertThrows(BusinessRuleException.class, () -> SeekCursor.decode("YWJj"));
+    }
+
+    @Test
+    void probe_ShouldReadOneExtraItem_AndRejectInvalidSizes() {
+        assertEquals(PageRequest.of(0, 11), SeekCursor.probe(10));
+        assertThrows(BusinessRuleException.class, () -> SeekCursor.probe(0));
+        assertThrows(BusinessRuleException.class, () -> SeekCursor.probe(SeekCursor.MAX_SIZE + 1));
+    }
+
+    @Test
+    void page_ShouldDropTheProbeItem_AndPointToTheLastDeliveredItem() {
+        CursorPageDTO<Long> page = SeekCursor.page(List.of(3L, 7L, 9L), 2, Function.identity(), Function.identity());
+
+        assertEquals(List.of(3L, 7L), page.getContent());
+        assertTrue(page.getHasNext());
+        assertEquals(7L, SeekCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void page_ShouldHaveNoCursor_OnTheLastPage() {
+        CursorPageDTO<Long> page = SeekCursor.page(List.of(3L), 2, Function.identity(), Function.identity());
+
+        assertFalse(page.getHasNext());
+        assertNull(page.getNextCursor());
+    }
+}
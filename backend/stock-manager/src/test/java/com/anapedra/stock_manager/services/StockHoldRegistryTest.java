@@ -0,0 +1,76 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.services.ledger.ActiveHold;
+import com.anapedra.stock_manager.services.ledger.StockHoldRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockHoldRegistryTest {
+
+    private StockHoldRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StockHoldRegistry(1000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void expireDue_ShouldReturnOnlyHoldsPastTheirDeadline() {
+        Instant now = Instant.now();
+        ActiveHold due = new ActiveHold(1L, Map.of(10L, 2), now.plusSeconds(5));
+        ActiveHold later = new ActiveHold(2L, Map.of(10L, 3), now.plus(Duration.ofMinutes(30)));
+        registry.register(due);
+        registry.register(later);
+
+        assertTrue(registry.expireDue(now).isEmpty());
+
+        List<ActiveHold> expired = registry.expireDue(now.plusSeconds(6));
+        assertEquals(List.of(due), expired);
+        assertEquals(1, registry.size());
+
+        // A reserva de 30 minutos passa por várias voltas da roda antes de expirar
+        assertEquals(List.of(later), registry.expireDue(now.plus(Duration.ofMinutes(31))));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void expireDue_ShouldSkipHoldsClaimedByOrderUpdate() {
+        Instant now = Instant.now();
+        ActiveHold hold = new ActiveHold(1L, Map.of(10L, 2), now.plusSeconds(1));
+        registry.register(hold);
+
+        assertSame(hold, registry.claim(1L));
+        assertTrue(registry.expireDue(now.plusSeconds(5)).isEmpty());
+        assertNull(registry.claim(1L));
+    }
+
+    @Test
+    void expireDue_ShouldNotExpireReplacedHold() {
+        Instant now = Instant.now();
+        registry.register(new ActiveHold(1L, Map.of(10L, 2), now.plusSeconds(1)));
+        ActiveHold replacement = new ActiveHold(1L, Map.of(10L, 4), now.plus(Duration.ofMinutes(10)));
+        registry.register(replacement);
+
+        assertTrue(registry.expireDue(now.plusSeconds(5)).isEmpty());
+        assertSame(replacement, registry.find(1L));
+    }
+
+    @Test
+    void expireDue_ShouldReleaseThousandsOfHoldsInOneSweep() {
+        Instant now = Instant.now();
+        for (long orderId = 1; orderId <= 5000; orderId++) {
+            registry.register(new ActiveHold(orderId, Map.of(10L, 1), now.plusMillis(orderId % 3000)));
+        }
+
+        assertEquals(5000, registry.expireDue(now.plusSeconds(4)).size());
+        assertEquals(0, registry.size());
+    }
+}
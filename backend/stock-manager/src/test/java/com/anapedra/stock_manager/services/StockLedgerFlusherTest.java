@@ -0,0 +1,296 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import com.anapedra.stock_manager.repositories.StockMovementRepository;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.ledger.StockFlushHook;
+import com.anapedra.stock_manager.services.ledger.StockJournal;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.ledger.StockLedgerFlusher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StockLedgerFlusherTest {
+
+    private StockRepository stockRepository;
+    private StockMovementRepository stockMovementRepository;
+    private StockJournal journal;
+    private StockLedger ledger;
+    private StockLedgerFlusher flusher;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository = mock(StockRepository.class);
+        stockMovementRepository = mock(StockMovementRepository.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        journal = new StockJournal(registry);
+        ledger = new StockLedger(stockRepository, journal, registry);
+        flusher = new StockLedgerFlusher(ledger, journal, stockRepository, stockMovementRepository,
+                mock(PlatformTransactionManager.class), registry);
+
+        when(stockRepository.findQuantityByBeerId(1L)).thenReturn(Optional.of(10));
+        when(stockRepository.findQuantityByBeerId(2L)).thenReturn(Optional.of(20));
+    }
+
+    @Test
+    void flush_ShouldWriteNetDeltaPerBeer_SortedById() {
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+
+        ledger.withdraw(Map.of(2L, 5), StockMovementType.ORDER, () -> 1L);
+        ledger.withdraw(Map.of(1L, 3), StockMovementType.ORDER, () -> 2L);
+        ledger.deposit(1L, 1, StockMovementType.RESTOCK, () -> 3L);
+
+        flusher.flush();
+
+        SortedMap<Long, Integer> expected = new TreeMap<>(Map.of(1L, -2, 2L, -5));
+        verify(stockRepository, times(1)).applyQuantityDeltas(expected);
+
+        // Nada pendente: o próximo ciclo não grava
+        flusher.flush();
+        verify(stockRepository, times(1)).applyQuantityDeltas(any());
+    }
+
+    @Test
+    void flush_ShouldJournalEveryMovement_AlongsideNetDeltas() {
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+
+        ledger.withdraw(Map.of(1L, 3), StockMovementType.ORDER, () -> 2L);
+        ledger.deposit(1L, 1, StockMovementType.RESTOCK, () -> 3L);
+
+        flusher.flush();
+
+        verify(stockMovementRepository, times(1)).appendAll(argThat(movements ->
+                movements.size() == 2
+                        && movements.get(0).getQuantity() == -3
+                        && movements.get(0).getType() == StockMovementType.ORDER
+                        && movements.get(0).getReferenceId() == 2L
+                        && movements.get(1).getQuantity() == 1
+                        && movements.get(1).getType() == StockMovementType.RESTOCK));
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    void flush_ShouldWriteJournal_WhenOnlyOpeningBalanceIsPending() {
+        ledger.open(3L, 40);
+
+        flusher.flush();
+
+        verify(stockMovementRepository, times(1)).appendAll(argThat(movements ->
+                movements.size() == 1 && movements.get(0).getType() == StockMovementType.OPENING));
+    }
+
+    @Test
+    void flush_ShouldResyncBeer_WhenDatabaseRejectsDelta() {
+        ledger.withdraw(Map.of(1L, 4), StockMovementType.LOSS, () -> 1L);
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of(1L));
+        when(stockRepository.findQuantityByBeerId(1L)).thenReturn(Optional.of(2));
+
+        flusher.flush();
+
+        assertEquals(2, ledger.available(1L));
+        // A correção (2 - 6) fica pendente no diário para manter o saldo igual ao banco
+        assertEquals(1, journal.size());
+    }
+
+    @Test
+    void flush_ShouldKeepLaterWithdrawal_WhenResyncingRejectedBeer() {
+        ledger.withdraw(Map.of(1L, 4), StockMovementType.LOSS, () -> 1L);
+        when(stockRepository.applyQuantityDeltas(any()))
+                .thenAnswer(invocation -> {
+                    // Retirada aplicada entre a drenagem e a ressincronização
+                    ledger.withdraw(Map.of(1L, 1), StockMovementType.ORDER, () -> 2L);
+                    return List.of(1L);
+                })
+                .thenReturn(List.of());
+        when(stockRepository.findQuantityByBeerId(1L)).thenReturn(Optional.of(2));
+
+        flusher.flush();
+
+        assertEquals(1, ledger.available(1L));
+        // A retirada posterior e a correção (2 - 6) ficam pendentes no diário
+        assertEquals(2, journal.size());
+
+        flusher.flush();
+
+        verify(stockRepository, times(1)).applyQuantityDeltas(new TreeMap<>(Map.of(1L, -1)));
+    }
+
+    @Test
+    void flush_ShouldRetryTransientFailure_WithoutLosingDelta() {
+        ledger.withdraw(Map.of(1L, 4), StockMovementType.LOSS, () -> 1L);
+        when(stockRepository.applyQuantityDeltas(any()))
+                .thenThrow(new CannotAcquireLockException("lock"))
+                .thenReturn(List.of());
+
+        flusher.flush();
+
+        verify(stockRepository, times(2)).applyQuantityDeltas(new TreeMap<>(Map.of(1L, -4)));
+        verify(stockMovementRepository, times(1)).appendAll(any());
+    }
+
+    @Test
+    void flush_ShouldKeepMovementsPending_WhenWriteFails() {
+        ledger.withdraw(Map.of(1L, 4), StockMovementType.LOSS, () -> 1L);
+        when(stockRepository.applyQuantityDeltas(any())).thenThrow(new IllegalStateException("falha"));
+
+        flusher.flush();
+
+        assertEquals(1, journal.size());
+        verify(stockMovementRepository, never()).appendAll(any());
+    }
+
+    @Test
+    void rebuild_ShouldApplyJournalDrift_ToDatabaseAndLedger() {
+        assertEquals(10, ledger.available(1L));
+        when(stockMovementRepository.findJournalDrift()).thenReturn(new TreeMap<>(Map.of(1L, 5)));
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+
+        int corrected = flusher.rebuild();
+
+        assertEquals(1, corrected);
+        verify(stockRepository, times(1)).applyQuantityDeltas(new TreeMap<>(Map.of(1L, 5)));
+        assertEquals(15, ledger.available(1L));
+
+        // A correção já está no banco: nenhuma variação pendente para a cerveja
+        flusher.flush();
+        verify(stockRepository, times(1)).applyQuantityDeltas(any());
+        verify(stockMovementRepository, never()).appendAll(any());
+    }
+
+    @Test
+    void snapshot_ShouldCreateAndPruneSnapshots() {
+        when(stockMovementRepository.createSnapshots(any())).thenReturn(3);
+
+        flusher.snapshot();
+
+        verify(stockMovementRepository, times(1)).createSnapshots(any());
+        verify(stockMovementRepository, times(1)).pruneSnapshots(any());
+    }
+
+    @Test
+    void mutation_ShouldBeLeftToTheCycle_WhenWriteBehindIsDisabled() {
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+
+        ledger.withdraw(Map.of(1L, 3), StockMovementType.ORDER, () -> 1L);
+        ledger.deposit(1L, 1, StockMovementType.RESTOCK, () -> 2L);
+
+        // A thread que confirmou a mutação não grava no banco
+        verify(stockRepository, never()).applyQuantityDeltas(any());
+        assertEquals(2, journal.size());
+
+        flusher.flush();
+        verify(stockRepository, times(1)).applyQuantityDeltas(new TreeMap<>(Map.of(1L, -2)));
+    }
+
+    @Test
+    void writeBehind_ShouldCoalesceWindow_IntoOneUpdatePerBeer() {
+        ReflectionTestUtils.setField(flusher, "writeBehindEnabled", true);
+        ReflectionTestUtils.setField(flusher, "windowMs", 50L);
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+
+        ledger.withdraw(Map.of(1L, 1), StockMovementType.ORDER, () -> 1L);
+        ledger.withdraw(Map.of(1L, 2), StockMovementType.ORDER, () -> 2L);
+
+        verify(stockRepository, timeout(2000).times(1)).applyQuantityDeltas(new TreeMap<>(Map.of(1L, -3)));
+        flusher.shutdown();
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    void writeBehind_ShouldCloseWindowEarly_WhenPendingMovementsReachLimit() {
+        ReflectionTestUtils.setField(flusher, "writeBehindEnabled", true);
+        ReflectionTestUtils.setField(flusher, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(flusher, "maxPending", 3);
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+
+        ledger.withdraw(Map.of(1L, 1), StockMovementType.ORDER, () -> 1L);
+        ledger.withdraw(Map.of(1L, 1), StockMovementType.ORDER, () -> 2L);
+        verify(stockRepository, after(100).never()).applyQuantityDeltas(any());
+
+        ledger.withdraw(Map.of(1L, 1), StockMovementType.ORDER, () -> 3L);
+
+        // Três movimentações coalescidas em um único UPDATE líquido
+        verify(stockRepository, timeout(2000).times(1)).applyQuantityDeltas(new TreeMap<>(Map.of(1L, -3)));
+        flusher.shutdown();
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    void flush_ShouldNotifyHooks_OnSuccessAndFailure() {
+        StockFlushHook hook = mock(StockFlushHook.class);
+        flusher.setFlushHooks(List.of(hook));
+        ledger.withdraw(Map.of(1L, 4), StockMovementType.LOSS, () -> 1L);
+        when(stockRepository.applyQuantityDeltas(any()))
+                .thenThrow(new IllegalStateException("falha"))
+                .thenReturn(List.of());
+
+        flusher.flush();
+        verify(hook, times(1)).onFlushFailure(eq(new TreeMap<>(Map.of(1L, -4))), anyList(), any(IllegalStateException.class));
+        verify(hook, never()).onFlush(any(), any());
+
+        flusher.flush();
+        verify(hook, times(1)).onFlush(eq(new TreeMap<>(Map.of(1L, -4))), argThat(movements -> movements.size() == 1));
+    }
+
+    @Test
+    void flush_ShouldRestoreChanges_WhenHookRejectsWrite() {
+        StockFlushHook hook = mock(StockFlushHook.class);
+        doThrow(new IllegalStateException("gancho")).when(hook).onFlush(any(), any());
+        flusher.setFlushHooks(List.of(hook));
+        ledger.withdraw(Map.of(1L, 4), StockMovementType.LOSS, () -> 1L);
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+
+        flusher.flush();
+
+        assertEquals(1, journal.size());
+        verify(hook, times(1)).onFlushFailure(any(), any(), any());
+    }
+
+    @Test
+    void shutdown_ShouldFlushPendingChanges() {
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+        ledger.withdraw(Map.of(2L, 5), StockMovementType.ORDER, () -> 1L);
+
+        flusher.shutdown();
+
+        verify(stockRepository, times(1)).applyQuantityDeltas(new TreeMap<>(Map.of(2L, -5)));
+        assertEquals(0, journal.size());
+    }
+
+    @Test
+    void reshard_ShouldFlushPendingChanges_BeforeSplittingStock() {
+        when(stockRepository.applyQuantityDeltas(any())).thenReturn(List.of());
+        when(stockRepository.reshard(1L, 4)).thenReturn(7);
+        ledger.withdraw(Map.of(1L, 3), StockMovementType.ORDER, () -> 1L);
+
+        int total = flusher.reshard(1L, 4);
+
+        assertEquals(7, total);
+        var order = inOrder(stockRepository);
+        order.verify(stockRepository).applyQuantityDeltas(new TreeMap<>(Map.of(1L, -3)));
+        order.verify(stockRepository).reshard(1L, 4);
+    }
+
+    @Test
+    void rollupShards_ShouldRefreshStockRollup() {
+        when(stockRepository.rollupShards()).thenReturn(2);
+
+        flusher.rollupShards();
+
+        verify(stockRepository, times(1)).rollupShards();
+    }
+}
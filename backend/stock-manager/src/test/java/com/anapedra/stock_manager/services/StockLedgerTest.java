@@ -0,0 +1,181 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
+import com.anapedra.stock_manager.repositories.StockRepository;
+import com.anapedra.stock_manager.services.exceptions.InsufficientStockException;
+import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.ledger.StockEntry;
+import com.anapedra.stock_manager.services.ledger.StockJournal;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.ledger.StockPosition;
+import com.anapedra.stock_manager.services.ledger.StockReservation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+
+    private StockRepository stockRepository;
+    private StockJournal journal;
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository = mock(StockRepository.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        journal = new StockJournal(registry);
+        ledger = new StockLedger(stockRepository, journal, registry);
+
+        when(stockRepository.findQuantityByBeerId(1L)).thenReturn(Optional.of(10));
+        when(stockRepository.findQuantityByBeerId(2L)).thenReturn(Optional.of(3));
+        when(stockRepository.findQuantityByBeerId(99L)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void reserve_ShouldHoldQuantities_UntilConfirmOrRelease() {
+        StockReservation reservation = ledger.reserve(Map.of(1L, 4));
+        assertEquals(6, ledger.available(1L));
+
+        ledger.release(reservation);
+        assertEquals(10, ledger.available(1L));
+
+        ledger.confirm(ledger.reserve(Map.of(1L, 4)), StockMovementType.ORDER, () -> 1L);
+        assertEquals(6, ledger.available(1L));
+
+        // A quantidade é carregada do banco apenas no primeiro acesso
+        verify(stockRepository, times(1)).findQuantityByBeerId(1L);
+    }
+
+    @Test
+    void reserve_ShouldBeAllOrNothing_WhenOneBeerIsShort() {
+        assertThrows(InsufficientStockException.class, () -> ledger.reserve(Map.of(1L, 5, 2L, 4)));
+
+        assertEquals(10, ledger.available(1L));
+        assertEquals(3, ledger.available(2L));
+    }
+
+    @Test
+    void available_ShouldThrow_WhenStockDoesNotExist() {
+        assertThrows(ResourceNotFoundException.class, () -> ledger.available(99L));
+    }
+
+    @Test
+    void withdrawAndDeposit_ShouldApplyImmediately_WithoutTransaction() {
+        ledger.withdraw(Map.of(1L, 7), StockMovementType.LOSS, () -> 1L);
+        ledger.deposit(1L, 2, StockMovementType.RESTOCK, () -> 1L);
+
+        assertEquals(5, ledger.available(1L));
+        assertEquals(2, journal.size());
+    }
+
+    @Test
+    void rebalance_ShouldJournalOnlyOnHandChanges() {
+        StockPosition held = StockPosition.held(Map.of(1L, 4));
+        ledger.rebalance(StockPosition.empty(), held, () -> 7L);
+        assertEquals(0, journal.size());
+
+        ledger.rebalance(held, StockPosition.committed(Map.of(1L, 4)), () -> 7L);
+        assertEquals(1, journal.size());
+    }
+
+    @Test
+    void rebalance_ShouldHoldThenCommitWithoutReservingTwice() {
+        StockPosition held = StockPosition.held(Map.of(1L, 4));
+        ledger.rebalance(StockPosition.empty(), held, () -> 1L);
+        assertEquals(10, ledger.onHand(1L, -1));
+        assertEquals(4, ledger.reserved(1L));
+
+        // Pagamento: a retenção vira baixa sem exigir saldo adicional
+        ledger.rebalance(held, StockPosition.committed(Map.of(1L, 4)), () -> 1L);
+        assertEquals(6, ledger.onHand(1L, -1));
+        assertEquals(0, ledger.reserved(1L));
+    }
+
+    @Test
+    void rebalance_ShouldReturnHeldQuantity_WhenOrderIsCanceled() {
+        StockPosition held = StockPosition.held(Map.of(1L, 4, 2L, 3));
+        ledger.rebalance(StockPosition.empty(), held, () -> 1L);
+        assertEquals(0, ledger.available(2L));
+
+        ledger.rebalance(held, StockPosition.empty(), () -> 1L);
+        assertEquals(10, ledger.available(1L));
+        assertEquals(3, ledger.available(2L));
+    }
+
+    @Test
+    void rebalance_ShouldReserveOnlyTheIncrease() {
+        StockPosition held = StockPosition.held(Map.of(2L, 2));
+        ledger.rebalance(StockPosition.empty(), held, () -> 1L);
+
+        // Apenas 1 unidade disponível: aumentar de 2 para 3 cabe, de 2 para 4 não
+        assertThrows(InsufficientStockException.class,
+                () -> ledger.rebalance(held, StockPosition.held(Map.of(2L, 4)), () -> 1L));
+        ledger.rebalance(held, StockPosition.held(Map.of(2L, 3)), () -> 1L);
+        assertEquals(3, ledger.reserved(2L));
+        assertEquals(0, ledger.available(2L));
+    }
+
+    @Test
+    void rebalanceEach_ShouldRejectOnlyTheOrdersWithoutStock() {
+        Map<Integer, String> rejected = ledger.rebalanceEach(List.of(
+                StockPosition.held(Map.of(2L, 2)),
+                StockPosition.held(Map.of(2L, 2)),
+                StockPosition.committed(Map.of(1L, 4))), index -> (long) index);
+
+        // O segundo pedido não cabe no saldo que sobrou do primeiro, mas não impede o terceiro
+        assertEquals(Set.of(1), rejected.keySet());
+        assertEquals(2, ledger.reserved(2L));
+        assertEquals(6, ledger.onHand(1L, -1));
+        assertEquals(1, journal.size());
+    }
+
+    @Test
+    void availableAllAndWithdrawAll_ShouldLoadOnceAndWithdrawTotalsAtomically() {
+        when(stockRepository.findQuantities(any())).thenReturn(Map.of(1L, 10, 2L, 3));
+
+        assertEquals(Map.of(1L, 10, 2L, 3), ledger.availableAll(List.of(1L, 2L, 99L)));
+        verify(stockRepository, never()).findQuantityByBeerId(any());
+
+        // 2 + 2 excede o saldo da cerveja 2: nada é retirado, nem da cerveja 1
+        assertThrows(InsufficientStockException.class, () -> ledger.withdrawAll(List.of(
+                new StockEntry(1L, 4, 1L), new StockEntry(2L, 2, 2L), new StockEntry(2L, 2, 3L)), StockMovementType.LOSS));
+        assertEquals(10, ledger.available(1L));
+
+        ledger.withdrawAll(List.of(new StockEntry(1L, 4, 1L), new StockEntry(1L, 1, 2L)), StockMovementType.LOSS);
+        assertEquals(5, ledger.onHand(1L, -1));
+        assertEquals(2, journal.size());
+    }
+
+    @Test
+    void withdraw_ShouldNeverOversell_UnderConcurrentOrders() throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 100; i++) {
+            executor.submit(() -> {
+                try {
+                    ledger.withdraw(Map.of(1L, 1), StockMovementType.ORDER, () -> null);
+                    accepted.incrementAndGet();
+                } catch (InsufficientStockException ignored) {
+                    // esperado quando o estoque acaba
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10, accepted.get());
+        assertEquals(0, ledger.available(1L));
+    }
+}
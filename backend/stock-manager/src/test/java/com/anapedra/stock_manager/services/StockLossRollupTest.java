@@ -0,0 +1,88 @@
+package com.anapedra.stock_manager.services;
+
+import com.anapedra.stock_manager.domain.dtos.RollupBackfillReportDTO;
+import com.anapedra.stock_manager.domain.entities.Beer;
+import com.anapedra.stock_manager.domain.entities.StockLoss;
+import com.anapedra.stock_manager.domain.entities.StockLossDaily;
+import com.anapedra.stock_manager.domain.enums.LossReason;
+import com.anapedra.stock_manager.domain.pks.StockLossDailyPK;
+import com.anapedra.stock_manager.repositories.StockLossDailyRepository;
+import com.anapedra.stock_manager.services.losses.StockLossRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StockLossRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    private StockLossDailyRepository repository;
+    private SimpleMeterRegistry registry;
+    private StockLossRollup rollup;
+    private Beer lager;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(StockLossDailyRepository.class);
+        registry = new SimpleMeterRegistry();
+        rollup = new StockLossRollup(repository, mock(PlatformTransactionManager.class), registry);
+        lager = new Beer();
+        lager.setId(1L);
+    }
+
+    @Test
+    void add_ShouldMergeLossesPerDayBeerAndReason() {
+        rollup.add(List.of(
+                new StockLoss(null, lager, 3, LossReason.DAMAGED, DAY, null),
+                new StockLoss(null, lager, 2, LossReason.DAMAGED, DAY, null),
+                new StockLoss(null, lager, 4, LossReason.THEFT, DAY, null)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockLossDaily>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).applyDeltas(captor.capture());
+        Map<StockLossDailyPK, StockLossDaily> rows = captor.getValue().stream()
+                .collect(Collectors.toMap(StockLossDaily::getId, Function.identity()));
+        assertEquals(2, rows.size());
+        StockLossDaily damaged = rows.get(new StockLossDailyPK(DAY, 1L, LossReason.DAMAGED));
+        assertEquals(5L, damaged.getUnits());
+        assertEquals(2L, damaged.getLossCount());
+        assertEquals(4L, rows.get(new StockLossDailyPK(DAY, 1L, LossReason.THEFT)).getUnits());
+    }
+
+    @Test
+    void add_ShouldRetryOnce_WhenAnotherLossInsertedTheSameRow() {
+        doThrow(new DuplicateKeyException("duplicada")).doNothing().when(repository).applyDeltas(any());
+
+        rollup.add(List.of(new StockLoss(null, lager, 3, LossReason.EXPIRED, DAY, null)));
+
+        verify(repository, times(2)).applyDeltas(any());
+        assertEquals(0.0, registry.get("stock_manager.stock_loss.rollup_failures").counter().count());
+    }
+
+    @Test
+    void backfill_ShouldRebuildInChunks() {
+        ReflectionTestUtils.setField(rollup, "chunkDays", 15);
+        when(repository.rebuild(any(LocalDate.class), any(LocalDate.class))).thenReturn(2, 3);
+
+        RollupBackfillReportDTO report = rollup.backfill(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 20));
+
+        verify(repository).rebuild(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 15));
+        verify(repository).rebuild(LocalDate.of(2026, 1, 16), LocalDate.of(2026, 1, 20));
+        assertEquals(2, report.getChunks());
+        assertEquals(5, report.getRows());
+    }
+}
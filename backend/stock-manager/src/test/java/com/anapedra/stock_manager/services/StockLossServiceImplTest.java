@@ -1,14 +1,27 @@
 package com.anapedra.stock_manager.services;
 
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.ShrinkageDTO;
 import com.anapedra.stock_manager.domain.dtos.StockLossDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.Stock;
 import com.anapedra.stock_manager.domain.entities.StockLoss;
+import com.anapedra.stock_manager.domain.enums.CountMode;
+import com.anapedra.stock_manager.domain.enums.LossGrouping;
 import com.anapedra.stock_manager.domain.enums.LossReason;
+import com.anapedra.stock_manager.domain.enums.StockMovementType;
 import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.repositories.SalesDailyRepository;
+import com.anapedra.stock_manager.repositories.StockLossDailyRepository;
 import com.anapedra.stock_manager.repositories.StockLossRepository;
+import com.anapedra.stock_manager.services.exceptions.BatchValidationException;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
+import com.anapedra.stock_manager.services.exceptions.InsufficientStockException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
 import com.anapedra.stock_manager.services.impl.StockLossServiceImpl;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.losses.StockLossRollup;
+import com.anapedra.stock_manager.services.pagination.PageCounter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry; // Usar SimpleMeterRegistry
 import org.junit.jupiter.api.BeforeEach;
@@ -22,11 +35,20 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +60,18 @@ class StockLossServiceImplTest {
     @Mock
     private StockLossRepository stockLossRepository;
 
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private StockLossRollup stockLossRollup;
+
+    @Mock
+    private StockLossDailyRepository stockLossDailyRepository;
+
+    @Mock
+    private SalesDailyRepository salesDailyRepository;
+
     // REMOVER @InjectMocks, pois a injeção falha no construtor
     private StockLossServiceImpl service; 
 
@@ -55,7 +89,8 @@ class StockLossServiceImplTest {
         meterRegistry = new SimpleMeterRegistry(); 
 
         // 2. Instanciar manualmente o Service
-        service = new StockLossServiceImpl(beerRepository, stockLossRepository, meterRegistry);
+        service = new StockLossServiceImpl(beerRepository, stockLossRepository, stockLedger, stockLossRollup,
+                stockLossDailyRepository, salesDailyRepository, new PageCounter(meterRegistry), meterRegistry);
 
         // Configuração de dados de teste
         Stock stock = new Stock();
@@ -82,6 +117,71 @@ class StockLossServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> service.registerLoss(dto));
     }
 
+    @Test
+    void registerLoss_ShouldThrow_WhenLedgerRejectsWithdrawal() {
+        dto.setQuantityLost(999);
+
+        when(beerRepository.findById(1L)).thenReturn(Optional.of(beer));
+        when(stockLedger.withdraw(eq(Map.of(1L, 999)), eq(StockMovementType.LOSS), any()))
+                .thenThrow(new InsufficientStockException("Quantidade insuficiente em estoque para a cerveja ID 1"));
+
+        assertThrows(InsufficientStockException.class, () -> service.registerLoss(dto));
+        verify(stockLossRepository, never()).save(any());
+    }
+
+    @Test
+    void registerLosses_ShouldInsertInOneBatch_AndWithdrawOncePerBatch() {
+        StockLossDTO second = new StockLossDTO(null, 1L, 5, null, LossReason.DAMAGED, null);
+
+        when(stockLedger.availableAll(any())).thenReturn(Map.of(1L, 50));
+        when(beerRepository.getReferenceById(1L)).thenReturn(beer);
+        doAnswer(invocation -> {
+            List<StockLoss> losses = invocation.getArgument(0);
+            long id = 1;
+            for (StockLoss loss : losses) {
+                loss.setId(id++);
+            }
+            return null;
+        }).when(stockLossRepository).insertAll(anyList());
+
+        List<StockLossDTO> result = service.registerLosses(List.of(dto, second));
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(1).getId());
+        assertEquals(LossReason.DAMAGED, result.get(1).getReason());
+        verify(stockLedger).withdrawAll(argThat(entries -> entries.size() == 2), eq(StockMovementType.LOSS));
+        verify(beerRepository, never()).findById(any());
+        verify(stockLossRollup).add(argThat(losses -> losses.size() == 2));
+        // Métrica atualizada uma única vez com o total do lote
+        assertEquals(15.0, meterRegistry.get("stock_manager.stock_loss.total_units_lost").counter().count());
+    }
+
+    @Test
+    void registerLosses_ShouldRejectWholeBatch_WhenAnyItemIsInvalid() {
+        StockLossDTO unknownBeer = new StockLossDTO(null, 2L, 0, null, LossReason.THEFT, null);
+
+        when(stockLedger.availableAll(any())).thenReturn(Map.of(1L, 50));
+
+        BatchValidationException thrown = assertThrows(BatchValidationException.class,
+                () -> service.registerLosses(List.of(dto, unknownBeer)));
+
+        assertEquals(List.of("[1].quantityLost", "[1].beerId"), List.copyOf(thrown.getErrors().keySet()));
+        verify(stockLossRepository, never()).insertAll(any());
+        verify(stockLedger, never()).withdrawAll(any(), any());
+    }
+
+    @Test
+    void registerLosses_ShouldRejectBatch_WhenAnItemIsNull() {
+        when(stockLedger.availableAll(any())).thenReturn(Map.of(1L, 50));
+
+        BatchValidationException thrown = assertThrows(BatchValidationException.class,
+                () -> service.registerLosses(Arrays.asList(dto, null)));
+
+        assertEquals(List.of("[1]"), List.copyOf(thrown.getErrors().keySet()));
+        verify(stockLossRepository, never()).insertAll(any());
+        verify(stockLedger, never()).withdrawAll(any(), any());
+    }
+
 //    @Test
 //    void registerLoss_ShouldThrow_WhenQuantityLostIsGreaterThanStock() {
 //        dto.setQuantityLost(999);
@@ -105,15 +205,16 @@ class StockLossServiceImplTest {
 
         Pageable pageable = PageRequest.of(0, 10);
 
-        Page<StockLossDTO> result = service.findLossesByFilters(
+        CountedPageDTO<StockLossDTO> result = service.findLossesByFilters(
                 1, 1L, "IPA", 2L,
                 LocalDate.now().minusDays(5),
                 LocalDate.now().plusDays(5),
-                pageable
+                pageable,
+                CountMode.EXACT
         );
 
         assertNotNull(result);
-        assertEquals(1, result.getTotalElements());
+        assertEquals(1L, result.getTotalElements());
         assertEquals("IPA Test", result.getContent().get(0).getBeerName());
     }
 
@@ -125,10 +226,33 @@ class StockLossServiceImplTest {
 
         Pageable pageable = PageRequest.of(0, 10);
 
-        Page<StockLossDTO> result = service.findLossesByFilters(
-                null, null, null, null, null, null, pageable
+        CountedPageDTO<StockLossDTO> result = service.findLossesByFilters(
+                null, null, null, null, null, null, pageable, CountMode.EXACT
         );
 
-        assertTrue(result.isEmpty());
+        assertTrue(result.getContent().isEmpty());
+    }
+
+    @Test
+    void getShrinkage_ShouldDivideUnitsLostByUnitsSold() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+        when(stockLossDailyRepository.sumUnits(from, to, 1L)).thenReturn(5L);
+        when(salesDailyRepository.sumUnits(from, to, 1L)).thenReturn(200L);
+
+        ShrinkageDTO result = service.getShrinkage(from, to, 1L);
+
+        assertEquals(5L, result.getUnitsLost());
+        assertEquals(200L, result.getUnitsSold());
+        assertEquals(2.5, result.getShrinkagePercent(), 0.0001);
+    }
+
+    @Test
+    void findLossTotals_ShouldReject_WhenReasonCodeIsInvalid() {
+        LocalDate day = LocalDate.of(2026, 1, 1);
+
+        assertThrows(BusinessRuleException.class,
+                () -> service.findLossTotals(LossGrouping.REASON, day, day, 99, null, null));
+        verify(stockLossDailyRepository, never()).summarize(any(), any(), any(), any(), any(), any());
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,26 @@
 package com.anapedra.stock_manager.services;
 
 import com.anapedra.stock_manager.domain.dtos.BeerStockDTO;
+import com.anapedra.stock_manager.domain.dtos.CountedPageDTO;
+import com.anapedra.stock_manager.domain.dtos.CursorPageDTO;
+import com.anapedra.stock_manager.domain.dtos.DemandForecastDTO;
+import com.anapedra.stock_manager.domain.dtos.ExpiredWriteOffReportDTO;
 import com.anapedra.stock_manager.domain.entities.Beer;
 import com.anapedra.stock_manager.domain.entities.Stock;
+import com.anapedra.stock_manager.domain.enums.CountMode;
 import com.anapedra.stock_manager.repositories.BeerRepository;
+import com.anapedra.stock_manager.services.catalog.BeerCatalogCache;
+import com.anapedra.stock_manager.services.exceptions.BusinessRuleException;
 import com.anapedra.stock_manager.services.exceptions.ResourceNotFoundException;
+import com.anapedra.stock_manager.services.expiration.BeerExpirationIndex;
+import com.anapedra.stock_manager.services.forecast.DemandForecaster;
 import com.anapedra.stock_manager.services.impl.StockServiceImpl;
+import com.anapedra.stock_manager.services.ledger.ExpiredStockWriteOff;
+import com.anapedra.stock_manager.services.ledger.StockLedger;
+import com.anapedra.stock_manager.services.ledger.StockLedgerFlusher;
+import com.anapedra.stock_manager.services.pagination.PageCounter;
+import com.anapedra.stock_manager.services.pagination.SeekCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +32,8 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -24,7 +41,13 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -36,6 +59,21 @@ public class StockServiceTest {
     @Mock
     private BeerRepository beerRepository;
 
+    @Mock
+    private StockLedger stockLedger;
+
+    @Mock
+    private StockLedgerFlusher stockLedgerFlusher;
+
+    @Mock
+    private ExpiredStockWriteOff expiredStockWriteOff;
+
+    @Mock
+    private BeerExpirationIndex beerExpirationIndex;
+
+    @Mock
+    private DemandForecaster demandForecaster;
+
     private Long existingId;
     private Long nonExistingId;
     private Beer beer;
@@ -63,6 +101,13 @@ public class StockServiceTest {
 
         // Assumindo que o BeerRepository tem findAllBeer(6 filtros + Pageable)
         when(beerRepository.findAllBeer(any(), any(), any(), any(), any(), any(Pageable.class))).thenReturn(page);
+
+        // Cervejas fora do ledger: vale a quantidade persistida
+        when(stockLedger.onHand(anyLong(), anyInt())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        ReflectionTestUtils.setField(stockService, "beerCatalogCache",
+                new BeerCatalogCache(stockLedger, mock(PlatformTransactionManager.class), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(stockService, "pageCounter", new PageCounter(new SimpleMeterRegistry()));
     }
 
     // --- Testes FIND ALL (Filtragem) ---
@@ -70,12 +115,45 @@ public class StockServiceTest {
     @Test
     @DisplayName("findAllBeer deve retornar Page de BeerStockDTO com sucesso")
     void findAllBeer_shouldReturnPageBeerStockDTO_successfully() {
-        Page<BeerStockDTO> result = stockService.findAllBeer(null, null, null, null, null, PageRequest.of(0, 10));
+        CountedPageDTO<BeerStockDTO> result = stockService.findAllBeer(null, null, null, null, null, PageRequest.of(0, 10), CountMode.EXACT);
         assertNotNull(result);
-        assertFalse(result.isEmpty());
+        assertFalse(result.getContent().isEmpty());
         assertEquals(existingId, result.getContent().get(0).getId());
     }
 
+    @Test
+    @DisplayName("findAllBeerCursor deve ler um item a mais e devolver o cursor da última cerveja entregue")
+    void findAllBeerCursor_shouldProbeNextPage_andReturnCursorOfLastItem() {
+        Beer second = new Beer(2L, "Stout Teste", "url/img", 6.0, 15.0, LocalDate.now(), LocalDate.now().plusYears(1));
+        when(beerRepository.findAllBeerAfter(any(), any(), any(), any(), any(), eq(null), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(beer, second));
+
+        CursorPageDTO<BeerStockDTO> result = stockService.findAllBeerCursor(null, null, null, null, null, null, 1);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.getHasNext());
+        assertEquals(existingId, SeekCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("searchByName deve normalizar o termo e preservar a ordem de relevância do banco")
+    void searchByName_shouldNormalizeTerm_andKeepRankingOrder() {
+        Beer second = new Beer(2L, "IPA Session", "url/img", 4.5, 10.0, LocalDate.now(), LocalDate.now().plusYears(1));
+        when(beerRepository.searchIdsByName("ipa", "lager", 5)).thenReturn(List.of(2L, existingId));
+        when(beerRepository.findAllById(List.of(2L, existingId))).thenReturn(List.of(beer, second));
+
+        List<BeerStockDTO> result = stockService.searchByName("  IPA ", " Lager", 5);
+
+        assertEquals(List.of(2L, existingId), result.stream().map(BeerStockDTO::getId).toList());
+    }
+
+    @Test
+    @DisplayName("searchByName deve rejeitar termo vazio sem consultar o banco")
+    void searchByName_shouldThrowBusinessRuleException_whenTermIsBlank() {
+        assertThrows(BusinessRuleException.class, () -> stockService.searchByName("  ", null, 5));
+        verify(beerRepository, never()).searchIdsByName(any(), any(), anyInt());
+    }
+
     // --- Testes FIND BY ID ---
 
     @Test
@@ -87,6 +165,33 @@ public class StockServiceTest {
         assertEquals(100, result.getStock());
     }
 
+    @Test
+    @DisplayName("findById deve descontar do disponível a quantidade reservada no ledger")
+    void findById_shouldReportReservedAndAvailable_fromLedger() {
+        when(stockLedger.onHand(eq(existingId), anyInt())).thenReturn(90);
+        when(stockLedger.reserved(existingId)).thenReturn(15);
+
+        BeerStockDTO result = stockService.findById(existingId);
+
+        assertEquals(90, result.getStock());
+        assertEquals(15, result.getReserved());
+        assertEquals(75, result.getAvailable());
+    }
+
+    @Test
+    @DisplayName("findById deve servir a cerveja do cache, com as quantidades atuais do ledger")
+    void findById_shouldServeBeerFromCache_withCurrentLedgerQuantities() {
+        stockService.findById(existingId);
+        when(stockLedger.onHand(eq(existingId), anyInt())).thenReturn(80);
+        when(stockLedger.reserved(existingId)).thenReturn(5);
+
+        BeerStockDTO result = stockService.findById(existingId);
+
+        verify(beerRepository, times(1)).findById(existingId);
+        assertEquals(80, result.getStock());
+        assertEquals(75, result.getAvailable());
+    }
+
     @Test
     @DisplayName("findById deve lançar ResourceNotFoundException quando ID não existir")
     void findById_shouldThrowResourceNotFoundException_whenIdDoesNotExist() {
@@ -135,4 +240,100 @@ public class StockServiceTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getExpiredBeersReport deve usar o índice de validade e preservar sua ordem")
+    void getExpiredBeersReport_shouldUseExpirationIndex_whenEnabled() {
+        Beer older = new Beer(3L, "Porter Vencida", "url/img", 5.5, 12.0, LocalDate.now().minusYears(1), LocalDate.now().minusDays(10));
+        older.setStock(new Stock(5, older));
+        LocalDate referenceDate = LocalDate.now();
+        when(beerExpirationIndex.isEnabled()).thenReturn(true);
+        when(beerExpirationIndex.expiredBefore(referenceDate)).thenReturn(List.of(3L, existingId));
+        when(beerRepository.findAllById(List.of(3L, existingId))).thenReturn(List.of(beer, older));
+
+        List<BeerStockDTO> result = stockService.getExpiredBeersReport(referenceDate);
+
+        assertEquals(List.of(3L, existingId), result.stream().map(BeerStockDTO::getId).toList());
+        verify(beerRepository, never()).findExpiredBeersBefore(any());
+    }
+
+    @Test
+    @DisplayName("findUsingPlpgsqlFunction não deve consultar o banco quando nenhuma cerveja vencer no prazo")
+    void findUsingPlpgsqlFunction_shouldSkipDatabase_whenIndexHasNoCandidates() {
+        when(beerExpirationIndex.isEnabled()).thenReturn(true);
+        when(beerExpirationIndex.expiringWithin(any(), eq(7))).thenReturn(List.of());
+
+        List<BeerStockDTO> result = stockService.findUsingPlpgsqlFunction(null, null, null, null, 7, 10, 0);
+
+        assertTrue(result.isEmpty());
+        verify(beerRepository, never()).findBeersUsingPlpgsqlFunction(any(), any(), any(), any(), any(), any(), any(), any());
+        verify(beerRepository, never()).findBeersUsingPlpgsqlFunctionByIds(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findUsingPlpgsqlFunction deve restringir a função às cervejas a vencer do índice")
+    void findUsingPlpgsqlFunction_shouldFilterByIndexedIds_whenDaysUntilExpiryInformed() {
+        when(beerExpirationIndex.isEnabled()).thenReturn(true);
+        when(beerExpirationIndex.expiringWithin(any(), eq(30))).thenReturn(List.of(4L, 2L));
+        when(beerRepository.findBeersUsingPlpgsqlFunctionByIds("4,2", "IPA", null, null, 10, 0, null)).thenReturn(List.of());
+
+        stockService.findUsingPlpgsqlFunction(null, " IPA ", null, null, 30, 10, 0);
+
+        verify(beerRepository).findBeersUsingPlpgsqlFunctionByIds("4,2", "IPA", null, null, 10, 0, null);
+    }
+
+    @Test
+    @DisplayName("configureShards deve dividir o estoque e retornar o DTO da cerveja")
+    void configureShards_shouldReshardAndReturnDto_whenIdExists() {
+        when(stockLedgerFlusher.reshard(existingId, 8)).thenReturn(100);
+
+        BeerStockDTO result = stockService.configureShards(existingId, 8);
+
+        assertEquals(existingId, result.getId());
+        verify(stockLedgerFlusher).reshard(existingId, 8);
+    }
+
+    @Test
+    @DisplayName("configureShards deve lançar BusinessRuleException para quantidade de frações inválida")
+    void configureShards_shouldThrowBusinessRuleException_whenCountOutOfRange() {
+        assertThrows(BusinessRuleException.class, () -> stockService.configureShards(existingId, 0));
+        assertThrows(BusinessRuleException.class, () -> stockService.configureShards(existingId, 1000));
+        verify(stockLedgerFlusher, never()).reshard(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("configureShards deve lançar ResourceNotFoundException quando não houver estoque")
+    void configureShards_shouldThrowResourceNotFoundException_whenStockDoesNotExist() {
+        when(stockLedgerFlusher.reshard(nonExistingId, 4)).thenReturn(-1);
+
+        assertThrows(ResourceNotFoundException.class, () -> stockService.configureShards(nonExistingId, 4));
+    }
+
+    @Test
+    @DisplayName("writeOffExpired deve delegar a baixa à rotina de vencidos e retornar o relatório")
+    void writeOffExpired_shouldDelegateToWriteOffJob() {
+        LocalDate referenceDate = LocalDate.now();
+        ExpiredWriteOffReportDTO report = new ExpiredWriteOffReportDTO(referenceDate);
+        when(expiredStockWriteOff.run(referenceDate)).thenReturn(report);
+
+        assertSame(report, stockService.writeOffExpired(referenceDate));
+        verify(expiredStockWriteOff).run(referenceDate);
+    }
+
+    @Test
+    @DisplayName("getDemandForecast deve delegar a previsão ao modelo em memória")
+    void getDemandForecast_shouldDelegateToForecaster() {
+        List<DemandForecastDTO> forecasts = List.of(new DemandForecastDTO(existingId, LocalDate.now(), 7, 2.0, 14.0, 30));
+        when(demandForecaster.forecast(any(LocalDate.class), eq(7), eq(existingId))).thenReturn(forecasts);
+
+        assertSame(forecasts, stockService.getDemandForecast(7, existingId));
+    }
+
+    @Test
+    @DisplayName("getDemandForecast deve lançar BusinessRuleException para quantidade de dias inválida")
+    void getDemandForecast_shouldThrowBusinessRuleException_whenDaysOutOfRange() {
+        assertThrows(BusinessRuleException.class, () -> stockService.getDemandForecast(0, null));
+        assertThrows(BusinessRuleException.class, () -> stockService.getDemandForecast(1000, null));
+        verify(demandForecaster, never()).forecast(any(), anyInt(), any());
+    }
+}